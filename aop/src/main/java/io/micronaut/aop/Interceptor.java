@@ -17,6 +17,7 @@ package io.micronaut.aop;
 
 import io.micronaut.core.annotation.Indexed;
 import io.micronaut.core.order.Ordered;
+import io.micronaut.inject.ExecutableMethod;
 
 /**
  * <p>An Interceptor intercepts the execution of a method allowing cross cutting behaviour to be applied to a
@@ -62,4 +63,18 @@ public interface Interceptor<T, R> extends Ordered {
      * @return result type
      */
     R intercept(InvocationContext<T, R> context);
+
+    /**
+     * Returns whether this interceptor has anything to do for the given method. The method is consulted once, when
+     * the interceptors of a method of an {@link Around} advised bean are resolved, and interceptors that are not
+     * applicable are left out of the interceptor chain of the method. If no interceptors remain the method is invoked
+     * directly without constructing an interceptor chain.
+     *
+     * @param method The method
+     * @return True if the interceptor applies to the method
+     * @since 1.3
+     */
+    default boolean appliesTo(ExecutableMethod<?, ?> method) {
+        return true;
+    }
 }
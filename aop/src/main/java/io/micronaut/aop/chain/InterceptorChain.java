@@ -243,7 +243,8 @@ public class InterceptorChain<B, R> implements InvocationContext<B, R> {
     @UsedByGeneratedCode
     public static Interceptor[] resolveAroundInterceptors(BeanContext beanContext, ExecutableMethod<?, ?> method, Interceptor... interceptors) {
         instrumentAnnotationMetadata(beanContext, method);
-        return resolveInterceptorsInternal(method, Around.class, interceptors);
+        Interceptor[] aroundInterceptors = resolveInterceptorsInternal(method, Around.class, interceptors);
+        return removeNonApplicable(method, aroundInterceptors);
     }
 
     /**
@@ -272,6 +273,21 @@ public class InterceptorChain<B, R> implements InvocationContext<B, R> {
         return ArrayUtils.concat(aroundInterceptors, introductionInterceptors);
     }
 
+    private static Interceptor[] removeNonApplicable(ExecutableMethod<?, ?> method, Interceptor[] interceptors) {
+        List<Interceptor> applicable = new ArrayList<>(interceptors.length);
+        for (Interceptor interceptor : interceptors) {
+            if (interceptor.appliesTo(method)) {
+                applicable.add(interceptor);
+            } else if (LOG.isDebugEnabled()) {
+                LOG.debug("Interceptor [{}] does not apply to method: {}", interceptor, method);
+            }
+        }
+        if (applicable.size() == interceptors.length) {
+            return interceptors;
+        }
+        return applicable.toArray(new Interceptor[0]);
+    }
+
     private static void instrumentAnnotationMetadata(BeanContext beanContext, ExecutableMethod<?, ?> method) {
         if (beanContext instanceof ApplicationContext && method instanceof EnvironmentConfigurable) {
             // ensure metadata is environment aware
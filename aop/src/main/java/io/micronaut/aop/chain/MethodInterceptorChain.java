@@ -56,6 +56,22 @@ public final class MethodInterceptorChain<T, R> extends InterceptorChain<T, R> i
         if (interceptorCount == 0 || index == interceptorCount) {
             if (target instanceof Intercepted && executionHandle.isAbstract()) {
                 throw new UnimplementedAdviceException(executionHandle);
+            } else if (parameters == null) {
+                // the parameter values were not exposed for modification so they are still the values
+                // passed by the proxy and can be dispatched without validating them again
+                Object[] values = originalParameters;
+                switch (values.length) {
+                    case 0:
+                        return executionHandle.invoke0(target);
+                    case 1:
+                        return executionHandle.invoke1(target, values[0]);
+                    case 2:
+                        return executionHandle.invoke2(target, values[0], values[1]);
+                    case 3:
+                        return executionHandle.invoke3(target, values[0], values[1], values[2]);
+                    default:
+                        return executionHandle.invoke(target, values);
+                }
             } else {
                 return executionHandle.invoke(target, getParameterValues());
             }
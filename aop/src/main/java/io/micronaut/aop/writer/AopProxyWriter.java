@@ -496,7 +496,7 @@ public class AopProxyWriter extends AbstractClassFileWriter implements ProxyingB
             if (!proxyTargetMethods.contains(methodKey)) {
                 int index = proxyMethodCount++;
                 proxyTargetMethods.add(methodKey);
-                buildMethodOverride(returnType, methodName, index, argumentTypeList, argumentCount, isVoidReturn);
+                buildMethodOverride(returnType, methodName, index, argumentTypeList, argumentCount, isVoidReturn, isAbstract);
             }
         } else if (!proxiedMethodsRefSet.contains(methodKey)) {
             int index = proxyMethodCount++;
@@ -524,9 +524,7 @@ public class AopProxyWriter extends AbstractClassFileWriter implements ProxyingB
                         invokeMethodVisitor.checkCast(declaringTypeObject);
                         // now remaining arguments
                         for (int i = 0; i < argumentTypeList.size(); i++) {
-                            invokeMethodVisitor.loadArg(1);
-                            invokeMethodVisitor.push(i);
-                            invokeMethodVisitor.visitInsn(AALOAD);
+                            loadInvokeArgument(invokeMethodVisitor, i);
                             AopProxyWriter.pushCastToType(invokeMethodVisitor, argumentTypeList.get(i));
                         }
                         String desc = getMethodDescriptor(returnType, argumentTypeList);
@@ -546,9 +544,7 @@ public class AopProxyWriter extends AbstractClassFileWriter implements ProxyingB
                         invokeMethodVisitor.getField(methodType, FIELD_PARENT, proxyType);
                         // now remaining arguments
                         for (int i = 0; i < argumentTypeList.size(); i++) {
-                            invokeMethodVisitor.loadArg(1);
-                            invokeMethodVisitor.push(i);
-                            invokeMethodVisitor.visitInsn(AALOAD);
+                            loadInvokeArgument(invokeMethodVisitor, i);
                             AopProxyWriter.pushCastToType(invokeMethodVisitor, argumentTypeList.get(i));
                         }
                         invokeMethodVisitor.visitMethodInsn(INVOKESTATIC, proxyInternalName, bridgeName, bridgeDesc, false);
@@ -579,7 +575,7 @@ public class AopProxyWriter extends AbstractClassFileWriter implements ProxyingB
 
             proxiedMethods.add(executableMethodWriter);
             proxiedMethodsRefSet.add(methodKey);
-            String overrideDescriptor = buildMethodOverride(returnType, methodName, index, argumentTypeList, argumentCount, isVoidReturn);
+            String overrideDescriptor = buildMethodOverride(returnType, methodName, index, argumentTypeList, argumentCount, isVoidReturn, isAbstract);
 
             // now build a bridge to invoke the original method
             MethodVisitor bridgeWriter = classWriter.visitMethod(ACC_STATIC | ACC_SYNTHETIC,
@@ -596,7 +592,7 @@ public class AopProxyWriter extends AbstractClassFileWriter implements ProxyingB
         }
     }
 
-    private String buildMethodOverride(Object returnType, String methodName, int index, List<Object> argumentTypeList, int argumentCount, boolean isVoidReturn) {
+    private String buildMethodOverride(Object returnType, String methodName, int index, List<Object> argumentTypeList, int argumentCount, boolean isVoidReturn, boolean isAbstract) {
         // override the original method
         String desc = getMethodDescriptor(returnType, argumentTypeList);
         MethodVisitor overridden = classWriter.visitMethod(ACC_PUBLIC, methodName, desc, null, null);
@@ -620,6 +616,36 @@ public class AopProxyWriter extends AbstractClassFileWriter implements ProxyingB
         int interceptorsLocalVar = overriddenMethodGenerator.newLocal(INTERCEPTOR_ARRAY_TYPE);
         overriddenMethodGenerator.storeLocal(interceptorsLocalVar);
 
+        if (!isAbstract) {
+            // if none of the interceptors apply to the method then invoke it without an interceptor chain
+            // ie if (interceptors.length == 0) return executableMethod.invoke1(this, arg);
+            Label chainLabel = new Label();
+            overriddenMethodGenerator.loadLocal(interceptorsLocalVar);
+            overriddenMethodGenerator.arrayLength();
+            overriddenMethodGenerator.ifZCmp(GeneratorAdapter.NE, chainLabel);
+            overriddenMethodGenerator.loadLocal(methodProxyVar);
+            pushInterceptedTarget(overriddenMethodGenerator);
+            if (argumentCount <= ExecutableMethodWriter.MAX_FIXED_ARITY) {
+                Type[] fixedArityArguments = new Type[argumentCount + 1];
+                Arrays.fill(fixedArityArguments, TYPE_OBJECT);
+                for (int i = 0; i < argumentCount; i++) {
+                    overriddenMethodGenerator.loadArg(i);
+                    pushBoxPrimitiveIfNecessary(argumentTypeList.get(i), overriddenMethodGenerator);
+                }
+                overriddenMethodGenerator.invokeInterface(EXECUTABLE_METHOD_TYPE, new Method("invoke" + argumentCount, TYPE_OBJECT, fixedArityArguments));
+            } else {
+                pushArgumentValues(overriddenMethodGenerator, argumentTypeList, argumentCount);
+                overriddenMethodGenerator.invokeInterface(EXECUTABLE_METHOD_TYPE, new Method("invoke", TYPE_OBJECT, new Type[] {TYPE_OBJECT, Type.getType(Object[].class)}));
+            }
+            if (isVoidReturn) {
+                returnVoid(overriddenMethodGenerator);
+            } else {
+                pushCastToType(overriddenMethodGenerator, returnType);
+                pushReturnValue(overriddenMethodGenerator, returnType);
+            }
+            overriddenMethodGenerator.visitLabel(chainLabel);
+        }
+
         // instantiate the MethodInterceptorChain
         // ie InterceptorChain chain = new MethodInterceptorChain(interceptors, this, executableMethod, name);
         overriddenMethodGenerator.newInstance(TYPE_METHOD_INTERCEPTOR_CHAIN);
@@ -629,31 +655,13 @@ public class AopProxyWriter extends AbstractClassFileWriter implements ProxyingB
         overriddenMethodGenerator.loadLocal(interceptorsLocalVar);
 
         // second argument: this or target
-        overriddenMethodGenerator.loadThis();
-        if (isProxyTarget) {
-            if (hotswap || lazy) {
-                overriddenMethodGenerator.invokeInterface(Type.getType(InterceptedProxy.class), Method.getMethod("java.lang.Object interceptedTarget()"));
-            } else {
-                overriddenMethodGenerator.getField(proxyType, FIELD_TARGET, getTypeReference(targetClassFullName));
-            }
-        }
+        pushInterceptedTarget(overriddenMethodGenerator);
 
         // third argument: the executable method
         overriddenMethodGenerator.loadLocal(methodProxyVar);
 
         // fourth argument: array of the argument values
-        overriddenMethodGenerator.push(argumentCount);
-        overriddenMethodGenerator.newArray(Type.getType(Object.class));
-
-        // now pass the remaining arguments from the original method
-        for (int i = 0; i < argumentCount; i++) {
-            overriddenMethodGenerator.dup();
-            Object argType = argumentTypeList.get(i);
-            overriddenMethodGenerator.push(i);
-            overriddenMethodGenerator.loadArg(i);
-            pushBoxPrimitiveIfNecessary(argType, overriddenMethodGenerator);
-            overriddenMethodGenerator.visitInsn(AASTORE);
-        }
+        pushArgumentValues(overriddenMethodGenerator, argumentTypeList, argumentCount);
 
         // invoke MethodInterceptorChain constructor
         overriddenMethodGenerator.invokeConstructor(TYPE_METHOD_INTERCEPTOR_CHAIN, Method.getMethod(CONSTRUCTOR_METHOD_INTERCEPTOR_CHAIN));
@@ -673,6 +681,32 @@ public class AopProxyWriter extends AbstractClassFileWriter implements ProxyingB
         return desc;
     }
 
+    private void pushInterceptedTarget(GeneratorAdapter overriddenMethodGenerator) {
+        overriddenMethodGenerator.loadThis();
+        if (isProxyTarget) {
+            if (hotswap || lazy) {
+                overriddenMethodGenerator.invokeInterface(Type.getType(InterceptedProxy.class), Method.getMethod("java.lang.Object interceptedTarget()"));
+            } else {
+                overriddenMethodGenerator.getField(proxyType, FIELD_TARGET, getTypeReference(targetClassFullName));
+            }
+        }
+    }
+
+    private void pushArgumentValues(GeneratorAdapter overriddenMethodGenerator, List<Object> argumentTypeList, int argumentCount) {
+        overriddenMethodGenerator.push(argumentCount);
+        overriddenMethodGenerator.newArray(Type.getType(Object.class));
+
+        // now pass the remaining arguments from the original method
+        for (int i = 0; i < argumentCount; i++) {
+            overriddenMethodGenerator.dup();
+            Object argType = argumentTypeList.get(i);
+            overriddenMethodGenerator.push(i);
+            overriddenMethodGenerator.loadArg(i);
+            pushBoxPrimitiveIfNecessary(argType, overriddenMethodGenerator);
+            overriddenMethodGenerator.visitInsn(AASTORE);
+        }
+    }
+
     /**
      * Finalizes the proxy. This method should be called before writing the proxy to disk with {@link #writeTo(File)}
      */
@@ -0,0 +1,62 @@
+package io.micronaut.aop;
+
+import io.micronaut.aop.beans.RetryableService;
+import io.micronaut.aop.beans.ValidatedService;
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run with the GC profiler to compare the allocation rate of methods for which the advice applies with those for which
+ * the interceptor chain is skipped.
+ */
+@State(Scope.Benchmark)
+public class AdviceAllocationBenchmark {
+
+    ApplicationContext applicationContext;
+    ValidatedService validatedService;
+    RetryableService retryableService;
+
+    @Setup
+    public void prepare() {
+        applicationContext = ApplicationContext.run();
+        validatedService = applicationContext.getBean(ValidatedService.class);
+        retryableService = applicationContext.getBean(RetryableService.class);
+    }
+
+    @TearDown
+    public void cleanup() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public String validatedConstrained() {
+        return validatedService.constrained("test");
+    }
+
+    @Benchmark
+    public String validatedUnconstrained() {
+        return validatedService.unconstrained("test");
+    }
+
+    @Benchmark
+    public String retryable() {
+        return retryableService.retryable("test");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + AdviceAllocationBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,58 @@
+package io.micronaut.aop;
+
+import io.micronaut.aop.beans.CircuitBreakerService;
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the throughput of circuit breakers that open on retry exhaustion with those that record the outcomes of
+ * the calls in a sliding window, with 64 threads calling the same method.
+ */
+@State(Scope.Benchmark)
+@Threads(64)
+public class CircuitBreakerBenchmark {
+
+    ApplicationContext applicationContext;
+    CircuitBreakerService circuitBreakerService;
+
+    @Setup
+    public void prepare() {
+        applicationContext = ApplicationContext.run();
+        circuitBreakerService = applicationContext.getBean(CircuitBreakerService.class);
+    }
+
+    @TearDown
+    public void cleanup() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public String retryExhaustion() {
+        return circuitBreakerService.retryExhaustion("test");
+    }
+
+    @Benchmark
+    public String countWindow() {
+        return circuitBreakerService.countWindow("test");
+    }
+
+    @Benchmark
+    public String timeWindow() {
+        return circuitBreakerService.timeWindow("test");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + CircuitBreakerBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,58 @@
+package io.micronaut.aop;
+
+import io.micronaut.aop.beans.InterceptedService;
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@State(Scope.Benchmark)
+public class InterceptorChainBenchmark {
+
+    ApplicationContext applicationContext;
+    InterceptedService service;
+
+    @Setup
+    public void prepare() {
+        applicationContext = ApplicationContext.run();
+        service = applicationContext.getBean(InterceptedService.class);
+    }
+
+    @TearDown
+    public void cleanup() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public int notIntercepted() {
+        return service.addNotIntercepted(1, 2);
+    }
+
+    @Benchmark
+    public int interceptedTwoArguments() {
+        return service.add(1, 2);
+    }
+
+    @Benchmark
+    public String interceptedFourArguments() {
+        return service.concat("a", "b", "c", "d");
+    }
+
+    @Benchmark
+    public int interceptedWithParameters() {
+        return service.addWithParameters(1, 2);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + InterceptorChainBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,25 @@
+package io.micronaut.aop.beans;
+
+import io.micronaut.retry.annotation.CircuitBreaker;
+import io.micronaut.retry.annotation.SlidingWindowType;
+
+import javax.inject.Singleton;
+
+@Singleton
+public class CircuitBreakerService {
+
+    @CircuitBreaker
+    public String retryExhaustion(String name) {
+        return name;
+    }
+
+    @CircuitBreaker(failureRateThreshold = "50")
+    public String countWindow(String name) {
+        return name;
+    }
+
+    @CircuitBreaker(failureRateThreshold = "50", windowType = SlidingWindowType.TIME_BASED, windowSize = "10")
+    public String timeWindow(String name) {
+        return name;
+    }
+}
@@ -0,0 +1,26 @@
+package io.micronaut.aop.beans;
+
+import javax.inject.Singleton;
+
+@Singleton
+public class InterceptedService {
+
+    @PassThrough
+    public int add(int a, int b) {
+        return a + b;
+    }
+
+    @PassThrough
+    public String concat(String a, String b, String c, String d) {
+        return a + b + c + d;
+    }
+
+    @ReadsParameters
+    public int addWithParameters(int a, int b) {
+        return a + b;
+    }
+
+    public int addNotIntercepted(int a, int b) {
+        return a + b;
+    }
+}
@@ -0,0 +1,16 @@
+package io.micronaut.aop.beans;
+
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+
+import javax.inject.Singleton;
+
+@Singleton
+public class ParametersInterceptor implements MethodInterceptor<Object, Object> {
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        context.getParameters();
+        return context.proceed();
+    }
+}
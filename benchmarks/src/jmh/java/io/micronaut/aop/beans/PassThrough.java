@@ -0,0 +1,16 @@
+package io.micronaut.aop.beans;
+
+import io.micronaut.aop.Around;
+import io.micronaut.context.annotation.Type;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+@Around
+@Type(PassThroughInterceptor.class)
+@Documented
+@Retention(RUNTIME)
+public @interface PassThrough {
+}
@@ -0,0 +1,14 @@
+package io.micronaut.aop.beans;
+
+import io.micronaut.retry.annotation.Retryable;
+
+import javax.inject.Singleton;
+
+@Singleton
+public class RetryableService {
+
+    @Retryable
+    public String retryable(String name) {
+        return name;
+    }
+}
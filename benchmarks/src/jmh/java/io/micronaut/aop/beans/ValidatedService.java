@@ -0,0 +1,19 @@
+package io.micronaut.aop.beans;
+
+import io.micronaut.validation.Validated;
+
+import javax.inject.Singleton;
+import javax.validation.constraints.NotBlank;
+
+@Singleton
+@Validated
+public class ValidatedService {
+
+    public String constrained(@NotBlank String name) {
+        return name;
+    }
+
+    public String unconstrained(String name) {
+        return name;
+    }
+}
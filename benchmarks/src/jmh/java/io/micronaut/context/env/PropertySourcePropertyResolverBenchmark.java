@@ -9,19 +9,29 @@ import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @State(Scope.Benchmark)
 public class PropertySourcePropertyResolverBenchmark {
 
     Map<String, String> props = new HashMap<>();
+    PropertySourcePropertyResolver resolver;
 
     @Setup
     public void prepare() {
         for (int i = 0; i < 600; i++) {
              props.put(i + "}_A_B_C_D_E_F_G_SERVICE_PORT", "foo");
         }
+        Map<String, Object> values = new HashMap<>();
+        for (int i = 0; i < 600; i++) {
+            values.put("micronaut.server.port" + i, String.valueOf(i));
+            values.put("micronaut.server.timeout" + i, "10s");
+            values.put("micronaut.server.enabled" + i, "true");
+        }
+        resolver = new PropertySourcePropertyResolver(PropertySource.of("test", values));
     }
 
     @Benchmark
@@ -29,6 +39,32 @@ public class PropertySourcePropertyResolverBenchmark {
         new PropertySourcePropertyResolver(new EnvironmentPropertySource(props));
     }
 
+    @Benchmark
+    public Optional<Integer> benchmarkGetIntegerProperty() {
+        return resolver.getProperty("micronaut.server.port300", Integer.class);
+    }
+
+    @Benchmark
+    public Optional<Duration> benchmarkGetDurationProperty() {
+        return resolver.getProperty("micronaut.server.timeout300", Duration.class);
+    }
+
+    @Benchmark
+    public Optional<Boolean> benchmarkGetBooleanProperty() {
+        return resolver.getProperty("micronaut.server.enabled300", Boolean.class);
+    }
+
+    @Benchmark
+    public Optional<Integer> benchmarkGetMissingProperty() {
+        return resolver.getProperty("micronaut.server.missing", Integer.class);
+    }
+
+    @Benchmark
+    public Optional<Integer> benchmarkGetPropertyAfterRefresh() {
+        resolver.resetCaches();
+        return resolver.getProperty("micronaut.server.port300", Integer.class);
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(".*" + PropertySourcePropertyResolverBenchmark.class.getSimpleName() + ".*")
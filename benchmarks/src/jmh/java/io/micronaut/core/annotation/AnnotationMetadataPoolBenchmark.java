@@ -0,0 +1,135 @@
+package io.micronaut.core.annotation;
+
+import io.micronaut.inject.annotation.AnnotationMetadataPool;
+import io.micronaut.inject.annotation.DefaultAnnotationMetadata;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the heap retained by the annotation metadata of 2,000 controller beans, each with 3 executable methods,
+ * built the way generated classes build it, with and without {@link AnnotationMetadataPool}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AnnotationMetadataPoolBenchmark {
+
+    private static final int BEANS = 2000;
+    private static final int METHODS_PER_BEAN = 3;
+
+    @Param({"false", "true"})
+    boolean pooled;
+
+    /**
+     * The heap retained by the metadata of all beans.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedKilobytes;
+    }
+
+    @Benchmark
+    public Object loadMetadata(Footprint footprint) {
+        long before = usedHeap();
+        AnnotationMetadata[] metadata = new AnnotationMetadata[BEANS * (METHODS_PER_BEAN + 1)];
+        int index = 0;
+        for (int i = 0; i < BEANS; i++) {
+            metadata[index++] = newBeanMetadata(i);
+            for (int j = 0; j < METHODS_PER_BEAN; j++) {
+                metadata[index++] = newMethodMetadata(j);
+            }
+        }
+        footprint.retainedKilobytes = (usedHeap() - before) / 1024;
+        return metadata;
+    }
+
+    private AnnotationMetadata newBeanMetadata(int bean) {
+        return newMetadata(beanAnnotations(bean), beanStereotypes(), beanStereotypes(), beanAnnotations(bean), mapOf(
+                "javax.inject.Singleton", AnnotationUtil.internListOf("io.micronaut.http.annotation.Controller"),
+                "io.micronaut.context.annotation.Bean", AnnotationUtil.internListOf("io.micronaut.http.annotation.Controller")
+        ));
+    }
+
+    private AnnotationMetadata newMethodMetadata(int method) {
+        return newMetadata(methodAnnotations(method), methodStereotypes(method), methodStereotypes(method), methodAnnotations(method), mapOf(
+                "io.micronaut.http.annotation.HttpMethodMapping", AnnotationUtil.internListOf("io.micronaut.http.annotation.Get"),
+                "io.micronaut.context.annotation.Executable", AnnotationUtil.internListOf("io.micronaut.http.annotation.Get")
+        ));
+    }
+
+    // each section is built separately, as in generated code
+
+    private static Map beanAnnotations(int bean) {
+        return mapOf(
+                "io.micronaut.http.annotation.Controller", AnnotationUtil.internMapOf("value", "/bean" + bean, "produces", new String[] {"application/json"}),
+                "io.micronaut.context.annotation.Requires", AnnotationUtil.internMapOf("property", "beans.enabled", "notEquals", "false")
+        );
+    }
+
+    private static Map beanStereotypes() {
+        return mapOf(
+                "javax.inject.Singleton", Collections.EMPTY_MAP,
+                "io.micronaut.context.annotation.Bean", Collections.EMPTY_MAP
+        );
+    }
+
+    private static Map methodAnnotations(int method) {
+        return mapOf(
+                "io.micronaut.http.annotation.Get", AnnotationUtil.internMapOf("value", "/method" + method, "uri", "/method" + method),
+                "io.micronaut.http.annotation.Produces", AnnotationUtil.internMapOf("value", new String[] {"application/json"}),
+                "io.micronaut.http.annotation.Consumes", AnnotationUtil.internMapOf("value", new String[] {"application/json"})
+        );
+    }
+
+    private static Map methodStereotypes(int method) {
+        return mapOf(
+                "io.micronaut.http.annotation.HttpMethodMapping", AnnotationUtil.internMapOf("value", "/method" + method),
+                "io.micronaut.context.annotation.Executable", Collections.EMPTY_MAP
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private AnnotationMetadata newMetadata(Map declaredAnnotations, Map declaredStereotypes, Map allStereotypes, Map allAnnotations, Map byStereotype) {
+        if (pooled) {
+            return new DefaultAnnotationMetadata(
+                    AnnotationMetadataPool.internAnnotations(declaredAnnotations),
+                    AnnotationMetadataPool.internAnnotations(declaredStereotypes),
+                    AnnotationMetadataPool.internAnnotations(allStereotypes),
+                    AnnotationMetadataPool.internAnnotations(allAnnotations),
+                    AnnotationMetadataPool.internAnnotationsByStereotype(byStereotype)
+            );
+        }
+        return new DefaultAnnotationMetadata(declaredAnnotations, declaredStereotypes, allStereotypes, allAnnotations, byStereotype);
+    }
+
+    private static Map mapOf(Object... values) {
+        return AnnotationUtil.internMapOf(values);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + AnnotationMetadataPoolBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
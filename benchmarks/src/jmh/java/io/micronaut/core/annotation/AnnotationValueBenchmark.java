@@ -6,24 +6,37 @@ import io.micronaut.core.convert.ConversionServiceBenchmark;
 import io.micronaut.http.annotation.Produces;
 import io.micronaut.inject.BeanDefinition;
 import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.inject.annotation.AnnotationMetadataDecoder;
+import io.micronaut.inject.annotation.AnnotationMetadataEncoder;
+import io.micronaut.inject.annotation.DefaultAnnotationMetadata;
 import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.util.Collections;
+import java.util.Map;
+
 @State(Scope.Benchmark)
 public class AnnotationValueBenchmark {
 
     ApplicationContext applicationContext;
     BeanDefinition<TestIntroduction> introductionBeanDefinition;
     private ExecutableMethod<TestIntroduction, Object> testIntroductionMethod;
+    private String encodedMetadata;
+    private AnnotationMetadata legacyMetadata;
+    private AnnotationMetadata compactMetadata;
 
     @Setup
     public void prepare() {
         applicationContext = ApplicationContext.run();
         introductionBeanDefinition = applicationContext.getBeanDefinition(TestIntroduction.class);
         testIntroductionMethod = introductionBeanDefinition.getRequiredMethod("testMethod");
+        legacyMetadata = newLegacyMetadata();
+        encodedMetadata = AnnotationMetadataEncoder.encode((DefaultAnnotationMetadata) legacyMetadata);
+        compactMetadata = newCompactMetadata();
     }
 
     @TearDown
@@ -36,11 +49,71 @@ public class AnnotationValueBenchmark {
         testIntroductionMethod.getValue(Produces.class, String.class);
     }
 
+    @Benchmark
+    public Object benchMarkGetValueLegacy() {
+        return legacyMetadata.getValue(Produces.class, String.class);
+    }
+
+    @Benchmark
+    public Object benchMarkGetValueCompact() {
+        return compactMetadata.getValue(Produces.class, String.class);
+    }
+
+    @Benchmark
+    public Object benchMarkCreateLegacy() {
+        return newLegacyMetadata().getValue(Produces.class, String.class);
+    }
+
+    @Benchmark
+    public Object benchMarkCreateCompact() {
+        return newCompactMetadata().getValue(Produces.class, String.class);
+    }
+
+    private AnnotationMetadata newCompactMetadata() {
+        return new DefaultAnnotationMetadata(AnnotationMetadataDecoder.of(encodedMetadata, AnnotationValueBenchmark.class));
+    }
+
+    /**
+     * Builds the metadata in the same way as the bytecode written by default for a controller method.
+     */
+    private static AnnotationMetadata newLegacyMetadata() {
+        return new DefaultAnnotationMetadata(
+                mapOf(
+                        "io.micronaut.http.annotation.Get", AnnotationUtil.internMapOf("value", "/test", "uri", "/test"),
+                        "io.micronaut.http.annotation.Produces", AnnotationUtil.internMapOf("value", new String[] {"text/plain"}),
+                        "io.micronaut.http.annotation.Consumes", AnnotationUtil.internMapOf("value", new String[] {"application/json"})
+                ),
+                mapOf(
+                        "io.micronaut.http.annotation.HttpMethodMapping", AnnotationUtil.internMapOf("value", "/test"),
+                        "io.micronaut.context.annotation.Executable", Collections.EMPTY_MAP
+                ),
+                mapOf(
+                        "io.micronaut.http.annotation.HttpMethodMapping", AnnotationUtil.internMapOf("value", "/test"),
+                        "io.micronaut.context.annotation.Executable", Collections.EMPTY_MAP
+                ),
+                mapOf(
+                        "io.micronaut.http.annotation.Get", AnnotationUtil.internMapOf("value", "/test", "uri", "/test"),
+                        "io.micronaut.http.annotation.Produces", AnnotationUtil.internMapOf("value", new String[] {"text/plain"}),
+                        "io.micronaut.http.annotation.Consumes", AnnotationUtil.internMapOf("value", new String[] {"application/json"})
+                ),
+                mapOf(
+                        "io.micronaut.http.annotation.HttpMethodMapping", AnnotationUtil.internListOf("io.micronaut.http.annotation.Get"),
+                        "io.micronaut.context.annotation.Executable", AnnotationUtil.internListOf("io.micronaut.http.annotation.Get")
+                )
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map mapOf(Object... values) {
+        return AnnotationUtil.internMapOf(values);
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(".*" + AnnotationValueBenchmark.class.getSimpleName() + ".*")
                 .warmupIterations(3)
                 .measurementIterations(5)
+                .addProfiler(GCProfiler.class)
                 .forks(1)
 //                .jvmArgs("-agentpath:/Applications/YourKit-Java-Profiler-2018.04.app/Contents/Resources/bin/mac/libyjpagent.jnilib")
                 .build();
@@ -1,5 +1,6 @@
 package io.micronaut.core.convert;
 
+import io.micronaut.core.type.Argument;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
@@ -10,15 +11,26 @@ import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 import java.net.URI;
+import java.util.Optional;
+import java.util.UUID;
 
 @State(Scope.Benchmark)
 public class ConversionServiceBenchmark {
 
     ConversionService conversionService;
+    ResolvedTypeConverter<String, Integer> intConverter;
+    ResolvedTypeConverter<String, UUID> uuidConverter;
+    ArgumentConversionContext<Integer> intContext;
+    ArgumentConversionContext<UUID> uuidContext;
+    String uuid = UUID.randomUUID().toString();
 
     @Setup
     public void prepare() {
         conversionService = ConversionService.SHARED;
+        intConverter = conversionService.resolveConverter(String.class, Argument.of(int.class));
+        uuidConverter = conversionService.resolveConverter(String.class, Argument.of(UUID.class));
+        intContext = ConversionContext.of(Argument.of(int.class));
+        uuidContext = ConversionContext.of(Argument.of(UUID.class));
     }
 
     @Benchmark
@@ -31,6 +43,31 @@ public class ConversionServiceBenchmark {
         conversionService.convert(URI.create("http://test.com"), Integer.class);
     }
 
+    @Benchmark
+    public Optional<Integer> convertIntWithContext() {
+        return conversionService.convert("10", intContext);
+    }
+
+    @Benchmark
+    public Optional<Integer> convertIntWithResolvedConverter() {
+        return intConverter.convert("10", intContext);
+    }
+
+    @Benchmark
+    public int convertIntToPrimitiveWithResolvedConverter() {
+        return intConverter.convertToInt("10", intContext, 0);
+    }
+
+    @Benchmark
+    public Optional<UUID> convertUUIDWithContext() {
+        return conversionService.convert(uuid, uuidContext);
+    }
+
+    @Benchmark
+    public Optional<UUID> convertUUIDWithResolvedConverter() {
+        return uuidConverter.convert(uuid, uuidContext);
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(".*" + ConversionServiceBenchmark.class.getSimpleName() + ".*")
@@ -0,0 +1,162 @@
+package io.micronaut.discovery.consul;
+
+import io.micronaut.discovery.consul.client.v1.ConsulClient;
+import io.micronaut.discovery.consul.client.v1.ServiceEntry;
+import io.micronaut.discovery.consul.registration.ConsulCheckReporter;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.health.HeartbeatConfiguration;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.exceptions.HttpClientException;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.reactivex.schedulers.TestScheduler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays ten minutes of TTL heartbeats of several registrations against an embedded Consul agent stub, once with a
+ * request per heartbeat as {@code ConsulAutoRegistration} used to send them and once through
+ * {@link ConsulCheckReporter}. The agent is unavailable for two 30 second periods and the registrations report
+ * {@link HealthStatus#DOWN} for one minute. Time is simulated, so the score is the CPU cost of a replay and the
+ * {@code requests} counter is the number of requests the agent received.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConsulHeartbeatBenchmark {
+
+    private static final long HEARTBEAT_INTERVAL = 5000;
+    private static final long DURATION = TimeUnit.MINUTES.toMillis(10);
+
+    @Param({"1", "8", "32"})
+    int registrations;
+
+    @Param({"false", "true"})
+    boolean coalesced;
+
+    /**
+     * The requests received by the agent in a replay.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Requests {
+        public long requests;
+    }
+
+    @Benchmark
+    public long replay(Requests requests) {
+        TestScheduler scheduler = new TestScheduler();
+        ConsulAgentStub agent = new ConsulAgentStub(scheduler, registrations);
+        ConsulClient client = agent.client();
+        ConsulCheckReporter reporter = null;
+        if (coalesced) {
+            HeartbeatConfiguration heartbeatConfiguration = new HeartbeatConfiguration();
+            heartbeatConfiguration.setInterval(Duration.ofMillis(HEARTBEAT_INTERVAL));
+            reporter = new ConsulCheckReporter(client, heartbeatConfiguration,
+                    new ConsulConfiguration.ConsulRegistrationConfiguration.CheckConfiguration(), scheduler);
+        }
+
+        for (long time = 0; time < DURATION; time += HEARTBEAT_INTERVAL) {
+            HealthStatus status = time >= 300_000 && time < 360_000 ? HealthStatus.DOWN : HealthStatus.UP;
+            for (int i = 0; i < registrations; i++) {
+                // the heartbeat tasks of the registrations are not aligned
+                scheduler.advanceTimeTo(time + i * 37 % HEARTBEAT_INTERVAL, TimeUnit.MILLISECONDS);
+                String serviceId = "service-" + i;
+                if (reporter != null) {
+                    reporter.report(serviceId, "service:" + serviceId, status, agent::register);
+                } else {
+                    pulsate(client, "service:" + serviceId, status, agent);
+                }
+            }
+        }
+        scheduler.advanceTimeBy(1, TimeUnit.MINUTES);
+        if (reporter != null) {
+            reporter.close();
+        }
+        requests.requests = agent.requests;
+        return agent.requests;
+    }
+
+    private static void pulsate(ConsulClient client, String checkId, HealthStatus status, ConsulAgentStub agent) {
+        if (status.equals(HealthStatus.UP)) {
+            Single.fromPublisher(client.pass(checkId)).subscribe((httpStatus, throwable) -> {
+                if (throwable != null) {
+                    Single.fromPublisher(client.getServiceIds()).subscribe((serviceIds, throwable1) -> {
+                        if (throwable1 == null && !serviceIds.contains(checkId.substring("service:".length()))) {
+                            agent.register();
+                        }
+                    });
+                }
+            });
+        } else {
+            Single.fromPublisher(client.fail(checkId, status.getDescription().orElse(null))).subscribe((httpStatus, throwable) -> { });
+        }
+    }
+
+    /**
+     * A Consul agent that answers every request in process and is unavailable between the second and the third
+     * minute and between the seventh and the eighth minute.
+     */
+    static final class ConsulAgentStub {
+        final TestScheduler scheduler;
+        final Map<String, ServiceEntry> services = new HashMap<>();
+        long requests;
+
+        ConsulAgentStub(TestScheduler scheduler, int registrations) {
+            this.scheduler = scheduler;
+            for (int i = 0; i < registrations; i++) {
+                services.put("service-" + i, new ServiceEntry("service-" + i, "service-" + i));
+            }
+        }
+
+        void register() {
+            requests++;
+        }
+
+        ConsulClient client() {
+            return (ConsulClient) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[] {ConsulClient.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "pass":
+                    case "fail":
+                        return respond(HttpStatus.OK);
+                    case "getServices":
+                        return respond(services);
+                    case "getServiceIds":
+                        return respond(new ArrayList<>(services.keySet()));
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        }
+
+        private <T> Flowable<T> respond(T response) {
+            requests++;
+            long now = scheduler.now(TimeUnit.SECONDS);
+            if ((now >= 120 && now < 150) || (now >= 420 && now < 450)) {
+                return Flowable.error(new HttpClientException("Connection refused"));
+            }
+            return Flowable.just(response);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + ConsulHeartbeatBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
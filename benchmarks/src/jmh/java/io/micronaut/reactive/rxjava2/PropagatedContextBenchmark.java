@@ -0,0 +1,224 @@
+package io.micronaut.reactive.rxjava2;
+
+import io.micronaut.scheduling.instrument.PropagatedContext;
+import io.micronaut.scheduling.instrument.PropagatedContextContributor;
+import io.micronaut.scheduling.instrument.PropagatedContextElement;
+import io.micronaut.scheduling.instrument.ReactiveInstrumenter;
+import io.micronaut.scheduling.instrument.RunnableInstrumenter;
+import io.reactivex.Flowable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Measures a chain of 10 operators emitting 100 items with request, tracing and MDC like state to propagate, either
+ * with one instrumenter per kind of state, as before, or with a single {@link PropagatedContext}.
+ */
+@State(Scope.Benchmark)
+public class PropagatedContextBenchmark {
+
+    private static final int OPERATORS = 10;
+    private static final int ITEMS = 100;
+
+    static final ThreadLocal<Object> REQUEST = new ThreadLocal<>();
+    static final ThreadLocal<Object> SPAN = new ThreadLocal<>();
+    static final ThreadLocal<Object> MDC = new ThreadLocal<>();
+
+    @Param({"separate", "unified"})
+    String instrumentation;
+
+    RxJava2Instrumentation rxJava2Instrumentation;
+    Object request = new Object();
+    Object span = new Object();
+    Object mdc = new Object();
+
+    @Setup
+    public void prepare() {
+        List<ReactiveInstrumenter> instrumenters;
+        if ("unified".equals(instrumentation)) {
+            List<PropagatedContextContributor> contributors = Arrays.asList(
+                    new ThreadLocalContributor<>(REQUEST, RequestElement.class, RequestElement::new),
+                    new ThreadLocalContributor<>(SPAN, SpanElement.class, SpanElement::new),
+                    new ThreadLocalContributor<>(MDC, MdcElement.class, MdcElement::new)
+            );
+            instrumenters = Collections.singletonList(() -> {
+                PropagatedContext context = PropagatedContext.capture(contributors);
+                return context.isEmpty() ? Optional.empty() : Optional.of(context);
+            });
+        } else {
+            instrumenters = Arrays.asList(
+                    new ThreadLocalInstrumenter(REQUEST),
+                    new ThreadLocalInstrumenter(SPAN),
+                    new ThreadLocalInstrumenter(MDC)
+            );
+        }
+        rxJava2Instrumentation = new RxJava2Instrumentation(Collections.emptyList(), instrumenters);
+        rxJava2Instrumentation.init();
+    }
+
+    @TearDown
+    public void close() {
+        rxJava2Instrumentation.close();
+    }
+
+    @Benchmark
+    public void chain(Blackhole blackhole) {
+        REQUEST.set(request);
+        SPAN.set(span);
+        MDC.set(mdc);
+        try {
+            Flowable<Integer> flowable = Flowable.range(0, ITEMS);
+            for (int i = 0; i < OPERATORS; i++) {
+                flowable = flowable.map(n -> n + 1);
+            }
+            flowable.subscribe(blackhole::consume);
+        } finally {
+            REQUEST.remove();
+            SPAN.remove();
+            MDC.remove();
+        }
+    }
+
+    /**
+     * Propagates one kind of state on its own, the way the request, tracing and MDC instrumenters did.
+     */
+    static final class ThreadLocalInstrumenter implements ReactiveInstrumenter {
+        private final ThreadLocal<Object> threadLocal;
+
+        ThreadLocalInstrumenter(ThreadLocal<Object> threadLocal) {
+            this.threadLocal = threadLocal;
+        }
+
+        @Override
+        public Optional<RunnableInstrumenter> newInstrumentation() {
+            Object value = threadLocal.get();
+            if (value == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new RunnableInstrumenter() {
+                @Override
+                public Runnable instrument(Runnable command) {
+                    return () -> {
+                        Object previous = threadLocal.get();
+                        if (previous == value) {
+                            command.run();
+                        } else {
+                            threadLocal.set(value);
+                            try {
+                                command.run();
+                            } finally {
+                                threadLocal.set(previous);
+                            }
+                        }
+                    };
+                }
+            });
+        }
+    }
+
+    static final class ThreadLocalContributor<E extends ThreadLocalElement> implements PropagatedContextContributor<E> {
+        private final ThreadLocal<Object> threadLocal;
+        private final Class<E> type;
+        private final Function<Object, E> factory;
+
+        ThreadLocalContributor(ThreadLocal<Object> threadLocal, Class<E> type, Function<Object, E> factory) {
+            this.threadLocal = threadLocal;
+            this.type = type;
+            this.factory = factory;
+        }
+
+        @Override
+        public Class<E> getElementType() {
+            return type;
+        }
+
+        @Override
+        public E capture(E existing) {
+            Object value = threadLocal.get();
+            if (value == null) {
+                return null;
+            }
+            if (existing != null && existing.value == value) {
+                return existing;
+            }
+            return factory.apply(value);
+        }
+    }
+
+    abstract static class ThreadLocalElement implements PropagatedContextElement {
+        final Object value;
+
+        ThreadLocalElement(Object value) {
+            this.value = value;
+        }
+
+        abstract ThreadLocal<Object> threadLocal();
+
+        @Override
+        public Object updateThreadContext() {
+            Object previous = threadLocal().get();
+            threadLocal().set(value);
+            return previous;
+        }
+
+        @Override
+        public void restoreThreadContext(Object previous) {
+            threadLocal().set(previous);
+        }
+    }
+
+    static final class RequestElement extends ThreadLocalElement {
+        RequestElement(Object value) {
+            super(value);
+        }
+
+        @Override
+        ThreadLocal<Object> threadLocal() {
+            return REQUEST;
+        }
+    }
+
+    static final class SpanElement extends ThreadLocalElement {
+        SpanElement(Object value) {
+            super(value);
+        }
+
+        @Override
+        ThreadLocal<Object> threadLocal() {
+            return SPAN;
+        }
+    }
+
+    static final class MdcElement extends ThreadLocalElement {
+        MdcElement(Object value) {
+            super(value);
+        }
+
+        @Override
+        ThreadLocal<Object> threadLocal() {
+            return MDC;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + PropagatedContextBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
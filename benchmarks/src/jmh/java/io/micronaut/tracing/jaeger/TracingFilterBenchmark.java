@@ -0,0 +1,99 @@
+package io.micronaut.tracing.jaeger;
+
+import io.jaegertracing.internal.JaegerTracer;
+import io.jaegertracing.internal.reporters.NoopReporter;
+import io.jaegertracing.internal.samplers.ConstSampler;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MutableHttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.tracing.instrument.http.OpenTracingClientFilter;
+import io.micronaut.tracing.instrument.http.OpenTracingServerFilter;
+import io.reactivex.Flowable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures a server request that makes one client request through the Open Tracing filters, for sampled and
+ * unsampled traces, with and without the sampling short-circuit of the filters. Run with the GC profiler to compare
+ * the allocation rates.
+ */
+@State(Scope.Benchmark)
+public class TracingFilterBenchmark {
+
+    @Param({"true", "false"})
+    boolean sampled;
+
+    @Param({"true", "false"})
+    boolean shortCircuit;
+
+    JaegerTracer tracer;
+    OpenTracingServerFilter serverFilter;
+    OpenTracingClientFilter clientFilter;
+    String traceHeader;
+
+    @Setup
+    public void prepare() {
+        tracer = new JaegerTracer.Builder("benchmark")
+                .withSampler(new ConstSampler(sampled))
+                .withReporter(new NoopReporter())
+                .build();
+        JaegerTraceContextInspector inspector = shortCircuit ? new JaegerTraceContextInspector(true) : null;
+        serverFilter = new OpenTracingServerFilter(tracer, inspector);
+        clientFilter = new OpenTracingClientFilter(tracer, inspector);
+        traceHeader = "4bf92f3577b34da6:00f067aa0ba902b7:0:" + (sampled ? "1" : "0");
+    }
+
+    @TearDown
+    public void cleanup() {
+        tracer.close();
+    }
+
+    @Benchmark
+    public Object rootRequest() {
+        return execute(newRequest());
+    }
+
+    @Benchmark
+    public Object propagatedRequest() {
+        return execute(newRequest().header("uber-trace-id", traceHeader));
+    }
+
+    private Object execute(MutableHttpRequest<?> request) {
+        return Flowable.fromPublisher(serverFilter.doFilter(request, r -> Flowable.defer(() -> {
+            MutableHttpRequest<?> downstream = HttpRequest.GET("/authors/1");
+            return Flowable.fromPublisher(clientFilter.doFilter(downstream, d -> Flowable.just(HttpResponse.ok())))
+                    .map(response -> (MutableHttpResponse<?>) HttpResponse.ok());
+        }))).blockingLast();
+    }
+
+    private static MutableHttpRequest<?> newRequest() {
+        return HttpRequest.GET("/books/1")
+                .header("Host", "localhost:8080")
+                .header("User-Agent", "Mozilla/5.0 (X11; Linux x86_64)")
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip, deflate")
+                .header("Accept-Language", "en-US,en;q=0.9")
+                .header("Cache-Control", "no-cache")
+                .header("Connection", "keep-alive")
+                .header("Cookie", "SESSION=4f2a9c1e")
+                .header("X-Forwarded-For", "10.0.0.1")
+                .header("X-Request-Id", "b1946ac92492d2347c6235b4d2611184");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + TracingFilterBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
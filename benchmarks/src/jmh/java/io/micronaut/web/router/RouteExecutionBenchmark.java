@@ -0,0 +1,92 @@
+package io.micronaut.web.router;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.web.router.beans.BenchmarkController;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.Map;
+
+@State(Scope.Benchmark)
+public class RouteExecutionBenchmark {
+
+    ApplicationContext applicationContext;
+    BenchmarkController controller;
+    RouteMatch<Object> zeroRoute;
+    RouteMatch<Object> oneRoute;
+    RouteMatch<Object> threeRoute;
+    RouteMatch<Object> fiveRoute;
+    ExecutableMethod<BenchmarkController, Object> threeMethod;
+    Map<String, Object> noValues = Collections.emptyMap();
+
+    @Setup
+    public void prepare() {
+        applicationContext = ApplicationContext.run();
+        controller = applicationContext.getBean(BenchmarkController.class);
+        Router router = applicationContext.getBean(Router.class);
+        zeroRoute = findRoute(router, "/benchmark/zero");
+        oneRoute = findRoute(router, "/benchmark/one/foo");
+        threeRoute = findRoute(router, "/benchmark/three/foo/10/true");
+        fiveRoute = findRoute(router, "/benchmark/five/1/2/3/4/5");
+        threeMethod = applicationContext.getBeanDefinition(BenchmarkController.class)
+                .getRequiredMethod("three", String.class, int.class, boolean.class);
+    }
+
+    @TearDown
+    public void cleanup() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Object executeNoArguments() {
+        return zeroRoute.execute(noValues);
+    }
+
+    @Benchmark
+    public Object executeOneArgument() {
+        return oneRoute.execute(noValues);
+    }
+
+    @Benchmark
+    public Object executeThreeArguments() {
+        return threeRoute.execute(noValues);
+    }
+
+    @Benchmark
+    public Object executeFiveArguments() {
+        return fiveRoute.execute(noValues);
+    }
+
+    @Benchmark
+    public Object invokeThreeArgumentsWithArray() {
+        return threeMethod.invoke(controller, "foo", 10, true);
+    }
+
+    @Benchmark
+    public Object invokeThreeArgumentsWithFixedArity() {
+        return threeMethod.invoke3(controller, "foo", 10, true);
+    }
+
+    private static RouteMatch<Object> findRoute(Router router, String uri) {
+        return router.<Object, Object>find(HttpMethod.GET, uri)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No route for " + uri));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + RouteExecutionBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
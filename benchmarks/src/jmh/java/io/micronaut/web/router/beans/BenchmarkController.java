@@ -0,0 +1,28 @@
+package io.micronaut.web.router.beans;
+
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+
+@Controller("/benchmark")
+public class BenchmarkController {
+
+    @Get("/zero")
+    public String zero() {
+        return "zero";
+    }
+
+    @Get("/one/{name}")
+    public String one(String name) {
+        return name;
+    }
+
+    @Get("/three/{name}/{count}/{flag}")
+    public String three(String name, int count, boolean flag) {
+        return flag ? name : String.valueOf(count);
+    }
+
+    @Get("/five/{a}/{b}/{c}/{d}/{e}")
+    public int five(int a, int b, int c, int d, int e) {
+        return a + b + c + d + e;
+    }
+}
@@ -17,6 +17,8 @@ package io.micronaut.core.bind.annotation;
 
 import io.micronaut.core.convert.ArgumentConversionContext;
 import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.convert.ResolvedArgumentConversionContext;
+import io.micronaut.core.convert.ResolvedTypeConverter;
 import io.micronaut.core.convert.value.ConvertibleValues;
 import io.micronaut.core.naming.NameUtils;
 import io.micronaut.core.type.Argument;
@@ -105,9 +107,15 @@ public abstract class AbstractAnnotatedArgumentBinder<A extends Annotation, T, S
         if (StringUtils.isEmpty(annotationValue)) {
             annotationValue = argument.getName();
         }
-        return values.get(annotationValue, context).orElseGet(() ->
-                conversionService.convert(argument.getAnnotationMetadata().stringValue(Bindable.class, DEFAULT_VALUE_MEMBER).orElse(null), context).orElse(null)
-        );
+        return values.get(annotationValue, context).orElseGet(() -> resolveDefaultValue(context));
+    }
+
+    private @Nullable T resolveDefaultValue(ArgumentConversionContext<T> context) {
+        if (context instanceof ResolvedArgumentConversionContext) {
+            return ((ResolvedArgumentConversionContext<T>) context).getDefaultValue().orElse(null);
+        }
+        Argument<T> argument = context.getArgument();
+        return conversionService.convert(argument.getAnnotationMetadata().stringValue(Bindable.class, DEFAULT_VALUE_MEMBER).orElse(null), context).orElse(null);
     }
 
     /**
@@ -118,10 +126,20 @@ public abstract class AbstractAnnotatedArgumentBinder<A extends Annotation, T, S
      * @return The binding result
      */
     protected BindingResult<T> doConvert(Object value, ArgumentConversionContext<T> context) {
-        Optional<T> result = conversionService.convert(value, context);
+        Optional<T> result = convertValue(value, context);
         if (result.isPresent() && context.getArgument().getType() == Optional.class) {
             return () -> (Optional<T>) result.get();
         }
         return () -> result;
     }
+
+    private Optional<T> convertValue(Object value, ArgumentConversionContext<T> context) {
+        if (value != null && context instanceof ResolvedArgumentConversionContext) {
+            ResolvedTypeConverter<Object, T> converter = ((ResolvedArgumentConversionContext<T>) context).getConverter(value.getClass());
+            if (converter != null) {
+                return converter.convert(value, context);
+            }
+        }
+        return conversionService.convert(value, context);
+    }
 }
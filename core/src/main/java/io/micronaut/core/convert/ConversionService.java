@@ -81,6 +81,37 @@ public interface ConversionService<Impl extends ConversionService> {
      */
     <S, T> boolean canConvert(Class<S> sourceType, Class<T> targetType);
 
+    /**
+     * Resolves a {@link ResolvedTypeConverter} for the given source type and target argument. The returned converter
+     * can be retained and reused to convert values of the source type without repeating the converter lookup.
+     *
+     * @param sourceType The source type
+     * @param argument   The target argument
+     * @param <S>        The generic source type
+     * @param <T>        The generic target type
+     * @return The resolved converter
+     * @since 1.3
+     */
+    default <S, T> ResolvedTypeConverter<S, T> resolveConverter(Class<S> sourceType, Argument<T> argument) {
+        ConversionService<?> conversionService = this;
+        return new ResolvedTypeConverter<S, T>() {
+            @Override
+            public Class<S> getSourceType() {
+                return sourceType;
+            }
+
+            @Override
+            public Argument<T> getArgument() {
+                return argument;
+            }
+
+            @Override
+            public Optional<T> convert(S object, ConversionContext context) {
+                return conversionService.convert(object, argument.getType(), context);
+            }
+        };
+    }
+
     /**
      * Attempts to convert the given object to the given target type. If conversion fails or is not possible an empty {@link Optional} is returned.
      *
@@ -34,6 +34,7 @@ import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
 
+import javax.annotation.Nullable;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
@@ -57,6 +58,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 /**
@@ -71,6 +73,7 @@ public class DefaultConversionService implements ConversionService<DefaultConver
     private static final TypeConverter UNCONVERTIBLE = (object, targetType, context) -> Optional.empty();
 
     private final Map<ConvertiblePair, TypeConverter> typeConverters = new ConcurrentHashMap<>();
+    private final AtomicInteger converterVersion = new AtomicInteger();
     private final Map<ConvertiblePair, TypeConverter> converterCache = new ConcurrentLinkedHashMap.Builder<ConvertiblePair, TypeConverter>()
             .maximumWeightedCapacity(CACHE_MAX)
             .build();
@@ -98,28 +101,22 @@ public class DefaultConversionService implements ConversionService<DefaultConver
             return Optional.of((T) object);
         }
 
-        Optional<String> formattingAnn = context.getAnnotationMetadata().getAnnotationNameByStereotype(Format.class);
-        String formattingAnnotation = formattingAnn.orElse(null);
-        ConvertiblePair pair = new ConvertiblePair(sourceType, targetType, formattingAnnotation);
-        TypeConverter typeConverter = converterCache.get(pair);
-        if (typeConverter == null) {
-            typeConverter = findTypeConverter(sourceType, targetType, formattingAnnotation);
-            if (typeConverter == null) {
-                return Optional.empty();
-            } else {
-                converterCache.put(pair, typeConverter);
-                if (typeConverter == UNCONVERTIBLE) {
-                    return Optional.empty();
-                } else {
-                    return typeConverter.convert(object, targetType, context);
-                }
-            }
-        } else if (typeConverter != UNCONVERTIBLE) {
+        String formattingAnnotation = resolveFormattingAnnotation(context.getAnnotationMetadata());
+        TypeConverter typeConverter = resolveTypeConverter(sourceType, targetType, formattingAnnotation);
+        if (typeConverter != UNCONVERTIBLE) {
             return typeConverter.convert(object, targetType, context);
         }
         return Optional.empty();
     }
 
+    @Override
+    public <S, T> ResolvedTypeConverter<S, T> resolveConverter(Class<S> sourceType, Argument<T> argument) {
+        Class<T> targetType = argument.getType();
+        Class<?> wrapperType = targetType.isPrimitive() ? ReflectionUtils.getWrapperType(targetType) : targetType;
+        String formattingAnnotation = resolveFormattingAnnotation(argument.getAnnotationMetadata());
+        return new DefaultResolvedTypeConverter<>(sourceType, argument, wrapperType, formattingAnnotation);
+    }
+
     @Override
     public <S, T> boolean canConvert(Class<S> sourceType, Class<T> targetType) {
         ConvertiblePair pair = new ConvertiblePair(sourceType, targetType, null);
@@ -140,6 +137,7 @@ public class DefaultConversionService implements ConversionService<DefaultConver
         ConvertiblePair pair = newPair(sourceType, targetType, typeConverter);
         typeConverters.put(pair, typeConverter);
         converterCache.put(pair, typeConverter);
+        converterVersion.incrementAndGet();
         return this;
     }
 
@@ -149,6 +147,7 @@ public class DefaultConversionService implements ConversionService<DefaultConver
         TypeConverter<S, T> typeConverter = TypeConverter.of(sourceType, targetType, function);
         typeConverters.put(pair, typeConverter);
         converterCache.put(pair, typeConverter);
+        converterVersion.incrementAndGet();
         return this;
     }
 
@@ -361,15 +360,7 @@ public class DefaultConversionService implements ConversionService<DefaultConver
                 });
 
         // String -> Integer
-        addConverter(CharSequence.class, Integer.class, (CharSequence object, Class<Integer> targetType, ConversionContext context) -> {
-            try {
-                Integer converted = Integer.valueOf(object.toString());
-                return Optional.of(converted);
-            } catch (NumberFormatException e) {
-                context.reject(object, e);
-                return Optional.empty();
-            }
-        });
+        addConverter(CharSequence.class, Integer.class, new CharSequenceToIntegerConverter());
 
         // String -> BigInteger
         addConverter(CharSequence.class, BigInteger.class, (CharSequence object, Class<BigInteger> targetType, ConversionContext context) -> {
@@ -394,26 +385,10 @@ public class DefaultConversionService implements ConversionService<DefaultConver
         });
 
         // String -> Double
-        addConverter(CharSequence.class, Double.class, (CharSequence object, Class<Double> targetType, ConversionContext context) -> {
-            try {
-                Double converted = Double.valueOf(object.toString());
-                return Optional.of(converted);
-            } catch (NumberFormatException e) {
-                context.reject(object, e);
-                return Optional.empty();
-            }
-        });
+        addConverter(CharSequence.class, Double.class, new CharSequenceToDoubleConverter());
 
         // String -> Long
-        addConverter(CharSequence.class, Long.class, (CharSequence object, Class<Long> targetType, ConversionContext context) -> {
-            try {
-                Long converted = Long.valueOf(object.toString());
-                return Optional.of(converted);
-            } catch (NumberFormatException e) {
-                context.reject(object, e);
-                return Optional.empty();
-            }
-        });
+        addConverter(CharSequence.class, Long.class, new CharSequenceToLongConverter());
 
         // String -> Short
         addConverter(CharSequence.class, Short.class, (CharSequence object, Class<Short> targetType, ConversionContext context) -> {
@@ -449,18 +424,7 @@ public class DefaultConversionService implements ConversionService<DefaultConver
         });
 
         // String -> Boolean
-        addConverter(CharSequence.class, Boolean.class, (CharSequence object, Class<Boolean> targetType, ConversionContext context) -> {
-            String booleanString = object.toString().toLowerCase(Locale.ENGLISH);
-            switch (booleanString) {
-                case "yes":
-                case "y":
-                case "on":
-                case "true":
-                    return Optional.of(Boolean.TRUE);
-                default:
-                    return Optional.of(Boolean.FALSE);
-            }
-        });
+        addConverter(CharSequence.class, Boolean.class, new CharSequenceToBooleanConverter());
 
         // String -> URL
         addConverter(CharSequence.class, URL.class, (CharSequence object, Class<URL> targetType, ConversionContext context) -> {
@@ -841,6 +805,34 @@ public class DefaultConversionService implements ConversionService<DefaultConver
 
     }
 
+    /**
+     * Resolves the type converter for the given types from the cache, falling back to {@link #findTypeConverter(Class, Class, String)}.
+     *
+     * @param sourceType           The source type
+     * @param targetType           The target type
+     * @param formattingAnnotation The formatting annotation
+     * @return The type converter, never null
+     */
+    private TypeConverter resolveTypeConverter(Class<?> sourceType, Class<?> targetType, @Nullable String formattingAnnotation) {
+        ConvertiblePair pair = new ConvertiblePair(sourceType, targetType, formattingAnnotation);
+        TypeConverter typeConverter = converterCache.get(pair);
+        if (typeConverter == null) {
+            typeConverter = findTypeConverter(sourceType, targetType, formattingAnnotation);
+            if (typeConverter == null) {
+                return UNCONVERTIBLE;
+            }
+            converterCache.put(pair, typeConverter);
+        }
+        return typeConverter;
+    }
+
+    private static @Nullable String resolveFormattingAnnotation(AnnotationMetadata annotationMetadata) {
+        if (annotationMetadata.isEmpty()) {
+            return null;
+        }
+        return annotationMetadata.getAnnotationNameByStereotype(Format.class).orElse(null);
+    }
+
     /**
      * Find the type converter.
      * @param sourceType sourceType
@@ -943,4 +935,211 @@ public class DefaultConversionService implements ConversionService<DefaultConver
             return result;
         }
     }
+
+    /**
+     * A {@link ResolvedTypeConverter} bound to a converter found by this conversion service.
+     *
+     * @param <S> The source type
+     * @param <T> The target type
+     */
+    private final class DefaultResolvedTypeConverter<S, T> implements ResolvedTypeConverter<S, T> {
+        private final Class<S> sourceType;
+        private final Argument<T> argument;
+        private final Class<T> targetType;
+        private final String formattingAnnotation;
+        private volatile TypeConverter typeConverter;
+        private volatile int version;
+
+        DefaultResolvedTypeConverter(Class<S> sourceType, Argument<T> argument, Class<?> targetType, @Nullable String formattingAnnotation) {
+            this.sourceType = sourceType;
+            this.argument = argument;
+            this.targetType = (Class<T>) targetType;
+            this.formattingAnnotation = formattingAnnotation;
+            this.version = converterVersion.get();
+            this.typeConverter = resolveTypeConverter(sourceType, targetType, formattingAnnotation);
+        }
+
+        /**
+         * @return The converter, resolved again if converters were added since it was resolved
+         */
+        private TypeConverter typeConverter() {
+            int current = converterVersion.get();
+            if (version != current) {
+                typeConverter = resolveTypeConverter(sourceType, targetType, formattingAnnotation);
+                version = current;
+            }
+            return typeConverter;
+        }
+
+        @Override
+        public Class<S> getSourceType() {
+            return sourceType;
+        }
+
+        @Override
+        public Argument<T> getArgument() {
+            return argument;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Optional<T> convert(S object, ConversionContext context) {
+            if (object == null || context == null) {
+                return Optional.empty();
+            }
+            if (!sourceType.isInstance(object)) {
+                // the converter was resolved for an unrelated type, use the regular lookup
+                return DefaultConversionService.this.convert(object, targetType, context);
+            }
+            if (targetType == Object.class) {
+                return Optional.of((T) object);
+            }
+            if (targetType.isInstance(object) && !Iterable.class.isInstance(object) && !Map.class.isInstance(object)) {
+                return Optional.of((T) object);
+            }
+            TypeConverter converter = typeConverter();
+            if (converter != UNCONVERTIBLE) {
+                return converter.convert(object, targetType, context);
+            }
+            if (object.getClass() != sourceType) {
+                // a converter may still exist for the subtype
+                return DefaultConversionService.this.convert(object, targetType, context);
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        public int convertToInt(S object, ConversionContext context, int defaultValue) {
+            TypeConverter converter = typeConverter();
+            if (converter instanceof CharSequenceToIntegerConverter && object instanceof CharSequence && context != null) {
+                return ((CharSequenceToIntegerConverter) converter).convertToInt((CharSequence) object, context, defaultValue);
+            }
+            return ResolvedTypeConverter.super.convertToInt(object, context, defaultValue);
+        }
+
+        @Override
+        public long convertToLong(S object, ConversionContext context, long defaultValue) {
+            TypeConverter converter = typeConverter();
+            if (converter instanceof CharSequenceToLongConverter && object instanceof CharSequence && context != null) {
+                return ((CharSequenceToLongConverter) converter).convertToLong((CharSequence) object, context, defaultValue);
+            }
+            return ResolvedTypeConverter.super.convertToLong(object, context, defaultValue);
+        }
+
+        @Override
+        public double convertToDouble(S object, ConversionContext context, double defaultValue) {
+            TypeConverter converter = typeConverter();
+            if (converter instanceof CharSequenceToDoubleConverter && object instanceof CharSequence && context != null) {
+                return ((CharSequenceToDoubleConverter) converter).convertToDouble((CharSequence) object, context, defaultValue);
+            }
+            return ResolvedTypeConverter.super.convertToDouble(object, context, defaultValue);
+        }
+
+        @Override
+        public boolean convertToBoolean(S object, ConversionContext context, boolean defaultValue) {
+            TypeConverter converter = typeConverter();
+            if (converter instanceof CharSequenceToBooleanConverter && object instanceof CharSequence) {
+                return ((CharSequenceToBooleanConverter) converter).convertToBoolean((CharSequence) object);
+            }
+            return ResolvedTypeConverter.super.convertToBoolean(object, context, defaultValue);
+        }
+    }
+
+    /**
+     * Converts character sequences to integers, additionally allowing conversion to a primitive.
+     */
+    private static final class CharSequenceToIntegerConverter implements TypeConverter<CharSequence, Integer> {
+        @Override
+        public Optional<Integer> convert(CharSequence object, Class<Integer> targetType, ConversionContext context) {
+            try {
+                Integer converted = Integer.valueOf(object.toString());
+                return Optional.of(converted);
+            } catch (NumberFormatException e) {
+                context.reject(object, e);
+                return Optional.empty();
+            }
+        }
+
+        int convertToInt(CharSequence object, ConversionContext context, int defaultValue) {
+            try {
+                return Integer.parseInt(object.toString());
+            } catch (NumberFormatException e) {
+                context.reject(object, e);
+                return defaultValue;
+            }
+        }
+    }
+
+    /**
+     * Converts character sequences to longs, additionally allowing conversion to a primitive.
+     */
+    private static final class CharSequenceToLongConverter implements TypeConverter<CharSequence, Long> {
+        @Override
+        public Optional<Long> convert(CharSequence object, Class<Long> targetType, ConversionContext context) {
+            try {
+                Long converted = Long.valueOf(object.toString());
+                return Optional.of(converted);
+            } catch (NumberFormatException e) {
+                context.reject(object, e);
+                return Optional.empty();
+            }
+        }
+
+        long convertToLong(CharSequence object, ConversionContext context, long defaultValue) {
+            try {
+                return Long.parseLong(object.toString());
+            } catch (NumberFormatException e) {
+                context.reject(object, e);
+                return defaultValue;
+            }
+        }
+    }
+
+    /**
+     * Converts character sequences to doubles, additionally allowing conversion to a primitive.
+     */
+    private static final class CharSequenceToDoubleConverter implements TypeConverter<CharSequence, Double> {
+        @Override
+        public Optional<Double> convert(CharSequence object, Class<Double> targetType, ConversionContext context) {
+            try {
+                Double converted = Double.valueOf(object.toString());
+                return Optional.of(converted);
+            } catch (NumberFormatException e) {
+                context.reject(object, e);
+                return Optional.empty();
+            }
+        }
+
+        double convertToDouble(CharSequence object, ConversionContext context, double defaultValue) {
+            try {
+                return Double.parseDouble(object.toString());
+            } catch (NumberFormatException e) {
+                context.reject(object, e);
+                return defaultValue;
+            }
+        }
+    }
+
+    /**
+     * Converts character sequences to booleans, additionally allowing conversion to a primitive.
+     */
+    private static final class CharSequenceToBooleanConverter implements TypeConverter<CharSequence, Boolean> {
+        @Override
+        public Optional<Boolean> convert(CharSequence object, Class<Boolean> targetType, ConversionContext context) {
+            return Optional.of(convertToBoolean(object));
+        }
+
+        boolean convertToBoolean(CharSequence object) {
+            String booleanString = object.toString().toLowerCase(Locale.ENGLISH);
+            switch (booleanString) {
+                case "yes":
+                case "y":
+                case "on":
+                case "true":
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
 }
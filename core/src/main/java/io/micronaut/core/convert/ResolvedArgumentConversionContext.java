@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.core.convert;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+
+/**
+ * <p>An {@link ArgumentConversionContext} for an argument whose conversion has been resolved ahead of time, for example
+ * by the binding plan of a route method.</p>
+ *
+ * <p>Binders that recognize this context can use the {@link ResolvedTypeConverter} and the default value it provides
+ * instead of looking them up for every conversion.</p>
+ *
+ * @param <T> The type
+ * @since 1.3
+ */
+public interface ResolvedArgumentConversionContext<T> extends ArgumentConversionContext<T> {
+
+    /**
+     * Obtains the converter from the given source type to the argument.
+     *
+     * @param sourceType The source type
+     * @return The converter or null if the value has to be converted with a regular lookup
+     */
+    @Nullable ResolvedTypeConverter<Object, T> getConverter(Class<?> sourceType);
+
+    /**
+     * @return The default value of the argument converted to the argument type, as declared by
+     * {@link io.micronaut.core.bind.annotation.Bindable#defaultValue()}
+     */
+    Optional<T> getDefaultValue();
+}
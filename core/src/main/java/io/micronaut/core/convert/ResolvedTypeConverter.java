@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.core.convert;
+
+import io.micronaut.core.type.Argument;
+
+import java.util.Optional;
+
+/**
+ * <p>A {@link TypeConverter} that has been resolved ahead of time by a {@link ConversionService} for a given source type
+ * and target {@link Argument}.</p>
+ *
+ * <p>Callers that repeatedly convert values of the same type to the same argument (for example request parameters
+ * bound to a method argument) can obtain an instance once via {@link ConversionService#resolveConverter(Class, Argument)}
+ * and avoid looking up the converter and the formatting metadata on every conversion.</p>
+ *
+ * <p>Instances of subtypes of the source type are converted with the converter resolved for the source type. Values
+ * that are not instances of the source type are converted with a regular lookup.</p>
+ *
+ * <p>The {@code convertTo*} variants allow conversion to primitive types without boxing the result where the
+ * underlying converter supports it.</p>
+ *
+ * @param <S> The source type
+ * @param <T> The target type
+ * @since 1.3
+ */
+public interface ResolvedTypeConverter<S, T> extends TypeConverter<S, T> {
+
+    /**
+     * @return The source type this converter was resolved for
+     */
+    Class<S> getSourceType();
+
+    /**
+     * @return The target argument this converter was resolved for
+     */
+    Argument<T> getArgument();
+
+    /**
+     * Converts the given object to the target argument.
+     *
+     * @param object  The object to convert
+     * @param context The conversion context
+     * @return The converted value or empty if the conversion is not possible
+     */
+    Optional<T> convert(S object, ConversionContext context);
+
+    @Override
+    default Optional<T> convert(S object, Class<T> targetType, ConversionContext context) {
+        return convert(object, context);
+    }
+
+    /**
+     * Converts the given object to an {@code int}.
+     *
+     * @param object       The object to convert
+     * @param context      The conversion context
+     * @param defaultValue The value to return if the conversion is not possible
+     * @return The converted value
+     */
+    default int convertToInt(S object, ConversionContext context, int defaultValue) {
+        Object result = convert(object, context).orElse(null);
+        return result instanceof Number ? ((Number) result).intValue() : defaultValue;
+    }
+
+    /**
+     * Converts the given object to a {@code long}.
+     *
+     * @param object       The object to convert
+     * @param context      The conversion context
+     * @param defaultValue The value to return if the conversion is not possible
+     * @return The converted value
+     */
+    default long convertToLong(S object, ConversionContext context, long defaultValue) {
+        Object result = convert(object, context).orElse(null);
+        return result instanceof Number ? ((Number) result).longValue() : defaultValue;
+    }
+
+    /**
+     * Converts the given object to a {@code double}.
+     *
+     * @param object       The object to convert
+     * @param context      The conversion context
+     * @param defaultValue The value to return if the conversion is not possible
+     * @return The converted value
+     */
+    default double convertToDouble(S object, ConversionContext context, double defaultValue) {
+        Object result = convert(object, context).orElse(null);
+        return result instanceof Number ? ((Number) result).doubleValue() : defaultValue;
+    }
+
+    /**
+     * Converts the given object to a {@code boolean}.
+     *
+     * @param object       The object to convert
+     * @param context      The conversion context
+     * @param defaultValue The value to return if the conversion is not possible
+     * @return The converted value
+     */
+    default boolean convertToBoolean(S object, ConversionContext context, boolean defaultValue) {
+        Object result = convert(object, context).orElse(null);
+        return result instanceof Boolean ? (Boolean) result : defaultValue;
+    }
+}
@@ -21,6 +21,7 @@ import spock.lang.Specification
 import spock.lang.Unroll
 
 import java.time.DayOfWeek
+import java.util.function.Function
 
 /**
  * Created by graemerocher on 12/06/2017.
@@ -94,4 +95,73 @@ class DefaultConversionServiceSpec extends Specification {
 
     }
 
+    @Unroll
+    void "test resolved converter converts a #sourceObject.class.name to a #targetType.name"() {
+        given:
+        ConversionService conversionService = new DefaultConversionService()
+        ResolvedTypeConverter converter = conversionService.resolveConverter(sourceObject.getClass(), Argument.of(targetType))
+
+        expect:
+        converter.convert(sourceObject, ConversionContext.DEFAULT).get() == result
+        converter.convert(sourceObject, ConversionContext.DEFAULT).get() == result
+
+        where:
+        sourceObject                           | targetType | result
+        "10"                                   | Integer    | 10
+        "10"                                   | int        | 10
+        "10"                                   | Long       | 10L
+        "yes"                                  | boolean    | true
+        "12345678-1234-1234-1234-123456789012" | UUID       | UUID.fromString("12345678-1234-1234-1234-123456789012")
+        10                                     | String     | "10"
+    }
+
+    void "test resolved converter primitive variants"() {
+        given:
+        ConversionService conversionService = new DefaultConversionService()
+        ConversionContext context = ConversionContext.of(Argument.of(int))
+
+        expect:
+        conversionService.resolveConverter(String, Argument.of(int)).convertToInt("10", context, -1) == 10
+        conversionService.resolveConverter(String, Argument.of(long)).convertToLong("10", context, -1L) == 10L
+        conversionService.resolveConverter(String, Argument.of(double)).convertToDouble("1.5", context, -1d) == 1.5d
+        conversionService.resolveConverter(String, Argument.of(boolean)).convertToBoolean("on", context, false)
+        conversionService.resolveConverter(Integer, Argument.of(long)).convertToLong(10, context, -1L) == 10L
+
+        when:
+        int result = conversionService.resolveConverter(String, Argument.of(int)).convertToInt("junk", context, -1)
+
+        then:
+        result == -1
+        context.lastError.isPresent()
+    }
+
+    void "test resolved converter converts instances of subtypes of the source type"() {
+        given:
+        ConversionService conversionService = new DefaultConversionService()
+        ResolvedTypeConverter converter = conversionService.resolveConverter(CharSequence, Argument.of(Integer))
+
+        expect:
+        converter.convert("10", ConversionContext.DEFAULT).get() == 10
+        converter.convert(new StringBuilder("11"), ConversionContext.DEFAULT).get() == 11
+        converter.convert(12L, ConversionContext.DEFAULT).get() == 12
+    }
+
+    void "test resolved converter uses converters added after it was resolved"() {
+        given:
+        DefaultConversionService conversionService = new DefaultConversionService()
+        ResolvedTypeConverter converter = conversionService.resolveConverter(String, Argument.of(Token))
+
+        expect:
+        !converter.convert("abc", ConversionContext.DEFAULT).isPresent()
+
+        when:
+        conversionService.addConverter(String, Token, { String value -> new Token(value: value) } as Function)
+
+        then:
+        converter.convert("abc", ConversionContext.DEFAULT).get().value == "abc"
+    }
+
+    static class Token {
+        String value
+    }
 }
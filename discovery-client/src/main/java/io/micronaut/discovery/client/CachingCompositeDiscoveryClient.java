@@ -30,13 +30,14 @@ import java.util.List;
 
 /**
  * Replaces the default {@link io.micronaut.discovery.DefaultCompositeDiscoveryClient} with one that caches the return
- * values.
+ * values. It is not used when the {@link WatchingCompositeDiscoveryClient watch mode} is enabled.
  *
  * @author Graeme Rocher
  * @since 1.0
  */
 @Primary
 @Requires(property = DiscoveryClientCacheConfiguration.SETTING_ENABLED, notEquals = StringUtils.FALSE)
+@Requires(property = DiscoveryClientWatchConfiguration.SETTING_ENABLED, notEquals = StringUtils.TRUE)
 @Replaces(DefaultCompositeDiscoveryClient.class)
 public class CachingCompositeDiscoveryClient extends CompositeDiscoveryClient {
 
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.core.util.Toggleable;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the watch mode of the discovery client, in which the instances of the services in use are kept
+ * in memory and updated incrementally by {@link ServiceInstanceWatch} implementations instead of being cached for
+ * a fixed time.
+ *
+ * @since 1.3
+ */
+@ConfigurationProperties(DiscoveryClientWatchConfiguration.PREFIX)
+@Requires(property = DiscoveryClientWatchConfiguration.SETTING_ENABLED, value = StringUtils.TRUE)
+public class DiscoveryClientWatchConfiguration implements Toggleable {
+
+    /**
+     * The prefix to use for all discovery watch settings.
+     */
+    public static final String PREFIX = "micronaut.discovery.watch";
+
+    /**
+     * Configuration property name for enabling the watch mode.
+     */
+    public static final String SETTING_ENABLED = PREFIX + ".enabled";
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default wait time of blocking queries in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_WAIT_SECONDS = 30;
+
+    /**
+     * The default interval between fetches in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_FETCH_INTERVAL_SECONDS = 30;
+
+    /**
+     * The default delay before retrying a failed watch in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_RETRY_DELAY_SECONDS = 5;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private Duration wait = Duration.ofSeconds(DEFAULT_WAIT_SECONDS);
+    private Duration fetchInterval = Duration.ofSeconds(DEFAULT_FETCH_INTERVAL_SECONDS);
+    private Duration retryDelay = Duration.ofSeconds(DEFAULT_RETRY_DELAY_SECONDS);
+
+    /**
+     * Default value ({@value #DEFAULT_ENABLED}).
+     * @return Whether the watch mode is enabled
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled Enable or disable the watch mode
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The maximum time a blocking query waits for a change. It is capped below the read timeout of the discovery
+     * client. Default value ({@value #DEFAULT_WAIT_SECONDS} seconds).
+     *
+     * @return The wait time of blocking queries
+     */
+    public Duration getWait() {
+        return wait;
+    }
+
+    /**
+     * @param wait The wait time of blocking queries
+     */
+    public void setWait(Duration wait) {
+        if (wait != null) {
+            this.wait = wait;
+        }
+    }
+
+    /**
+     * The interval between fetches of registries that do not support blocking queries, such as the deltas fetched
+     * from Eureka. Default value ({@value #DEFAULT_FETCH_INTERVAL_SECONDS} seconds).
+     *
+     * @return The fetch interval
+     */
+    public Duration getFetchInterval() {
+        return fetchInterval;
+    }
+
+    /**
+     * @param fetchInterval The fetch interval
+     */
+    public void setFetchInterval(Duration fetchInterval) {
+        if (fetchInterval != null) {
+            this.fetchInterval = fetchInterval;
+        }
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_RETRY_DELAY_SECONDS} seconds).
+     *
+     * @return The delay before a failed watch is retried
+     */
+    public Duration getRetryDelay() {
+        return retryDelay;
+    }
+
+    /**
+     * @param retryDelay The delay before a failed watch is retried
+     */
+    public void setRetryDelay(Duration retryDelay) {
+        if (retryDelay != null) {
+            this.retryDelay = retryDelay;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client;
+
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.reactivex.Flowable;
+
+import java.util.List;
+
+/**
+ * Watches the instances of a service registered with a particular {@link DiscoveryClient}, for example with
+ * blocking queries or by fetching the changes to the registry, so that the {@link WatchingCompositeDiscoveryClient}
+ * does not need to query the full list of instances again.
+ *
+ * @since 1.3
+ */
+public interface ServiceInstanceWatch {
+
+    /**
+     * @param discoveryClient A discovery client
+     * @return Whether this watch watches the services registered with the given client
+     */
+    boolean supports(DiscoveryClient discoveryClient);
+
+    /**
+     * Watches the instances of the given service. The returned {@link Flowable} emits the current instances first
+     * and then every time they changed. It does not complete unless the service cannot change and signals an error
+     * if the registry cannot be reached.
+     *
+     * @param serviceId The service ID
+     * @return A {@link Flowable} that emits the instances of the service
+     */
+    Flowable<List<ServiceInstance>> watch(String serviceId);
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client;
+
+import io.micronaut.context.annotation.Primary;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.core.util.ArrayUtils;
+import io.micronaut.discovery.CompositeDiscoveryClient;
+import io.micronaut.discovery.DefaultCompositeDiscoveryClient;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaces the default {@link DefaultCompositeDiscoveryClient} with one that watches the instances of every service
+ * it was asked for and keeps them in memory. The instances are updated incrementally by the
+ * {@link ServiceInstanceWatch} of each {@link DiscoveryClient}, or fetched periodically for clients that cannot be
+ * watched, so that load balancers see changes as soon as the registry reports them without querying the registry
+ * for every request.
+ *
+ * @since 1.3
+ */
+@Primary
+@Singleton
+@Requires(beans = DiscoveryClientWatchConfiguration.class)
+@Replaces(DefaultCompositeDiscoveryClient.class)
+public class WatchingCompositeDiscoveryClient extends CompositeDiscoveryClient {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WatchingCompositeDiscoveryClient.class);
+
+    private final ServiceInstanceWatch[] watches;
+    private final DiscoveryClientWatchConfiguration configuration;
+    private final Map<String, WatchedService> services = new ConcurrentHashMap<>();
+
+    /**
+     * @param discoveryClients The discovery clients
+     * @param watches          The watches of the discovery clients
+     * @param configuration    The watch configuration
+     */
+    public WatchingCompositeDiscoveryClient(
+            DiscoveryClient[] discoveryClients,
+            ServiceInstanceWatch[] watches,
+            DiscoveryClientWatchConfiguration configuration) {
+        super(discoveryClients);
+        this.watches = watches;
+        this.configuration = configuration;
+    }
+
+    @Override
+    public Flowable<List<ServiceInstance>> getInstances(String serviceId) {
+        serviceId = NameUtils.hyphenate(serviceId);
+        if (ArrayUtils.isEmpty(getDiscoveryClients())) {
+            return super.getInstances(serviceId);
+        }
+        List<ServiceInstance> instances = services.computeIfAbsent(serviceId, WatchedService::new).instances;
+        if (instances != null) {
+            return Flowable.just(instances);
+        }
+        // the first instances were not received yet
+        return super.getInstances(serviceId);
+    }
+
+    @Override
+    public void close() throws IOException {
+        services.values().forEach(service -> service.subscription.dispose());
+        services.clear();
+        super.close();
+    }
+
+    private Flowable<List<ServiceInstance>> watch(DiscoveryClient discoveryClient, String serviceId) {
+        Flowable<List<ServiceInstance>> instances = null;
+        for (ServiceInstanceWatch watch : watches) {
+            if (watch.supports(discoveryClient)) {
+                instances = watch.watch(serviceId);
+                break;
+            }
+        }
+        if (instances == null) {
+            Duration fetchInterval = configuration.getFetchInterval();
+            instances = Flowable.defer(() -> Flowable.fromPublisher(discoveryClient.getInstances(serviceId)))
+                    .repeatWhen(completed -> completed.delay(fetchInterval.toMillis(), TimeUnit.MILLISECONDS));
+        }
+        Duration retryDelay = configuration.getRetryDelay();
+        return instances.retryWhen(errors -> errors
+                .doOnNext(e -> {
+                    if (LOG.isWarnEnabled()) {
+                        LOG.warn("Error watching instances of service [" + serviceId + "] with discovery client [" + discoveryClient.getDescription() + "], retrying in " + retryDelay, e);
+                    }
+                })
+                .delay(retryDelay.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * The instances of a watched service.
+     */
+    private final class WatchedService {
+        final Disposable subscription;
+        volatile List<ServiceInstance> instances;
+
+        @SuppressWarnings("unchecked")
+        WatchedService(String serviceId) {
+            DiscoveryClient[] discoveryClients = getDiscoveryClients();
+            List<Flowable<List<ServiceInstance>>> sources = new ArrayList<>(discoveryClients.length);
+            for (DiscoveryClient discoveryClient : discoveryClients) {
+                sources.add(watch(discoveryClient, serviceId));
+            }
+            Flowable<List<ServiceInstance>> combined;
+            if (sources.size() == 1) {
+                combined = sources.get(0).map(Collections::unmodifiableList);
+            } else {
+                combined = Flowable.combineLatest(sources, lists -> {
+                    List<ServiceInstance> all = new ArrayList<>();
+                    for (Object list : lists) {
+                        all.addAll((List<ServiceInstance>) list);
+                    }
+                    return Collections.unmodifiableList(all);
+                });
+            }
+            this.subscription = combined.subscribe(serviceInstances -> {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Instances of service [{}] changed to {}", serviceId, serviceInstances);
+                }
+                this.instances = serviceInstances;
+            });
+        }
+    }
+}
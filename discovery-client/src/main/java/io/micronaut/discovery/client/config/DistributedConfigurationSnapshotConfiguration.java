@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.config;
+
+import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.core.util.Toggleable;
+import io.micronaut.discovery.config.ConfigurationClient;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Configuration of the on-disk snapshot of the distributed configuration. When enabled, the configuration read from
+ * the {@link ConfigurationClient} is written to a snapshot and the next start of the application is served from that
+ * snapshot while the configuration is read again in the background.
+ *
+ * <p>The snapshot holds every value read from the configuration servers, including secrets. Snapshots are therefore
+ * only used once a {@link #getDirectory() directory} is configured, and only if the directory and the snapshots are
+ * owned by the user of the application and are not accessible by other users where the file system supports it.</p>
+ *
+ * @since 1.3
+ */
+@ConfigurationProperties(DistributedConfigurationSnapshotConfiguration.PREFIX)
+@Requires(property = DistributedConfigurationSnapshotConfiguration.SETTING_ENABLED, value = StringUtils.TRUE)
+@Requires(property = DistributedConfigurationSnapshotConfiguration.SETTING_DIRECTORY)
+@BootstrapContextCompatible
+public class DistributedConfigurationSnapshotConfiguration implements Toggleable {
+
+    /**
+     * The prefix to use for all snapshot settings.
+     */
+    public static final String PREFIX = ConfigurationClient.CONFIGURATION_PREFIX + ".snapshot";
+
+    /**
+     * Configuration property name for enabling the snapshot.
+     */
+    public static final String SETTING_ENABLED = PREFIX + ".enabled";
+
+    /**
+     * Configuration property name for the snapshot directory.
+     */
+    public static final String SETTING_DIRECTORY = PREFIX + ".directory";
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private Path directory;
+    private Duration maxAge;
+
+    /**
+     * Default value ({@value #DEFAULT_ENABLED}).
+     * @return Whether the snapshot is enabled
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled Enable or disable the snapshot
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The directory the snapshots are written to. There is no default, since a shared directory such as the temporary
+     * directory would allow other users to read or replace the snapshots. The directory is created with permissions
+     * for its owner only if it does not exist. Use a directory that survives restarts, such as a mounted volume, when
+     * running in a container.
+     *
+     * @return The snapshot directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @param directory The snapshot directory
+     */
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Snapshots older than the max age are not used. By default snapshots are used regardless of their age.
+     *
+     * @return The maximum age of a snapshot
+     */
+    public Optional<Duration> getMaxAge() {
+        return Optional.ofNullable(maxAge);
+    }
+
+    /**
+     * @param maxAge The maximum age of a snapshot
+     */
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.env.Environment;
+import io.micronaut.context.env.PropertySource;
+import io.micronaut.runtime.ApplicationConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reads and writes the on-disk snapshots of the distributed configuration. There is one snapshot per application
+ * name and set of active environments.
+ *
+ * <p>Snapshots are only read from and written to a directory that is owned by the user of the application. Where the
+ * file system supports POSIX permissions, the directory and the snapshots must not be accessible by other users.</p>
+ *
+ * @since 1.3
+ */
+@Singleton
+@Requires(beans = DistributedConfigurationSnapshotConfiguration.class)
+@BootstrapContextCompatible
+public class DistributedConfigurationSnapshotStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DistributedConfigurationSnapshotStore.class);
+    private static final int VERSION = 1;
+    private static final String VERSION_FIELD = "version";
+    private static final String CREATED_FIELD = "created";
+    private static final String PROPERTY_SOURCES_FIELD = "propertySources";
+    private static final String NAME_FIELD = "name";
+    private static final String ORDER_FIELD = "order";
+    private static final String VALUES_FIELD = "values";
+    private static final Set<PosixFilePermission> OWNER_ONLY = Collections.unmodifiableSet(EnumSet.of(
+        PosixFilePermission.OWNER_READ,
+        PosixFilePermission.OWNER_WRITE,
+        PosixFilePermission.OWNER_EXECUTE
+    ));
+
+    private final DistributedConfigurationSnapshotConfiguration configuration;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param configuration The snapshot configuration
+     * @param objectMapper  The object mapper
+     */
+    public DistributedConfigurationSnapshotStore(DistributedConfigurationSnapshotConfiguration configuration, ObjectMapper objectMapper) {
+        this.configuration = configuration;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the snapshot of the given environment.
+     *
+     * @param environment The environment
+     * @return The property sources of the snapshot or empty if there is no usable snapshot
+     */
+    public Optional<List<PropertySource>> read(Environment environment) {
+        Path path = resolvePath(environment);
+        JsonNode snapshot = readSnapshot(path);
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        Optional<Duration> maxAge = configuration.getMaxAge();
+        if (maxAge.isPresent() && System.currentTimeMillis() - snapshot.path(CREATED_FIELD).asLong() > maxAge.get().toMillis()) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Ignoring configuration snapshot [{}] that is older than {}", path, maxAge.get());
+            }
+            return Optional.empty();
+        }
+
+        List<PropertySource> propertySources = new ArrayList<>();
+        for (JsonNode propertySource : snapshot.path(PROPERTY_SOURCES_FIELD)) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> values = objectMapper.convertValue(propertySource.path(VALUES_FIELD), LinkedHashMap.class);
+            propertySources.add(PropertySource.of(
+                propertySource.path(NAME_FIELD).asText(),
+                values,
+                propertySource.path(ORDER_FIELD).asInt()
+            ));
+        }
+        return Optional.of(propertySources);
+    }
+
+    /**
+     * Replaces the snapshot of the given environment.
+     *
+     * @param environment     The environment
+     * @param propertySources The property sources read from the configuration client
+     * @return Whether the property sources differ from those of the replaced snapshot
+     */
+    public boolean write(Environment environment, List<PropertySource> propertySources) {
+        Path path = resolvePath(environment);
+        ArrayNode propertySourcesNode = objectMapper.createArrayNode();
+        for (PropertySource propertySource : propertySources) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String key : propertySource) {
+                values.put(key, propertySource.get(key));
+            }
+            propertySourcesNode.addObject()
+                .put(NAME_FIELD, propertySource.getName())
+                .put(ORDER_FIELD, propertySource.getOrder())
+                .set(VALUES_FIELD, objectMapper.valueToTree(values));
+        }
+
+        JsonNode previous = readSnapshot(path);
+        boolean changed = previous == null || !previous.path(PROPERTY_SOURCES_FIELD).equals(propertySourcesNode);
+
+        ObjectNode snapshot = objectMapper.createObjectNode()
+            .put(VERSION_FIELD, VERSION)
+            .put(CREATED_FIELD, System.currentTimeMillis());
+        snapshot.set(PROPERTY_SOURCES_FIELD, propertySourcesNode);
+        try {
+            Path directory = path.getParent();
+            if (!Files.isDirectory(directory)) {
+                if (isPosix(directory)) {
+                    Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+                } else {
+                    Files.createDirectories(directory);
+                }
+            }
+            if (!isTrusted(directory)) {
+                return changed;
+            }
+            // temporary files are only readable by their owner
+            Path temporary = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try {
+                objectMapper.writeValue(temporary.toFile(), snapshot);
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Error writing configuration snapshot [" + path + "]: " + e.getMessage(), e);
+            }
+        }
+        return changed;
+    }
+
+    private JsonNode readSnapshot(Path path) {
+        if (!Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS) || !isTrusted(path.getParent()) || !isTrusted(path, LinkOption.NOFOLLOW_LINKS)) {
+            return null;
+        }
+        try {
+            JsonNode snapshot = objectMapper.readTree(path.toFile());
+            if (snapshot != null && snapshot.path(VERSION_FIELD).asInt() == VERSION) {
+                return snapshot;
+            }
+        } catch (IOException e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Error reading configuration snapshot [" + path + "]: " + e.getMessage(), e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks that the given file is owned by the user of the application and is not accessible by other users.
+     *
+     * @param path    The path of the snapshot or of the directory
+     * @param options The options to apply when the path is a symbolic link
+     * @return Whether the file can be trusted with the snapshot
+     */
+    private boolean isTrusted(Path path, LinkOption... options) {
+        try {
+            UserPrincipal owner = Files.getOwner(path, options);
+            UserPrincipal user = path.getFileSystem().getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+            if (!owner.equals(user)) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Ignoring configuration snapshot location [{}] that is owned by {} instead of {}", path, owner.getName(), user.getName());
+                }
+                return false;
+            }
+            if (isPosix(path)) {
+                Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(path, options);
+                if (!OWNER_ONLY.containsAll(permissions)) {
+                    if (LOG.isWarnEnabled()) {
+                        LOG.warn("Ignoring configuration snapshot location [{}] that is accessible by other users: {}", path, PosixFilePermissions.toString(permissions));
+                    }
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Error checking the owner of configuration snapshot location [" + path + "]: " + e.getMessage(), e);
+            }
+            return false;
+        }
+    }
+
+    private static boolean isPosix(Path path) {
+        return path.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    private Path resolvePath(Environment environment) {
+        List<String> names = new ArrayList<>();
+        names.add(environment.getProperty(ApplicationConfiguration.APPLICATION_NAME, String.class).orElse(Environment.DEFAULT_NAME));
+        List<String> activeNames = new ArrayList<>(environment.getActiveNames());
+        Collections.sort(activeNames);
+        names.addAll(activeNames);
+        String fileName = String.join("-", names).replaceAll("[^\\w.-]", "_") + ".json";
+        return configuration.getDirectory().resolve(fileName);
+    }
+}
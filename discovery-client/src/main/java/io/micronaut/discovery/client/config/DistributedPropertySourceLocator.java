@@ -26,14 +26,20 @@ import io.micronaut.core.annotation.Blocking;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.discovery.config.ConfigurationClient;
 import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * <p>A {@link BootstrapPropertySourceLocator} implementation that uses the {@link ConfigurationClient} to find
@@ -42,6 +48,10 @@ import java.util.concurrent.TimeoutException;
  * <p>This implementation using a Blocking operation which is required during bootstrap which is configured to Timeout after
  * 10 seconds. The timeout can be configured with {@code micronaut.config.readTimeout} in configuration</p>
  *
+ * <p>When a {@link DistributedConfigurationSnapshotStore} is enabled, the application starts from the snapshot of the last
+ * configuration read without waiting for the configuration servers. The configuration is then read again in the
+ * background to replace the snapshot and any change is applied when the environment is next refreshed.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -52,35 +62,71 @@ public class DistributedPropertySourceLocator implements BootstrapPropertySource
     private static final Logger LOG = LoggerFactory.getLogger(DistributedPropertySourceLocator.class);
     private final ConfigurationClient configurationClient;
     private final Duration readTimeout;
+    private final DistributedConfigurationSnapshotStore snapshotStore;
+    private final AtomicBoolean snapshotConsulted = new AtomicBoolean();
 
     /**
      * @param configurationClient The configuration client
      * @param readTimeout         The read timeout
+     * @param snapshotStore       The snapshot store if snapshots are enabled
      */
+    @Inject
     public DistributedPropertySourceLocator(
         ConfigurationClient configurationClient,
         @Value("${" + ConfigurationClient.READ_TIMEOUT + ":10s}")
-            Duration readTimeout) {
+            Duration readTimeout,
+        @Nullable DistributedConfigurationSnapshotStore snapshotStore) {
 
         this.configurationClient = configurationClient;
         this.readTimeout = readTimeout;
+        this.snapshotStore = snapshotStore;
+    }
+
+    /**
+     * @param configurationClient The configuration client
+     * @param readTimeout         The read timeout
+     */
+    public DistributedPropertySourceLocator(
+        ConfigurationClient configurationClient,
+        Duration readTimeout) {
+        this(configurationClient, readTimeout, null);
     }
 
     @Override
     @Blocking
     public Iterable<PropertySource> findPropertySources(Environment environment) throws ConfigurationException {
+        if (snapshotStore != null && snapshotConsulted.compareAndSet(false, true)) {
+            Optional<List<PropertySource>> snapshot = snapshotStore.read(environment);
+            if (snapshot.isPresent()) {
+                if (LOG.isInfoEnabled()) {
+                    LOG.info("Resolved {} configuration sources from snapshot, reading from client in the background: {}", snapshot.get().size(), configurationClient);
+                }
+                readPropertySources(environment)
+                    .subscribeOn(Schedulers.io())
+                    .subscribe(propertySources -> {
+                        if (snapshotStore.write(environment, propertySources) && LOG.isInfoEnabled()) {
+                            LOG.info("Configuration read from client {} differs from the snapshot. The changes are applied when the environment is next refreshed", configurationClient);
+                        }
+                    }, throwable -> {
+                        if (LOG.isWarnEnabled()) {
+                            LOG.warn("Error reading distributed configuration in the background, the snapshot remains in use: " + throwable.getMessage(), throwable);
+                        }
+                    });
+                return snapshot.get();
+            }
+        }
+
         if (LOG.isDebugEnabled()) {
             LOG.debug("Resolving configuration sources from client: {}", configurationClient);
         }
         try {
-            Flowable<PropertySource> propertySourceFlowable = Flowable.fromPublisher(configurationClient.getPropertySources(environment));
-            List<PropertySource> propertySources = propertySourceFlowable.timeout(
-                readTimeout.toMillis(),
-                TimeUnit.MILLISECONDS
-            ).toList().blockingGet();
+            List<PropertySource> propertySources = readPropertySources(environment).blockingGet();
             if (LOG.isInfoEnabled()) {
                 LOG.info("Resolved {} configuration sources from client: {}", propertySources.size(), configurationClient);
             }
+            if (snapshotStore != null) {
+                snapshotStore.write(environment, propertySources);
+            }
             return propertySources;
         } catch (RuntimeException e) {
             if (e.getCause() instanceof TimeoutException) {
@@ -90,4 +136,10 @@ public class DistributedPropertySourceLocator implements BootstrapPropertySource
             }
         }
     }
+
+    private Single<List<PropertySource>> readPropertySources(Environment environment) {
+        return Flowable.fromPublisher(configurationClient.getPropertySources(environment))
+            .timeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .toList();
+    }
 }
@@ -390,6 +390,18 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
             @SuppressWarnings("WeakerAccess")
             public static final int DEFAULT_INTERVAL_SECONDS = 15;
 
+            /**
+             * The default coalesce window in milliseconds.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final int DEFAULT_COALESCE_WINDOW_MILLIS = 100;
+
+            /**
+             * The default maximum backoff seconds.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final int DEFAULT_MAX_BACKOFF_SECONDS = 30;
+
             private HttpMethod method = HttpMethod.GET;
             private Duration interval = Duration.ofSeconds(DEFAULT_INTERVAL_SECONDS);
             private Map<CharSequence, List<String>> headers = Collections.emptyMap();
@@ -399,6 +411,8 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
             private Boolean tlsSkipVerify;
             private boolean enabled = DEFAULT_ENABLED;
             private boolean http = DEFAULT_HTTP;
+            private Duration coalesceWindow = Duration.ofMillis(DEFAULT_COALESCE_WINDOW_MILLIS);
+            private Duration maxBackoff = Duration.ofSeconds(DEFAULT_MAX_BACKOFF_SECONDS);
 
             /**
              * @return The interval for the checks
@@ -530,6 +544,36 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
                 this.headers = headers;
             }
 
+            /**
+             * @return The time TTL check updates are collected for before they are sent to Consul together
+             */
+            public Duration getCoalesceWindow() {
+                return coalesceWindow;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_COALESCE_WINDOW_MILLIS}ms).
+             * @param coalesceWindow The time TTL check updates are collected for before they are sent to Consul together
+             */
+            public void setCoalesceWindow(Duration coalesceWindow) {
+                this.coalesceWindow = coalesceWindow;
+            }
+
+            /**
+             * @return The maximum time TTL check updates are held back for after Consul responded with an error
+             */
+            public Duration getMaxBackoff() {
+                return maxBackoff;
+            }
+
+            /**
+             * Default value ({@value #DEFAULT_MAX_BACKOFF_SECONDS}s).
+             * @param maxBackoff The maximum time TTL check updates are held back for after Consul responded with an error
+             */
+            public void setMaxBackoff(Duration maxBackoff) {
+                this.maxBackoff = maxBackoff;
+            }
+
             @Override
             public String toString() {
                 return "CheckConfiguration{" +
@@ -540,6 +584,8 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
                     ", id='" + id + '\'' +
                     ", tlsSkipVerify=" + tlsSkipVerify +
                     ", enabled=" + enabled +
+                    ", coalesceWindow=" + coalesceWindow +
+                    ", maxBackoff=" + maxBackoff +
                     '}';
             }
         }
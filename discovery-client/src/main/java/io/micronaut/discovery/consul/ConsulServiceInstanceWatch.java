@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.client.DiscoveryClientWatchConfiguration;
+import io.micronaut.discovery.client.ServiceInstanceWatch;
+import io.micronaut.discovery.consul.client.v1.ConsulClient;
+import io.micronaut.discovery.consul.client.v1.HealthEntry;
+import io.micronaut.discovery.consul.condition.RequiresConsul;
+import io.reactivex.Flowable;
+
+import javax.inject.Singleton;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link ServiceInstanceWatch} that watches the healthy instances of services registered with Consul using
+ * blocking queries, so that a query only returns once the instances changed or the wait time elapsed.
+ *
+ * @since 1.3
+ */
+@Singleton
+@RequiresConsul
+@Requires(beans = DiscoveryClientWatchConfiguration.class)
+public class ConsulServiceInstanceWatch implements ServiceInstanceWatch {
+
+    // Consul adds up to 1/16 of the wait time to spread the responses of blocking queries
+    private static final double MAX_WAIT_TO_READ_TIMEOUT_RATIO = 0.8;
+
+    private final ConsulClient consulClient;
+    private final ConsulConfiguration consulConfiguration;
+    private final DiscoveryClientWatchConfiguration watchConfiguration;
+
+    /**
+     * @param consulClient        The Consul client
+     * @param consulConfiguration The Consul configuration
+     * @param watchConfiguration  The watch configuration
+     */
+    public ConsulServiceInstanceWatch(
+            ConsulClient consulClient,
+            ConsulConfiguration consulConfiguration,
+            DiscoveryClientWatchConfiguration watchConfiguration) {
+        this.consulClient = consulClient;
+        this.consulConfiguration = consulConfiguration;
+        this.watchConfiguration = watchConfiguration;
+    }
+
+    @Override
+    public boolean supports(DiscoveryClient discoveryClient) {
+        return discoveryClient instanceof ConsulClient;
+    }
+
+    @Override
+    public Flowable<List<ServiceInstance>> watch(String serviceId) {
+        ConsulConfiguration.ConsulDiscoveryConfiguration discovery = consulConfiguration.getDiscovery();
+        if (!discovery.isEnabled() || ConsulClient.SERVICE_ID.equals(serviceId)) {
+            return Flowable.fromPublisher(consulClient.getInstances(serviceId));
+        }
+        boolean passing = discovery.isPassing();
+        String datacenter = discovery.getDatacenters().get(serviceId);
+        String tag = discovery.getTags().get(serviceId);
+        String scheme = discovery.getSchemes().getOrDefault(serviceId, "http");
+        String wait = getWait().toMillis() + "ms";
+        long fetchInterval = watchConfiguration.getFetchInterval().toMillis();
+
+        return Flowable.defer(() -> {
+            AtomicLong index = new AtomicLong();
+            AtomicBoolean blocking = new AtomicBoolean();
+            return Flowable.defer(() -> {
+                long previousIndex = index.get();
+                return Flowable.fromPublisher(consulClient.watchHealthyServices(
+                        serviceId,
+                        passing,
+                        tag,
+                        datacenter,
+                        previousIndex > 0 ? previousIndex : null,
+                        previousIndex > 0 ? wait : null
+                )).flatMap(response -> {
+                    long nextIndex = response.getHeaders().get(ConsulClient.INDEX_HEADER, Long.class).orElse(0L);
+                    if (nextIndex > 0 && nextIndex == previousIndex) {
+                        // the wait time elapsed without a change
+                        return Flowable.empty();
+                    }
+                    blocking.set(nextIndex > 0);
+                    // the index must be reset if it goes backwards
+                    index.set(nextIndex < previousIndex ? 0 : nextIndex);
+                    List<HealthEntry> healthEntries = response.getBody().orElse(Collections.emptyList());
+                    List<ServiceInstance> serviceInstances = new ArrayList<>(healthEntries.size());
+                    for (HealthEntry healthEntry : healthEntries) {
+                        serviceInstances.add(new ConsulServiceInstance(healthEntry, scheme));
+                    }
+                    return Flowable.just(serviceInstances);
+                });
+            }).repeatWhen(completed -> completed.flatMap(c -> blocking.get() ?
+                    Flowable.just(c) :
+                    // blocking queries are not supported
+                    Flowable.timer(fetchInterval, TimeUnit.MILLISECONDS)));
+        });
+    }
+
+    private Duration getWait() {
+        Duration wait = watchConfiguration.getWait();
+        return consulConfiguration.getReadTimeout()
+                .map(readTimeout -> Duration.ofMillis((long) (readTimeout.toMillis() * MAX_WAIT_TO_READ_TIMEOUT_RATIO)))
+                .filter(maxWait -> maxWait.compareTo(wait) < 0)
+                .orElse(wait);
+    }
+}
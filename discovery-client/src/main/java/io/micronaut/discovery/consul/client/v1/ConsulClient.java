@@ -17,8 +17,12 @@ package io.micronaut.discovery.consul.client.v1;
 
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.annotation.Get;
 import org.reactivestreams.Publisher;
 
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -35,6 +39,33 @@ public interface ConsulClient extends ConsulOperations, DiscoveryClient {
      */
     String SERVICE_ID = "consul";
 
+    /**
+     * The response header that holds the index of the result of a blocking query.
+     */
+    String INDEX_HEADER = "X-Consul-Index";
+
+    /**
+     * Gets the healthy services that are passing health checks with a blocking query, which waits until the
+     * services changed after the given index or the wait time elapsed. See
+     * https://www.consul.io/api/features/blocking.html.
+     *
+     * @param service The service
+     * @param passing The passing parameter
+     * @param tag     The tag
+     * @param dc      The dc
+     * @param index   The {@link #INDEX_HEADER index} of the previous result or null to return immediately
+     * @param wait    The maximum time to wait, for example {@code 30s}
+     * @return The response with the {@link HealthEntry} instances and the index of the result
+     */
+    @Get(uri = "/health/service/{service}{?passing,tag,dc,index,wait}", single = true)
+    Publisher<HttpResponse<List<HealthEntry>>> watchHealthyServices(
+        @NotNull String service,
+        @Nullable Boolean passing,
+        @Nullable String tag,
+        @Nullable String dc,
+        @Nullable Long index,
+        @Nullable String wait);
+
     @Override
     default Publisher<List<String>> getServiceIds() {
         return Publishers.map(getServiceNames(), services -> new ArrayList<>(services.keySet()));
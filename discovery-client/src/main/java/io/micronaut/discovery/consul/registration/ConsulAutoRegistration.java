@@ -38,15 +38,14 @@ import io.micronaut.http.HttpStatus;
 import io.micronaut.runtime.ApplicationConfiguration;
 import io.micronaut.runtime.server.EmbeddedServer;
 import io.micronaut.runtime.server.EmbeddedServerInstance;
-import io.reactivex.Single;
 import org.reactivestreams.Publisher;
 
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.net.InetAddress;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.UnknownHostException;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -66,6 +65,7 @@ public class ConsulAutoRegistration extends DiscoveryServiceAutoRegistration {
     private final ConsulConfiguration consulConfiguration;
     private final ServiceInstanceIdGenerator idGenerator;
     private final Environment environment;
+    private final ConsulCheckReporter checkReporter;
 
     /**
      * @param environment            The environment
@@ -73,13 +73,16 @@ public class ConsulAutoRegistration extends DiscoveryServiceAutoRegistration {
      * @param heartbeatConfiguration The heartbeat configuration
      * @param consulConfiguration    The Consul configuration
      * @param idGenerator            The id generator
+     * @param checkReporter          The reporter that sends the TTL check updates
      */
+    @Inject
     protected ConsulAutoRegistration(
         Environment environment,
         ConsulClient consulClient,
         HeartbeatConfiguration heartbeatConfiguration,
         ConsulConfiguration consulConfiguration,
-        ServiceInstanceIdGenerator idGenerator) {
+        ServiceInstanceIdGenerator idGenerator,
+        ConsulCheckReporter checkReporter) {
 
         super(consulConfiguration.getRegistration());
         this.environment = environment;
@@ -87,6 +90,27 @@ public class ConsulAutoRegistration extends DiscoveryServiceAutoRegistration {
         this.heartbeatConfiguration = heartbeatConfiguration;
         this.consulConfiguration = consulConfiguration;
         this.idGenerator = idGenerator;
+        this.checkReporter = checkReporter;
+    }
+
+    /**
+     * @param environment            The environment
+     * @param consulClient           The Consul client
+     * @param heartbeatConfiguration The heartbeat configuration
+     * @param consulConfiguration    The Consul configuration
+     * @param idGenerator            The id generator
+     * @deprecated Use {@link #ConsulAutoRegistration(Environment, ConsulClient, HeartbeatConfiguration, ConsulConfiguration, ServiceInstanceIdGenerator, ConsulCheckReporter)} instead
+     */
+    @Deprecated
+    protected ConsulAutoRegistration(
+        Environment environment,
+        ConsulClient consulClient,
+        HeartbeatConfiguration heartbeatConfiguration,
+        ConsulConfiguration consulConfiguration,
+        ServiceInstanceIdGenerator idGenerator) {
+
+        this(environment, consulClient, heartbeatConfiguration, consulConfiguration, idGenerator,
+            new ConsulCheckReporter(consulClient, heartbeatConfiguration, consulConfiguration));
     }
 
     @Override
@@ -94,56 +118,14 @@ public class ConsulAutoRegistration extends DiscoveryServiceAutoRegistration {
         ConsulConfiguration.ConsulRegistrationConfiguration registration = consulConfiguration.getRegistration();
         if (registration != null && !registration.getCheck().isHttp() && registration.getCheck().isEnabled() && registered.get()) {
 
-            String checkId = "service:" + idGenerator.generateId(environment, instance);
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Reporting status for Check ID [{}]: {}", checkId, status);
-            }
-
-            if (status.equals(HealthStatus.UP)) {
-                // send a request to /agent/check/pass/:check_id
-                Single<HttpStatus> passPublisher = Single.fromPublisher(consulClient.pass(checkId));
-                passPublisher.subscribe((httpStatus, throwable) -> {
-                    if (throwable == null) {
-                        if (LOG.isDebugEnabled()) {
-                            LOG.debug("Successfully reported passing state to Consul");
-                        }
-                    } else {
-                        // check if the service is still registered with Consul
-
-                        Single.fromPublisher(consulClient.getServiceIds()).subscribe((serviceIds, throwable1) -> {
-                            if (throwable1 == null) {
-                                String serviceId = idGenerator.generateId(environment, instance);
-                                if (!serviceIds.contains(serviceId)) {
-                                    if (LOG.isInfoEnabled()) {
-                                        LOG.info("Instance [{}] no longer registered with Consul. Attempting re-registration.", instance.getId());
-                                    }
-                                    register(instance);
-                                }
-                            }
-                        });
-
-                        String errorMessage = getErrorMessage(throwable, "Error reporting passing state to Consul: ");
-                        if (LOG.isErrorEnabled()) {
-                            LOG.error(errorMessage, throwable);
-                        }
-                    }
-                });
-            } else {
-                // send a request to /agent/check/fail/:check_id
-                Single<HttpStatus> failPublisher = Single.fromPublisher(consulClient.fail(checkId, status.getDescription().orElse(null)));
-                failPublisher.subscribe((httpStatus, throwable) -> {
-                    if (throwable == null) {
-                        if (LOG.isDebugEnabled()) {
-                            LOG.debug("Successfully reported failure state to Consul");
-                        }
-                    } else {
-                        String errorMessage = getErrorMessage(throwable, "Error reporting passing state to Consul: ");
-                        if (LOG.isErrorEnabled()) {
-                            LOG.error(errorMessage, throwable);
-                        }
-                    }
-                });
-            }
+            String serviceId = idGenerator.generateId(environment, instance);
+            String checkId = "service:" + serviceId;
+            checkReporter.report(serviceId, checkId, status, () -> {
+                if (LOG.isInfoEnabled()) {
+                    LOG.info("Instance [{}] no longer registered with Consul. Attempting re-registration.", instance.getId());
+                }
+                register(instance);
+            });
         }
     }
 
@@ -220,7 +202,7 @@ public class ConsulAutoRegistration extends DiscoveryServiceAutoRegistration {
 
                         if (heartbeatConfiguration.isEnabled() && !checkConfig.isHttp()) {
                             TTLCheck ttlCheck = new TTLCheck();
-                            ttlCheck.ttl(heartbeatConfiguration.getInterval().plus(Duration.ofSeconds(10)));
+                            ttlCheck.ttl(heartbeatConfiguration.getInterval().plus(ConsulCheckReporter.TTL_GRACE_PERIOD));
                             check = ttlCheck;
                         } else {
 
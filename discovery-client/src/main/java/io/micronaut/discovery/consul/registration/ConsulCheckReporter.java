@@ -0,0 +1,282 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.registration;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.discovery.consul.ConsulConfiguration;
+import io.micronaut.discovery.consul.client.v1.ConsulClient;
+import io.micronaut.discovery.consul.client.v1.ServiceEntry;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.health.HeartbeatConfiguration;
+import io.micronaut.http.HttpStatus;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Reports the state of the TTL checks of the local registrations to the Consul agent.</p>
+ *
+ * <p>Consul has no API to update several checks at once, so updates are coalesced instead: the updates reported
+ * within the {@link ConsulConfiguration.ConsulRegistrationConfiguration.CheckConfiguration#getCoalesceWindow()
+ * coalesce window} are sent together, only the latest update of each check is sent and an update that repeats the
+ * state last accepted by Consul is skipped until half of the check TTL has elapsed. Only one batch of updates is in
+ * flight at any time and when Consul responds with an error the following batches are held back with an exponential,
+ * jittered backoff. The registrations of all failed checks are then verified with a single agent request.</p>
+ *
+ * @since 1.3
+ */
+@Singleton
+@Requires(beans = {ConsulClient.class, ConsulConfiguration.class})
+public class ConsulCheckReporter implements Closeable {
+
+    /**
+     * The time a TTL check stays passing for after the heartbeat interval has elapsed.
+     */
+    public static final Duration TTL_GRACE_PERIOD = Duration.ofSeconds(10);
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConsulCheckReporter.class);
+    private static final long INITIAL_BACKOFF_MILLIS = 500;
+    private static final int MAX_CONCURRENT_UPDATES = 8;
+
+    private final ConsulClient consulClient;
+    private final Scheduler scheduler;
+    private final long coalesceWindowMillis;
+    private final long maxBackoffMillis;
+    private final long refreshIntervalMillis;
+    private final Map<String, Update> pending = new ConcurrentHashMap<>();
+    private final Map<String, Update> accepted = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile Disposable scheduledFlush;
+    private volatile boolean closed;
+
+    /**
+     * @param consulClient           The Consul client
+     * @param heartbeatConfiguration The heartbeat configuration
+     * @param consulConfiguration    The Consul configuration
+     */
+    @Inject
+    public ConsulCheckReporter(
+        ConsulClient consulClient,
+        HeartbeatConfiguration heartbeatConfiguration,
+        ConsulConfiguration consulConfiguration) {
+        this(consulClient, heartbeatConfiguration, consulConfiguration.getRegistration().getCheck(), Schedulers.computation());
+    }
+
+    /**
+     * @param consulClient           The Consul client
+     * @param heartbeatConfiguration The heartbeat configuration
+     * @param checkConfiguration     The check configuration
+     * @param scheduler              The scheduler that times the batches
+     */
+    public ConsulCheckReporter(
+        ConsulClient consulClient,
+        HeartbeatConfiguration heartbeatConfiguration,
+        ConsulConfiguration.ConsulRegistrationConfiguration.CheckConfiguration checkConfiguration,
+        Scheduler scheduler) {
+        this.consulClient = consulClient;
+        this.scheduler = scheduler;
+        this.coalesceWindowMillis = checkConfiguration.getCoalesceWindow().toMillis();
+        this.maxBackoffMillis = Math.max(INITIAL_BACKOFF_MILLIS, checkConfiguration.getMaxBackoff().toMillis());
+        this.refreshIntervalMillis = heartbeatConfiguration.getInterval().plus(TTL_GRACE_PERIOD).toMillis() / 2;
+    }
+
+    /**
+     * Reports the state of a TTL check. The update is sent with the next batch.
+     *
+     * @param serviceId      The id of the service the check belongs to
+     * @param checkId        The check id
+     * @param status         The health status
+     * @param onDeregistered Invoked when the update failed because the service is no longer registered with Consul
+     */
+    public void report(String serviceId, String checkId, HealthStatus status, @Nullable Runnable onDeregistered) {
+        if (closed) {
+            return;
+        }
+        boolean passing = status.equals(HealthStatus.UP);
+        pending.put(checkId, new Update(serviceId, checkId, passing, passing ? null : status.getDescription().orElse(null), onDeregistered));
+        scheduleFlush(coalesceWindowMillis);
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        closed = true;
+        pending.clear();
+        Disposable flush = scheduledFlush;
+        if (flush != null) {
+            flush.dispose();
+        }
+    }
+
+    private void scheduleFlush(long delayMillis) {
+        if (!closed && flushScheduled.compareAndSet(false, true)) {
+            scheduledFlush = Completable.timer(delayMillis, TimeUnit.MILLISECONDS, scheduler).subscribe(this::flush);
+        }
+    }
+
+    private void flush() {
+        long now = scheduler.now(TimeUnit.MILLISECONDS);
+        List<Update> updates = new ArrayList<>(pending.size());
+        for (String checkId : pending.keySet()) {
+            Update update = pending.remove(checkId);
+            if (update != null && !isUnchanged(update, now)) {
+                updates.add(update);
+            }
+        }
+        if (updates.isEmpty()) {
+            flushCompleted(coalesceWindowMillis);
+            return;
+        }
+
+        Flowable.fromIterable(updates)
+            .flatMapSingle(update -> send(update).map(httpStatus -> {
+                update.sentAt = now;
+                update.error = null;
+                accepted.put(update.checkId, update);
+                return update;
+            }).onErrorReturn(throwable -> {
+                accepted.remove(update.checkId);
+                update.error = throwable;
+                return update;
+            }), false, MAX_CONCURRENT_UPDATES)
+            .filter(update -> update.error != null)
+            .toList()
+            .subscribe((failed, throwable) -> {
+                if (failed == null || failed.isEmpty()) {
+                    failures.set(0);
+                    flushCompleted(coalesceWindowMillis);
+                } else {
+                    Throwable error = failed.get(0).error;
+                    if (LOG.isErrorEnabled()) {
+                        LOG.error("Error reporting state of " + failed.size() + " check(s) to Consul: " + error.getMessage(), error);
+                    }
+                    for (Update update : failed) {
+                        pending.putIfAbsent(update.checkId, update);
+                    }
+                    verifyRegistrations(failed);
+                    flushCompleted(backoff(failures.incrementAndGet()));
+                }
+            });
+    }
+
+    private void flushCompleted(long nextDelayMillis) {
+        flushScheduled.set(false);
+        if (!pending.isEmpty()) {
+            scheduleFlush(nextDelayMillis);
+        }
+    }
+
+    private boolean isUnchanged(Update update, long now) {
+        Update last = accepted.get(update.checkId);
+        return last != null &&
+            last.passing == update.passing &&
+            Objects.equals(last.note, update.note) &&
+            now - last.sentAt < refreshIntervalMillis;
+    }
+
+    private Single<HttpStatus> send(Update update) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Reporting status for Check ID [{}]: {}", update.checkId, update.passing ? "passing" : "failing");
+        }
+        // /agent/check/pass/:check_id and /agent/check/fail/:check_id
+        Publisher<HttpStatus> publisher = update.passing ? consulClient.pass(update.checkId) : consulClient.fail(update.checkId, update.note);
+        return Single.fromPublisher(publisher);
+    }
+
+    private void verifyRegistrations(List<Update> failed) {
+        List<Update> withCallback = new ArrayList<>(failed.size());
+        for (Update update : failed) {
+            if (update.onDeregistered != null) {
+                withCallback.add(update);
+            }
+        }
+        if (withCallback.isEmpty()) {
+            return;
+        }
+        // a single agent request covers all failed checks
+        Single.fromPublisher(consulClient.getServices()).subscribe((services, throwable) -> {
+            if (throwable != null) {
+                return;
+            }
+            Set<String> registered = new HashSet<>(services.keySet());
+            for (ServiceEntry entry : services.values()) {
+                entry.getID().ifPresent(registered::add);
+            }
+            for (Update update : withCallback) {
+                if (!registered.contains(update.serviceId)) {
+                    pending.remove(update.checkId, update);
+                    update.onDeregistered.run();
+                }
+            }
+        });
+    }
+
+    private long backoff(int failures) {
+        long ceiling = maxBackoffMillis;
+        if (failures < Long.numberOfLeadingZeros(INITIAL_BACKOFF_MILLIS)) {
+            ceiling = Math.min(maxBackoffMillis, INITIAL_BACKOFF_MILLIS << (failures - 1));
+        }
+        // equal jitter keeps instances that failed together from retrying together
+        long half = ceiling / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    /**
+     * An update of the state of a check.
+     */
+    private static final class Update {
+        final String serviceId;
+        final String checkId;
+        final boolean passing;
+        final String note;
+        final Runnable onDeregistered;
+        volatile long sentAt;
+        volatile Throwable error;
+
+        Update(String serviceId, String checkId, boolean passing, String note, Runnable onDeregistered) {
+            this.serviceId = serviceId;
+            this.checkId = checkId;
+            this.passing = passing;
+            this.note = note;
+            this.onDeregistered = onDeregistered;
+        }
+    }
+}
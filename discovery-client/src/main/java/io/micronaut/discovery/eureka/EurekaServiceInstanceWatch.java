@@ -0,0 +1,208 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.eureka;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.client.DiscoveryClientWatchConfiguration;
+import io.micronaut.discovery.client.ServiceInstanceWatch;
+import io.micronaut.discovery.eureka.client.v2.ApplicationInfo;
+import io.micronaut.discovery.eureka.client.v2.Applications;
+import io.micronaut.discovery.eureka.client.v2.EurekaClient;
+import io.micronaut.discovery.eureka.client.v2.InstanceInfo;
+import io.micronaut.discovery.eureka.condition.RequiresEureka;
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ServiceInstanceWatch} that keeps a copy of the Eureka registry, which is fetched once and then updated
+ * with the deltas of the registry at the configured fetch interval. The copy is fetched again whenever its hash code
+ * does not match the hash code of the registry.
+ *
+ * @since 1.3
+ */
+@Singleton
+@RequiresEureka
+@Requires(beans = DiscoveryClientWatchConfiguration.class)
+public class EurekaServiceInstanceWatch implements ServiceInstanceWatch {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EurekaServiceInstanceWatch.class);
+
+    private final EurekaClient eurekaClient;
+    private final EurekaConfiguration.EurekaDiscoveryConfiguration discoveryConfiguration;
+    private final Flowable<Map<String, List<InstanceInfo>>> registry;
+    // the instances of each application by ID, only accessed while fetching
+    private Map<String, Map<String, InstanceInfo>> applications;
+    private Map<String, List<InstanceInfo>> snapshot = Collections.emptyMap();
+
+    /**
+     * @param eurekaClient           The Eureka client
+     * @param discoveryConfiguration The Eureka discovery configuration
+     * @param watchConfiguration     The watch configuration
+     */
+    public EurekaServiceInstanceWatch(
+            EurekaClient eurekaClient,
+            EurekaConfiguration.EurekaDiscoveryConfiguration discoveryConfiguration,
+            DiscoveryClientWatchConfiguration watchConfiguration) {
+        this.eurekaClient = eurekaClient;
+        this.discoveryConfiguration = discoveryConfiguration;
+        long fetchInterval = watchConfiguration.getFetchInterval().toMillis();
+        long retryDelay = watchConfiguration.getRetryDelay().toMillis();
+        this.registry = Flowable.defer(this::fetch)
+                .repeatWhen(completed -> completed.delay(fetchInterval, TimeUnit.MILLISECONDS))
+                .retryWhen(errors -> errors
+                        .doOnNext(e -> {
+                            if (LOG.isWarnEnabled()) {
+                                LOG.warn("Error fetching the Eureka registry, retrying in " + retryDelay + "ms", e);
+                            }
+                            // the deltas may have been missed
+                            applications = null;
+                        })
+                        .delay(retryDelay, TimeUnit.MILLISECONDS))
+                .replay(1)
+                .refCount();
+    }
+
+    @Override
+    public boolean supports(DiscoveryClient discoveryClient) {
+        return discoveryClient instanceof EurekaClient;
+    }
+
+    @Override
+    public Flowable<List<ServiceInstance>> watch(String serviceId) {
+        String name = serviceId.toLowerCase(Locale.ENGLISH);
+        return registry
+                .map(instances -> instances.getOrDefault(name, Collections.emptyList()))
+                // the lists of applications that did not change are reused
+                .distinctUntilChanged((previous, next) -> previous == next)
+                .map(this::toServiceInstances);
+    }
+
+    private Flowable<Map<String, List<InstanceInfo>>> fetch() {
+        if (applications == null) {
+            return fetchAll();
+        }
+        return Flowable.fromPublisher(eurekaClient.getApplicationsDelta()).flatMap(delta -> {
+            Set<String> changed = new HashSet<>();
+            for (ApplicationInfo applicationInfo : delta.getApplications()) {
+                String name = applicationInfo.getName().toLowerCase(Locale.ENGLISH);
+                List<InstanceInfo> instances = applicationInfo.getInstances();
+                if (instances == null) {
+                    continue;
+                }
+                Map<String, InstanceInfo> current = applications.computeIfAbsent(name, n -> new LinkedHashMap<>());
+                for (InstanceInfo instanceInfo : instances) {
+                    if (instanceInfo.getActionType() == InstanceInfo.ActionType.DELETED) {
+                        current.remove(instanceInfo.getId());
+                    } else {
+                        current.put(instanceInfo.getId(), instanceInfo);
+                    }
+                }
+                if (current.isEmpty()) {
+                    applications.remove(name);
+                }
+                changed.add(name);
+            }
+            String appsHashCode = delta.getAppsHashCode();
+            if (appsHashCode != null && !appsHashCode.equals(appsHashCode(applications.values()))) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Fetching the Eureka registry since its hash code {} does not match the local copy", appsHashCode);
+                }
+                return fetchAll();
+            }
+            return changed.isEmpty() ? Flowable.empty() : Flowable.just(updateSnapshot(changed));
+        });
+    }
+
+    private Flowable<Map<String, List<InstanceInfo>>> fetchAll() {
+        return Flowable.fromPublisher(eurekaClient.getApplications()).map(all -> {
+            Map<String, Map<String, InstanceInfo>> fetched = new HashMap<>();
+            for (ApplicationInfo applicationInfo : all.getApplications()) {
+                List<InstanceInfo> instances = applicationInfo.getInstances();
+                if (instances != null && !instances.isEmpty()) {
+                    Map<String, InstanceInfo> byId = new LinkedHashMap<>();
+                    for (InstanceInfo instanceInfo : instances) {
+                        byId.put(instanceInfo.getId(), instanceInfo);
+                    }
+                    fetched.put(applicationInfo.getName().toLowerCase(Locale.ENGLISH), byId);
+                }
+            }
+            Set<String> changed = new HashSet<>(fetched.keySet());
+            changed.addAll(snapshot.keySet());
+            applications = fetched;
+            return updateSnapshot(changed);
+        });
+    }
+
+    private Map<String, List<InstanceInfo>> updateSnapshot(Set<String> changed) {
+        Map<String, List<InstanceInfo>> next = new HashMap<>(snapshot);
+        for (String name : changed) {
+            Map<String, InstanceInfo> instances = applications.get(name);
+            if (instances == null) {
+                next.remove(name);
+            } else {
+                next.put(name, Collections.unmodifiableList(new ArrayList<>(instances.values())));
+            }
+        }
+        snapshot = Collections.unmodifiableMap(next);
+        return snapshot;
+    }
+
+    private List<ServiceInstance> toServiceInstances(List<InstanceInfo> instances) {
+        List<ServiceInstance> serviceInstances = new ArrayList<>(instances.size());
+        for (InstanceInfo instanceInfo : instances) {
+            if (!discoveryConfiguration.isUseSecurePort()) {
+                instanceInfo.setSecurePort(-1);
+            }
+            serviceInstances.add(new EurekaServiceInstance(instanceInfo));
+        }
+        return serviceInstances;
+    }
+
+    /**
+     * Computes the hash code Eureka uses to reconcile registries, which counts the instances by status.
+     *
+     * @param applications The instances of each application
+     * @return The hash code
+     */
+    static String appsHashCode(Collection<Map<String, InstanceInfo>> applications) {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Map<String, InstanceInfo> instances : applications) {
+            for (InstanceInfo instanceInfo : instances.values()) {
+                counts.merge(instanceInfo.getStatus().name(), 1, Integer::sum);
+            }
+        }
+        StringBuilder hashCode = new StringBuilder();
+        counts.forEach((status, count) -> hashCode.append(status).append('_').append(count).append('_'));
+        return hashCode.toString();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.eureka.client.v2;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRootName;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Models the applications of the Eureka registry, or the changes to them, together with the hash code that
+ * reconciles the registry.
+ *
+ * @since 1.3
+ */
+@JsonRootName("applications")
+public class Applications {
+
+    private final List<ApplicationInfo> applications;
+    private final String appsHashCode;
+
+    /**
+     * @param applications The applications
+     * @param appsHashCode The hash code of the registry
+     */
+    @JsonCreator
+    Applications(@JsonProperty("application") List<ApplicationInfo> applications, @JsonProperty("apps__hashcode") String appsHashCode) {
+        this.applications = applications != null ? applications : Collections.emptyList();
+        this.appsHashCode = appsHashCode;
+    }
+
+    /**
+     * @return The applications
+     */
+    public List<ApplicationInfo> getApplications() {
+        return applications;
+    }
+
+    /**
+     * The hash code of the registry, which counts the instances of all applications by status, for example
+     * {@code DOWN_1_UP_3_}.
+     *
+     * @return The hash code or null if it is not known
+     */
+    public @Nullable String getAppsHashCode() {
+        return appsHashCode;
+    }
+}
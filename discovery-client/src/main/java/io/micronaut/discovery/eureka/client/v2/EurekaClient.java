@@ -16,6 +16,8 @@
 package io.micronaut.discovery.eureka.client.v2;
 
 import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.http.annotation.Get;
+import org.reactivestreams.Publisher;
 
 /**
  * Default EurekaClient interface that implements both {@link EurekaOperations} and {@link DiscoveryClient}.
@@ -29,4 +31,21 @@ public interface EurekaClient extends EurekaOperations, DiscoveryClient {
      * The default ID of the Eureka service.
      */
     String SERVICE_ID = "eureka";
+
+    /**
+     * Obtain all of the applications registered with Eureka and the hash code of the registry.
+     *
+     * @return The {@link Applications}
+     */
+    @Get(uri = "/apps", single = true)
+    Publisher<Applications> getApplications();
+
+    /**
+     * Obtain the applications whose instances changed in the last few minutes. The {@link InstanceInfo#getActionType()}
+     * of each instance tells how it changed. See https://github.com/Netflix/eureka/wiki/Eureka-REST-operations.
+     *
+     * @return The changed {@link Applications} and the hash code of the registry after the changes
+     */
+    @Get(uri = "/apps/delta", single = true)
+    Publisher<Applications> getApplicationsDelta();
 }
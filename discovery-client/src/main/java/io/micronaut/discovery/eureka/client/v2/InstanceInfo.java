@@ -66,6 +66,7 @@ public class InstanceInfo implements ConfigurableInstanceInfo {
     private String vipAddress;
     private String secureVipAddress;
     private Status status = Status.UP;
+    private ActionType actionType;
     private int port = DEFAULT_PORT;
     private int securePort = DEFAULT_SECURE_PORT;
     private int countryId = DEFAULT_COUNTRY_ID; // Defaults to US
@@ -575,6 +576,24 @@ public class InstanceInfo implements ConfigurableInstanceInfo {
         }
     }
 
+    /**
+     * The change to this instance, only present in the deltas fetched from Eureka.
+     *
+     * @return The action type or null
+     */
+    @JsonIgnore
+    public ActionType getActionType() {
+        return actionType;
+    }
+
+    /**
+     * @param actionType The action type
+     */
+    @JsonProperty("actionType")
+    void setActionType(ActionType actionType) {
+        this.actionType = actionType;
+    }
+
     /**
      * The instance status according to Eureka.
      */
@@ -582,6 +601,13 @@ public class InstanceInfo implements ConfigurableInstanceInfo {
         UP, DOWN, STARTING, OUT_OF_SERVICE, UNKNOWN;
     }
 
+    /**
+     * The change to an instance according to Eureka.
+     */
+    public enum ActionType {
+        ADDED, MODIFIED, DELETED
+    }
+
     /**
      * {@link InstanceInfo} JSON and XML format for port information does not follow the usual conventions, which
      * makes its mapping complicated. This class represents the wire format for port information.
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.env.DefaultEnvironment
+import io.micronaut.context.env.Environment
+import io.micronaut.context.env.PropertySource
+import io.micronaut.discovery.client.config.DistributedConfigurationSnapshotConfiguration
+import io.micronaut.discovery.client.config.DistributedConfigurationSnapshotStore
+import io.micronaut.discovery.client.config.DistributedPropertySourceLocator
+import io.micronaut.discovery.config.ConfigurationClient
+import io.reactivex.Flowable
+import org.reactivestreams.Publisher
+import spock.lang.AutoCleanup
+import spock.lang.Requires
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.nio.file.FileSystems
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.PosixFilePermissions
+import java.time.Duration
+
+/**
+ * @since 1.3
+ */
+class DistributedConfigurationSnapshotSpec extends Specification {
+
+    Path directory = Files.createTempDirectory("config-snapshots")
+    @AutoCleanup
+    Environment environment = new DefaultEnvironment("test").addPropertySource(PropertySource.of(
+            ['micronaut.application.name': 'my-app']
+    )).start()
+    DistributedConfigurationSnapshotStore store = new DistributedConfigurationSnapshotStore(
+            new DistributedConfigurationSnapshotConfiguration(directory: directory),
+            new ObjectMapper()
+    )
+    StubConfigurationClient client = new StubConfigurationClient()
+
+    void cleanup() {
+        directory.toFile().deleteDir()
+    }
+
+    void "test the configuration read from the client is written to a snapshot"() {
+        when:
+        List<PropertySource> propertySources = new DistributedPropertySourceLocator(client, Duration.ofSeconds(5), store)
+                .findPropertySources(environment).toList()
+
+        then:
+        client.reads == 1
+        propertySources[0].get("foo.bar") == "one"
+        Files.isRegularFile(directory.resolve("my-app-test.json"))
+
+        when:
+        PropertySource snapshot = store.read(environment).get()[0]
+
+        then:
+        snapshot.name == "remote"
+        snapshot.order == 150
+        snapshot.get("foo.bar") == "one"
+        snapshot.get("list") == [1, 2]
+    }
+
+    void "test the application starts from the snapshot and replaces it in the background"() {
+        given:
+        new DistributedPropertySourceLocator(client, Duration.ofSeconds(5), store).findPropertySources(environment)
+        client.values["foo.bar"] = "two"
+
+        when:
+        List<PropertySource> propertySources = new DistributedPropertySourceLocator(client, Duration.ofSeconds(5), store)
+                .findPropertySources(environment).toList()
+
+        then:"the snapshot is used"
+        propertySources[0].get("foo.bar") == "one"
+
+        and:"the configuration is read again in the background"
+        new PollingConditions(timeout: 5).eventually {
+            assert client.reads == 2
+            assert store.read(environment).get()[0].get("foo.bar") == "two"
+        }
+    }
+
+    void "test snapshots older than the max age are not used"() {
+        given:
+        store = new DistributedConfigurationSnapshotStore(
+                new DistributedConfigurationSnapshotConfiguration(directory: directory, maxAge: Duration.ofMillis(1)),
+                new ObjectMapper()
+        )
+        store.write(environment, [PropertySource.of("remote", [foo: "bar"], 150)])
+        sleep(10)
+
+        expect:
+        !store.read(environment).isPresent()
+    }
+
+    void "test snapshots are disabled until a directory is configured"() {
+        given:
+        ApplicationContext context = ApplicationContext.run((DistributedConfigurationSnapshotConfiguration.SETTING_ENABLED): true)
+
+        expect:
+        !context.containsBean(DistributedConfigurationSnapshotStore)
+
+        cleanup:
+        context.close()
+    }
+
+    @Requires({ FileSystems.default.supportedFileAttributeViews().contains("posix") })
+    void "test the snapshot directory is created for its owner only"() {
+        given:
+        Path snapshots = directory.resolve("nested/snapshots")
+        store = new DistributedConfigurationSnapshotStore(
+                new DistributedConfigurationSnapshotConfiguration(directory: snapshots),
+                new ObjectMapper()
+        )
+
+        when:
+        store.write(environment, [PropertySource.of("remote", [foo: "bar"], 150)])
+
+        then:
+        PosixFilePermissions.toString(Files.getPosixFilePermissions(snapshots)) == "rwx------"
+        PosixFilePermissions.toString(Files.getPosixFilePermissions(snapshots.resolve("my-app-test.json"))) == "rw-------"
+        store.read(environment).get()[0].get("foo") == "bar"
+    }
+
+    @Requires({ FileSystems.default.supportedFileAttributeViews().contains("posix") })
+    void "test snapshots accessible by other users are not used"() {
+        given:
+        store.write(environment, [PropertySource.of("remote", [foo: "bar"], 150)])
+
+        when:"the snapshot can be replaced by other users"
+        Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwxrwxrwx"))
+
+        then:
+        !store.read(environment).isPresent()
+
+        when:"the snapshot can be read by other users"
+        Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwx------"))
+        Files.setPosixFilePermissions(directory.resolve("my-app-test.json"), PosixFilePermissions.fromString("rw-r--r--"))
+
+        then:
+        !store.read(environment).isPresent()
+    }
+
+    static class StubConfigurationClient implements ConfigurationClient {
+        Map<String, Object> values = ["foo.bar": "one", list: [1, 2]]
+        int reads
+
+        @Override
+        String getDescription() {
+            return "stub"
+        }
+
+        @Override
+        Publisher<PropertySource> getPropertySources(Environment environment) {
+            return Flowable.defer({
+                reads++
+                Flowable.just(PropertySource.of("remote", new LinkedHashMap<>(values), 150))
+            })
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.discovery.DiscoveryClient
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.eureka.client.v2.InstanceInfo
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import io.reactivex.Single
+import io.reactivex.subjects.BehaviorSubject
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.annotation.Nullable
+import javax.inject.Inject
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * @since 1.3
+ */
+class WatchingCompositeDiscoveryClientSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer stubServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': WatchingCompositeDiscoveryClientSpec.simpleName
+    ])
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    void "test the instances of Consul services are updated with blocking queries"() {
+        given:
+        ConsulStub consul = stubServer.applicationContext.getBean(ConsulStub)
+        consul.add(8081)
+        ApplicationContext context = ApplicationContext.run([
+                'consul.client.host'                   : 'localhost',
+                'consul.client.port'                   : stubServer.port,
+                'consul.client.read-timeout'           : '5s',
+                'micronaut.discovery.watch.enabled'    : true,
+                'micronaut.discovery.watch.wait'       : '10s'
+        ])
+        DiscoveryClient discoveryClient = context.getBean(DiscoveryClient)
+
+        expect:
+        discoveryClient instanceof WatchingCompositeDiscoveryClient
+        instances(discoveryClient)*.port == [8081]
+
+        when: "the watch waits for a change"
+        conditions.eventually {
+            assert consul.queries.contains("${consul.index.value}/4000ms".toString())
+        }
+        int queries = consul.queries.size()
+        consul.add(8082)
+
+        then: "the change is pushed without polling"
+        conditions.eventually {
+            assert instances(discoveryClient)*.port.sort() == [8081, 8082]
+        }
+        consul.queries.size() <= queries + 2
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the instances of Eureka services are updated with deltas"() {
+        given:
+        EurekaStub eureka = stubServer.applicationContext.getBean(EurekaStub)
+        InstanceInfo first = new InstanceInfo('localhost', 9001, 'foo', 'foo-1')
+        eureka.instances.put(first.id, first)
+        ApplicationContext context = ApplicationContext.run([
+                'consul.client.enabled'                   : false,
+                'eureka.client.host'                      : 'localhost',
+                'eureka.client.port'                      : stubServer.port,
+                'micronaut.discovery.watch.enabled'       : true,
+                'micronaut.discovery.watch.fetch-interval': '100ms'
+        ])
+        DiscoveryClient discoveryClient = context.getBean(DiscoveryClient)
+        instances(discoveryClient)
+
+        expect:
+        conditions.eventually {
+            assert instances(discoveryClient)*.port == [9001]
+            assert eureka.deltas.get() > 0
+        }
+
+        when: "an instance is added and one removed"
+        eureka.change(new InstanceInfo('localhost', 9002, 'foo', 'foo-2'), InstanceInfo.ActionType.ADDED)
+        eureka.change(first, InstanceInfo.ActionType.DELETED)
+
+        then:
+        conditions.eventually {
+            assert instances(discoveryClient)*.port == [9002]
+        }
+        eureka.full.get() == 1
+
+        when: "a change is missed"
+        InstanceInfo third = new InstanceInfo('localhost', 9003, 'foo', 'foo-3')
+        eureka.instances.put(third.id, third)
+
+        then: "the registry is fetched again since the hash code does not match"
+        conditions.eventually {
+            assert instances(discoveryClient)*.port.sort() == [9002, 9003]
+        }
+        eureka.full.get() == 2
+
+        cleanup:
+        context.close()
+    }
+
+    private static List<ServiceInstance> instances(DiscoveryClient discoveryClient) {
+        Flowable.fromPublisher(discoveryClient.getInstances('foo')).blockingFirst()
+    }
+
+    @Requires(property = 'spec.name', value = 'WatchingCompositeDiscoveryClientSpec')
+    @Controller('/v1/health/service')
+    static class ConsulStub {
+        final BehaviorSubject<Long> index = BehaviorSubject.createDefault(1L)
+        final List<Map> entries = new CopyOnWriteArrayList<>()
+        final List<String> queries = new CopyOnWriteArrayList<>()
+
+        void add(int port) {
+            entries.add([
+                    Node   : [Node: 'node', Address: '127.0.0.1'],
+                    Service: [ID: "foo-$port".toString(), Service: 'foo', Address: 'localhost', Port: port],
+                    Checks : []
+            ])
+            index.onNext(index.value + 1)
+        }
+
+        @Get('/{service}')
+        Single<HttpResponse<List<Map>>> health(String service, @Nullable Long index, @Nullable String wait) {
+            queries.add("$index/$wait".toString())
+            Single<Long> result = index == null ? Single.just(this.index.value) :
+                    this.index.filter({ it != index }).firstOrError().timeout(1, TimeUnit.SECONDS, Single.just(index))
+            result.map({ Long i -> HttpResponse.ok(new ArrayList<>(entries)).header('X-Consul-Index', i.toString()) })
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'WatchingCompositeDiscoveryClientSpec')
+    @Controller('/eureka/apps')
+    static class EurekaStub {
+        final Map<String, InstanceInfo> instances = new ConcurrentHashMap<>()
+        final List<Map> delta = new CopyOnWriteArrayList<>()
+        final AtomicInteger full = new AtomicInteger()
+        final AtomicInteger deltas = new AtomicInteger()
+
+        @Inject ObjectMapper objectMapper
+
+        void change(InstanceInfo instanceInfo, InstanceInfo.ActionType actionType) {
+            if (actionType == InstanceInfo.ActionType.DELETED) {
+                instances.remove(instanceInfo.id)
+            } else {
+                instances.put(instanceInfo.id, instanceInfo)
+            }
+            Map changed = objectMapper.convertValue(instanceInfo, Map)
+            changed.actionType = actionType.name()
+            delta.add(changed)
+        }
+
+        @Get
+        Map all() {
+            full.incrementAndGet()
+            applications(instances.values().collect { objectMapper.convertValue(it, Map) })
+        }
+
+        @Get('/delta')
+        Map delta() {
+            deltas.incrementAndGet()
+            List<Map> changes = new ArrayList<>(delta)
+            delta.clear()
+            applications(changes)
+        }
+
+        private Map applications(List<Map> instances) {
+            [applications: [
+                    apps__hashcode: this.instances ? "UP_${this.instances.size()}_".toString() : '',
+                    application   : instances ? [[name: 'FOO', instance: instances]] : []
+            ]]
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul
+
+import io.micronaut.discovery.consul.client.v1.ConsulClient
+import io.micronaut.discovery.consul.client.v1.ServiceEntry
+import io.micronaut.discovery.consul.registration.ConsulCheckReporter
+import io.micronaut.health.HealthStatus
+import io.micronaut.health.HeartbeatConfiguration
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.client.exceptions.HttpClientException
+import io.reactivex.Flowable
+import io.reactivex.schedulers.TestScheduler
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
+/**
+ * @since 1.3
+ */
+class ConsulCheckReporterSpec extends Specification {
+
+    TestScheduler scheduler = new TestScheduler()
+    ConsulClient consulClient = Mock(ConsulClient)
+    ConsulCheckReporter reporter = new ConsulCheckReporter(
+            consulClient,
+            new HeartbeatConfiguration(interval: Duration.ofSeconds(5)),
+            new ConsulConfiguration.ConsulRegistrationConfiguration.CheckConfiguration(),
+            scheduler
+    )
+
+    void cleanup() {
+        reporter.close()
+    }
+
+    void "test updates reported within the coalesce window are sent together and only the latest is sent"() {
+        when:
+        reporter.report("one", "service:one", HealthStatus.DOWN, null)
+        reporter.report("two", "service:two", HealthStatus.UP, null)
+        reporter.report("one", "service:one", HealthStatus.UP, null)
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS)
+
+        then:
+        0 * consulClient._
+
+        when:
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS)
+
+        then:
+        1 * consulClient.pass("service:one") >> Flowable.just(HttpStatus.OK)
+        1 * consulClient.pass("service:two") >> Flowable.just(HttpStatus.OK)
+        0 * consulClient._
+    }
+
+    void "test unchanged state is only sent again after half of the TTL"() {
+        when:
+        reporter.report("one", "service:one", HealthStatus.DOWN, null)
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS)
+
+        then:
+        1 * consulClient.fail("service:one", null) >> Flowable.just(HttpStatus.OK)
+
+        when:"the same state is reported within half of the TTL of 15 seconds"
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS)
+        reporter.report("one", "service:one", HealthStatus.DOWN, null)
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS)
+
+        then:
+        0 * consulClient._
+
+        when:"the state changes"
+        reporter.report("one", "service:one", HealthStatus.UP, null)
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS)
+
+        then:
+        1 * consulClient.pass("service:one") >> Flowable.just(HttpStatus.OK)
+
+        when:"the same state is reported after half of the TTL"
+        scheduler.advanceTimeBy(8, TimeUnit.SECONDS)
+        reporter.report("one", "service:one", HealthStatus.UP, null)
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS)
+
+        then:
+        1 * consulClient.pass("service:one") >> Flowable.just(HttpStatus.OK)
+    }
+
+    void "test failed updates are retried with backoff and deregistered services are registered again"() {
+        given:
+        int registrations = 0
+
+        when:
+        reporter.report("one", "service:one", HealthStatus.UP, { registrations++ })
+        reporter.report("two", "service:two", HealthStatus.UP, { registrations++ })
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS)
+
+        then:"the registrations of both checks are verified with a single request"
+        1 * consulClient.pass("service:one") >> Flowable.error(new HttpClientException("Connection refused"))
+        1 * consulClient.pass("service:two") >> Flowable.error(new HttpClientException("Connection refused"))
+        1 * consulClient.getServices() >> Flowable.just([two: new ServiceEntry("two", "two")])
+        registrations == 1
+
+        when:"the backoff has not elapsed"
+        scheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS)
+
+        then:
+        0 * consulClient._
+
+        when:"the backoff has elapsed"
+        scheduler.advanceTimeBy(300, TimeUnit.MILLISECONDS)
+
+        then:"only the update of the registered service is retried"
+        1 * consulClient.pass("service:two") >> Flowable.just(HttpStatus.OK)
+        0 * consulClient._
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.client.metrics.ConnectionPoolMetrics;
+import io.micronaut.http.client.metrics.HttpClientMetrics;
+import io.micronaut.http.client.metrics.RequestTimings;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.AttributeKey;
+
+import java.net.SocketAddress;
+
+/**
+ * Records the {@link HttpClientMetrics} of a client connection: the time taken to resolve the remote address, to
+ * connect and to complete the TLS handshake, and for each request the time to the first byte and to the end of the
+ * response. The handler is added when the channel is registered, so the time until the connect is the time taken by
+ * the address resolution.
+ *
+ * @since 1.3
+ */
+@Internal
+final class ConnectionMetricsHandler extends ChannelDuplexHandler {
+
+    private static final AttributeKey<ConnectionMetricsHandler> KEY = AttributeKey.valueOf(ConnectionMetricsHandler.class, "metrics");
+
+    private final HttpClientMetrics metrics;
+    private final ConnectionPoolMetrics pool;
+    private long registered;
+    private long dns = -1;
+    private long connect = -1;
+    private long tlsHandshake = -1;
+    private boolean connectReported;
+    private long acquire = -1;
+    private long requestStart;
+    private long firstByte;
+    private int status;
+
+    /**
+     * @param metrics The client metrics
+     * @param pool    The metrics of the connections to the remote host
+     */
+    ConnectionMetricsHandler(HttpClientMetrics metrics, ConnectionPoolMetrics pool) {
+        this.metrics = metrics;
+        this.pool = pool;
+    }
+
+    /**
+     * Records the time waited to acquire the given channel from the pool, which is reported with its next request.
+     *
+     * @param channel      The channel
+     * @param acquireNanos The time waited in nanoseconds
+     */
+    static void acquired(Channel channel, long acquireNanos) {
+        ConnectionMetricsHandler handler = channel.attr(KEY).get();
+        if (handler != null) {
+            handler.acquire = acquireNanos;
+        }
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        registered = System.nanoTime();
+        Channel channel = ctx.channel();
+        channel.attr(KEY).set(this);
+        pool.connectionCreated();
+        channel.closeFuture().addListener(future -> pool.connectionClosed());
+    }
+
+    @Override
+    public void connect(ChannelHandlerContext ctx, SocketAddress remoteAddress, SocketAddress localAddress, ChannelPromise promise) {
+        long connectStart = System.nanoTime();
+        dns = connectStart - registered;
+        promise = promise.unvoid();
+        promise.addListener(future -> {
+            if (future.isSuccess()) {
+                long connected = System.nanoTime();
+                connect = connected - connectStart;
+                SslHandler sslHandler = ctx.pipeline().get(SslHandler.class);
+                if (sslHandler != null) {
+                    sslHandler.handshakeFuture().addListener(handshake -> {
+                        if (handshake.isSuccess()) {
+                            tlsHandshake = System.nanoTime() - connected;
+                        }
+                    });
+                }
+            }
+        });
+        ctx.connect(remoteAddress, localAddress, promise);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof HttpRequest) {
+            requestStart = System.nanoTime();
+            firstByte = 0;
+            status = 0;
+        }
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (requestStart != 0) {
+            if (msg instanceof HttpResponse) {
+                if (firstByte == 0) {
+                    firstByte = System.nanoTime();
+                }
+                status = ((HttpResponse) msg).status().code();
+            }
+            if (msg instanceof LastHttpContent) {
+                requestCompleted();
+            }
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    private void requestCompleted() {
+        long now = System.nanoTime();
+        boolean firstRequest = !connectReported;
+        connectReported = true;
+        RequestTimings timings = new RequestTimings(
+                pool,
+                status,
+                micros(acquire),
+                firstRequest ? micros(dns) : -1,
+                firstRequest ? micros(connect) : -1,
+                firstRequest ? micros(tlsHandshake) : -1,
+                (firstByte - requestStart) / 1000,
+                (now - requestStart) / 1000
+        );
+        requestStart = 0;
+        acquire = -1;
+        metrics.requestCompleted(timings);
+    }
+
+    private static long micros(long nanos) {
+        return nanos < 0 ? -1 : nanos / 1000;
+    }
+}
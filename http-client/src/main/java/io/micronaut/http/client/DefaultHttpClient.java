@@ -36,6 +36,7 @@ import io.micronaut.core.order.OrderUtil;
 import io.micronaut.core.reflect.InstantiationUtils;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.util.*;
+import io.micronaut.discovery.ServiceInstance;
 import io.micronaut.http.HttpResponseWrapper;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
@@ -45,6 +46,10 @@ import io.micronaut.http.annotation.Filter;
 import io.micronaut.http.bind.RequestBinderRegistry;
 import io.micronaut.http.client.exceptions.*;
 import io.micronaut.http.client.filters.ClientServerContextFilter;
+import io.micronaut.http.client.loadbalance.ServiceInstanceStatistics;
+import io.micronaut.http.client.metrics.ConnectionPoolMetrics;
+import io.micronaut.http.client.metrics.HttpClientMetrics;
+import io.micronaut.http.client.loadbalance.StatisticsLoadBalancer;
 import io.micronaut.http.client.multipart.MultipartBody;
 import io.micronaut.http.client.sse.RxSseClient;
 import io.micronaut.http.client.ssl.NettyClientSslBuilder;
@@ -125,6 +130,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -161,6 +167,11 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
     private static final String HANDLER_SSL = "handler-ssl";
     private static final String HANDLER_MICRONAUT_SSE_EVENT_STREAM = "handler-micronaut-sse-event-stream";
     private static final String HANDLER_MICRONAUT_SSE_CONTENT = "handler-micronaut-sse-content";
+    private static final String HANDLER_METRICS = "handler-metrics";
+    private static final Set<io.micronaut.http.HttpMethod> HEDGED_METHODS = EnumSet.of(
+            io.micronaut.http.HttpMethod.GET, io.micronaut.http.HttpMethod.HEAD, io.micronaut.http.HttpMethod.OPTIONS
+    );
+    private static final int MAX_SELECTIONS_TO_EXCLUDE = 3;
     private static final String HANDLER_MICRONAUT_HTTP_RESPONSE_STREAM = "handler-micronaut-http-response-stream";
     private static final Logger LOG = LoggerFactory.getLogger(DefaultHttpClient.class);
     private static final int DEFAULT_HTTP_PORT = 80;
@@ -174,6 +185,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
 
     private final Scheduler scheduler;
     private final LoadBalancer loadBalancer;
+    private final @Nullable RequestHedger requestHedger;
     private final HttpClientConfiguration configuration;
     private final String contextPath;
     private final SslContext sslContext;
@@ -186,10 +198,12 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
     private final Logger log;
     private final @Nullable Long readTimeoutMillis;
     private final @Nullable Long connectionTimeAliveMillis;
+    private final Map<RequestKey, ConnectionPoolMetrics> poolMetrics = new ConcurrentHashMap<>();
 
     private Set<String> clientIdentifiers = Collections.emptySet();
     private WebSocketBeanRegistry webSocketRegistry = WebSocketBeanRegistry.EMPTY;
     private RequestBinderRegistry requestBinderRegistry;
+    private @Nullable HttpClientMetrics clientMetrics;
 
     /**
      * Construct a client for the given arguments.
@@ -241,6 +255,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
         this.contextPath = contextPath;
         this.bootstrap = new Bootstrap();
         this.configuration = configuration;
+        this.requestHedger = RequestHedger.of(configuration);
         this.sslContext = nettyClientSslBuilder.build().orElse(null);
         this.group = createEventLoopGroup(configuration, threadFactory);
         this.scheduler = Schedulers.from(group);
@@ -267,7 +282,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
 
                         AbstractChannelPoolHandler channelPoolHandler = newPoolHandler(key);
                         final Long acquireTimeoutMillis = connectionPoolConfiguration.getAcquireTimeout().map(Duration::toMillis).orElse(-1L);
-                        return new FixedChannelPool(
+                        return instrument(key, new FixedChannelPool(
                                 newBootstrap,
                                 channelPoolHandler,
                                 ChannelHealthChecker.ACTIVE,
@@ -276,7 +291,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
                                 maxConnections,
                                 connectionPoolConfiguration.getMaxPendingAcquires()
 
-                        );
+                        ));
                     }
                 };
             } else {
@@ -287,10 +302,10 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
                         newBootstrap.remoteAddress(key.getRemoteAddress());
 
                         AbstractChannelPoolHandler channelPoolHandler = newPoolHandler(key);
-                        return new SimpleChannelPool(
+                        return instrument(key, new SimpleChannelPool(
                                 newBootstrap,
                                 channelPoolHandler
-                        );
+                        ));
                     }
                 };
             }
@@ -443,6 +458,10 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
 
                 }
             }
+            if (clientMetrics != null) {
+                poolMetrics.values().forEach(clientMetrics::removePool);
+                poolMetrics.clear();
+            }
             Duration shutdownTimeout = configuration.getShutdownTimeout().orElse(Duration.ofMillis(100));
             Future<?> future = this.group.shutdownGracefully(
                     1,
@@ -564,17 +583,22 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
                             // a length of zero indicates the start of a new event
                             // emit the current event
                             if (len == 0) {
-                                try {
-                                    Event event = Event.of(byteBufferFactory.wrap(currentEvent.data))
-                                            .name(currentEvent.name)
-                                            .retry(currentEvent.retry)
-                                            .id(currentEvent.id);
-                                    emitter.onNext(
-                                            event
-                                    );
-                                } finally {
-                                    currentEvent.data.release();
-                                    currentEvent = null;
+                                if (currentEvent != null) {
+                                    try {
+                                        // a block of comments only, such as a heartbeat, is not an event
+                                        if (currentEvent.hasFields) {
+                                            Event event = Event.of(byteBufferFactory.wrap(currentEvent.data))
+                                                    .name(currentEvent.name)
+                                                    .retry(currentEvent.retry)
+                                                    .id(currentEvent.id);
+                                            emitter.onNext(
+                                                    event
+                                            );
+                                        }
+                                    } finally {
+                                        currentEvent.data.release();
+                                        currentEvent = null;
+                                    }
                                 }
                             } else {
                                 if (currentEvent == null) {
@@ -585,6 +609,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
                                 int colonIndex = buffer.indexOf((byte) ':');
                                 // SSE comments start with colon, so skip
                                 if (colonIndex > 0) {
+                                    currentEvent.hasFields = true;
                                     // obtain the type
                                     String type = buffer.slice(0, colonIndex).toString(StandardCharsets.UTF_8).trim();
                                     int fromIndex = colonIndex + 1;
@@ -680,21 +705,21 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
     @Override
     public <I> Flowable<ByteBuffer<?>> dataStream(io.micronaut.http.HttpRequest<I> request) {
         return Flowable.fromPublisher(resolveRequestURI(request))
-                .flatMap(buildDataStreamPublisher(request));
+                .flatMap(withStatistics(buildDataStreamPublisher(request)));
 
     }
 
     @Override
     public <I> Flowable<io.micronaut.http.HttpResponse<ByteBuffer<?>>> exchangeStream(io.micronaut.http.HttpRequest<I> request) {
         return Flowable.fromPublisher(resolveRequestURI(request))
-                .flatMap(buildExchangeStreamPublisher(request));
+                .flatMap(withStatistics(buildExchangeStreamPublisher(request)));
     }
 
     @Override
     public <I, O> Flowable<O> jsonStream(io.micronaut.http.HttpRequest<I> request, io.micronaut.core.type.Argument<O> type) {
         final io.micronaut.http.HttpRequest<Object> parentRequest = ServerRequestContext.currentRequest().orElse(null);
         return Flowable.fromPublisher(resolveRequestURI(request))
-                .flatMap(buildJsonStreamPublisher(parentRequest, request, type));
+                .flatMap(withStatistics(buildJsonStreamPublisher(parentRequest, request, type)));
     }
 
     @SuppressWarnings("unchecked")
@@ -712,9 +737,96 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
     @Override
     public <I, O, E> Flowable<io.micronaut.http.HttpResponse<O>> exchange(io.micronaut.http.HttpRequest<I> request, Argument<O> bodyType, Argument<E> errorType) {
         final io.micronaut.http.HttpRequest<Object> parentRequest = ServerRequestContext.currentRequest().orElse(null);
+        if (requestHedger != null && HEDGED_METHODS.contains(request.getMethod()) && request instanceof NettyClientHttpRequest) {
+            return hedgedExchange(parentRequest, (NettyClientHttpRequest<I>) request, bodyType, errorType);
+        }
         Publisher<URI> uriPublisher = resolveRequestURI(request);
+        Function<URI, Publisher<? extends io.micronaut.http.HttpResponse<O>>> exchangePublisher = buildExchangePublisher(parentRequest, request, bodyType, errorType);
         return Flowable.fromPublisher(uriPublisher)
-                .switchMap(buildExchangePublisher(parentRequest, request, bodyType, errorType));
+                .switchMap(withStatistics(exchangePublisher));
+    }
+
+    /**
+     * Exchanges a request that may be hedged. Each attempt sends its own copy of the request, since the filters of
+     * both attempts may run at the same time, and the hedged attempt avoids the instance of the first attempt.
+     *
+     * @param parentRequest The parent request
+     * @param request       The request
+     * @param bodyType      The body type
+     * @param errorType     The error type
+     * @param <I>           The request body type
+     * @param <O>           The response body type
+     * @param <E>           The error type
+     * @return The response publisher
+     */
+    private <I, O, E> Flowable<io.micronaut.http.HttpResponse<O>> hedgedExchange(
+            io.micronaut.http.HttpRequest<Object> parentRequest,
+            NettyClientHttpRequest<I> request,
+            Argument<O> bodyType,
+            Argument<E> errorType) {
+        return Flowable.defer(() -> {
+            NettyClientHttpRequest<I> firstRequest = request.copy();
+            AtomicReference<URI> firstURI = new AtomicReference<>();
+            Flowable<io.micronaut.http.HttpResponse<O>> first = Flowable.fromPublisher(resolveRequestURI(firstRequest))
+                    .doOnNext(firstURI::set)
+                    .switchMap(withStatistics(buildExchangePublisher(parentRequest, firstRequest, bodyType, errorType)));
+            // the given request is left untouched by the first attempt, so it can be copied once the hedge is sent
+            Flowable<io.micronaut.http.HttpResponse<O>> hedged = Flowable.defer(() -> {
+                NettyClientHttpRequest<I> hedgedRequest = request.copy();
+                return Flowable.fromPublisher(resolveRequestURI(hedgedRequest, firstURI.get()))
+                        .switchMap(withStatistics(buildExchangePublisher(parentRequest, hedgedRequest, bodyType, errorType)));
+            });
+            return requestHedger.hedge(first, hedged);
+        });
+    }
+
+    /**
+     * Wraps the given publisher factory so that the requests it sends are reported to the statistics of the load
+     * balancer, if the load balancer keeps statistics.
+     *
+     * @param publisher The function that sends the request to the resolved URI
+     * @param <T>       The emitted type
+     * @return The function that sends and reports the request
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Function<URI, Publisher<T>> withStatistics(Function<URI, ? extends Publisher<? extends T>> publisher) {
+        if (loadBalancer instanceof StatisticsLoadBalancer) {
+            StatisticsLoadBalancer statisticsLoadBalancer = (StatisticsLoadBalancer) loadBalancer;
+            return resolvedURI -> recordStatistics(statisticsLoadBalancer.getStatistics(resolvedURI), publisher.apply(resolvedURI));
+        }
+        return (Function) publisher;
+    }
+
+    /**
+     * Reports the outstanding requests and the latency of the given exchange to the statistics of the instance it
+     * is sent to. A response with an error status still counts as a response, only errors without a response are
+     * recorded as failures. Server error responses count towards the ejection of the instance. For streams the
+     * latency is the time to the first emitted item.
+     *
+     * @param statistics The statistics of the instance
+     * @param exchange   The exchange
+     * @param <T>        The response type
+     * @return A flowable that reports the exchange
+     */
+    private <T> Flowable<T> recordStatistics(@Nullable ServiceInstanceStatistics statistics, Publisher<? extends T> exchange) {
+        if (statistics == null) {
+            return Flowable.fromPublisher(exchange);
+        }
+        return Flowable.defer(() -> {
+            ServiceInstanceStatistics.Request statisticsRequest = statistics.requestStarted();
+            return Flowable.fromPublisher(exchange)
+                    .doOnNext(response -> statisticsRequest.completed(false))
+                    .doOnError(throwable -> {
+                        if (throwable instanceof HttpClientResponseException) {
+                            int code = ((HttpClientResponseException) throwable).getStatus().getCode();
+                            statisticsRequest.completed(false, code >= HttpStatus.INTERNAL_SERVER_ERROR.getCode());
+                        } else {
+                            statisticsRequest.completed(true);
+                        }
+                    })
+                    .doOnComplete(() -> statisticsRequest.completed(false))
+                    .doOnCancel(statisticsRequest::cancelled);
+        });
     }
 
     @Override
@@ -752,6 +864,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
         if (beanContext != null) {
             this.webSocketRegistry = WebSocketBeanRegistry.forClient(beanContext);
             this.requestBinderRegistry = beanContext.findBean(RequestBinderRegistry.class).orElse(null);
+            this.clientMetrics = beanContext.findBean(HttpClientMetrics.class).orElse(null);
         }
     }
 
@@ -999,6 +1112,8 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
             Argument<E> errorType) {
         AtomicReference<io.micronaut.http.HttpRequest> requestWrapper = new AtomicReference<>(request);
         return requestURI -> {
+            AtomicReference<Channel> requestChannel = new AtomicReference<>();
+            AtomicBoolean responded = new AtomicBoolean(false);
             Flowable<io.micronaut.http.HttpResponse<O>> responsePublisher = Flowable.create(emitter -> {
 
 
@@ -1008,6 +1123,11 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
                     channelFuture.addListener(future -> {
                         if (future.isSuccess()) {
                             Channel channel = (Channel) future.get();
+                            if (emitter.isCancelled()) {
+                                channelPool.release(channel);
+                                return;
+                            }
+                            requestChannel.set(channel);
                             try {
                                 sendRequestThroughChannel(
                                         requestWrapper,
@@ -1035,6 +1155,11 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
                         if (future.isSuccess()) {
                             try {
                                 Channel channel = connectionFuture.channel();
+                                if (emitter.isCancelled()) {
+                                    channel.close();
+                                    return;
+                                }
+                                requestChannel.set(channel);
                                 sendRequestThroughChannel(
                                         requestWrapper,
                                         bodyType,
@@ -1055,6 +1180,15 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
                 }
 
             }, BackpressureStrategy.ERROR);
+            responsePublisher = responsePublisher
+                    .doOnNext(response -> responded.set(true))
+                    .doOnCancel(() -> {
+                        // abort a request that was cancelled before its response arrived, for example a hedged request
+                        Channel channel = requestChannel.get();
+                        if (channel != null && !responded.get()) {
+                            channel.close();
+                        }
+                    });
 
             Publisher<io.micronaut.http.HttpResponse<O>> finalPublisher = applyFilterToResponsePublisher(
                     parentRequest,
@@ -1117,6 +1251,16 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
      * @return A {@link Publisher} with the resolved URI
      */
     protected <I> Publisher<URI> resolveRequestURI(io.micronaut.http.HttpRequest<I> request) {
+        return resolveRequestURI(request, null);
+    }
+
+    /**
+     * @param request     The request
+     * @param excludedURI The URI of an instance to avoid if the load balancer selects another one, or null
+     * @param <I>         The input type
+     * @return A {@link Publisher} with the resolved URI
+     */
+    private <I> Publisher<URI> resolveRequestURI(io.micronaut.http.HttpRequest<I> request, @Nullable URI excludedURI) {
         URI requestURI;
         if (!request.getParameters().isEmpty()) {
             UriBuilder newUri = UriBuilder.of(request.getUri());
@@ -1132,7 +1276,16 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
             return Publishers.just(requestURI);
         } else {
 
-            return Publishers.map(loadBalancer.select(getLoadBalancerDiscriminator()), server -> {
+            Publisher<ServiceInstance> selection = loadBalancer.select(getLoadBalancerDiscriminator());
+            if (excludedURI != null) {
+                // select again while the load balancer returns the excluded instance, up to a bound
+                selection = Flowable.defer(() -> loadBalancer.select(getLoadBalancerDiscriminator()))
+                        .repeat(MAX_SELECTIONS_TO_EXCLUDE)
+                        .takeUntil(server -> !isSameInstance(server.getURI(), excludedURI))
+                        .lastElement()
+                        .toFlowable();
+            }
+            return Publishers.map(selection, server -> {
                         Optional<String> authInfo = server.getMetadata().get(io.micronaut.http.HttpHeaders.AUTHORIZATION_INFO, String.class);
                         if (request instanceof MutableHttpRequest) {
                             if (authInfo.isPresent()) {
@@ -1145,6 +1298,12 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
         }
     }
 
+    private static boolean isSameInstance(URI instanceURI, URI requestURI) {
+        return instanceURI.getPort() == requestURI.getPort() &&
+                Objects.equals(instanceURI.getHost(), requestURI.getHost()) &&
+                Objects.equals(instanceURI.getScheme(), requestURI.getScheme());
+    }
+
     /**
      * @param requestURI The request URI
      * @return A URI that is prepended with the contextPath, if set
@@ -2110,6 +2269,25 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
         };
     }
 
+    private ChannelPool instrument(RequestKey key, ChannelPool pool) {
+        ConnectionPoolMetrics metrics = getPoolMetrics(key);
+        return metrics != null ? new InstrumentedChannelPool(pool, metrics) : pool;
+    }
+
+    private @Nullable ConnectionPoolMetrics getPoolMetrics(RequestKey key) {
+        HttpClientMetrics clientMetrics = this.clientMetrics;
+        if (clientMetrics == null) {
+            return null;
+        }
+        return poolMetrics.computeIfAbsent(key, k -> clientMetrics.addPool(
+                clientIdentifiers.isEmpty() ? null : String.join(",", new TreeSet<>(clientIdentifiers)),
+                k.getHost(),
+                k.getPort(),
+                k.isSecure(),
+                poolMap != null
+        ));
+    }
+
     private AbstractChannelPoolHandler newPoolHandler(RequestKey key) {
         return new AbstractChannelPoolHandler() {
             @Override
@@ -2229,6 +2407,11 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
 
             p.addLast(HANDLER_DECODER, new HttpContentDecompressor());
 
+            ConnectionPoolMetrics metrics = getPoolMetrics(new RequestKey(host, port, sslContext != null));
+            if (metrics != null) {
+                p.addLast(HANDLER_METRICS, new ConnectionMetricsHandler(clientMetrics, metrics));
+            }
+
             int maxContentLength = configuration.getMaxContentLength();
 
             if (!stream) {
@@ -2323,6 +2506,12 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
 
         }
 
+        RequestKey(String host, int port, boolean secure) {
+            this.host = host;
+            this.port = port;
+            this.secure = secure;
+        }
+
         public InetSocketAddress getRemoteAddress() {
             return InetSocketAddress.createUnresolved(host, port);
         }
@@ -2432,6 +2621,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
         String id;
         String name;
         Duration retry;
+        boolean hasFields;
 
         CurrentEvent(CompositeByteBuf data) {
             this.data = data;
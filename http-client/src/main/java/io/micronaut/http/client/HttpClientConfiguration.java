@@ -72,6 +72,12 @@ public abstract class HttpClientConfiguration {
     @SuppressWarnings("WeakerAccess")
     public static final boolean DEFAULT_FOLLOW_REDIRECTS = true;
 
+    /**
+     * The default ratio of hedged requests to requests.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final double DEFAULT_HEDGE_BUDGET = 0.1;
+
     private Map<ChannelOption, Object> channelOptions = Collections.emptyMap();
 
     private Integer numOfThreads = null;
@@ -111,6 +117,12 @@ public abstract class HttpClientConfiguration {
 
     private String loggerName;
 
+    private Duration hedgeDelay;
+
+    private Double hedgePercentile;
+
+    private double hedgeBudget = DEFAULT_HEDGE_BUDGET;
+
     /**
      * Default constructor.
      */
@@ -299,6 +311,57 @@ public abstract class HttpClientConfiguration {
         this.connectTtl = connectTtl;
     }
 
+    /**
+     * @return The delay after which a second request is sent for a request without a response
+     */
+    public Optional<Duration> getHedgeDelay() {
+        return Optional.ofNullable(hedgeDelay);
+    }
+
+    /**
+     * Sets the delay after which a second request is sent when a GET, HEAD or OPTIONS request did not receive a
+     * response. The first successful response is used and the other request is cancelled. Defaults to no hedging.
+     *
+     * @param hedgeDelay The hedge delay
+     */
+    public void setHedgeDelay(@Nullable Duration hedgeDelay) {
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    /**
+     * @return The percentile of the observed response times after which a second request is sent
+     */
+    public Optional<Double> getHedgePercentile() {
+        return Optional.ofNullable(hedgePercentile);
+    }
+
+    /**
+     * Sets the percentile of the recently observed response times, between 0 and 1, after which a second request
+     * is sent when a GET, HEAD or OPTIONS request did not receive a response. For example 0.95 hedges the slowest 5%
+     * of the requests. Takes precedence over the {@link #setHedgeDelay(Duration) hedge delay}. Defaults to no hedging.
+     *
+     * @param hedgePercentile The hedge percentile
+     */
+    public void setHedgePercentile(@Nullable Double hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+    }
+
+    /**
+     * @return The maximum ratio of hedged requests to requests
+     */
+    public double getHedgeBudget() {
+        return hedgeBudget;
+    }
+
+    /**
+     * Sets the maximum ratio of hedged requests to requests. Default value ({@value io.micronaut.http.client.HttpClientConfiguration#DEFAULT_HEDGE_BUDGET}).
+     *
+     * @param hedgeBudget The hedge budget
+     */
+    public void setHedgeBudget(double hedgeBudget) {
+        this.hedgeBudget = hedgeBudget;
+    }
+
     /**
      * @return The number of threads the client should use for requests
      */
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.client.metrics.ConnectionPoolMetrics;
+import io.netty.channel.Channel;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * A {@link ChannelPool} that records the acquires and releases of another pool in its {@link ConnectionPoolMetrics}.
+ *
+ * @since 1.3
+ */
+@Internal
+final class InstrumentedChannelPool implements ChannelPool {
+
+    private final ChannelPool pool;
+    private final ConnectionPoolMetrics metrics;
+
+    /**
+     * @param pool    The pool
+     * @param metrics The metrics of the pool
+     */
+    InstrumentedChannelPool(ChannelPool pool, ConnectionPoolMetrics metrics) {
+        this.pool = pool;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Future<Channel> acquire() {
+        long start = acquireStarted();
+        return acquireCompleted(pool.acquire(), start);
+    }
+
+    @Override
+    public Future<Channel> acquire(Promise<Channel> promise) {
+        long start = acquireStarted();
+        return acquireCompleted(pool.acquire(promise), start);
+    }
+
+    @Override
+    public Future<Void> release(Channel channel) {
+        metrics.released();
+        return pool.release(channel);
+    }
+
+    @Override
+    public Future<Void> release(Channel channel, Promise<Void> promise) {
+        metrics.released();
+        return pool.release(channel, promise);
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    private long acquireStarted() {
+        metrics.acquireStarted();
+        return System.nanoTime();
+    }
+
+    private Future<Channel> acquireCompleted(Future<Channel> acquire, long start) {
+        acquire.addListener(future -> {
+            long latency = System.nanoTime() - start;
+            metrics.acquireCompleted(future.isSuccess(), latency / 1000);
+            if (future.isSuccess()) {
+                ConnectionMetricsHandler.acquired((Channel) future.getNow(), latency);
+            }
+        });
+        return acquire;
+    }
+}
@@ -18,6 +18,9 @@ package io.micronaut.http.client;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import io.micronaut.core.annotation.Internal;
@@ -103,6 +106,30 @@ class NettyClientHttpRequest<B> implements MutableHttpRequest<B> {
         this(httpMethod, URI.create(uri), httpMethodName);
     }
 
+    /**
+     * Copies this request, so that the copy can be filtered and sent independently of this request. The headers,
+     * attributes, parameters and URI are copied. The body is shared.
+     *
+     * @return The copy
+     */
+    NettyClientHttpRequest<B> copy() {
+        NettyClientHttpRequest<B> copy = new NettyClientHttpRequest<>(httpMethod, uri, httpMethodName);
+        copy.headers.getNettyHeaders().set(headers.getNettyHeaders());
+        for (Map.Entry<String, Object> attribute : attributes) {
+            copy.attributes.put(attribute.getKey(), attribute.getValue());
+        }
+        NettyHttpParameters httpParameters = this.httpParameters;
+        if (httpParameters != null) {
+            Map<String, List<String>> parameters = new LinkedHashMap<>();
+            for (String name : httpParameters.names()) {
+                parameters.put(name, httpParameters.getAll(name));
+            }
+            copy.httpParameters = new NettyHttpParameters(parameters, ConversionService.SHARED);
+        }
+        copy.body = body;
+        return copy;
+    }
+
     @Override
     public MutableHttpHeaders getHeaders() {
         return headers;
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.retry.Hedging;
+import io.reactivex.Flowable;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Hedges the requests of a client: when a request did not receive a response within the configured
+ * {@link HttpClientConfiguration#getHedgeDelay() delay} or {@link HttpClientConfiguration#getHedgePercentile()
+ * percentile} of the recent response times, a copy of the request is sent to another instance of the
+ * {@link LoadBalancer}. The first successful response is used and the other request is cancelled.</p>
+ *
+ * <p>Hedged requests are paid for from a token bucket that every request fills by the
+ * {@link HttpClientConfiguration#getHedgeBudget() budget}, so hedging cannot multiply the load on a struggling
+ * service.</p>
+ *
+ * @since 1.3
+ */
+@Internal
+final class RequestHedger {
+
+    private static final int SAMPLES = 512;
+    private static final int MIN_SAMPLES = 32;
+    private static final int RECOMPUTE_INTERVAL = 64;
+    private static final long TOKEN = 1000;
+    private static final long MAX_TOKENS = 10 * TOKEN;
+
+    private final long delay;
+    private final double percentile;
+    private final long deposit;
+    private final AtomicLong tokens = new AtomicLong(MAX_TOKENS);
+    private final LongAdder hedges = new LongAdder();
+    private final long[] samples;
+    private int sampleCount;
+    private volatile long percentileDelay = -1;
+
+    /**
+     * @param delay      The hedge delay in nanoseconds or a negative value to use the percentile
+     * @param percentile The percentile of the response times to use as hedge delay
+     * @param budget     The maximum ratio of hedged requests to requests
+     */
+    RequestHedger(long delay, double percentile, double budget) {
+        this.delay = delay;
+        this.percentile = percentile;
+        this.deposit = (long) (budget * TOKEN);
+        this.samples = delay < 0 ? new long[SAMPLES] : null;
+    }
+
+    /**
+     * @param configuration The client configuration
+     * @return The hedger or null if hedging is not configured
+     */
+    static @Nullable RequestHedger of(HttpClientConfiguration configuration) {
+        Double percentile = configuration.getHedgePercentile().orElse(null);
+        if (percentile != null && percentile > 0 && percentile < 1) {
+            return new RequestHedger(-1, percentile, configuration.getHedgeBudget());
+        }
+        return configuration.getHedgeDelay()
+                .filter(delay -> !delay.isNegative())
+                .map(delay -> new RequestHedger(delay.toNanos(), 0, configuration.getHedgeBudget()))
+                .orElse(null);
+    }
+
+    /**
+     * @return The number of hedged requests
+     */
+    long getHedges() {
+        return hedges.sum();
+    }
+
+    /**
+     * Hedges the given request.
+     *
+     * @param request       The request
+     * @param hedgedRequest The request to send if the request did not receive a response in time
+     * @param <T>           The response type
+     * @return The hedged request
+     */
+    <T> Flowable<T> hedge(Flowable<T> request, Flowable<T> hedgedRequest) {
+        return Flowable.defer(() -> {
+            deposit();
+            long hedgeDelay = delay < 0 ? percentileDelay : delay;
+            if (hedgeDelay < 0) {
+                return timed(request, false);
+            }
+            return Hedging.hedge(timed(request, true), timed(hedgedRequest, false), hedgeDelay, TimeUnit.NANOSECONDS, this::tryHedge);
+        });
+    }
+
+    /**
+     * Records the response time of the given request. A first request that is cancelled without a response lost to
+     * its hedged request, so the time it was outstanding is recorded as well: it is a lower bound of its response
+     * time, and leaving it out would bias the percentile towards the responses that beat the hedge delay. Hedged
+     * requests that lose are not recorded, since they started late and would bias the percentile the other way.
+     *
+     * @param request         The request
+     * @param recordCancelled Whether to record the time a cancelled request was outstanding
+     * @param <T>             The response type
+     * @return The timed request
+     */
+    private <T> Flowable<T> timed(Flowable<T> request, boolean recordCancelled) {
+        if (samples == null) {
+            return request;
+        }
+        return Flowable.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            Flowable<T> timedRequest = request.doOnNext(response -> {
+                if (recorded.compareAndSet(false, true)) {
+                    recordResponseTime(System.nanoTime() - start);
+                }
+            });
+            if (recordCancelled) {
+                timedRequest = timedRequest.doOnCancel(() -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        recordResponseTime(System.nanoTime() - start);
+                    }
+                });
+            }
+            return timedRequest;
+        });
+    }
+
+    private void deposit() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= MAX_TOKENS) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(current + deposit, MAX_TOKENS)));
+    }
+
+    private boolean tryHedge() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+        hedges.increment();
+        return true;
+    }
+
+    private void recordResponseTime(long responseTime) {
+        long[] sorted = null;
+        synchronized (samples) {
+            samples[sampleCount++ % SAMPLES] = responseTime;
+            if (sampleCount == MIN_SAMPLES || sampleCount % RECOMPUTE_INTERVAL == 0) {
+                sorted = Arrays.copyOf(samples, Math.min(sampleCount, SAMPLES));
+            }
+            if (sampleCount == SAMPLES * 2) {
+                // keep the index bounded while preserving the position in the ring
+                sampleCount = SAMPLES;
+            }
+        }
+        if (sorted != null) {
+            Arrays.sort(sorted);
+            percentileDelay = sorted[(int) (percentile * (sorted.length - 1))];
+        }
+    }
+}
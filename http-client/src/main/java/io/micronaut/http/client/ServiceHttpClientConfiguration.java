@@ -19,6 +19,7 @@ import io.micronaut.context.annotation.ConfigurationProperties;
 import io.micronaut.context.annotation.EachProperty;
 import io.micronaut.context.annotation.Parameter;
 import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.http.client.loadbalance.LoadBalancingStrategy;
 import io.micronaut.http.ssl.SslConfiguration;
 import io.micronaut.runtime.ApplicationConfiguration;
 
@@ -63,6 +64,12 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration {
     @SuppressWarnings("WeakerAccess")
     public static final long DEFAULT_HEALTHCHECKINTERVAL_SECONDS = 30;
 
+    /**
+     * The default load balancing strategy.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final LoadBalancingStrategy DEFAULT_LOAD_BALANCING_STRATEGY = LoadBalancingStrategy.ROUND_ROBIN;
+
     private final String serviceId;
     private final ServiceConnectionPoolConfiguration connectionPoolConfiguration;
     private List<URI> urls = Collections.emptyList();
@@ -70,6 +77,7 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration {
     private boolean healthCheck = DEFAULT_HEALTHCHECK;
     private Duration healthCheckInterval = Duration.ofSeconds(DEFAULT_HEALTHCHECKINTERVAL_SECONDS);
     private String path;
+    private LoadBalancingStrategy loadBalancingStrategy = DEFAULT_LOAD_BALANCING_STRATEGY;
 
     /**
      * Creates a new client configuration for the given service ID.
@@ -209,6 +217,28 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration {
         }
     }
 
+    /**
+     * The strategy used to select the service instance for each request.
+     *
+     * @return The load balancing strategy
+     */
+    public LoadBalancingStrategy getLoadBalancingStrategy() {
+        return loadBalancingStrategy;
+    }
+
+    /**
+     * Sets the strategy used to select the service instance for each request. Default value (round-robin). The
+     * least-outstanding and power-of-two-choices strategies take the requests in flight and the latency of each
+     * instance into account, the zone-aware strategy prefers instances in the zone of the application.
+     *
+     * @param loadBalancingStrategy The load balancing strategy
+     */
+    public void setLoadBalancingStrategy(LoadBalancingStrategy loadBalancingStrategy) {
+        if (loadBalancingStrategy != null) {
+            this.loadBalancingStrategy = loadBalancingStrategy;
+        }
+    }
+
     @Override
     public ConnectionPoolConfiguration getConnectionPoolConfiguration() {
         return connectionPoolConfiguration;
@@ -91,7 +91,7 @@ public class ServiceHttpClientFactory {
         boolean isHealthCheck = configuration.isHealthCheck();
 
         Optional<String> path = configuration.getPath();
-        LoadBalancer loadBalancer = loadBalancerFactory.create(instanceList);
+        LoadBalancer loadBalancer = loadBalancerFactory.create(instanceList, configuration.getLoadBalancingStrategy());
         DefaultHttpClient httpClient;
         if (path.isPresent()) {
             httpClient = beanContext.createBean(DefaultHttpClient.class, loadBalancer, configuration, path.get());
@@ -22,7 +22,6 @@ import io.micronaut.http.client.LoadBalancer;
 
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 /**
  * @author graemerocher
@@ -42,18 +41,30 @@ public abstract class AbstractRoundRobinLoadBalancer implements LoadBalancer {
      * @return The next available instance or a {@link NoAvailableServiceException} if none
      */
     protected ServiceInstance getNextAvailable(List<ServiceInstance> serviceInstances) {
-        List<ServiceInstance> availableServices = serviceInstances.stream()
-            .filter(si -> si.getHealthStatus().equals(HealthStatus.UP))
-            .collect(Collectors.toList());
-        int len = availableServices.size();
+        // count the available instances in place rather than collecting them to a new list for every request
+        int len = 0;
+        for (ServiceInstance serviceInstance : serviceInstances) {
+            if (isAvailable(serviceInstance)) {
+                len++;
+            }
+        }
         if (len == 0) {
             throw new NoAvailableServiceException(getServiceID());
         }
         int i = index.getAndAccumulate(len, (cur, n) -> cur >= n - 1 ? 0 : cur + 1);
-        try {
-            return availableServices.get(i);
-        } catch (IndexOutOfBoundsException e) {
-            throw new NoAvailableServiceException(getServiceID());
+        if (i >= len) {
+            // the number of available instances shrank since the index was last updated
+            i = 0;
+        }
+        for (ServiceInstance serviceInstance : serviceInstances) {
+            if (isAvailable(serviceInstance) && i-- == 0) {
+                return serviceInstance;
+            }
         }
+        throw new NoAvailableServiceException(getServiceID());
+    }
+
+    private static boolean isAvailable(ServiceInstance serviceInstance) {
+        return serviceInstance.getHealthStatus().equals(HealthStatus.UP);
     }
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.ServiceInstanceList;
+import io.micronaut.discovery.exceptions.NoAvailableServiceException;
+import io.micronaut.health.HealthStatus;
+import org.reactivestreams.Publisher;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Abstract {@link StatisticsLoadBalancer} that selects instances either from a {@link ServiceInstanceList} or from
+ * the {@link DiscoveryClient} and keeps {@link ServiceInstanceStatistics} for each of them. Instances that are
+ * {@link ServiceInstanceStatistics#isEjected() ejected} are skipped as long as another instance is available.
+ *
+ * @since 1.3
+ */
+public abstract class AbstractStatisticsLoadBalancer implements StatisticsLoadBalancer {
+
+    private static final int MIN_STATISTICS_TO_PRUNE = 16;
+
+    private final String serviceID;
+    private final @Nullable ServiceInstanceList serviceInstanceList;
+    private final @Nullable DiscoveryClient discoveryClient;
+    private final Map<String, ServiceInstanceStatistics> statistics = new ConcurrentHashMap<>();
+    private final ThreadLocal<ServiceInstance[]> selectionBuffer = new ThreadLocal<>();
+
+    /**
+     * @param serviceInstanceList The service instance list
+     */
+    protected AbstractStatisticsLoadBalancer(ServiceInstanceList serviceInstanceList) {
+        this.serviceID = serviceInstanceList.getID();
+        this.serviceInstanceList = serviceInstanceList;
+        this.discoveryClient = null;
+    }
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     */
+    protected AbstractStatisticsLoadBalancer(String serviceID, DiscoveryClient discoveryClient) {
+        this.serviceID = serviceID;
+        this.serviceInstanceList = null;
+        this.discoveryClient = discoveryClient;
+    }
+
+    /**
+     * @return The service ID
+     */
+    public String getServiceID() {
+        return serviceID;
+    }
+
+    @Override
+    public Publisher<ServiceInstance> select(@Nullable Object discriminator) {
+        if (serviceInstanceList != null) {
+            return Publishers.just(getNextAvailable(serviceInstanceList.getInstances()));
+        }
+        return Publishers.map(discoveryClient.getInstances(serviceID), this::getNextAvailable);
+    }
+
+    @Override
+    public @Nullable ServiceInstanceStatistics getStatistics(URI requestUri) {
+        return statistics.get(key(requestUri));
+    }
+
+    /**
+     * Selects the next instance from the available instances.
+     *
+     * @param availableInstances The instances that are {@link HealthStatus#UP} and not ejected, unless every such
+     *                           instance is ejected. Only the first {@code count} elements are set. The array may
+     *                           be modified but must not be retained, since it is reused for later selections
+     * @param count              The number of available instances, at least two
+     * @return The selected instance
+     */
+    protected abstract ServiceInstance select(ServiceInstance[] availableInstances, int count);
+
+    /**
+     * Obtains the statistics of the given instance, creating them if necessary.
+     *
+     * @param serviceInstance The service instance
+     * @return The statistics
+     */
+    protected ServiceInstanceStatistics getStatistics(ServiceInstance serviceInstance) {
+        return statistics.computeIfAbsent(key(serviceInstance.getURI()), k -> new ServiceInstanceStatistics());
+    }
+
+    /**
+     * @param serviceInstances A list of service instances
+     * @return The next available instance or a {@link NoAvailableServiceException} if none
+     */
+    protected ServiceInstance getNextAvailable(List<ServiceInstance> serviceInstances) {
+        int size = serviceInstances.size();
+        ServiceInstance[] available = selectionBuffer.get();
+        if (available == null || available.length < size) {
+            available = new ServiceInstance[size];
+            selectionBuffer.set(available);
+        }
+        try {
+            return getNextAvailable(serviceInstances, available, size);
+        } finally {
+            // do not retain instances that may be deregistered
+            Arrays.fill(available, 0, size, null);
+        }
+    }
+
+    private ServiceInstance getNextAvailable(List<ServiceInstance> serviceInstances, ServiceInstance[] available, int size) {
+        int count = 0;
+        int ejected = 0;
+        for (ServiceInstance serviceInstance : serviceInstances) {
+            if (serviceInstance.getHealthStatus().equals(HealthStatus.UP) && count + ejected < size) {
+                if (getStatistics(serviceInstance).isEjected()) {
+                    // keep ejected instances at the end in case every instance is ejected
+                    available[size - ++ejected] = serviceInstance;
+                } else {
+                    available[count++] = serviceInstance;
+                }
+            }
+        }
+        if (count == 0) {
+            if (ejected == 0) {
+                throw new NoAvailableServiceException(serviceID);
+            }
+            // sending requests to ejected instances beats failing every request
+            System.arraycopy(available, size - ejected, available, 0, ejected);
+            count = ejected;
+        }
+        if (statistics.size() > Math.max(MIN_STATISTICS_TO_PRUNE, size * 2)) {
+            pruneStatistics(serviceInstances);
+        }
+        ServiceInstance selected = count == 1 ? available[0] : select(available, count);
+        // make sure the client can report the request to the selected instance
+        getStatistics(selected);
+        return selected;
+    }
+
+    private void pruneStatistics(List<ServiceInstance> serviceInstances) {
+        // forget instances that are no longer registered
+        Set<String> registered = new HashSet<>(serviceInstances.size() * 2);
+        for (ServiceInstance serviceInstance : serviceInstances) {
+            registered.add(key(serviceInstance.getURI()));
+        }
+        statistics.keySet().retainAll(registered);
+    }
+
+    private static String key(URI uri) {
+        return uri.getScheme() + "://" + uri.getHost() + ':' + uri.getPort();
+    }
+}
@@ -18,6 +18,8 @@ package io.micronaut.http.client.loadbalance;
 import io.micronaut.discovery.DiscoveryClient;
 import io.micronaut.http.client.LoadBalancer;
 
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 
 /**
@@ -31,12 +33,23 @@ import javax.inject.Singleton;
 public class DiscoveryClientLoadBalancerFactory {
 
     private final DiscoveryClient discoveryClient;
+    private final LocalZoneResolver localZoneResolver;
 
     /**
      * @param discoveryClient The discover client
      */
     public DiscoveryClientLoadBalancerFactory(DiscoveryClient discoveryClient) {
+        this(discoveryClient, null);
+    }
+
+    /**
+     * @param discoveryClient   The discover client
+     * @param localZoneResolver The resolver of the zone used by the {@link LoadBalancingStrategy#ZONE_AWARE} strategy
+     */
+    @Inject
+    public DiscoveryClientLoadBalancerFactory(DiscoveryClient discoveryClient, @Nullable LocalZoneResolver localZoneResolver) {
         this.discoveryClient = discoveryClient;
+        this.localZoneResolver = localZoneResolver;
     }
 
     /**
@@ -49,6 +62,26 @@ public class DiscoveryClientLoadBalancerFactory {
         return new DiscoveryClientRoundRobinLoadBalancer(serviceID, discoveryClient);
     }
 
+    /**
+     * Creates a {@link LoadBalancer} that uses the given strategy for the given service ID.
+     *
+     * @param serviceID The service ID
+     * @param strategy  The {@link LoadBalancingStrategy}
+     * @return The {@link LoadBalancer}
+     */
+    public LoadBalancer create(String serviceID, LoadBalancingStrategy strategy) {
+        switch (strategy) {
+            case LEAST_OUTSTANDING:
+                return new LeastOutstandingLoadBalancer(serviceID, discoveryClient);
+            case POWER_OF_TWO_CHOICES:
+                return new PowerOfTwoChoicesLoadBalancer(serviceID, discoveryClient);
+            case ZONE_AWARE:
+                return new ZoneAwareLoadBalancer(serviceID, discoveryClient, localZoneResolver != null ? localZoneResolver.resolveZone().orElse(null) : null);
+            default:
+                return create(serviceID);
+        }
+    }
+
     /**
      * @return The {@link DiscoveryClient} being used
      */
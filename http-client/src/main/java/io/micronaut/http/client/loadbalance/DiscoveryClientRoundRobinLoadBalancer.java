@@ -25,7 +25,8 @@ import org.reactivestreams.Publisher;
  * {@link ServiceInstance} ID to automatically load balance between discovered clients in a non-blocking manner.</p>
  * <p>
  * <p>Note that the when {@link DiscoveryClient} caching is enabled then this load balancer may not always have the
- * latest server list from the {@link DiscoveryClient} (the default TTL is 30 seconds)</p>
+ * latest server list from the {@link DiscoveryClient} (the default TTL is 30 seconds). Enabling the watch mode of the
+ * discovery client with {@code micronaut.discovery.watch.enabled} keeps the list up to date instead.</p>
  *
  * @author Graeme Rocher
  * @since 1.0
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.ServiceInstanceList;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link StatisticsLoadBalancer} that selects the available instance with the fewest outstanding requests. Ties are
+ * broken in a round robin manner so that idle instances share the load evenly.
+ *
+ * @since 1.3
+ */
+public class LeastOutstandingLoadBalancer extends AbstractStatisticsLoadBalancer {
+
+    private final AtomicInteger index = new AtomicInteger(0);
+
+    /**
+     * @param serviceInstanceList The service instance list
+     */
+    public LeastOutstandingLoadBalancer(ServiceInstanceList serviceInstanceList) {
+        super(serviceInstanceList);
+    }
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     */
+    public LeastOutstandingLoadBalancer(String serviceID, DiscoveryClient discoveryClient) {
+        super(serviceID, discoveryClient);
+    }
+
+    @Override
+    protected ServiceInstance select(ServiceInstance[] availableInstances, int count) {
+        int start = (index.getAndIncrement() & Integer.MAX_VALUE) % count;
+        ServiceInstance selected = null;
+        int least = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            ServiceInstance candidate = availableInstances[(start + i) % count];
+            int outstanding = getStatistics(candidate).getOutstandingRequests();
+            if (outstanding < least) {
+                selected = candidate;
+                least = outstanding;
+                if (outstanding == 0) {
+                    break;
+                }
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+/**
+ * The strategies a load balancer can use to select a service instance.
+ *
+ * @since 1.3
+ */
+public enum LoadBalancingStrategy {
+
+    /**
+     * Selects each available instance in turn.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Selects the available instance with the fewest requests in flight. See {@link LeastOutstandingLoadBalancer}.
+     */
+    LEAST_OUTSTANDING,
+
+    /**
+     * Selects the cheaper of two random available instances, based on their latency and requests in flight. See
+     * {@link PowerOfTwoChoicesLoadBalancer}.
+     */
+    POWER_OF_TWO_CHOICES,
+
+    /**
+     * Selects a random available instance in the local zone in proportion to the instance weights. See
+     * {@link ZoneAwareLoadBalancer}.
+     */
+    ZONE_AWARE
+}
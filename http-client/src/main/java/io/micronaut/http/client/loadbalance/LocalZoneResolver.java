@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.env.Environment;
+import io.micronaut.discovery.cloud.ComputeInstanceMetadata;
+import io.micronaut.discovery.cloud.ComputeInstanceMetadataResolver;
+import io.micronaut.runtime.ApplicationConfiguration;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Optional;
+
+/**
+ * Resolves the availability zone of the running application, used by the {@link ZoneAwareLoadBalancer} to prefer
+ * instances in the same zone. The zone configured with {@code micronaut.application.instance.zone} takes precedence
+ * over the zone of the {@link ComputeInstanceMetadata}.
+ *
+ * @since 1.3
+ */
+@Singleton
+@BootstrapContextCompatible
+public class LocalZoneResolver {
+
+    /**
+     * The property that configures the zone of the application.
+     */
+    public static final String ZONE_PROPERTY = ApplicationConfiguration.PREFIX + '.' + ApplicationConfiguration.InstanceConfiguration.PREFIX + ".zone";
+
+    private final Environment environment;
+    private final ComputeInstanceMetadataResolver computeInstanceMetadataResolver;
+    private Optional<String> zone;
+
+    /**
+     * @param environment                     The environment
+     * @param computeInstanceMetadataResolver The compute instance metadata resolver
+     */
+    @Inject
+    public LocalZoneResolver(Environment environment, @Nullable ComputeInstanceMetadataResolver computeInstanceMetadataResolver) {
+        this.environment = environment;
+        this.computeInstanceMetadataResolver = computeInstanceMetadataResolver;
+    }
+
+    /**
+     * @return The zone of the application if known
+     */
+    public Optional<String> resolveZone() {
+        Optional<String> zone = this.zone;
+        if (zone == null) {
+            zone = environment.getProperty(ZONE_PROPERTY, String.class);
+            if (!zone.isPresent() && computeInstanceMetadataResolver != null) {
+                zone = computeInstanceMetadataResolver.resolve(environment)
+                        .map(ComputeInstanceMetadata::getAvailabilityZone);
+            }
+            this.zone = zone;
+        }
+        return zone;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.ServiceInstanceList;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>A {@link StatisticsLoadBalancer} that picks two distinct available instances at random and selects the one
+ * with the lower {@link ServiceInstanceStatistics#getCost(long) cost}, that is the one with the lower moving average
+ * latency scaled by its outstanding requests.</p>
+ *
+ * <p>Comparing only two random instances keeps the selection constant time and avoids the herding that occurs when
+ * every client sends its requests to the single instance that currently looks best.</p>
+ *
+ * @since 1.3
+ */
+public class PowerOfTwoChoicesLoadBalancer extends AbstractStatisticsLoadBalancer {
+
+    /**
+     * @param serviceInstanceList The service instance list
+     */
+    public PowerOfTwoChoicesLoadBalancer(ServiceInstanceList serviceInstanceList) {
+        super(serviceInstanceList);
+    }
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     */
+    public PowerOfTwoChoicesLoadBalancer(String serviceID, DiscoveryClient discoveryClient) {
+        super(serviceID, discoveryClient);
+    }
+
+    @Override
+    protected ServiceInstance select(ServiceInstance[] availableInstances, int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(count);
+        int second = random.nextInt(count - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstanceStatistics firstStatistics = getStatistics(availableInstances[first]);
+        ServiceInstanceStatistics secondStatistics = getStatistics(availableInstances[second]);
+        // an instance without samples yet is assumed to be as fast as the other one
+        long firstLatency = firstStatistics.getLatency();
+        long secondLatency = secondStatistics.getLatency();
+        double firstCost = firstStatistics.getCost(secondLatency);
+        double secondCost = secondStatistics.getCost(firstLatency);
+        return firstCost <= secondCost ? availableInstances[first] : availableInstances[second];
+    }
+}
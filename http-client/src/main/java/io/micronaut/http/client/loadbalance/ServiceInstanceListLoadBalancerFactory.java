@@ -19,6 +19,8 @@ import io.micronaut.context.annotation.BootstrapContextCompatible;
 import io.micronaut.discovery.ServiceInstanceList;
 import io.micronaut.http.client.LoadBalancer;
 
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 
 /**
@@ -32,6 +34,23 @@ import javax.inject.Singleton;
 @BootstrapContextCompatible
 public class ServiceInstanceListLoadBalancerFactory {
 
+    private final LocalZoneResolver localZoneResolver;
+
+    /**
+     * Default constructor.
+     */
+    public ServiceInstanceListLoadBalancerFactory() {
+        this(null);
+    }
+
+    /**
+     * @param localZoneResolver The resolver of the zone used by the {@link LoadBalancingStrategy#ZONE_AWARE} strategy
+     */
+    @Inject
+    public ServiceInstanceListLoadBalancerFactory(@Nullable LocalZoneResolver localZoneResolver) {
+        this.localZoneResolver = localZoneResolver;
+    }
+
     /**
      * Creates a {@link LoadBalancer} from the given {@link ServiceInstanceList}.
      *
@@ -41,4 +60,24 @@ public class ServiceInstanceListLoadBalancerFactory {
     public LoadBalancer create(ServiceInstanceList serviceInstanceList) {
         return new ServiceInstanceListRoundRobinLoadBalancer(serviceInstanceList);
     }
+
+    /**
+     * Creates a {@link LoadBalancer} that uses the given strategy from the given {@link ServiceInstanceList}.
+     *
+     * @param serviceInstanceList The {@link ServiceInstanceList}
+     * @param strategy            The {@link LoadBalancingStrategy}
+     * @return The {@link LoadBalancer}
+     */
+    public LoadBalancer create(ServiceInstanceList serviceInstanceList, LoadBalancingStrategy strategy) {
+        switch (strategy) {
+            case LEAST_OUTSTANDING:
+                return new LeastOutstandingLoadBalancer(serviceInstanceList);
+            case POWER_OF_TWO_CHOICES:
+                return new PowerOfTwoChoicesLoadBalancer(serviceInstanceList);
+            case ZONE_AWARE:
+                return new ZoneAwareLoadBalancer(serviceInstanceList, localZoneResolver != null ? localZoneResolver.resolveZone().orElse(null) : null);
+            default:
+                return create(serviceInstanceList);
+        }
+    }
 }
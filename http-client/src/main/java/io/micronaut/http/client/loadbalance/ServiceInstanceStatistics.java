@@ -0,0 +1,264 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Statistics about the requests the HTTP client sends to a single service instance, used by the
+ * {@link StatisticsLoadBalancer} implementations to prefer instances that are less loaded or respond faster.</p>
+ *
+ * <p>The latency is tracked as a peak sensitive exponentially weighted moving average: a sample slower than the
+ * current average replaces it immediately, so an instance that starts to slow down (for example due to a long GC
+ * pause) is avoided straight away, while faster samples decay the average over {@link #DEFAULT_DECAY_TIME}.
+ * Connection failures are recorded as a latency of at least {@link #DEFAULT_FAILURE_PENALTY}.</p>
+ *
+ * <p>An instance is ejected after {@link #DEFAULT_CONSECUTIVE_ERRORS} consecutive errors, that is server error
+ * responses or failures without a response. It stays ejected for {@link #DEFAULT_EJECTION_TIME} multiplied by the
+ * number of times in a row it was ejected, up to {@link #MAX_EJECTION_MULTIPLIER} times.</p>
+ *
+ * @since 1.3
+ */
+public class ServiceInstanceStatistics {
+
+    /**
+     * The default time over which older latency samples decay.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_DECAY_TIME = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * The default latency recorded for a request that failed without a response.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_FAILURE_PENALTY = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The default number of consecutive errors after which an instance is ejected.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_CONSECUTIVE_ERRORS = 5;
+
+    /**
+     * The default time an instance is ejected for the first time.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_EJECTION_TIME = TimeUnit.SECONDS.toNanos(30);
+
+    /**
+     * The maximum multiple of the ejection time an instance that keeps failing is ejected for.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int MAX_EJECTION_MULTIPLIER = 10;
+
+    private final AtomicInteger outstandingRequests = new AtomicInteger(0);
+    private final long decayTime;
+    private final long failurePenalty;
+    private final int consecutiveErrorsToEject;
+    private final long ejectionTime;
+    private long latency;
+    private long lastUpdate;
+    private boolean sampled;
+    private int consecutiveErrors;
+    private int ejections;
+    private volatile long ejectedUntil;
+
+    /**
+     * Default constructor.
+     */
+    public ServiceInstanceStatistics() {
+        this(DEFAULT_DECAY_TIME, DEFAULT_FAILURE_PENALTY, DEFAULT_CONSECUTIVE_ERRORS, DEFAULT_EJECTION_TIME);
+    }
+
+    /**
+     * @param decayTime      The time in nanoseconds over which older latency samples decay
+     * @param failurePenalty The latency in nanoseconds recorded for a request that failed without a response
+     */
+    public ServiceInstanceStatistics(long decayTime, long failurePenalty) {
+        this(decayTime, failurePenalty, DEFAULT_CONSECUTIVE_ERRORS, DEFAULT_EJECTION_TIME);
+    }
+
+    /**
+     * @param decayTime                The time in nanoseconds over which older latency samples decay
+     * @param failurePenalty           The latency in nanoseconds recorded for a request that failed without a response
+     * @param consecutiveErrorsToEject The number of consecutive errors after which the instance is ejected or 0 to
+     *                                 never eject it
+     * @param ejectionTime             The time in nanoseconds the instance is ejected for the first time
+     */
+    public ServiceInstanceStatistics(long decayTime, long failurePenalty, int consecutiveErrorsToEject, long ejectionTime) {
+        if (decayTime <= 0) {
+            throw new IllegalArgumentException("Decay time must be greater than zero");
+        }
+        this.decayTime = decayTime;
+        this.failurePenalty = failurePenalty;
+        this.consecutiveErrorsToEject = consecutiveErrorsToEject;
+        this.ejectionTime = ejectionTime;
+    }
+
+    /**
+     * @return The number of requests that were sent to the instance and have not completed yet
+     */
+    public int getOutstandingRequests() {
+        return outstandingRequests.get();
+    }
+
+    /**
+     * @return Whether a latency was recorded for the instance
+     */
+    public synchronized boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * @return The moving average of the latency in nanoseconds or 0 if no latency was recorded
+     */
+    public synchronized long getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return Whether the instance is currently ejected because of consecutive errors
+     */
+    public boolean isEjected() {
+        long until = ejectedUntil;
+        return until != 0 && until - System.nanoTime() > 0;
+    }
+
+    /**
+     * Records the start of a request to the instance.
+     *
+     * @return The request, which must be completed or cancelled exactly once
+     */
+    public Request requestStarted() {
+        outstandingRequests.incrementAndGet();
+        return new Request(System.nanoTime());
+    }
+
+    /**
+     * Records a latency sample.
+     *
+     * @param latency The latency in nanoseconds
+     * @param failed  Whether the request failed without a response
+     */
+    public void record(long latency, boolean failed) {
+        record(latency, failed, failed);
+    }
+
+    /**
+     * Records a latency sample and whether the request was an error.
+     *
+     * @param latency The latency in nanoseconds
+     * @param failed  Whether the request failed without a response
+     * @param error   Whether the request failed or the instance responded with a server error
+     */
+    public void record(long latency, boolean failed, boolean error) {
+        long sample = failed ? Math.max(latency, failurePenalty) : latency;
+        long now = System.nanoTime();
+        synchronized (this) {
+            recordOutcome(error, now);
+            if (!sampled || sample > this.latency) {
+                this.latency = sample;
+                sampled = true;
+            } else {
+                long elapsed = Math.max(now - lastUpdate, 0);
+                double weight = Math.exp(-(double) elapsed / decayTime);
+                this.latency = (long) (this.latency * weight + sample * (1 - weight));
+            }
+            lastUpdate = now;
+        }
+    }
+
+    private void recordOutcome(boolean error, long now) {
+        if (!error) {
+            consecutiveErrors = 0;
+            if (ejections > 0 && !isEjected()) {
+                ejections = 0;
+            }
+        } else if (consecutiveErrorsToEject > 0 && ++consecutiveErrors >= consecutiveErrorsToEject) {
+            consecutiveErrors = 0;
+            ejections = Math.min(ejections + 1, MAX_EJECTION_MULTIPLIER);
+            long until = now + ejectionTime * ejections;
+            ejectedUntil = until == 0 ? 1 : until;
+        }
+    }
+
+    /**
+     * Computes the cost of sending another request to the instance, which is the expected latency scaled by the
+     * requests already waiting on it.
+     *
+     * @param defaultLatency The latency in nanoseconds to assume if none was recorded yet
+     * @return The cost
+     */
+    public double getCost(long defaultLatency) {
+        long latency;
+        synchronized (this) {
+            latency = sampled ? this.latency : defaultLatency;
+        }
+        return (latency + 1d) * (outstandingRequests.get() + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "ServiceInstanceStatistics{outstandingRequests=" + getOutstandingRequests() + ", latency=" + getLatency() + ", ejected=" + isEjected() + '}';
+    }
+
+    /**
+     * A request sent to the instance.
+     */
+    public final class Request {
+        private final long start;
+        private final AtomicBoolean done = new AtomicBoolean(false);
+
+        private Request(long start) {
+            this.start = start;
+        }
+
+        /**
+         * Records the completion of the request. Only the first call to this method or {@link #cancelled()} has
+         * an effect.
+         *
+         * @param failed Whether the request failed without a response
+         */
+        public void completed(boolean failed) {
+            completed(failed, failed);
+        }
+
+        /**
+         * Records the completion of the request. Only the first call to this method or {@link #cancelled()} has
+         * an effect.
+         *
+         * @param failed Whether the request failed without a response
+         * @param error  Whether the request failed or the instance responded with a server error
+         */
+        public void completed(boolean failed, boolean error) {
+            if (done.compareAndSet(false, true)) {
+                outstandingRequests.decrementAndGet();
+                record(System.nanoTime() - start, failed, error);
+            }
+        }
+
+        /**
+         * Records that the request was cancelled, which does not produce a latency sample.
+         */
+        public void cancelled() {
+            if (done.compareAndSet(false, true)) {
+                outstandingRequests.decrementAndGet();
+            }
+        }
+    }
+}
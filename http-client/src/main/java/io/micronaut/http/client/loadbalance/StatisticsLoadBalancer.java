@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.http.client.LoadBalancer;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+
+/**
+ * A {@link LoadBalancer} that selects instances based on {@link ServiceInstanceStatistics} reported by the client
+ * for every request it sends.
+ *
+ * @since 1.3
+ */
+public interface StatisticsLoadBalancer extends LoadBalancer {
+
+    /**
+     * Obtains the statistics of the instance the given request URI was resolved against.
+     *
+     * @param requestUri The URI of the request
+     * @return The statistics or null if the URI does not belong to an instance of this load balancer
+     */
+    @Nullable ServiceInstanceStatistics getStatistics(URI requestUri);
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.ServiceInstanceList;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>A {@link StatisticsLoadBalancer} that prefers the available instances in the zone of the application and
+ * selects among them at random in proportion to their {@link #WEIGHT weight}. Instances in other zones are only
+ * selected when no instance of the local zone is available.</p>
+ *
+ * <p>The weight of an instance is read from the {@link #WEIGHT} entry of its metadata and defaults to 1. A weight of
+ * 0 takes an instance out of rotation unless every candidate has a weight of 0.</p>
+ *
+ * @since 1.3
+ */
+public class ZoneAwareLoadBalancer extends AbstractStatisticsLoadBalancer {
+
+    /**
+     * The metadata entry that holds the weight of an instance.
+     */
+    public static final String WEIGHT = "weight";
+
+    private final @Nullable String localZone;
+
+    /**
+     * @param serviceInstanceList The service instance list
+     * @param localZone           The zone of the application or null if not known
+     */
+    public ZoneAwareLoadBalancer(ServiceInstanceList serviceInstanceList, @Nullable String localZone) {
+        super(serviceInstanceList);
+        this.localZone = localZone;
+    }
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     * @param localZone       The zone of the application or null if not known
+     */
+    public ZoneAwareLoadBalancer(String serviceID, DiscoveryClient discoveryClient, @Nullable String localZone) {
+        super(serviceID, discoveryClient);
+        this.localZone = localZone;
+    }
+
+    /**
+     * @return The zone of the application
+     */
+    public @Nullable String getLocalZone() {
+        return localZone;
+    }
+
+    @Override
+    protected ServiceInstance select(ServiceInstance[] availableInstances, int count) {
+        if (localZone != null) {
+            int local = 0;
+            for (int i = 0; i < count; i++) {
+                ServiceInstance candidate = availableInstances[i];
+                if (localZone.equals(candidate.getZone().orElse(null))) {
+                    availableInstances[i] = availableInstances[local];
+                    availableInstances[local++] = candidate;
+                }
+            }
+            if (local > 0) {
+                count = local;
+            }
+        }
+        if (count == 1) {
+            return availableInstances[0];
+        }
+
+        int[] weights = new int[count];
+        long totalWeight = 0;
+        for (int i = 0; i < count; i++) {
+            weights[i] = weight(availableInstances[i]);
+            totalWeight += weights[i];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (totalWeight == 0) {
+            return availableInstances[random.nextInt(count)];
+        }
+        long position = random.nextLong(totalWeight);
+        for (int i = 0; i < count; i++) {
+            position -= weights[i];
+            if (position < 0) {
+                return availableInstances[i];
+            }
+        }
+        return availableInstances[count - 1];
+    }
+
+    private static int weight(ServiceInstance serviceInstance) {
+        return Math.max(serviceInstance.getMetadata().get(WEIGHT, Integer.class).orElse(1), 0);
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.metrics;
+
+import io.micronaut.http.metrics.ConcurrentHistogram;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>The metrics of the connections of a client to a remote host: the state of its connection pool and histograms of
+ * the phases of its requests, in microseconds.</p>
+ *
+ * <p>The pool statistics are only recorded when connection pooling is enabled. Without pooling every request opens
+ * its own connection, which is counted as created and closed.</p>
+ *
+ * @since 1.3
+ */
+public final class ConnectionPoolMetrics {
+
+    private final String clientId;
+    private final String host;
+    private final int port;
+    private final boolean secure;
+    private final boolean pooled;
+    private final LongAdder active = new LongAdder();
+    private final LongAdder pendingAcquires = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder closed = new LongAdder();
+    private final ConcurrentHistogram acquireLatency;
+    private final ConcurrentHistogram dns;
+    private final ConcurrentHistogram connect;
+    private final ConcurrentHistogram tlsHandshake;
+    private final ConcurrentHistogram timeToFirstByte;
+
+    /**
+     * @param clientId   The id of the client
+     * @param host       The remote host
+     * @param port       The remote port
+     * @param secure     Whether the connections use TLS
+     * @param pooled     Whether the connections are pooled
+     * @param maxStripes The maximum number of stripes of the histograms
+     */
+    ConnectionPoolMetrics(@Nullable String clientId, String host, int port, boolean secure, boolean pooled, int maxStripes) {
+        this.clientId = clientId;
+        this.host = host;
+        this.port = port;
+        this.secure = secure;
+        this.pooled = pooled;
+        this.acquireLatency = new ConcurrentHistogram(maxStripes);
+        this.dns = new ConcurrentHistogram(maxStripes);
+        this.connect = new ConcurrentHistogram(maxStripes);
+        this.tlsHandshake = new ConcurrentHistogram(maxStripes);
+        this.timeToFirstByte = new ConcurrentHistogram(maxStripes);
+    }
+
+    /**
+     * @return The id of the client or null if the client has no id
+     */
+    public @Nullable String getClientId() {
+        return clientId;
+    }
+
+    /**
+     * @return The remote host
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return The remote port
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * @return Whether the connections use TLS
+     */
+    public boolean isSecure() {
+        return secure;
+    }
+
+    /**
+     * @return Whether the connections are pooled
+     */
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * @return The number of open connections
+     */
+    public long getOpen() {
+        return Math.max(0, getCreated() - getClosed());
+    }
+
+    /**
+     * @return The number of connections acquired from the pool
+     */
+    public long getActive() {
+        return active.sum();
+    }
+
+    /**
+     * @return The number of open connections that are not acquired from the pool
+     */
+    public long getIdle() {
+        return pooled ? Math.max(0, getOpen() - getActive()) : 0;
+    }
+
+    /**
+     * @return The number of acquires that wait for a connection
+     */
+    public long getPendingAcquires() {
+        return pendingAcquires.sum();
+    }
+
+    /**
+     * @return The number of connections that were created
+     */
+    public long getCreated() {
+        return created.sum();
+    }
+
+    /**
+     * @return The number of connections that were closed
+     */
+    public long getClosed() {
+        return closed.sum();
+    }
+
+    /**
+     * @return The time waited to acquire a connection from the pool
+     */
+    public ConcurrentHistogram getAcquireLatency() {
+        return acquireLatency;
+    }
+
+    /**
+     * @return The time taken to resolve the address of new connections
+     */
+    public ConcurrentHistogram getDns() {
+        return dns;
+    }
+
+    /**
+     * @return The time taken to connect new connections
+     */
+    public ConcurrentHistogram getConnect() {
+        return connect;
+    }
+
+    /**
+     * @return The time taken by the TLS handshake of new connections
+     */
+    public ConcurrentHistogram getTlsHandshake() {
+        return tlsHandshake;
+    }
+
+    /**
+     * @return The time from writing a request to receiving the start of its response
+     */
+    public ConcurrentHistogram getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    /**
+     * Marks the start of an acquire.
+     */
+    public void acquireStarted() {
+        pendingAcquires.increment();
+    }
+
+    /**
+     * Records a completed acquire.
+     *
+     * @param success       Whether a connection was acquired
+     * @param latencyMicros The time waited in microseconds
+     */
+    public void acquireCompleted(boolean success, long latencyMicros) {
+        pendingAcquires.decrement();
+        if (success) {
+            active.increment();
+            acquireLatency.record(latencyMicros);
+        }
+    }
+
+    /**
+     * Marks the release of an acquired connection.
+     */
+    public void released() {
+        active.decrement();
+    }
+
+    /**
+     * Marks the creation of a connection.
+     */
+    public void connectionCreated() {
+        created.increment();
+    }
+
+    /**
+     * Marks the close of a connection.
+     */
+    public void connectionClosed() {
+        closed.increment();
+    }
+
+    /**
+     * Records the phases of a request.
+     *
+     * @param timings The timings of the request
+     */
+    void record(RequestTimings timings) {
+        if (timings.getDnsMicros() > -1) {
+            dns.record(timings.getDnsMicros());
+        }
+        if (timings.getConnectMicros() > -1) {
+            connect.record(timings.getConnectMicros());
+        }
+        if (timings.getTlsHandshakeMicros() > -1) {
+            tlsHandshake.record(timings.getTlsHandshakeMicros());
+        }
+        timeToFirstByte.record(timings.getTimeToFirstByteMicros());
+    }
+
+    @Override
+    public String toString() {
+        return (secure ? "https://" : "http://") + host + ":" + port;
+    }
+}
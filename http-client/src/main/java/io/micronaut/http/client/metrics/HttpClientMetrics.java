@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.metrics;
+
+import javax.annotation.Nullable;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>The metrics of the HTTP clients of the application. Every client records the state of its connection pool and
+ * the phases of its requests per remote host, without any dependency on a metrics library. The metrics are exposed
+ * by the {@code clientmetrics} management endpoint and are passed to {@link HttpClientMetricsListener} beans.</p>
+ *
+ * @since 1.3
+ */
+@Singleton
+public class HttpClientMetrics {
+
+    private final int maxStripes;
+    private final HttpClientMetricsListener[] listeners;
+    private final Set<ConnectionPoolMetrics> pools = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param configuration The client metrics configuration
+     * @param listeners     The listeners
+     */
+    public HttpClientMetrics(HttpClientMetricsConfiguration configuration, HttpClientMetricsListener[] listeners) {
+        this.maxStripes = configuration.getMaxStripes();
+        this.listeners = listeners;
+    }
+
+    /**
+     * Creates the metrics of the connections of a client to a remote host.
+     *
+     * @param clientId The id of the client
+     * @param host     The remote host
+     * @param port     The remote port
+     * @param secure   Whether the connections use TLS
+     * @param pooled   Whether the connections are pooled
+     * @return The metrics
+     */
+    public ConnectionPoolMetrics addPool(@Nullable String clientId, String host, int port, boolean secure, boolean pooled) {
+        ConnectionPoolMetrics pool = new ConnectionPoolMetrics(clientId, host, port, secure, pooled, maxStripes);
+        pools.add(pool);
+        for (HttpClientMetricsListener listener : listeners) {
+            listener.poolAdded(pool);
+        }
+        return pool;
+    }
+
+    /**
+     * Removes the metrics of a stopped client.
+     *
+     * @param pool The metrics of the connections of the client to a remote host
+     */
+    public void removePool(ConnectionPoolMetrics pool) {
+        if (pools.remove(pool)) {
+            for (HttpClientMetricsListener listener : listeners) {
+                listener.poolRemoved(pool);
+            }
+        }
+    }
+
+    /**
+     * @return The metrics of the connections of the running clients
+     */
+    public Collection<ConnectionPoolMetrics> getPools() {
+        return Collections.unmodifiableCollection(new ArrayList<>(pools));
+    }
+
+    /**
+     * Records a request whose response was completely received.
+     *
+     * @param timings The timings of the request
+     */
+    public void requestCompleted(RequestTimings timings) {
+        timings.getPool().record(timings);
+        for (HttpClientMetricsListener listener : listeners) {
+            listener.requestCompleted(timings);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.metrics;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.util.Toggleable;
+import io.micronaut.http.client.DefaultHttpClientConfiguration;
+
+/**
+ * Configuration of the {@link HttpClientMetrics}.
+ *
+ * @since 1.3
+ */
+@ConfigurationProperties(HttpClientMetricsConfiguration.PREFIX)
+public class HttpClientMetricsConfiguration implements Toggleable {
+
+    /**
+     * The prefix for client metrics configuration.
+     */
+    public static final String PREFIX = DefaultHttpClientConfiguration.PREFIX + ".metrics";
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default maximum number of stripes of a histogram.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MAX_STRIPES = 1;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private int maxStripes = DEFAULT_MAX_STRIPES;
+
+    /**
+     * @return Whether the client metrics are enabled
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_ENABLED}).
+     * @param enabled Whether the client metrics are enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The histograms of each remote host are split into one stripe per processor, up to this maximum. Clients record
+     * once per request and connection, so a single stripe is usually enough. Each stripe takes 8KB.
+     *
+     * @return The maximum number of stripes of a histogram
+     */
+    public int getMaxStripes() {
+        return maxStripes;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_MAX_STRIPES}).
+     * @param maxStripes The maximum number of stripes of a histogram
+     */
+    public void setMaxStripes(int maxStripes) {
+        this.maxStripes = Math.max(1, maxStripes);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.metrics;
+
+/**
+ * A listener of the {@link HttpClientMetrics}, implemented as a bean to export the metrics of the HTTP clients, for
+ * example to Prometheus or Micrometer.
+ *
+ * @since 1.3
+ */
+public interface HttpClientMetricsListener {
+
+    /**
+     * Invoked once a client sends its first request to a remote host.
+     *
+     * @param pool The metrics of the connections to the host
+     */
+    default void poolAdded(ConnectionPoolMetrics pool) {
+        // no-op
+    }
+
+    /**
+     * Invoked once the client of a pool was stopped.
+     *
+     * @param pool The metrics of the connections to the host
+     */
+    default void poolRemoved(ConnectionPoolMetrics pool) {
+        // no-op
+    }
+
+    /**
+     * Invoked once the response to a request was completely received.
+     *
+     * @param timings The timings of the request
+     */
+    default void requestCompleted(RequestTimings timings) {
+        // no-op
+    }
+}
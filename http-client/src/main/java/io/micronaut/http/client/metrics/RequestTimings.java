@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.metrics;
+
+/**
+ * The phases of a request of a client, in microseconds. The connection phases are only present for the first request
+ * sent over a connection.
+ *
+ * @since 1.3
+ */
+public final class RequestTimings {
+
+    private final ConnectionPoolMetrics pool;
+    private final int status;
+    private final long acquireMicros;
+    private final long dnsMicros;
+    private final long connectMicros;
+    private final long tlsHandshakeMicros;
+    private final long timeToFirstByteMicros;
+    private final long totalMicros;
+
+    /**
+     * @param pool                  The metrics of the connections to the remote host
+     * @param status                The status code of the response
+     * @param acquireMicros         The time waited to acquire the connection from the pool or -1
+     * @param dnsMicros             The time taken to resolve the remote address or -1
+     * @param connectMicros         The time taken to connect or -1
+     * @param tlsHandshakeMicros    The time taken by the TLS handshake or -1
+     * @param timeToFirstByteMicros The time from writing the request to receiving the start of the response
+     * @param totalMicros           The time from writing the request to receiving the end of the response
+     */
+    @SuppressWarnings("ParameterNumber")
+    public RequestTimings(
+            ConnectionPoolMetrics pool,
+            int status,
+            long acquireMicros,
+            long dnsMicros,
+            long connectMicros,
+            long tlsHandshakeMicros,
+            long timeToFirstByteMicros,
+            long totalMicros) {
+        this.pool = pool;
+        this.status = status;
+        this.acquireMicros = acquireMicros;
+        this.dnsMicros = dnsMicros;
+        this.connectMicros = connectMicros;
+        this.tlsHandshakeMicros = tlsHandshakeMicros;
+        this.timeToFirstByteMicros = timeToFirstByteMicros;
+        this.totalMicros = totalMicros;
+    }
+
+    /**
+     * @return The metrics of the connections to the remote host
+     */
+    public ConnectionPoolMetrics getPool() {
+        return pool;
+    }
+
+    /**
+     * @return The status code of the response
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return The time waited to acquire the connection from the pool, or -1 without connection pooling
+     */
+    public long getAcquireMicros() {
+        return acquireMicros;
+    }
+
+    /**
+     * @return The time taken to resolve the remote address, or -1 if the connection was reused
+     */
+    public long getDnsMicros() {
+        return dnsMicros;
+    }
+
+    /**
+     * @return The time taken to connect, or -1 if the connection was reused
+     */
+    public long getConnectMicros() {
+        return connectMicros;
+    }
+
+    /**
+     * @return The time taken by the TLS handshake, or -1 if the connection was reused or does not use TLS
+     */
+    public long getTlsHandshakeMicros() {
+        return tlsHandshakeMicros;
+    }
+
+    /**
+     * @return The time from writing the request to receiving the start of the response
+     */
+    public long getTimeToFirstByteMicros() {
+        return timeToFirstByteMicros;
+    }
+
+    /**
+     * @return The time from writing the request to receiving the end of the response
+     */
+    public long getTotalMicros() {
+        return totalMicros;
+    }
+
+    /**
+     * @return Whether the request was sent over a connection that was used before
+     */
+    public boolean isConnectionReused() {
+        return connectMicros < 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestTimings{" +
+                "pool=" + pool +
+                ", status=" + status +
+                ", acquire=" + acquireMicros +
+                ", dns=" + dnsMicros +
+                ", connect=" + connectMicros +
+                ", tlsHandshake=" + tlsHandshakeMicros +
+                ", timeToFirstByte=" + timeToFirstByteMicros +
+                ", total=" + totalMicros +
+                '}';
+    }
+}
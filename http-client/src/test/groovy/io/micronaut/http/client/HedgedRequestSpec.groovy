@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.AnnotationMetadataResolver
+import io.micronaut.core.async.publisher.Publishers
+import io.micronaut.core.io.ResourceResolver
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MutableHttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.client.ssl.NettyClientSslBuilder
+import io.micronaut.http.codec.MediaTypeCodecRegistry
+import io.micronaut.http.filter.ClientFilterChain
+import io.micronaut.http.filter.HttpClientFilter
+import io.micronaut.http.ssl.ClientSslConfiguration
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.runtime.server.EmbeddedServer
+import io.netty.channel.MultithreadEventLoopGroup
+import io.netty.util.concurrent.DefaultThreadFactory
+import io.reactivex.Flowable
+import io.reactivex.Single
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * @since 1.3
+ */
+class HedgedRequestSpec extends Specification {
+
+    void "test a slow request is hedged"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'HedgedRequestSpec'])
+        ApplicationContext clientContext = ApplicationContext.run(
+                'micronaut.http.services.slow.url': server.getURI(),
+                'micronaut.http.services.slow.hedge-delay': '100ms'
+        )
+        RxHttpClient client = clientContext.getBean(RxHttpClient, Qualifiers.byName("slow"))
+        SlowController controller = server.applicationContext.getBean(SlowController)
+
+        when:
+        long start = System.currentTimeMillis()
+        String result = client.retrieve('/hedged/slow-first').blockingFirst()
+
+        then:
+        result == 'fast'
+        System.currentTimeMillis() - start < 3000
+        controller.invocations.get() == 2
+
+        when: "a request that responds within the delay"
+        controller.invocations.set(1)
+        result = client.retrieve('/hedged/slow-first').blockingFirst()
+
+        then: "it is not hedged"
+        result == 'fast'
+        controller.invocations.get() == 2
+
+        when: "a request with a method that is not safe is sent"
+        controller.invocations.set(0)
+        result = client.retrieve(HttpRequest.POST('/hedged/slow-first', '')).blockingFirst()
+
+        then: "it is not hedged"
+        result == 'slow'
+        controller.invocations.get() == 1
+
+        cleanup:
+        clientContext.close()
+        server.close()
+    }
+
+    void "test the hedged request is a copy that is sent to another instance"() {
+        given:
+        EmbeddedServer slow = ApplicationContext.run(EmbeddedServer, ['spec.name': 'HedgedRequestSpec'])
+        EmbeddedServer fast = ApplicationContext.run(EmbeddedServer, ['spec.name': 'HedgedRequestSpec'])
+        slow.applicationContext.getBean(InstanceController).name = 'slow'
+        fast.applicationContext.getBean(InstanceController).name = 'fast'
+        Queue<URL> selections = new ConcurrentLinkedQueue<>([slow.URL, slow.URL, fast.URL])
+        LoadBalancer loadBalancer = { discriminator ->
+            Publishers.just(ServiceInstance.of('test', selections.poll() ?: fast.URL))
+        } as LoadBalancer
+        List<MutableHttpRequest<?>> filtered = new CopyOnWriteArrayList<>()
+        HttpClientFilter filter = { MutableHttpRequest<?> request, ClientFilterChain chain ->
+            filtered.add(request)
+            chain.proceed(request.header('X-Attempt', String.valueOf(filtered.size())))
+        } as HttpClientFilter
+        DefaultHttpClientConfiguration configuration = new DefaultHttpClientConfiguration()
+        configuration.hedgeDelay = Duration.ofMillis(100)
+        DefaultHttpClient client = new DefaultHttpClient(
+                loadBalancer,
+                configuration,
+                null,
+                new DefaultThreadFactory(MultithreadEventLoopGroup),
+                new NettyClientSslBuilder(new ClientSslConfiguration(), new ResourceResolver()),
+                slow.applicationContext.getBean(MediaTypeCodecRegistry),
+                AnnotationMetadataResolver.DEFAULT,
+                filter
+        )
+        MutableHttpRequest<?> request = HttpRequest.GET('/hedged/instance')
+
+        when:
+        String result = client.retrieve(request).blockingFirst()
+
+        then:"the hedged request skips the instance of the first request"
+        result == 'fast 2'
+        selections.isEmpty()
+
+        and:"each attempt is filtered on its own copy of the request"
+        filtered.size() == 2
+        !filtered[0].is(filtered[1])
+        !filtered.any { it.is(request) }
+        request.headers.get('X-Attempt') == null
+
+        cleanup:
+        client.close()
+        slow.close()
+        fast.close()
+    }
+
+    void "test hedged requests are limited by the budget"() {
+        given:
+        RequestHedger hedger = new RequestHedger(0, 0, 0.1d)
+        AtomicInteger requests = new AtomicInteger()
+        Flowable<String> request = Flowable.defer {
+            requests.incrementAndGet()
+            Flowable.just('ok').delay(50, TimeUnit.MILLISECONDS)
+        }
+
+        when:
+        20.times { hedger.hedge(request, request).blockingFirst() }
+
+        then: "the initial tokens allow 10 hedged requests and every 10 requests pay for one more"
+        hedger.hedges == 11
+        requests.get() == 31
+    }
+
+    void "test the hedge delay is derived from the response times"() {
+        given:
+        RequestHedger hedger = new RequestHedger(-1, 0.5d, 0)
+        AtomicInteger requests = new AtomicInteger()
+        Flowable<String> request = Flowable.defer {
+            requests.incrementAndGet()
+            Flowable.just('ok').delay(10, TimeUnit.MILLISECONDS)
+        }
+
+        when: "response times are recorded"
+        64.times { hedger.hedge(request, request).blockingFirst() }
+
+        then: "the response times are used, which hedge with the initial tokens"
+        requests.get() > 64
+    }
+
+    @Requires(property = 'spec.name', value = 'HedgedRequestSpec')
+    @Controller('/hedged/instance')
+    static class InstanceController {
+        String name
+
+        @Get
+        Single<String> instance(@Header('X-Attempt') String attempt) {
+            Single<String> response = Single.just("$name $attempt".toString())
+            name == 'slow' ? response.delay(5, TimeUnit.SECONDS) : response
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'HedgedRequestSpec')
+    @Controller('/hedged')
+    static class SlowController {
+        AtomicInteger invocations = new AtomicInteger()
+
+        @Get('/slow-first')
+        Single<String> slowFirst() {
+            invocations.incrementAndGet() == 1 ? Single.just('slow').delay(5, TimeUnit.SECONDS) : Single.just('fast')
+        }
+
+        @Post('/slow-first')
+        Single<String> slowFirstPost() {
+            invocations.incrementAndGet() == 1 ? Single.just('slow').delay(200, TimeUnit.MILLISECONDS) : Single.just('fast')
+        }
+    }
+}
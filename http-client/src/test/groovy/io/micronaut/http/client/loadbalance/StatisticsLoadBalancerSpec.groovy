@@ -0,0 +1,201 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.ServiceInstanceList
+import io.micronaut.discovery.exceptions.NoAvailableServiceException
+import io.micronaut.health.HealthStatus
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.DefaultHttpClient
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.ServiceHttpClientConfiguration
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * @since 1.3
+ */
+class StatisticsLoadBalancerSpec extends Specification {
+
+    void "test least outstanding selects the instance with fewest requests in flight"() {
+        given:
+        LeastOutstandingLoadBalancer loadBalancer = new LeastOutstandingLoadBalancer(instanceList("one", "two", "three"))
+        def first = select(loadBalancer)
+        loadBalancer.getStatistics(first.URI).requestStarted()
+        def second = select(loadBalancer)
+        loadBalancer.getStatistics(second.URI).requestStarted()
+
+        expect:
+        first != second
+        ![first, second].contains(select(loadBalancer))
+    }
+
+    void "test power of two choices avoids slow instances"() {
+        given:
+        PowerOfTwoChoicesLoadBalancer loadBalancer = new PowerOfTwoChoicesLoadBalancer(instanceList("fast", "slow"))
+        20.times { select(loadBalancer) }
+        loadBalancer.getStatistics(URI.create("http://fast:8080")).record(TimeUnit.MILLISECONDS.toNanos(5), false)
+        loadBalancer.getStatistics(URI.create("http://slow:8080")).record(TimeUnit.MILLISECONDS.toNanos(500), false)
+
+        expect:
+        (1..20).every { select(loadBalancer).URI.host == "fast" }
+    }
+
+    void "test failures are penalized"() {
+        given:
+        ServiceInstanceStatistics statistics = new ServiceInstanceStatistics()
+
+        when:
+        def request = statistics.requestStarted()
+
+        then:
+        statistics.outstandingRequests == 1
+
+        when:
+        request.completed(true)
+        request.cancelled()
+
+        then:
+        statistics.outstandingRequests == 0
+        statistics.latency >= ServiceInstanceStatistics.DEFAULT_FAILURE_PENALTY
+    }
+
+    void "test instances that are down are not selected"() {
+        given:
+        ServiceInstance down = ServiceInstance.builder("test", URI.create("http://down:8080")).status(HealthStatus.DOWN).build()
+
+        when:
+        def loadBalancer = new PowerOfTwoChoicesLoadBalancer(new TestInstanceList([down, ServiceInstance.of("test", URI.create("http://up:8080"))]))
+
+        then:
+        (1..10).every { select(loadBalancer).URI.host == "up" }
+
+        when:
+        select(new LeastOutstandingLoadBalancer(new TestInstanceList([down])))
+
+        then:
+        thrown(NoAvailableServiceException)
+    }
+
+    void "test the load balancing strategy is configurable for a service"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'StatisticsLoadBalancerSpec'])
+        ApplicationContext clientApp = ApplicationContext.run(
+                'micronaut.http.services.foo.url': server.getURI(),
+                'micronaut.http.services.foo.load-balancing-strategy': 'power-of-two-choices'
+        )
+
+        when:
+        ServiceHttpClientConfiguration configuration = clientApp.getBean(ServiceHttpClientConfiguration, Qualifiers.byName("foo"))
+        RxHttpClient client = clientApp.getBean(RxHttpClient, Qualifiers.byName("foo"))
+
+        then:
+        configuration.loadBalancingStrategy == LoadBalancingStrategy.POWER_OF_TWO_CHOICES
+        client.retrieve('/statistics-load-balancer').blockingFirst() == 'ok'
+
+        cleanup:
+        clientApp.close()
+        server.close()
+    }
+
+    void "test streaming requests are reported to the statistics"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'StatisticsLoadBalancerSpec'])
+        LeastOutstandingLoadBalancer loadBalancer = new LeastOutstandingLoadBalancer(
+                new TestInstanceList([ServiceInstance.of("test", server.getURI())])
+        )
+        DefaultHttpClient client = new DefaultHttpClient(loadBalancer)
+
+        when:
+        List<Map> items = client.jsonStream(HttpRequest.GET('/statistics-load-balancer/stream')).toList().blockingGet()
+        ServiceInstanceStatistics statistics = loadBalancer.getStatistics(server.getURI())
+
+        then:
+        items.size() == 2
+        statistics.sampled
+        statistics.outstandingRequests == 0
+
+        when:
+        client.dataStream(HttpRequest.GET('/statistics-load-balancer/stream')).toList().blockingGet()
+
+        then:
+        statistics.outstandingRequests == 0
+
+        cleanup:
+        client.close()
+        server.close()
+    }
+
+    void "test statistics of instances that are no longer registered are pruned"() {
+        given:
+        TestInstanceList instanceList = new TestInstanceList((1..20).collect { ServiceInstance.of("test", URI.create("http://host$it:8080")) })
+        LeastOutstandingLoadBalancer loadBalancer = new LeastOutstandingLoadBalancer(instanceList)
+        50.times { select(loadBalancer) }
+
+        when:
+        instanceList.instances = [ServiceInstance.of("test", URI.create("http://host1:8080"))]
+        select(loadBalancer)
+
+        then:
+        loadBalancer.getStatistics(URI.create("http://host1:8080")) != null
+        loadBalancer.getStatistics(URI.create("http://host2:8080")) == null
+    }
+
+    private static ServiceInstance select(AbstractStatisticsLoadBalancer loadBalancer) {
+        Flowable.fromPublisher(loadBalancer.select()).blockingFirst()
+    }
+
+    private static ServiceInstanceList instanceList(String... hosts) {
+        new TestInstanceList(hosts.collect { ServiceInstance.of("test", URI.create("http://$it:8080")) })
+    }
+
+    static class TestInstanceList implements ServiceInstanceList {
+        List<ServiceInstance> instances
+
+        TestInstanceList(List<ServiceInstance> instances) {
+            this.instances = instances
+        }
+
+        @Override
+        String getID() {
+            "test"
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'StatisticsLoadBalancerSpec')
+    @Controller('/statistics-load-balancer')
+    static class TestController {
+        @Get
+        String index() {
+            'ok'
+        }
+
+        @Get(value = '/stream', produces = MediaType.APPLICATION_JSON_STREAM)
+        Flowable<Map<String, Object>> stream() {
+            Flowable.just([name: 'one'], [name: 'two'])
+        }
+    }
+}
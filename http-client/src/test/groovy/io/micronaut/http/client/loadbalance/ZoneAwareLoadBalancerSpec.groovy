@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.ServiceInstanceList
+import io.micronaut.http.client.LoadBalancer
+import io.reactivex.Flowable
+import spock.lang.Specification
+
+/**
+ * @since 1.3
+ */
+class ZoneAwareLoadBalancerSpec extends Specification {
+
+    void "test instances in the local zone are preferred"() {
+        given:
+        ZoneAwareLoadBalancer loadBalancer = new ZoneAwareLoadBalancer(instanceList(
+                instance("a1", "zone-a", 1),
+                instance("b1", "zone-b", 1),
+                instance("b2", "zone-b", 1)
+        ), "zone-a")
+
+        expect:
+        (1..20).every { select(loadBalancer).URI.host == "a1" }
+    }
+
+    void "test instances are selected in proportion to their weight"() {
+        given:
+        ZoneAwareLoadBalancer loadBalancer = new ZoneAwareLoadBalancer(instanceList(
+                instance("light", "zone-a", 1),
+                instance("heavy", "zone-a", 9),
+                instance("off", "zone-a", 0)
+        ), "zone-a")
+
+        when:
+        Map<String, Integer> counts = (1..2000).countBy { select(loadBalancer).URI.host }
+
+        then:
+        !counts.containsKey("off")
+        counts.heavy > counts.light * 4
+    }
+
+    void "test ejected instances are skipped until every instance is ejected"() {
+        given:
+        ZoneAwareLoadBalancer loadBalancer = new ZoneAwareLoadBalancer(instanceList(
+                instance("a1", "zone-a", 1),
+                instance("a2", "zone-a", 1),
+                instance("b1", "zone-b", 1)
+        ), "zone-a")
+        10.times { select(loadBalancer) }
+
+        when:
+        ServiceInstanceStatistics statistics = loadBalancer.getStatistics(URI.create("http://a1:8080/path"))
+        ServiceInstanceStatistics.DEFAULT_CONSECUTIVE_ERRORS.times { statistics.requestStarted().completed(false, true) }
+
+        then:
+        statistics.ejected
+        (1..20).every { select(loadBalancer).URI.host == "a2" }
+
+        when:
+        ["a2", "b1"].each { host ->
+            ServiceInstanceStatistics.DEFAULT_CONSECUTIVE_ERRORS.times {
+                loadBalancer.getStatistics(URI.create("http://$host:8080")).record(1, true)
+            }
+        }
+
+        then:
+        (1..50).collect { select(loadBalancer).URI.host }.toSet() == ["a1", "a2"] as Set
+    }
+
+    void "test a successful response resets the consecutive errors"() {
+        given:
+        ServiceInstanceStatistics statistics = new ServiceInstanceStatistics()
+
+        when:
+        (ServiceInstanceStatistics.DEFAULT_CONSECUTIVE_ERRORS - 1).times { statistics.record(1, false, true) }
+        statistics.record(1, false, false)
+        statistics.record(1, false, true)
+
+        then:
+        !statistics.ejected
+    }
+
+    void "test the zone is resolved from configuration"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'micronaut.application.instance.zone': 'zone-a',
+                'micronaut.http.services.foo.url': 'http://localhost:8080'
+        )
+
+        when:
+        LoadBalancer loadBalancer = context.getBean(ServiceInstanceListLoadBalancerFactory)
+                .create(instanceList(instance("a1", "zone-a", 1)), LoadBalancingStrategy.ZONE_AWARE)
+
+        then:
+        loadBalancer instanceof ZoneAwareLoadBalancer
+        ((ZoneAwareLoadBalancer) loadBalancer).localZone == 'zone-a'
+
+        cleanup:
+        context.close()
+    }
+
+    private static ServiceInstance select(LoadBalancer loadBalancer) {
+        Flowable.fromPublisher(loadBalancer.select()).blockingFirst()
+    }
+
+    private static ServiceInstance instance(String host, String zone, int weight) {
+        ServiceInstance.builder("test", URI.create("http://$host:8080"))
+                .zone(zone)
+                .metadata((ZoneAwareLoadBalancer.WEIGHT): String.valueOf(weight))
+                .build()
+    }
+
+    private static ServiceInstanceList instanceList(ServiceInstance... instances) {
+        new StatisticsLoadBalancerSpec.TestInstanceList(instances as List)
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.metrics
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.DefaultHttpClientConfiguration
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.inject.Singleton
+import java.util.concurrent.CopyOnWriteArrayList
+
+/**
+ * @since 1.3
+ */
+class HttpClientMetricsSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': HttpClientMetricsSpec.simpleName,
+            'micronaut.http.client.metrics.enabled': true
+    ])
+    @Shared HttpClientMetrics clientMetrics = embeddedServer.applicationContext.getBean(HttpClientMetrics)
+    @Shared TestListener listener = embeddedServer.applicationContext.getBean(TestListener)
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    void setup() {
+        listener.timings.clear()
+    }
+
+    void "test pool statistics and request phases are recorded"() {
+        given:
+        DefaultHttpClientConfiguration configuration = new DefaultHttpClientConfiguration()
+        configuration.connectionPoolConfiguration.enabled = true
+        configuration.connectionPoolConfiguration.maxConnections = 2
+        RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL(), configuration)
+
+        when:
+        List<String> responses = Flowable.range(0, 6).flatMap({ client.retrieve("/client-metrics") }).toList().blockingGet()
+
+        then:
+        responses.size() == 6
+        conditions.eventually {
+            ConnectionPoolMetrics pool = clientMetrics.pools.find { it.pooled }
+            assert pool.host == "localhost"
+            assert pool.port == embeddedServer.port
+            assert !pool.secure
+            assert pool.created == 2
+            assert pool.active == 0
+            assert pool.idle == 2
+            assert pool.pendingAcquires == 0
+            assert pool.acquireLatency.snapshot().count == 6
+            assert pool.connect.snapshot().count == 2
+            assert pool.timeToFirstByte.snapshot().count == 6
+        }
+        listener.timings.size() == 6
+        listener.timings.count { !it.connectionReused } == 2
+        listener.timings.every { it.status == 200 && it.acquireMicros > -1 && it.totalMicros >= it.timeToFirstByteMicros }
+
+        when:
+        ConnectionPoolMetrics pool = clientMetrics.pools.find { it.pooled }
+        client.close()
+
+        then:
+        !clientMetrics.pools.contains(pool)
+        listener.removed.contains(pool)
+    }
+
+    void "test connections of clients without pooling are recorded"() {
+        given:
+        RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+
+        when:
+        client.retrieve("/client-metrics").blockingFirst()
+
+        then:
+        conditions.eventually {
+            ConnectionPoolMetrics pool = clientMetrics.pools.find { !it.pooled }
+            assert pool.created == 1
+            assert pool.idle == 0
+            assert pool.dns.snapshot().count == 1
+            assert pool.connect.snapshot().count == 1
+            assert pool.tlsHandshake.snapshot().count == 0
+        }
+        listener.timings.size() == 1
+        listener.timings[0].acquireMicros == -1
+        !listener.timings[0].connectionReused
+
+        cleanup:
+        client.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'HttpClientMetricsSpec')
+    @Controller("/client-metrics")
+    static class ClientMetricsController {
+
+        @Get
+        String index() {
+            Thread.sleep(20)
+            "ok"
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'HttpClientMetricsSpec')
+    @Singleton
+    static class TestListener implements HttpClientMetricsListener {
+        List<RequestTimings> timings = new CopyOnWriteArrayList<>()
+        List<ConnectionPoolMetrics> removed = new CopyOnWriteArrayList<>()
+
+        @Override
+        void poolRemoved(ConnectionPoolMetrics pool) {
+            removed.add(pool)
+        }
+
+        @Override
+        void requestCompleted(RequestTimings timings) {
+            this.timings.add(timings)
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.sse
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.io.buffer.ByteBuffer
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.RxStreamingHttpClient
+import io.micronaut.http.server.sse.SseHub
+import io.micronaut.http.sse.Event
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import io.reactivex.subscribers.TestSubscriber
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.nio.charset.StandardCharsets
+
+/**
+ * @since 1.3
+ */
+class SseHubSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'SseHubSpec',
+            'micronaut.server.sse-hub.replay-size': 3,
+            'micronaut.server.sse-hub.heartbeat-interval': '100ms'
+    ])
+    @Shared @AutoCleanup RxSseClient sseClient = embeddedServer.applicationContext.createBean(RxSseClient, embeddedServer.getURL())
+    @Shared @AutoCleanup RxStreamingHttpClient streamingClient = embeddedServer.applicationContext.createBean(RxStreamingHttpClient, embeddedServer.getURL())
+    @Shared SseHub sseHub = embeddedServer.applicationContext.getBean(SseHub)
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    void "test events are broadcast to all connections"() {
+        given:
+        TestSubscriber<Event<Quote>> first = sseClient.eventStream("/sse/hub/quotes", Quote).test()
+        TestSubscriber<Event<Quote>> second = sseClient.eventStream("/sse/hub/quotes", Quote).test()
+
+        expect:
+        conditions.eventually {
+            assert sseHub.connectionCount == 2
+        }
+
+        when:
+        String id = sseHub.publish(new Quote(symbol: "ABC", price: 10))
+        sseHub.publish(Event.of(new Quote(symbol: "DEF", price: 20)).name("quote").id("custom"))
+
+        then:
+        conditions.eventually {
+            assert first.values().size() == 2
+            assert second.values().size() == 2
+        }
+        first.values()[0].id == id
+        first.values()[0].data.symbol == "ABC"
+        first.values()[1].id == "custom"
+        first.values()[1].name == "quote"
+        second.values()*.data*.price == [10, 20]
+
+        cleanup:
+        first.dispose()
+        second.dispose()
+    }
+
+    void "test publishing an event without an id leaves the event unchanged"() {
+        given:
+        Event<Quote> event = Event.of(new Quote(symbol: "ABC", price: 10)).name("quote")
+
+        when:
+        String first = sseHub.publish(event)
+        String second = sseHub.publish(event)
+
+        then:
+        event.id == null
+        first != second
+    }
+
+    void "test a reconnecting client receives the events after the last event id"() {
+        given:
+        String id = sseHub.publish(new Quote(symbol: "A", price: 1))
+        sseHub.publish(new Quote(symbol: "B", price: 2))
+        sseHub.publish(new Quote(symbol: "C", price: 3))
+
+        when:
+        TestSubscriber<Event<Quote>> subscriber = sseClient.eventStream(
+                HttpRequest.GET("/sse/hub/quotes").header(SseHub.LAST_EVENT_ID, id), Quote
+        ).test()
+
+        then:
+        conditions.eventually {
+            assert subscriber.values()*.data*.symbol == ["B", "C"]
+        }
+
+        when:
+        sseHub.publish(new Quote(symbol: "D", price: 4))
+
+        then:
+        conditions.eventually {
+            assert subscriber.values()*.data*.symbol == ["B", "C", "D"]
+        }
+
+        cleanup:
+        subscriber.dispose()
+    }
+
+    void "test an unknown last event id replays the whole replay buffer"() {
+        given:
+        ["W", "X", "Y", "Z"].each { sseHub.publish(new Quote(symbol: it)) }
+
+        when:
+        TestSubscriber<Event<Quote>> subscriber = sseClient.eventStream(
+                HttpRequest.GET("/sse/hub/quotes").header(SseHub.LAST_EVENT_ID, "unknown"), Quote
+        ).test()
+
+        then:
+        conditions.eventually {
+            assert subscriber.values()*.data*.symbol == ["X", "Y", "Z"]
+        }
+
+        cleanup:
+        subscriber.dispose()
+    }
+
+    void "test heartbeats keep the connection open and are not received as events"() {
+        given:
+        TestSubscriber<ByteBuffer<?>> data = streamingClient.dataStream(HttpRequest.GET("/sse/hub/quotes")).test()
+        TestSubscriber<Event<Quote>> events = sseClient.eventStream("/sse/hub/quotes", Quote).test()
+
+        expect:
+        conditions.eventually {
+            assert data.values().any { it.toString(StandardCharsets.UTF_8) == ":\n\n" }
+        }
+        events.values().isEmpty()
+        events.errors().isEmpty()
+
+        when:
+        sseHub.publish(new Quote(symbol: "HB", price: 1))
+
+        then:
+        conditions.eventually {
+            assert events.values()*.data*.symbol == ["HB"]
+        }
+
+        cleanup:
+        data.dispose()
+        events.dispose()
+    }
+
+    @Requires(property = 'spec.name', value = 'SseHubSpec')
+    @Controller("/sse/hub")
+    static class QuoteController {
+
+        private final SseHub sseHub
+
+        QuoteController(SseHub sseHub) {
+            this.sseHub = sseHub
+        }
+
+        @Get(value = "/quotes", produces = MediaType.TEXT_EVENT_STREAM)
+        Flowable<ByteBuffer<?>> quotes(HttpRequest<?> request) {
+            sseHub.subscribe(request)
+        }
+    }
+
+    static class Quote {
+        String symbol
+        int price
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.server.metrics.HttpServerMetrics;
+import io.micronaut.http.server.metrics.RouteMetrics;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.AttributeKey;
+
+import java.util.ArrayDeque;
+
+/**
+ * Records the {@link HttpServerMetrics} of the requests of a channel. The handler sits between the HTTP codec and
+ * the stream handlers, so it measures the latency from the receipt of a request to the write of the last content of
+ * its response and the uncompressed size of the bodies for every kind of response, including streamed and file
+ * responses. The {@link RoutingInBoundHandler} attributes the request that is being read to its route with
+ * {@link #routed(ChannelHandlerContext, RouteMetrics)}.
+ *
+ * <p>The exchanges of the channel are recycled, so recording does not allocate once the channel has handled its first
+ * requests.</p>
+ *
+ * @since 1.3
+ */
+@Internal
+final class HttpServerMetricsHandler extends ChannelDuplexHandler {
+
+    /**
+     * The name of the handler in the pipeline.
+     */
+    static final String ID = "micronaut-server-metrics";
+
+    private static final AttributeKey<HttpServerMetricsHandler> KEY = AttributeKey.valueOf(HttpServerMetricsHandler.class, ID);
+
+    private final HttpServerMetrics metrics;
+    // the exchanges whose response was not completely written yet, in the order of the requests
+    private final ArrayDeque<Exchange> pending = new ArrayDeque<>(2);
+    private final ArrayDeque<Exchange> recycled = new ArrayDeque<>(2);
+    // the exchange whose request is being read
+    private Exchange reading;
+
+    /**
+     * @param metrics The server metrics
+     */
+    HttpServerMetricsHandler(HttpServerMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Attributes the request that is being read on the channel of the given context to a route.
+     *
+     * @param ctx          The channel handler context
+     * @param routeMetrics The metrics of the route that handles the request
+     */
+    static void routed(ChannelHandlerContext ctx, RouteMetrics routeMetrics) {
+        HttpServerMetricsHandler handler = ctx.channel().attr(KEY).get();
+        if (handler != null) {
+            Exchange exchange = handler.reading;
+            if (exchange != null && exchange.route == null) {
+                exchange.route = routeMetrics;
+                routeMetrics.started();
+            }
+        }
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        ctx.channel().attr(KEY).set(this);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        ctx.channel().attr(KEY).set(null);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof HttpRequest) {
+            Exchange exchange = recycled.poll();
+            if (exchange == null) {
+                exchange = new Exchange();
+            }
+            exchange.start = System.nanoTime();
+            pending.add(exchange);
+            reading = exchange;
+            metrics.requestStarted();
+        }
+        if (msg instanceof HttpContent && reading != null) {
+            // counted before the content is passed on, since it may be released by the next handlers
+            reading.requestBytes += ((HttpContent) msg).content().readableBytes();
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        Exchange exchange = pending.peek();
+        if (exchange != null) {
+            if (msg instanceof HttpResponse) {
+                HttpResponseStatus status = ((HttpResponse) msg).status();
+                if (status.equals(HttpResponseStatus.CONTINUE)) {
+                    ctx.write(msg, promise);
+                    return;
+                }
+                exchange.status = status.code();
+            }
+            if (msg instanceof HttpContent) {
+                exchange.responseBytes += ((HttpContent) msg).content().readableBytes();
+            } else if (msg instanceof FileRegion) {
+                exchange.responseBytes += ((FileRegion) msg).count();
+            }
+            if (msg instanceof LastHttpContent) {
+                pending.poll();
+                metrics.requestCompleted(
+                    exchange.route,
+                    exchange.status,
+                    (System.nanoTime() - exchange.start) / 1000,
+                    exchange.requestBytes,
+                    exchange.responseBytes
+                );
+                recycle(exchange);
+            }
+        }
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        Exchange exchange;
+        while ((exchange = pending.poll()) != null) {
+            metrics.requestAborted(exchange.route);
+            recycle(exchange);
+        }
+        super.channelInactive(ctx);
+    }
+
+    private void recycle(Exchange exchange) {
+        if (reading == exchange) {
+            reading = null;
+        }
+        exchange.route = null;
+        exchange.status = 0;
+        exchange.requestBytes = 0;
+        exchange.responseBytes = 0;
+        recycled.add(exchange);
+    }
+
+    /**
+     * The state of a request and its response.
+     */
+    private static final class Exchange {
+        RouteMetrics route;
+        long start;
+        int status;
+        long requestBytes;
+        long responseBytes;
+    }
+}
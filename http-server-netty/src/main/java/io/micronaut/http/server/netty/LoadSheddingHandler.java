@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.netty.stream.StreamedHttpRequest;
+import io.micronaut.http.server.shedding.LoadShedder;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Admits or rejects the requests of a channel with the {@link LoadShedder}. Rejected requests are answered with a
+ * {@code 503} response and a {@code Retry-After} header before they reach the {@link RoutingInBoundHandler}, and
+ * the admission of a request is completed once its response was written.
+ *
+ * <p>Responses are written in the order of the requests of the channel, so the rejection of a pipelined request is
+ * written after the responses to the requests that precede it.</p>
+ *
+ * @since 1.3
+ */
+@Internal
+final class LoadSheddingHandler extends ChannelDuplexHandler {
+
+    /**
+     * The name of the handler in the pipeline.
+     */
+    static final String ID = "micronaut-load-shedding";
+
+    private final LoadShedder loadShedder;
+    // the admissions or rejections of the requests of the channel that were not answered yet, in order
+    private final Queue<Object> pending = new ArrayDeque<>(2);
+
+    /**
+     * @param loadShedder The load shedder
+     */
+    LoadSheddingHandler(LoadShedder loadShedder) {
+        this.loadShedder = loadShedder;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof NettyHttpRequest) {
+            NettyHttpRequest<?> request = (NettyHttpRequest<?>) msg;
+            LoadShedder.Admission admission = loadShedder.admit(request.getPath());
+            if (admission == null) {
+                Rejection rejection = reject(ctx, request);
+                if (pending.isEmpty()) {
+                    writeRejection(ctx, rejection);
+                } else {
+                    pending.add(rejection);
+                }
+                return;
+            }
+            request.setAttribute(LoadShedder.ADMISSION_ATTRIBUTE, admission);
+            pending.add(admission);
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (!(msg instanceof io.netty.handler.codec.http.HttpResponse || msg instanceof io.micronaut.http.HttpResponse)) {
+            ctx.write(msg, promise);
+            return;
+        }
+        Object next = pending.poll();
+        if (next instanceof LoadShedder.Admission) {
+            LoadShedder.Admission admission = (LoadShedder.Admission) next;
+            promise = promise.unvoid();
+            promise.addListener(future -> admission.completed());
+        }
+        ctx.write(msg, promise);
+        while (pending.peek() instanceof Rejection) {
+            writeRejection(ctx, (Rejection) pending.poll());
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        Object next;
+        while ((next = pending.poll()) != null) {
+            if (next instanceof LoadShedder.Admission) {
+                ((LoadShedder.Admission) next).completed();
+            }
+        }
+        super.channelInactive(ctx);
+    }
+
+    private Rejection reject(ChannelHandlerContext ctx, NettyHttpRequest<?> request) {
+        HttpRequest nativeRequest = request.getNativeRequest();
+        if (nativeRequest instanceof StreamedHttpRequest) {
+            // discard the body
+            ((StreamedHttpRequest) nativeRequest).subscribe(new Subscriber<HttpContent>() {
+                @Override
+                public void onSubscribe(Subscription s) {
+                    s.cancel();
+                }
+
+                @Override
+                public void onNext(HttpContent httpContent) {
+                    httpContent.release();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+        }
+        if (NettyHttpRequest.get(ctx) == request) {
+            NettyHttpRequest.remove(ctx);
+        }
+        request.release();
+        return new Rejection(nativeRequest);
+    }
+
+    private void writeRejection(ChannelHandlerContext ctx, Rejection rejection) {
+        FullHttpResponse response = new DefaultFullHttpResponse(rejection.request.protocolVersion(), HttpResponseStatus.SERVICE_UNAVAILABLE);
+        long retryAfter = Math.max((loadShedder.getRetryAfter().toMillis() + 999) / 1000, 1);
+        response.headers()
+            .set(HttpHeaderNames.RETRY_AFTER, retryAfter)
+            .set(HttpHeaderNames.CONTENT_LENGTH, 0);
+        if (!HttpUtil.isKeepAlive(rejection.request)) {
+            response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+            ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+        } else {
+            ctx.writeAndFlush(response);
+        }
+    }
+
+    /**
+     * A rejected request that awaits its response.
+     */
+    private static final class Rejection {
+        final HttpRequest request;
+
+        Rejection(HttpRequest request) {
+            this.request = request;
+        }
+    }
+}
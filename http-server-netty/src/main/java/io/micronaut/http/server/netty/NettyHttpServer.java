@@ -34,12 +34,15 @@ import io.micronaut.http.netty.websocket.WebSocketSessionRepository;
 import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.http.server.binding.RequestArgumentSatisfier;
 import io.micronaut.http.server.exceptions.ServerStartupException;
+import io.micronaut.http.server.metrics.HttpServerMetrics;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.micronaut.http.server.netty.decoders.HttpRequestDecoder;
 import io.micronaut.http.server.netty.encoders.HttpResponseEncoder;
+import io.micronaut.http.server.netty.monitor.EventLoopProbe;
 import io.micronaut.http.server.netty.ssl.ServerSslBuilder;
 import io.micronaut.http.server.netty.types.NettyCustomizableResponseTypeHandlerRegistry;
 import io.micronaut.http.server.netty.websocket.NettyServerWebSocketUpgradeHandler;
+import io.micronaut.http.server.shedding.LoadShedder;
 import io.micronaut.http.ssl.ServerSslConfiguration;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.runtime.ApplicationConfiguration;
@@ -138,6 +141,9 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
     private EventLoopGroup parentGroup;
     private EmbeddedServerInstance serviceInstance;
     private EventLoopGroupFactory eventLoopGroupFactory;
+    private final LoadShedder loadShedder;
+    private final HttpServerMetrics serverMetrics;
+    private final EventLoopProbe eventLoopProbe;
 
     /**
      * @param serverConfiguration                     The Netty HTTP server configuration
@@ -208,6 +214,9 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
         this.threadFactory = threadFactory;
         this.webSocketBeanRegistry = WebSocketBeanRegistry.forServer(applicationContext);
         this.eventLoopGroupFactory = eventLoopGroupFactory;
+        this.loadShedder = applicationContext.findBean(LoadShedder.class).orElse(null);
+        this.serverMetrics = applicationContext.findBean(HttpServerMetrics.class).orElse(null);
+        this.eventLoopProbe = applicationContext.findBean(EventLoopProbe.class).orElse(null);
     }
 
     /**
@@ -260,6 +269,10 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
         if (!isRunning()) {
             workerGroup = createWorkerEventLoopGroup();
             parentGroup = createParentEventLoopGroup();
+            if (eventLoopProbe != null) {
+                eventLoopProbe.monitor("parent", parentGroup);
+                eventLoopProbe.monitor("worker", workerGroup);
+            }
             ServerBootstrap serverBootstrap = createServerBootstrap();
 
             processOptions(serverConfiguration.getOptions(), serverBootstrap::option);
@@ -278,7 +291,8 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
                         serverConfiguration,
                         requestArgumentSatisfier,
                         executorSelector,
-                        ioExecutor
+                        ioExecutor,
+                        serverMetrics
                     );
                     final LoggingHandler loggingHandler = serverConfiguration.getLogLevel().isPresent() ? new LoggingHandler(serverConfiguration.getLogLevel().get()) : null;
 
@@ -315,6 +329,9 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
                         pipeline.addLast(HTTP_KEEP_ALIVE_HANDLER, new HttpServerKeepAliveHandler());
                         pipeline.addLast(HTTP_COMPRESSOR, new SmartHttpContentCompressor(httpCompressionStrategy));
                         pipeline.addLast(HTTP_DECOMPRESSOR, new HttpContentDecompressor());
+                        if (serverMetrics != null) {
+                            pipeline.addLast(HttpServerMetricsHandler.ID, new HttpServerMetricsHandler(serverMetrics));
+                        }
                         pipeline.addLast(HTTP_STREAMS_CODEC, new HttpStreamsServerHandler());
                         pipeline.addLast(HTTP_CHUNKED_HANDLER, new ChunkedWriteHandler());
                         pipeline.addLast(HttpRequestDecoder.ID, requestDecoder);
@@ -327,6 +344,9 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
                                 mediaTypeCodecRegistry,
                                 applicationContext
                         ));
+                        if (loadShedder != null) {
+                            pipeline.addLast(LoadSheddingHandler.ID, new LoadSheddingHandler(loadShedder));
+                        }
                         pipeline.addLast(MICRONAUT_HANDLER, routingHandler);
                         registerMicronautChannelHandlers(pipeline);
                     }
@@ -487,6 +507,10 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
 
     private void stopInternal() {
         try {
+            if (eventLoopProbe != null) {
+                eventLoopProbe.unmonitor(workerGroup);
+                eventLoopProbe.unmonitor(parentGroup);
+            }
             workerGroup.shutdownGracefully()
                     .addListener(this::logShutdownErrorIfNecessary);
             parentGroup.shutdownGracefully()
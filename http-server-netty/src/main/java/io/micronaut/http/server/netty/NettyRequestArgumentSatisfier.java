@@ -17,13 +17,12 @@ package io.micronaut.http.server.netty;
 
 import io.micronaut.context.annotation.Primary;
 import io.micronaut.core.annotation.Internal;
-import io.micronaut.core.type.Argument;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.server.binding.RequestArgumentSatisfier;
 import io.micronaut.http.bind.RequestBinderRegistry;
+import io.micronaut.web.router.RouteMatch;
 
 import javax.inject.Singleton;
-import java.util.Optional;
 
 /**
  * A class containing methods to aid in satisfying arguments of a {@link io.micronaut.web.router.Route}.
@@ -49,11 +48,17 @@ public class NettyRequestArgumentSatisfier extends RequestArgumentSatisfier {
     }
 
     @Override
-    protected Optional<Object> getValueForArgument(Argument argument, HttpRequest<?> request, boolean satisfyOptionals) {
-        if (request instanceof NettyHttpRequest) {
+    public RouteMatch<?> fulfillArgumentRequirements(RouteMatch<?> route, HttpRequest<?> request, boolean satisfyOptionals) {
+        if (request instanceof NettyHttpRequest && !route.getRequiredArguments().isEmpty()) {
             NettyHttpRequest nettyHttpRequest = (NettyHttpRequest) request;
             nettyHttpRequest.setBodyRequired(true);
         }
-        return super.getValueForArgument(argument, request, satisfyOptionals);
+        return super.fulfillArgumentRequirements(route, request, satisfyOptionals);
+    }
+
+    @Override
+    protected boolean isBindingPlanEnabled() {
+        // subclasses that override getValueForArgument must see every argument
+        return getClass() == NettyRequestArgumentSatisfier.class;
     }
 }
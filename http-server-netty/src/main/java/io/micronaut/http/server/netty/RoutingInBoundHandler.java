@@ -85,6 +85,7 @@ import io.micronaut.http.netty.stream.StreamedHttpRequest;
 import io.micronaut.http.server.binding.RequestArgumentSatisfier;
 import io.micronaut.http.server.exceptions.ExceptionHandler;
 import io.micronaut.http.server.exceptions.InternalServerException;
+import io.micronaut.http.server.metrics.HttpServerMetrics;
 import io.micronaut.http.server.netty.async.ContextCompletionAwareSubscriber;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.micronaut.http.server.netty.multipart.NettyPartData;
@@ -93,6 +94,7 @@ import io.micronaut.http.server.netty.types.NettyCustomizableResponseTypeHandler
 import io.micronaut.http.server.netty.types.NettyCustomizableResponseTypeHandlerRegistry;
 import io.micronaut.http.server.netty.types.files.NettyStreamedFileCustomizableResponseType;
 import io.micronaut.http.server.netty.types.files.NettySystemFileCustomizableResponseType;
+import io.micronaut.http.server.shedding.LoadShedder;
 import io.micronaut.http.server.types.files.FileCustomizableResponseType;
 import io.micronaut.inject.BeanType;
 import io.micronaut.inject.MethodExecutionHandle;
@@ -171,6 +173,7 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
     private final RequestArgumentSatisfier requestArgumentSatisfier;
     private final MediaTypeCodecRegistry mediaTypeCodecRegistry;
     private final NettyCustomizableResponseTypeHandlerRegistry customizableResponseTypeHandlerRegistry;
+    private final HttpServerMetrics serverMetrics;
 
     /**
      * @param beanContext                             The bean locator
@@ -182,6 +185,7 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
      * @param requestArgumentSatisfier                The Request argument satisfier
      * @param executorSelector                        The executor selector
      * @param ioExecutor                              The IO executor
+     * @param serverMetrics                           The server metrics or null if they are disabled
      */
     RoutingInBoundHandler(
         BeanContext beanContext,
@@ -192,7 +196,8 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         NettyHttpServerConfiguration serverConfiguration,
         RequestArgumentSatisfier requestArgumentSatisfier,
         ExecutorSelector executorSelector,
-        ExecutorService ioExecutor) {
+        ExecutorService ioExecutor,
+        @Nullable HttpServerMetrics serverMetrics) {
 
         this.mediaTypeCodecRegistry = mediaTypeCodecRegistry;
         this.customizableResponseTypeHandlerRegistry = customizableResponseTypeHandlerRegistry;
@@ -203,6 +208,7 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         this.router = router;
         this.requestArgumentSatisfier = requestArgumentSatisfier;
         this.serverConfiguration = serverConfiguration;
+        this.serverMetrics = serverMetrics;
     }
 
     @Override
@@ -482,6 +488,9 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
             request.setAttribute(HttpAttributes.ROUTE, establishedRoute.getRoute());
             request.setAttribute(HttpAttributes.ROUTE_MATCH, establishedRoute);
             request.setAttribute(HttpAttributes.URI_TEMPLATE, establishedRoute.getRoute().getUriMatchTemplate().toString());
+            if (serverMetrics != null) {
+                HttpServerMetricsHandler.routed(ctx, serverMetrics.forRoute(establishedRoute.getRoute()));
+            }
             routeMatch = Optional.of(establishedRoute);
         }
 
@@ -1491,6 +1500,9 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
             ExecutorService executor,
             boolean skipOncePerRequest) {
         Publisher<? extends io.micronaut.http.MutableHttpResponse<?>> finalPublisher;
+        LoadShedder.Admission admission = requestReference.get()
+                .getAttribute(LoadShedder.ADMISSION_ATTRIBUTE, LoadShedder.Admission.class)
+                .orElse(null);
         List<HttpFilter> filters = new ArrayList<>(router.findFilters(requestReference.get()));
         if (skipOncePerRequest) {
             filters.removeIf(filter -> filter instanceof OncePerRequestHttpServerFilter);
@@ -1520,14 +1532,19 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
             finalPublisher = routePublisher;
         }
 
-        // Handle the scheduler to subscribe on
+        Flowable<? extends MutableHttpResponse<?>> flowable;
         if (finalPublisher instanceof Flowable) {
-            return ((Flowable<MutableHttpResponse<?>>) finalPublisher)
-                    .subscribeOn(Schedulers.from(executor));
+            flowable = (Flowable<MutableHttpResponse<?>>) finalPublisher;
         } else {
-            return Flowable.fromPublisher(finalPublisher)
-                    .subscribeOn(Schedulers.from(executor));
+            flowable = Flowable.fromPublisher(finalPublisher);
+        }
+        if (admission != null) {
+            // subscription happens on the executor, so this measures the time the request was queued
+            flowable = flowable.doOnSubscribe(subscription -> admission.started());
         }
+
+        // Handle the scheduler to subscribe on
+        return flowable.subscribeOn(Schedulers.from(executor));
     }
 
     private void streamHttpContentChunkByChunk(
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.monitor;
+
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Probes the event loops of the Netty server. Once per interval a timestamped task is submitted to every event loop,
+ * which records the delay until it runs, and the number of pending tasks is sampled. When a quarter of the blocking
+ * threshold is shorter than the interval, the event loops are probed at that period instead, so that every block that
+ * lasts longer than 1.25 times the threshold is detected.</p>
+ *
+ * <p>An event loop whose probe did not run within the blocking threshold is considered blocked: a stack sample of its
+ * thread is logged and kept in its {@link EventLoopStatistics}, which the {@code eventloops} management endpoint and
+ * the event loop health indicator expose. A probe that ran later than the threshold counts as a block as well, even if
+ * the block ended before a stack sample was taken. The probes are checked on the scheduled executor, so that a blocked
+ * event loop cannot delay its own detection.</p>
+ *
+ * @since 1.3
+ */
+@Singleton
+public class EventLoopProbe implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EventLoopProbe.class);
+
+    /**
+     * The number of probes per blocking threshold.
+     */
+    private static final int PROBES_PER_THRESHOLD = 4;
+    private static final Duration MIN_PERIOD = Duration.ofMillis(1);
+
+    private final long blockingThresholdNanos;
+    private final int maxStackDepth;
+    private final Map<EventLoopGroup, List<EventLoopStatistics>> groups = new ConcurrentHashMap<>();
+    private final ScheduledFuture<?> task;
+
+    /**
+     * @param configuration The probe configuration
+     * @param taskScheduler The task scheduler
+     */
+    public EventLoopProbe(
+            EventLoopProbeConfiguration configuration,
+            @Named(TaskExecutors.SCHEDULED) TaskScheduler taskScheduler) {
+        this.blockingThresholdNanos = configuration.getBlockingThreshold().toNanos();
+        this.maxStackDepth = configuration.getMaxStackDepth();
+        Duration period = configuration.getBlockingThreshold().dividedBy(PROBES_PER_THRESHOLD);
+        if (period.compareTo(configuration.getInterval()) > 0) {
+            period = configuration.getInterval();
+        } else if (period.compareTo(MIN_PERIOD) < 0) {
+            period = MIN_PERIOD;
+        }
+        this.task = taskScheduler.scheduleWithFixedDelay(period, period, this::check);
+    }
+
+    /**
+     * Starts to probe the event loops of the given group.
+     *
+     * @param name  The name of the group
+     * @param group The group
+     */
+    public void monitor(String name, EventLoopGroup group) {
+        List<EventLoopStatistics> eventLoops = new ArrayList<>();
+        for (EventExecutor executor : group) {
+            if (executor instanceof EventLoop) {
+                eventLoops.add(new EventLoopStatistics(name, eventLoops.size(), (EventLoop) executor, blockingThresholdNanos));
+            }
+        }
+        groups.put(group, Collections.unmodifiableList(eventLoops));
+    }
+
+    /**
+     * Stops to probe the event loops of the given group.
+     *
+     * @param group The group
+     */
+    public void unmonitor(EventLoopGroup group) {
+        groups.remove(group);
+    }
+
+    /**
+     * @return The statistics of the probed event loops
+     */
+    public List<EventLoopStatistics> getEventLoops() {
+        List<EventLoopStatistics> eventLoops = new ArrayList<>();
+        for (List<EventLoopStatistics> group : groups.values()) {
+            eventLoops.addAll(group);
+        }
+        return eventLoops;
+    }
+
+    /**
+     * @return Whether any probed event loop is blocked
+     */
+    public boolean isBlocked() {
+        for (List<EventLoopStatistics> group : groups.values()) {
+            for (EventLoopStatistics eventLoop : group) {
+                if (eventLoop.isBlocked()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @PreDestroy
+    public void close() {
+        task.cancel(false);
+        groups.clear();
+    }
+
+    private void check() {
+        for (List<EventLoopStatistics> group : groups.values()) {
+            for (EventLoopStatistics eventLoop : group) {
+                try {
+                    StackTraceElement[] stackTrace = eventLoop.check(maxStackDepth);
+                    if (stackTrace != null && LOG.isWarnEnabled()) {
+                        StringBuilder message = new StringBuilder("Event loop thread [")
+                                .append(eventLoop.getThreadName())
+                                .append("] is blocked for more than ")
+                                .append(TimeUnit.NANOSECONDS.toMillis(blockingThresholdNanos))
+                                .append("ms:");
+                        for (StackTraceElement element : stackTrace) {
+                            message.append(System.lineSeparator()).append("\tat ").append(element);
+                        }
+                        LOG.warn(message.toString());
+                    }
+                } catch (Exception e) {
+                    if (LOG.isErrorEnabled()) {
+                        LOG.error("Error probing event loop: " + e.getMessage(), e);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.monitor;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.util.Toggleable;
+import io.micronaut.http.server.HttpServerConfiguration;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the {@link EventLoopProbe}.
+ *
+ * @since 1.3
+ */
+@ConfigurationProperties(EventLoopProbeConfiguration.PREFIX)
+public class EventLoopProbeConfiguration implements Toggleable {
+
+    /**
+     * The prefix for event loop probe configuration.
+     */
+    public static final String PREFIX = HttpServerConfiguration.PREFIX + ".netty.event-loop-probe";
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default probe interval in milliseconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_INTERVAL_MILLIS = 1000;
+
+    /**
+     * The default blocking threshold in milliseconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_BLOCKING_THRESHOLD_MILLIS = 500;
+
+    /**
+     * The default maximum number of frames of a stack sample.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MAX_STACK_DEPTH = 32;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private Duration interval = Duration.ofMillis(DEFAULT_INTERVAL_MILLIS);
+    private Duration blockingThreshold = Duration.ofMillis(DEFAULT_BLOCKING_THRESHOLD_MILLIS);
+    private int maxStackDepth = DEFAULT_MAX_STACK_DEPTH;
+
+    /**
+     * @return Whether the event loop probe is enabled
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_ENABLED}).
+     * @param enabled Whether the event loop probe is enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The interval between two probes of an event loop. The event loops are probed more often if a quarter of the
+     * {@link #getBlockingThreshold() blocking threshold} is shorter.
+     *
+     * @return The interval between two probes of an event loop
+     */
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_INTERVAL_MILLIS}ms).
+     * @param interval The interval between two probes of an event loop
+     */
+    public void setInterval(Duration interval) {
+        if (interval != null && !interval.isNegative() && !interval.isZero()) {
+            this.interval = interval;
+        }
+    }
+
+    /**
+     * An event loop that did not run its probe within this threshold is considered blocked, and a stack sample of its
+     * thread is logged. The event loops are probed at least four times per threshold, regardless of the interval, so
+     * that every block that lasts longer than 1.25 times the threshold is detected.
+     *
+     * @return The blocking threshold
+     */
+    public Duration getBlockingThreshold() {
+        return blockingThreshold;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_BLOCKING_THRESHOLD_MILLIS}ms).
+     * @param blockingThreshold The blocking threshold
+     */
+    public void setBlockingThreshold(Duration blockingThreshold) {
+        if (blockingThreshold != null && !blockingThreshold.isNegative()) {
+            this.blockingThreshold = blockingThreshold;
+        }
+    }
+
+    /**
+     * @return The maximum number of frames of the stack sample of a blocked event loop
+     */
+    public int getMaxStackDepth() {
+        return maxStackDepth;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_MAX_STACK_DEPTH}).
+     * @param maxStackDepth The maximum number of frames of the stack sample of a blocked event loop
+     */
+    public void setMaxStackDepth(int maxStackDepth) {
+        this.maxStackDepth = Math.max(1, maxStackDepth);
+    }
+}
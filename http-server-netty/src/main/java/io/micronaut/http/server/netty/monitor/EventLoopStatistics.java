@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.monitor;
+
+import io.micronaut.http.metrics.ConcurrentHistogram;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The statistics of an event loop recorded by the {@link EventLoopProbe}: the delay between the submission of a
+ * probe task and its execution, the number of pending tasks and the times the event loop was blocked.
+ *
+ * @since 1.3
+ */
+public final class EventLoopStatistics {
+
+    private static final StackTraceElement[] NO_STACK_TRACE = new StackTraceElement[0];
+
+    private final String group;
+    private final int index;
+    private final EventLoop eventLoop;
+    private final long blockingThresholdNanos;
+    private final ConcurrentHistogram lag = new ConcurrentHistogram(1);
+    private final LongAdder blockedCount = new LongAdder();
+    private final Runnable probe = this::probed;
+    private volatile Thread thread;
+    // the time the outstanding probe was submitted or 0
+    private volatile long probeStart;
+    // the time the outstanding probe was submitted if the event loop was found blocked or 0
+    private final AtomicLong blockedSince = new AtomicLong();
+    private volatile long lastLagMicros;
+    private volatile int pendingTasks;
+    private volatile int maxPendingTasks;
+    private volatile StackTraceElement[] lastBlockedStackTrace = NO_STACK_TRACE;
+
+    /**
+     * @param group     The name of the event loop group
+     * @param index     The index of the event loop in its group
+     * @param eventLoop              The event loop
+     * @param blockingThresholdNanos The blocking threshold in nanoseconds
+     */
+    EventLoopStatistics(String group, int index, EventLoop eventLoop, long blockingThresholdNanos) {
+        this.group = group;
+        this.index = index;
+        this.eventLoop = eventLoop;
+        this.blockingThresholdNanos = blockingThresholdNanos;
+    }
+
+    /**
+     * @return The name of the event loop group
+     */
+    public String getGroup() {
+        return group;
+    }
+
+    /**
+     * @return The index of the event loop in its group
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return The name of the thread of the event loop or null if no probe ran yet
+     */
+    public @Nullable String getThreadName() {
+        Thread thread = this.thread;
+        return thread != null ? thread.getName() : null;
+    }
+
+    /**
+     * @return The delays between the submission and the execution of the probe tasks, in microseconds
+     */
+    public ConcurrentHistogram getLag() {
+        return lag;
+    }
+
+    /**
+     * @return The delay of the last probe task that ran, in microseconds
+     */
+    public long getLastLagMicros() {
+        return lastLagMicros;
+    }
+
+    /**
+     * @return The number of tasks waiting in the queue of the event loop at the last probe, or -1 if the event loop
+     * does not expose its queue
+     */
+    public int getPendingTasks() {
+        return pendingTasks;
+    }
+
+    /**
+     * @return The highest number of pending tasks seen by a probe
+     */
+    public int getMaxPendingTasks() {
+        return maxPendingTasks;
+    }
+
+    /**
+     * @return The number of times the event loop was found blocked, including blocks that ended before a stack sample
+     * could be taken
+     */
+    public long getBlockedCount() {
+        return blockedCount.sum();
+    }
+
+    /**
+     * @return Whether the event loop is blocked
+     */
+    public boolean isBlocked() {
+        return blockedSince.get() != 0;
+    }
+
+    /**
+     * @return The time the event loop has been blocked for in milliseconds, or 0 if it is not blocked
+     */
+    public long getBlockedMillis() {
+        long since = blockedSince.get();
+        return since != 0 ? (System.nanoTime() - since) / 1_000_000 : 0;
+    }
+
+    /**
+     * @return The stack sample of the thread of the event loop taken when it was last found blocked
+     */
+    public StackTraceElement[] getLastBlockedStackTrace() {
+        return lastBlockedStackTrace.clone();
+    }
+
+    /**
+     * Checks the outstanding probe and submits a new one once it ran.
+     *
+     * @param maxStackDepth The maximum number of frames of a stack sample
+     * @return The stack sample if the event loop was found blocked by this check, otherwise null
+     */
+    @Nullable StackTraceElement[] check(int maxStackDepth) {
+        if (eventLoop instanceof SingleThreadEventExecutor) {
+            int pending = ((SingleThreadEventExecutor) eventLoop).pendingTasks();
+            pendingTasks = pending;
+            if (pending > maxPendingTasks) {
+                maxPendingTasks = pending;
+            }
+        } else {
+            pendingTasks = -1;
+        }
+        long now = System.nanoTime();
+        long start = probeStart;
+        if (start != 0) {
+            if (now - start >= blockingThresholdNanos && blockedSince.compareAndSet(0, start)) {
+                blockedCount.increment();
+                Thread thread = this.thread;
+                // the thread is only known once a probe ran
+                StackTraceElement[] stackTrace = thread != null ? thread.getStackTrace() : NO_STACK_TRACE;
+                if (stackTrace.length > maxStackDepth) {
+                    StackTraceElement[] truncated = new StackTraceElement[maxStackDepth];
+                    System.arraycopy(stackTrace, 0, truncated, 0, maxStackDepth);
+                    stackTrace = truncated;
+                }
+                lastBlockedStackTrace = stackTrace;
+                return stackTrace;
+            }
+            return null;
+        }
+        if (!eventLoop.isShuttingDown()) {
+            probeStart = now;
+            try {
+                eventLoop.execute(probe);
+            } catch (RejectedExecutionException e) {
+                probeStart = 0;
+            }
+        }
+        return null;
+    }
+
+    private void probed() {
+        long start = probeStart;
+        long lagNanos = System.nanoTime() - start;
+        thread = Thread.currentThread();
+        lastLagMicros = lagNanos / 1000;
+        lag.record(lastLagMicros);
+        if (lagNanos >= blockingThresholdNanos && blockedSince.compareAndSet(0, start)) {
+            // the block ended before a check found it
+            blockedCount.increment();
+        }
+        blockedSince.set(0);
+        probeStart = 0;
+    }
+}
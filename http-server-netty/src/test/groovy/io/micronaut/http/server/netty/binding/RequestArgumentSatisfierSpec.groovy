@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.binding
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Primary
+import io.micronaut.context.annotation.Replaces
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.type.Argument
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.QueryValue
+import io.micronaut.http.bind.RequestBinderRegistry
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.server.netty.NettyRequestArgumentSatisfier
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * @since 1.3
+ */
+class RequestArgumentSatisfierSpec extends Specification {
+
+    void "test the route binding plan binds arguments and resolved default values"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'RequestArgumentSatisfierSpec'])
+        RxHttpClient client = server.applicationContext.createBean(RxHttpClient, server.getURL())
+
+        expect:
+        client.toBlocking().retrieve('/satisfier/1') == '1 5 GREEN'
+        client.toBlocking().retrieve('/satisfier/1') == '1 5 GREEN'
+        client.toBlocking().retrieve('/satisfier/2?count=9&color=RED') == '2 9 RED'
+        client.toBlocking().retrieve('/satisfier/3?count=abc') == '3 5 GREEN'
+
+        cleanup:
+        client.close()
+        server.close()
+    }
+
+    void "test a satisfier that overrides getValueForArgument is called for every argument"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'RequestArgumentSatisfierSpec', 'satisfier.custom': true])
+        RxHttpClient client = server.applicationContext.createBean(RxHttpClient, server.getURL())
+        CountingSatisfier satisfier = server.applicationContext.getBean(CountingSatisfier)
+
+        when:
+        client.toBlocking().retrieve('/satisfier/1')
+        client.toBlocking().retrieve('/satisfier/2')
+
+        then:
+        satisfier.calls.get() >= 6
+
+        cleanup:
+        client.close()
+        server.close()
+    }
+
+    void "test a subclass can enable binding plans"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'RequestArgumentSatisfierSpec', 'satisfier.plan': true])
+        RxHttpClient client = server.applicationContext.createBean(RxHttpClient, server.getURL())
+        PlanSatisfier satisfier = server.applicationContext.getBean(PlanSatisfier)
+
+        when:
+        String result = client.toBlocking().retrieve('/satisfier/2?count=9')
+
+        then:"the arguments are bound by the plan"
+        result == '2 9 GREEN'
+        satisfier.calls.get() == 0
+
+        cleanup:
+        client.close()
+        server.close()
+    }
+
+    static enum Color {
+        RED, GREEN
+    }
+
+    @Requires(property = 'spec.name', value = 'RequestArgumentSatisfierSpec')
+    @Controller('/satisfier')
+    static class SatisfierController {
+
+        @Get('/{id}')
+        String get(long id, @QueryValue(defaultValue = '5') int count, @QueryValue(defaultValue = 'GREEN') Color color) {
+            "$id $count $color"
+        }
+    }
+
+    @Requires(property = 'satisfier.custom', value = 'true')
+    @Singleton
+    @Primary
+    @Replaces(NettyRequestArgumentSatisfier)
+    static class CountingSatisfier extends NettyRequestArgumentSatisfier {
+        final AtomicInteger calls = new AtomicInteger()
+
+        CountingSatisfier(RequestBinderRegistry requestBinderRegistry) {
+            super(requestBinderRegistry)
+        }
+
+        @Override
+        protected Optional<Object> getValueForArgument(Argument argument, HttpRequest<?> request, boolean satisfyOptionals) {
+            calls.incrementAndGet()
+            return super.getValueForArgument(argument, request, satisfyOptionals)
+        }
+    }
+
+    @Requires(property = 'satisfier.plan', value = 'true')
+    @Singleton
+    @Primary
+    @Replaces(NettyRequestArgumentSatisfier)
+    static class PlanSatisfier extends NettyRequestArgumentSatisfier {
+        final AtomicInteger calls = new AtomicInteger()
+
+        PlanSatisfier(RequestBinderRegistry requestBinderRegistry) {
+            super(requestBinderRegistry)
+        }
+
+        @Override
+        protected boolean isBindingPlanEnabled() {
+            return true
+        }
+
+        @Override
+        protected Optional<Object> getValueForArgument(Argument argument, HttpRequest<?> request, boolean satisfyOptionals) {
+            calls.incrementAndGet()
+            return super.getValueForArgument(argument, request, satisfyOptionals)
+        }
+    }
+}
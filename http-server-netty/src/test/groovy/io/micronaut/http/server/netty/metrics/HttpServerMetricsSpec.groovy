@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.metrics
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.metrics.ConcurrentHistogram
+import io.micronaut.http.server.metrics.HttpServerMetrics
+import io.micronaut.http.server.metrics.HttpServerMetricsExporter
+import io.micronaut.http.server.metrics.RouteMetrics
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.inject.Singleton
+
+/**
+ * @since 1.3
+ */
+class HttpServerMetricsSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': HttpServerMetricsSpec.simpleName,
+            'micronaut.server.metrics.enabled': true
+    ])
+    @Shared @AutoCleanup RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+    @Shared HttpServerMetrics serverMetrics = embeddedServer.applicationContext.getBean(HttpServerMetrics)
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    void "test requests are recorded by route"() {
+        when:
+        5.times { client.retrieve("/metered/hello/$it").blockingFirst() }
+
+        then:
+        conditions.eventually {
+            RouteMetrics route = findRoute("/metered/hello/{name}")
+            assert route.method == "GET"
+            assert route.latency.snapshot().count == 5
+            assert route.getStatusCount(200) == 5
+            assert route.responseBodyBytes == 5 * "hello 0".length()
+            assert route.inFlight == 0
+        }
+    }
+
+    void "test body sizes of streamed requests and responses are recorded"() {
+        when:
+        client.retrieve(HttpRequest.POST("/metered/echo", "0123456789").contentType(MediaType.TEXT_PLAIN_TYPE)).blockingFirst()
+        client.retrieve("/metered/stream").blockingFirst()
+
+        then:
+        conditions.eventually {
+            RouteMetrics echo = findRoute("/metered/echo")
+            assert echo.requestBodyBytes == 10
+            assert echo.responseBodyBytes == 10
+            assert findRoute("/metered/stream").responseBodyBytes == "abbccc".length()
+        }
+    }
+
+    void "test requests that match no route are recorded as unmatched"() {
+        given:
+        long before = serverMetrics.unmatched.getStatusCount(404)
+
+        when:
+        client.retrieve("/metered-missing").blockingFirst()
+
+        then:
+        HttpClientResponseException e = thrown()
+        e.status == HttpStatus.NOT_FOUND
+        conditions.eventually {
+            assert serverMetrics.unmatched.getStatusCount(404) == before + 1
+            assert serverMetrics.inFlight == 0
+        }
+    }
+
+    void "test exporters are bound and notified of routes"() {
+        when:
+        client.retrieve("/metered/hello/exporter").blockingFirst()
+
+        then:
+        TestExporter exporter = embeddedServer.applicationContext.getBean(TestExporter)
+        exporter.metrics.is(serverMetrics)
+        exporter.routes.contains(serverMetrics.unmatched)
+        exporter.routes.contains(findRoute("/metered/hello/{name}"))
+    }
+
+    void "test histogram percentiles"() {
+        given:
+        ConcurrentHistogram histogram = new ConcurrentHistogram(4)
+
+        when:
+        (1..1000).each { histogram.record(it) }
+        ConcurrentHistogram.Snapshot snapshot = histogram.snapshot()
+
+        then:
+        snapshot.count == 1000
+        snapshot.max == 1000
+        snapshot.mean == 500.5d
+        Math.abs(snapshot.getValueAtPercentile(50) - 500) <= 500 * 0.04
+        Math.abs(snapshot.getValueAtPercentile(99) - 990) <= 990 * 0.04
+        snapshot.getValueAtPercentile(100) == 1000
+    }
+
+    private RouteMetrics findRoute(String uriTemplate) {
+        serverMetrics.routes.find { it.uriTemplate == uriTemplate }
+    }
+
+    @Requires(property = 'spec.name', value = 'HttpServerMetricsSpec')
+    @Controller("/metered")
+    static class MeteredController {
+
+        @Get("/hello/{name}")
+        String hello(String name) {
+            "hello $name"
+        }
+
+        @Post(value = "/echo", consumes = MediaType.TEXT_PLAIN, produces = MediaType.TEXT_PLAIN)
+        String echo(@Body String body) {
+            body
+        }
+
+        @Get(value = "/stream", produces = MediaType.TEXT_PLAIN)
+        Flowable<String> stream() {
+            Flowable.just("a", "bb", "ccc")
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'HttpServerMetricsSpec')
+    @Singleton
+    static class TestExporter implements HttpServerMetricsExporter {
+        HttpServerMetrics metrics
+        List<RouteMetrics> routes = Collections.synchronizedList([])
+
+        @Override
+        void bind(HttpServerMetrics metrics) {
+            this.metrics = metrics
+        }
+
+        @Override
+        void routeAdded(RouteMetrics routeMetrics) {
+            routes.add(routeMetrics)
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.monitor
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.server.netty.NettyHttpRequest
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.annotation.Nullable
+
+/**
+ * @since 1.3
+ */
+class EventLoopProbeSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': EventLoopProbeSpec.simpleName,
+            'micronaut.server.netty.event-loop-probe.enabled': true,
+            'micronaut.server.netty.event-loop-probe.interval': '50ms',
+            'micronaut.server.netty.event-loop-probe.blocking-threshold': '200ms'
+    ])
+    @Shared @AutoCleanup RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+    @Shared EventLoopProbe probe = embeddedServer.applicationContext.getBean(EventLoopProbe)
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    void "test the event loops of the server are probed"() {
+        expect:
+        probe.eventLoops*.group.toSet() == ["parent", "worker"] as Set
+        conditions.eventually {
+            assert probe.eventLoops.every { it.threadName != null && it.lag.snapshot().count > 0 }
+            assert !probe.blocked
+        }
+    }
+
+    void "test a blocked event loop is detected with a stack sample"() {
+        when:
+        client.retrieve("/event-loop/block").blockingFirst()
+
+        then:
+        conditions.eventually {
+            EventLoopStatistics blocked = probe.eventLoops.find { it.blockedCount > 0 }
+            assert blocked != null
+            assert blocked.lastBlockedStackTrace.any { it.methodName == "sleep" }
+        }
+
+        and:
+        conditions.eventually {
+            assert !probe.blocked
+            assert probe.eventLoops.any { it.lag.snapshot().max >= 200_000 }
+        }
+    }
+
+    void "test a block just above the threshold is detected when the interval is longer than the threshold"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': EventLoopProbeSpec.simpleName,
+                'micronaut.server.netty.event-loop-probe.enabled': true,
+                'micronaut.server.netty.event-loop-probe.interval': '1s',
+                'micronaut.server.netty.event-loop-probe.blocking-threshold': '200ms'
+        ])
+        RxHttpClient client = server.applicationContext.createBean(RxHttpClient, server.getURL())
+        EventLoopProbe probe = server.applicationContext.getBean(EventLoopProbe)
+
+        when:
+        client.retrieve("/event-loop/block?millis=300").blockingFirst()
+
+        then:
+        conditions.eventually {
+            assert probe.eventLoops.any { it.blockedCount > 0 }
+            assert !probe.blocked
+        }
+
+        cleanup:
+        client.close()
+        server.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'EventLoopProbeSpec')
+    @Controller("/event-loop")
+    static class BlockingController {
+
+        @Get("/block{?millis}")
+        String block(HttpRequest<?> request, @Nullable Long millis) {
+            ((NettyHttpRequest<?>) request).channelHandlerContext.channel().eventLoop().execute {
+                Thread.sleep(millis ?: 600)
+            }
+            "blocked"
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.shedding
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.server.shedding.LoadShedder
+import io.micronaut.http.server.shedding.RequestPriority
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CompletableFuture
+
+/**
+ * @since 1.3
+ */
+class LoadSheddingSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': LoadSheddingSpec.simpleName,
+            'micronaut.server.load-shedding.enabled': true,
+            'micronaut.server.load-shedding.initial-limit': 2,
+            'micronaut.server.load-shedding.min-limit': 2,
+            'micronaut.server.load-shedding.max-limit': 2,
+            'micronaut.server.load-shedding.sheddable-ratio': 0.5,
+            'micronaut.server.load-shedding.retry-after': '3s',
+            'micronaut.server.load-shedding.critical-paths': ['/shedding/critical/**'],
+            'micronaut.server.load-shedding.sheddable-paths': ['/shedding/batch/**']
+    ])
+    @Shared @AutoCleanup RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+    @Shared LoadShedder loadShedder = embeddedServer.applicationContext.getBean(LoadShedder)
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    void setup() {
+        SheddingController.pending = new CompletableFuture<>()
+    }
+
+    void "test requests over the limit are rejected with a retry after header"() {
+        given:
+        def first = client.retrieve("/shedding/slow").toList().toFuture()
+        def second = client.retrieve("/shedding/slow").toList().toFuture()
+
+        expect:
+        conditions.eventually {
+            assert loadShedder.inFlight == 2
+        }
+
+        when:
+        client.exchange("/shedding/slow", String).blockingFirst()
+
+        then:
+        HttpClientResponseException e = thrown()
+        e.status == HttpStatus.SERVICE_UNAVAILABLE
+        e.response.header(HttpHeaders.RETRY_AFTER) == "3"
+        loadShedder.getRejected(RequestPriority.DEFAULT) == 1
+
+        when:
+        HttpResponse<String> response = client.exchange("/shedding/critical/ping", String).blockingFirst()
+
+        then:
+        response.body() == "pong"
+
+        when:
+        SheddingController.pending.complete("done")
+
+        then:
+        first.get() == ["done"]
+        second.get() == ["done"]
+        conditions.eventually {
+            assert loadShedder.inFlight == 0
+        }
+        client.retrieve("/shedding/critical/ping").blockingFirst() == "pong"
+    }
+
+    void "test sheddable requests are rejected before other requests"() {
+        given:
+        def first = client.retrieve("/shedding/slow").toList().toFuture()
+
+        expect:
+        conditions.eventually {
+            assert loadShedder.inFlight == 1
+        }
+
+        when:
+        client.exchange("/shedding/batch/run", String).blockingFirst()
+
+        then:
+        HttpClientResponseException e = thrown()
+        e.status == HttpStatus.SERVICE_UNAVAILABLE
+
+        when:
+        def second = client.retrieve("/shedding/slow").toList().toFuture()
+
+        then:
+        conditions.eventually {
+            assert loadShedder.inFlight == 2
+        }
+
+        when:
+        SheddingController.pending.complete("done")
+
+        then:
+        first.get() == ["done"]
+        second.get() == ["done"]
+        client.retrieve("/shedding/batch/run").blockingFirst() == "ran"
+    }
+
+    void "test load shedding statistics are exposed per priority"() {
+        when:
+        Flowable.range(0, 3).flatMap({ client.retrieve("/shedding/critical/ping") }).toList().blockingGet()
+
+        then:
+        loadShedder.getAccepted(RequestPriority.CRITICAL) >= 3
+        loadShedder.getRejected(RequestPriority.CRITICAL) == 0
+        loadShedder.limit == 2
+        loadShedder.classify("/shedding/batch/run") == RequestPriority.SHEDDABLE
+        loadShedder.classify("/shedding/slow") == RequestPriority.DEFAULT
+    }
+
+    @Requires(property = 'spec.name', value = 'LoadSheddingSpec')
+    @Controller("/shedding")
+    static class SheddingController {
+
+        static volatile CompletableFuture<String> pending = new CompletableFuture<>()
+
+        @Get("/slow")
+        CompletableFuture<String> slow() {
+            pending
+        }
+
+        @Get("/batch/run")
+        String batch() {
+            "ran"
+        }
+
+        @Get("/critical/ping")
+        String ping() {
+            "pong"
+        }
+    }
+}
@@ -23,18 +23,23 @@ import io.micronaut.core.convert.ConversionError;
 import io.micronaut.core.type.Argument;
 import io.micronaut.http.HttpMethod;
 import io.micronaut.http.HttpRequest;
+import io.micronaut.http.bind.DefaultRequestBinderRegistry;
 import io.micronaut.http.bind.RequestBinderRegistry;
 import io.micronaut.http.bind.binders.BodyArgumentBinder;
 import io.micronaut.http.bind.binders.NonBlockingBodyArgumentBinder;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.web.router.MethodBasedRouteMatch;
 import io.micronaut.web.router.RouteMatch;
 import io.micronaut.web.router.UnresolvedArgument;
 
+import javax.annotation.Nullable;
 import javax.inject.Singleton;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A class containing methods to aid in satisfying arguments of a {@link io.micronaut.web.router.Route}.
@@ -47,12 +52,15 @@ import java.util.Optional;
 public class RequestArgumentSatisfier {
 
     private final RequestBinderRegistry binderRegistry;
+    private final Map<ExecutableMethod<?, ?>, RouteBindingPlan> bindingPlans = new ConcurrentHashMap<>(30);
+    private final boolean defaultBinderRegistry;
 
     /**
      * @param requestBinderRegistry The Request binder registry
      */
     public RequestArgumentSatisfier(RequestBinderRegistry requestBinderRegistry) {
         this.binderRegistry = requestBinderRegistry;
+        this.defaultBinderRegistry = requestBinderRegistry instanceof DefaultRequestBinderRegistry;
     }
 
     /**
@@ -79,10 +87,21 @@ public class RequestArgumentSatisfier {
             argumentValues = Collections.emptyMap();
         } else {
             argumentValues = new LinkedHashMap<>();
+            RouteBindingPlan bindingPlan = resolveBindingPlan(route, request);
+            int position = 0;
             // Begin try fulfilling the argument requirements
             for (Argument argument : requiredArguments) {
-                getValueForArgument(argument, request, satisfyOptionals).ifPresent((value) ->
-                    argumentValues.put(argument.getName(), value));
+                int index = bindingPlan != null ? bindingPlan.indexOf(argument, position) : -1;
+                if (index > -1) {
+                    position = index + 1;
+                    Object value = getValueForBinding(bindingPlan.getBinding(index), request, satisfyOptionals);
+                    if (value != null) {
+                        argumentValues.put(argument.getName(), value);
+                    }
+                } else {
+                    getValueForArgument(argument, request, satisfyOptionals).ifPresent((value) ->
+                        argumentValues.put(argument.getName(), value));
+                }
             }
         }
 
@@ -90,6 +109,31 @@ public class RequestArgumentSatisfier {
         return route;
     }
 
+    /**
+     * Resolves the binding plan for the given route. The plan is computed on the first request to the route and
+     * reused for subsequent requests. Plans are only cached when binders are resolved by the
+     * {@link DefaultRequestBinderRegistry}, which does not take the request into account when resolving binders, and
+     * when {@link #isBindingPlanEnabled()} returns true.
+     *
+     * @param route   The route
+     * @param request The request
+     * @return The binding plan or null if the route does not support one
+     */
+    private @Nullable RouteBindingPlan resolveBindingPlan(RouteMatch<?> route, HttpRequest<?> request) {
+        if (defaultBinderRegistry && route instanceof MethodBasedRouteMatch && isBindingPlanEnabled()) {
+            MethodBasedRouteMatch<?, ?> methodRoute = (MethodBasedRouteMatch<?, ?>) route;
+            ExecutableMethod<?, ?> executableMethod = methodRoute.getExecutableMethod();
+            RouteBindingPlan bindingPlan = bindingPlans.get(executableMethod);
+            if (bindingPlan == null) {
+                bindingPlan = bindingPlans.computeIfAbsent(executableMethod, method ->
+                        new RouteBindingPlan(methodRoute.getArguments(), binderRegistry, request)
+                );
+            }
+            return bindingPlan;
+        }
+        return null;
+    }
+
     /**
      * @param argument         The argument
      * @param request          The HTTP request
@@ -97,57 +141,112 @@ public class RequestArgumentSatisfier {
      * @return An {@link Optional} for the value
      */
     protected Optional<Object> getValueForArgument(Argument argument, HttpRequest<?> request, boolean satisfyOptionals) {
-        Object value = null;
         Optional<ArgumentBinder> registeredBinder =
             binderRegistry.findArgumentBinder(argument, request);
         if (registeredBinder.isPresent()) {
             ArgumentBinder argumentBinder = registeredBinder.get();
-            ArgumentConversionContext conversionContext = ConversionContext.of(
-                argument,
-                request.getLocale().orElse(null),
-                request.getCharacterEncoding()
-            );
-
-            if (argumentBinder instanceof BodyArgumentBinder) {
-                if (argumentBinder instanceof NonBlockingBodyArgumentBinder) {
-                    ArgumentBinder.BindingResult bindingResult = argumentBinder
-                        .bind(conversionContext, request);
-
-                    if (bindingResult.isPresentAndSatisfied()) {
-                        value = bindingResult.get();
-                    }
+            return Optional.ofNullable(bindValue(
+                    ConversionContext.of(
+                        argument,
+                        request.getLocale().orElse(null),
+                        request.getCharacterEncoding()
+                    ),
+                    argumentBinder,
+                    argumentBinder instanceof BodyArgumentBinder,
+                    argumentBinder instanceof NonBlockingBodyArgumentBinder,
+                    argument.getType() == Optional.class,
+                    argument.isNullable(),
+                    request,
+                    satisfyOptionals
+            ));
+        }
+        return Optional.empty();
+    }
 
-                } else {
-                    value = getValueForBlockingBodyArgumentBinder(request, argumentBinder, conversionContext);
-                }
-            } else {
+    /**
+     * @param binding          The argument binding from the route binding plan
+     * @param request          The HTTP request
+     * @param satisfyOptionals Whether to satisfy optionals
+     * @return The value or null if it could not be bound
+     */
+    private @Nullable Object getValueForBinding(RouteBindingPlan.ArgumentBinding binding, HttpRequest<?> request, boolean satisfyOptionals) {
+        if (binding.binder == null) {
+            return null;
+        }
+        return bindValue(
+                binding.newConversionContext(request),
+                binding.binder,
+                binding.bodyBinder,
+                binding.nonBlockingBodyBinder,
+                binding.optional,
+                binding.nullable,
+                request,
+                satisfyOptionals
+        );
+    }
+
+    private @Nullable Object bindValue(
+            ArgumentConversionContext conversionContext,
+            ArgumentBinder argumentBinder,
+            boolean bodyBinder,
+            boolean nonBlockingBodyBinder,
+            boolean optional,
+            boolean nullable,
+            HttpRequest<?> request,
+            boolean satisfyOptionals) {
+        Object value = null;
 
+        if (bodyBinder) {
+            if (nonBlockingBodyBinder) {
                 ArgumentBinder.BindingResult bindingResult = argumentBinder
                     .bind(conversionContext, request);
-                if (argument.getType() == Optional.class) {
-                    if (bindingResult.isSatisfied() || satisfyOptionals) {
-                        Optional optionalValue = bindingResult.getValue();
-                        if (optionalValue.isPresent()) {
-                            value = optionalValue.get();
-                        } else {
-                            value = optionalValue;
-                        }
-                    }
-                } else if (bindingResult.isPresentAndSatisfied()) {
+
+                if (bindingResult.isPresentAndSatisfied()) {
                     value = bindingResult.get();
-                } else if (HttpMethod.requiresRequestBody(request.getMethod()) || argument.isNullable()) {
-                    value = (UnresolvedArgument) () -> {
-                        ArgumentBinder.BindingResult result = argumentBinder.bind(conversionContext, request);
-                        Optional<ConversionError> lastError = conversionContext.getLastError();
-                        if (lastError.isPresent()) {
-                            return (ArgumentBinder.BindingResult) () -> lastError;
-                        }
-                        return result;
-                    };
                 }
+
+            } else {
+                value = getValueForBlockingBodyArgumentBinder(request, argumentBinder, conversionContext);
+            }
+        } else {
+
+            ArgumentBinder.BindingResult bindingResult = argumentBinder
+                .bind(conversionContext, request);
+            if (optional) {
+                if (bindingResult.isSatisfied() || satisfyOptionals) {
+                    Optional optionalValue = bindingResult.getValue();
+                    if (optionalValue.isPresent()) {
+                        value = optionalValue.get();
+                    } else {
+                        value = optionalValue;
+                    }
+                }
+            } else if (bindingResult.isPresentAndSatisfied()) {
+                value = bindingResult.get();
+            } else if (HttpMethod.requiresRequestBody(request.getMethod()) || nullable) {
+                value = (UnresolvedArgument) () -> {
+                    ArgumentBinder.BindingResult result = argumentBinder.bind(conversionContext, request);
+                    Optional<ConversionError> lastError = conversionContext.getLastError();
+                    if (lastError.isPresent()) {
+                        return (ArgumentBinder.BindingResult) () -> lastError;
+                    }
+                    return result;
+                };
             }
         }
-        return Optional.ofNullable(value);
+        return value;
+    }
+
+    /**
+     * Whether arguments are bound with a cached binding plan per route. A binding plan binds the arguments without
+     * calling {@link #getValueForArgument(Argument, HttpRequest, boolean)}, so plans are only enabled by default for
+     * this class. A subclass that does not override {@link #getValueForArgument(Argument, HttpRequest, boolean)} can
+     * return true to enable them.
+     *
+     * @return True if binding plans are enabled
+     */
+    protected boolean isBindingPlanEnabled() {
+        return getClass() == RequestArgumentSatisfier.class;
     }
 
     /**
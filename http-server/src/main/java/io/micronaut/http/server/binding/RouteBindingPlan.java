@@ -0,0 +1,246 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.binding;
+
+import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.bind.ArgumentBinder;
+import io.micronaut.core.bind.annotation.Bindable;
+import io.micronaut.core.convert.ArgumentConversionContext;
+import io.micronaut.core.convert.ConversionContext;
+import io.micronaut.core.convert.ConversionError;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.convert.ResolvedArgumentConversionContext;
+import io.micronaut.core.convert.ResolvedTypeConverter;
+import io.micronaut.core.convert.format.Format;
+import io.micronaut.core.reflect.ClassUtils;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.bind.RequestBinderRegistry;
+import io.micronaut.http.bind.binders.BodyArgumentBinder;
+import io.micronaut.http.bind.binders.NonBlockingBodyArgumentBinder;
+
+import javax.annotation.Nullable;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The binding plan of a route, computed once for the arguments of the route method so that binding a request does
+ * not have to resolve the {@link ArgumentBinder} and inspect the argument metadata again.
+ *
+ * @since 1.3
+ */
+@Internal
+final class RouteBindingPlan {
+
+    private final ArgumentBinding[] bindings;
+
+    /**
+     * @param arguments      The arguments of the route method
+     * @param binderRegistry The binder registry
+     * @param request        The request used to resolve the binders
+     */
+    RouteBindingPlan(Argument[] arguments, RequestBinderRegistry binderRegistry, HttpRequest<?> request) {
+        this.bindings = new ArgumentBinding[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            Argument<?> argument = arguments[i];
+            ArgumentBinder binder = binderRegistry.findArgumentBinder(argument, request).orElse(null);
+            bindings[i] = new ArgumentBinding(argument, binder);
+        }
+    }
+
+    /**
+     * Finds the position of the given argument of the route method. The required arguments of a route are a subset
+     * of the method arguments in declaration order, so callers pass the position following the previous match and
+     * locate all arguments in a single pass.
+     *
+     * @param argument The argument
+     * @param from     The position to start searching from
+     * @return The position or -1 if the argument is not one of the route method arguments
+     */
+    int indexOf(Argument<?> argument, int from) {
+        for (int i = from; i < bindings.length; i++) {
+            if (bindings[i].argument == argument) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param index The position of the argument
+     * @return The binding of the argument at the given position
+     */
+    ArgumentBinding getBinding(int index) {
+        return bindings[index];
+    }
+
+    /**
+     * The binding of a single argument.
+     */
+    static final class ArgumentBinding {
+        final Argument<?> argument;
+        final @Nullable ArgumentBinder binder;
+        final boolean bodyBinder;
+        final boolean nonBlockingBodyBinder;
+        final boolean optional;
+        final boolean nullable;
+        private final boolean basicType;
+        private final @Nullable String defaultValue;
+        private final @Nullable Optional<?> resolvedDefaultValue;
+        private volatile ResolvedTypeConverter<Object, ?> converter;
+
+        /**
+         * @param argument The argument
+         * @param binder   The binder
+         */
+        ArgumentBinding(Argument<?> argument, @Nullable ArgumentBinder binder) {
+            this.argument = argument;
+            this.binder = binder;
+            this.bodyBinder = binder instanceof BodyArgumentBinder;
+            this.nonBlockingBodyBinder = binder instanceof NonBlockingBodyArgumentBinder;
+            this.optional = argument.getType() == Optional.class;
+            this.nullable = argument.isNullable();
+            Class<?> type = argument.getType();
+            AnnotationMetadata annotationMetadata = argument.getAnnotationMetadata();
+            this.basicType = ClassUtils.isJavaBasicType(type) || type.isEnum();
+            this.defaultValue = annotationMetadata.stringValue(Bindable.class, "defaultValue").orElse(null);
+            if (defaultValue != null && basicType && !annotationMetadata.hasStereotype(Format.class)) {
+                // values of basic types are immutable and without a format do not depend on the request locale
+                this.resolvedDefaultValue = ConversionService.SHARED.convert(defaultValue, ConversionContext.of(argument));
+            } else {
+                this.resolvedDefaultValue = null;
+            }
+        }
+
+        /**
+         * Creates the conversion context used to bind the argument for the given request.
+         *
+         * @param request The request
+         * @return The conversion context
+         */
+        @SuppressWarnings("unchecked")
+        ArgumentConversionContext<?> newConversionContext(HttpRequest<?> request) {
+            return new BindingConversionContext<>(this, ConversionContext.of(
+                    argument,
+                    request.getLocale().orElse(null),
+                    request.getCharacterEncoding()
+            ));
+        }
+
+        /**
+         * @param sourceType The source type
+         * @return The converter for values of the given type or null if the argument is not of a basic type
+         */
+        @SuppressWarnings("unchecked")
+        @Nullable ResolvedTypeConverter<Object, ?> getConverter(Class<?> sourceType) {
+            if (!basicType) {
+                return null;
+            }
+            ResolvedTypeConverter<Object, ?> converter = this.converter;
+            if (converter == null || converter.getSourceType() != sourceType) {
+                converter = ConversionService.SHARED.resolveConverter((Class<Object>) sourceType, argument);
+                this.converter = converter;
+            }
+            return converter;
+        }
+    }
+
+    /**
+     * A conversion context that exposes the converter and default value resolved by an {@link ArgumentBinding}.
+     *
+     * @param <T> The argument type
+     */
+    private static final class BindingConversionContext<T> implements ResolvedArgumentConversionContext<T> {
+        private final ArgumentBinding binding;
+        private final ArgumentConversionContext<T> delegate;
+
+        /**
+         * @param binding  The argument binding
+         * @param delegate The conversion context of the request
+         */
+        BindingConversionContext(ArgumentBinding binding, ArgumentConversionContext<T> delegate) {
+            this.binding = binding;
+            this.delegate = delegate;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public @Nullable ResolvedTypeConverter<Object, T> getConverter(Class<?> sourceType) {
+            return (ResolvedTypeConverter<Object, T>) binding.getConverter(sourceType);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Optional<T> getDefaultValue() {
+            if (binding.resolvedDefaultValue != null) {
+                return (Optional<T>) binding.resolvedDefaultValue;
+            }
+            if (binding.defaultValue == null) {
+                return Optional.empty();
+            }
+            return ConversionService.SHARED.convert(binding.defaultValue, this);
+        }
+
+        @Override
+        public Argument<T> getArgument() {
+            return delegate.getArgument();
+        }
+
+        @Override
+        public Argument[] getTypeParameters() {
+            return delegate.getTypeParameters();
+        }
+
+        @Override
+        public Map<String, Argument<?>> getTypeVariables() {
+            return delegate.getTypeVariables();
+        }
+
+        @Override
+        public Locale getLocale() {
+            return delegate.getLocale();
+        }
+
+        @Override
+        public Charset getCharset() {
+            return delegate.getCharset();
+        }
+
+        @Override
+        public void reject(Exception exception) {
+            delegate.reject(exception);
+        }
+
+        @Override
+        public void reject(Object value, Exception exception) {
+            delegate.reject(value, exception);
+        }
+
+        @Override
+        public Optional<ConversionError> getLastError() {
+            return delegate.getLastError();
+        }
+
+        @Override
+        public Iterator<ConversionError> iterator() {
+            return delegate.iterator();
+        }
+    }
+}
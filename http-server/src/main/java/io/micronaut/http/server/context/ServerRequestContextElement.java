@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.context;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.context.ServerRequestContext;
+import io.micronaut.scheduling.instrument.PropagatedContextElement;
+
+/**
+ * Propagates the current {@link HttpRequest} of the {@link ServerRequestContext}.
+ *
+ * @since 1.3
+ */
+@Internal
+final class ServerRequestContextElement implements PropagatedContextElement {
+
+    private final HttpRequest<?> request;
+
+    /**
+     * @param request The request
+     */
+    ServerRequestContextElement(HttpRequest<?> request) {
+        this.request = request;
+    }
+
+    /**
+     * @return The request
+     */
+    HttpRequest<?> getRequest() {
+        return request;
+    }
+
+    @Override
+    public Object updateThreadContext() {
+        return ServerRequestContext.bind(request);
+    }
+
+    @Override
+    public void restoreThreadContext(Object previous) {
+        ServerRequestContext.bind((HttpRequest<?>) previous);
+    }
+}
@@ -22,8 +22,7 @@ import io.micronaut.http.HttpRequest;
 import io.micronaut.http.context.ServerRequestContext;
 import io.micronaut.scheduling.instrument.InstrumentedExecutorService;
 import io.micronaut.scheduling.instrument.InstrumentedScheduledExecutorService;
-import io.micronaut.scheduling.instrument.ReactiveInstrumenter;
-import io.micronaut.scheduling.instrument.RunnableInstrumenter;
+import io.micronaut.scheduling.instrument.PropagatedContextContributor;
 
 import javax.inject.Singleton;
 import java.util.Optional;
@@ -41,7 +40,7 @@ import java.util.function.Function;
  */
 @Singleton
 @Internal
-final class ServerRequestContextInstrumentation implements Function<Runnable, Runnable>, RunnableInstrumenter, ReactiveInstrumenter, BeanCreatedEventListener<ThreadFactory> {
+final class ServerRequestContextInstrumentation implements Function<Runnable, Runnable>, PropagatedContextContributor<ServerRequestContextElement>, BeanCreatedEventListener<ThreadFactory> {
 
     @Override
     public Runnable apply(Runnable runnable) {
@@ -49,8 +48,20 @@ final class ServerRequestContextInstrumentation implements Function<Runnable, Ru
     }
 
     @Override
-    public Runnable instrument(Runnable command) {
-        return apply(command);
+    public Class<ServerRequestContextElement> getElementType() {
+        return ServerRequestContextElement.class;
+    }
+
+    @Override
+    public ServerRequestContextElement capture(ServerRequestContextElement existing) {
+        final HttpRequest<Object> request = ServerRequestContext.<Object>currentRequest().orElse(null);
+        if (request == null) {
+            return null;
+        }
+        if (existing != null && existing.getRequest() == request) {
+            return existing;
+        }
+        return new ServerRequestContextElement(request);
     }
 
     @Override
@@ -71,17 +82,6 @@ final class ServerRequestContextInstrumentation implements Function<Runnable, Ru
                 .orElse(runnable);
     }
 
-    @Override
-    public Optional<RunnableInstrumenter> newInstrumentation() {
-        final Optional<HttpRequest<Object>> httpRequest = ServerRequestContext.currentRequest();
-        return httpRequest.map(request -> new RunnableInstrumenter() {
-            @Override
-            public Runnable instrument(Runnable command) {
-                return ServerRequestContext.instrument(request, command);
-            }
-        });
-    }
-
     /**
      * Instruments executor services.
      *
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.metrics;
+
+import io.micronaut.web.router.UriRoute;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>The built-in metrics of the HTTP server. The server records the metrics of each request by the {@link UriRoute}
+ * that handled it, without any dependency on a metrics library. The metrics are exposed by the
+ * {@code servermetrics} management endpoint and can be exported with {@link HttpServerMetricsExporter} beans.</p>
+ *
+ * @since 1.3
+ */
+@Singleton
+public class HttpServerMetrics {
+
+    private final int maxStripes;
+    private final HttpServerMetricsExporter[] exporters;
+    private final Map<UriRoute, RouteMetrics> routes = new ConcurrentHashMap<>();
+    private final RouteMetrics unmatched;
+    private final LongAdder inFlight = new LongAdder();
+
+    /**
+     * @param configuration The server metrics configuration
+     * @param exporters     The exporters
+     */
+    public HttpServerMetrics(HttpServerMetricsConfiguration configuration, HttpServerMetricsExporter[] exporters) {
+        this.maxStripes = configuration.getMaxStripes();
+        this.exporters = exporters;
+        this.unmatched = new RouteMetrics(null, null, maxStripes);
+        for (HttpServerMetricsExporter exporter : exporters) {
+            exporter.bind(this);
+        }
+        for (HttpServerMetricsExporter exporter : exporters) {
+            exporter.routeAdded(unmatched);
+        }
+    }
+
+    /**
+     * @param route The route
+     * @return The metrics of the route
+     */
+    public RouteMetrics forRoute(UriRoute route) {
+        RouteMetrics routeMetrics = routes.get(route);
+        if (routeMetrics != null) {
+            return routeMetrics;
+        }
+        RouteMetrics created = new RouteMetrics(route.getHttpMethodName(), route.getUriMatchTemplate().toString(), maxStripes);
+        routeMetrics = routes.putIfAbsent(route, created);
+        if (routeMetrics != null) {
+            return routeMetrics;
+        }
+        for (HttpServerMetricsExporter exporter : exporters) {
+            exporter.routeAdded(created);
+        }
+        return created;
+    }
+
+    /**
+     * @return The metrics of the requests that matched no route
+     */
+    public RouteMetrics getUnmatched() {
+        return unmatched;
+    }
+
+    /**
+     * @return The metrics of the routes that received requests
+     */
+    public Collection<RouteMetrics> getRoutes() {
+        return Collections.unmodifiableCollection(new ArrayList<>(routes.values()));
+    }
+
+    /**
+     * @return The number of requests in flight
+     */
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    /**
+     * Marks the receipt of a request.
+     */
+    public void requestStarted() {
+        inFlight.increment();
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param routeMetrics      The metrics of the route that handled the request, which were {@link RouteMetrics#started() started},
+     *                          or null if the request matched no route
+     * @param status            The status code of the response
+     * @param latencyMicros     The latency in microseconds
+     * @param requestBodyBytes  The size of the request body
+     * @param responseBodyBytes The size of the response body
+     */
+    public void requestCompleted(RouteMetrics routeMetrics, int status, long latencyMicros, long requestBodyBytes, long responseBodyBytes) {
+        inFlight.decrement();
+        if (routeMetrics == null) {
+            routeMetrics = unmatched;
+            routeMetrics.started();
+        }
+        routeMetrics.completed(status, latencyMicros, requestBodyBytes, responseBodyBytes);
+    }
+
+    /**
+     * Records a request whose connection was closed before the response was written.
+     *
+     * @param routeMetrics The metrics of the route that handled the request, which were {@link RouteMetrics#started() started},
+     *                     or null if the request matched no route
+     */
+    public void requestAborted(RouteMetrics routeMetrics) {
+        inFlight.decrement();
+        if (routeMetrics != null) {
+            routeMetrics.aborted();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.metrics;
+
+/**
+ * Exports the {@link HttpServerMetrics} to a monitoring system. Beans of this type are bound to the metrics when
+ * the metrics are created and are notified of every route once its first request was received, so that an adapter
+ * can for example register the gauges and function counters of the route with Micrometer, or render all routes in
+ * the Prometheus exposition format when scraped.
+ *
+ * <p>Exporters must not record to the metrics and should read them outside of the event loop.</p>
+ *
+ * @since 1.3
+ */
+public interface HttpServerMetricsExporter {
+
+    /**
+     * Binds the exporter to the metrics of the server.
+     *
+     * @param metrics The metrics
+     */
+    void bind(HttpServerMetrics metrics);
+
+    /**
+     * Invoked once the first request of a route was received.
+     *
+     * @param routeMetrics The metrics of the route
+     */
+    default void routeAdded(RouteMetrics routeMetrics) {
+        // no-op
+    }
+}
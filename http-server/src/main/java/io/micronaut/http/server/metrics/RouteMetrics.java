@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.metrics;
+
+import io.micronaut.http.metrics.ConcurrentHistogram;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of the requests handled by a route: the latency, the responses by status code, the requests in flight
+ * and the sizes of the request and response bodies. Requests that match no route are recorded by the metrics
+ * {@link HttpServerMetrics#getUnmatched() without a route}.
+ *
+ * @since 1.3
+ */
+public final class RouteMetrics {
+
+    private static final int MIN_STATUS = 100;
+    private static final int MAX_STATUS = 599;
+
+    private final String method;
+    private final String uriTemplate;
+    private final ConcurrentHistogram latency;
+    private final AtomicLongArray statuses = new AtomicLongArray(MAX_STATUS - MIN_STATUS + 1);
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder requestBodyBytes = new LongAdder();
+    private final LongAdder responseBodyBytes = new LongAdder();
+
+    /**
+     * @param method      The HTTP method of the route or null for requests that match no route
+     * @param uriTemplate The URI template of the route or null for requests that match no route
+     * @param maxStripes  The maximum number of stripes of the latency histogram
+     */
+    RouteMetrics(@Nullable String method, @Nullable String uriTemplate, int maxStripes) {
+        this.method = method;
+        this.uriTemplate = uriTemplate;
+        this.latency = new ConcurrentHistogram(maxStripes);
+    }
+
+    /**
+     * @return The HTTP method of the route or null for requests that match no route
+     */
+    public @Nullable String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return The URI template of the route or null for requests that match no route
+     */
+    public @Nullable String getUriTemplate() {
+        return uriTemplate;
+    }
+
+    /**
+     * @return The latency of the requests in microseconds, from the receipt of the request headers until the last
+     * byte of the response was written
+     */
+    public ConcurrentHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return The number of requests in flight
+     */
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    /**
+     * @return The total number of bytes of the request bodies
+     */
+    public long getRequestBodyBytes() {
+        return requestBodyBytes.sum();
+    }
+
+    /**
+     * @return The total number of bytes of the response bodies, before compression
+     */
+    public long getResponseBodyBytes() {
+        return responseBodyBytes.sum();
+    }
+
+    /**
+     * @param status The status code
+     * @return The number of responses with the status code
+     */
+    public long getStatusCount(int status) {
+        if (status < MIN_STATUS || status > MAX_STATUS) {
+            return 0;
+        }
+        return statuses.get(status - MIN_STATUS);
+    }
+
+    /**
+     * @return The number of responses by status code, for the status codes that were sent
+     */
+    public Map<Integer, Long> getStatusCounts() {
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < statuses.length(); i++) {
+            long count = statuses.get(i);
+            if (count > 0) {
+                counts.put(i + MIN_STATUS, count);
+            }
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Marks the start of a request.
+     */
+    public void started() {
+        inFlight.increment();
+    }
+
+    /**
+     * Records a completed request that was {@link #started()}.
+     *
+     * @param status            The status code of the response
+     * @param latencyMicros     The latency in microseconds
+     * @param requestBodyBytes  The size of the request body
+     * @param responseBodyBytes The size of the response body
+     */
+    public void completed(int status, long latencyMicros, long requestBodyBytes, long responseBodyBytes) {
+        inFlight.decrement();
+        if (status >= MIN_STATUS && status <= MAX_STATUS) {
+            statuses.incrementAndGet(status - MIN_STATUS);
+        }
+        latency.record(latencyMicros);
+        this.requestBodyBytes.add(requestBodyBytes);
+        this.responseBodyBytes.add(responseBodyBytes);
+    }
+
+    /**
+     * Records a request that was {@link #started()} but whose connection was closed before the response was written.
+     */
+    public void aborted() {
+        inFlight.decrement();
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.shedding;
+
+import io.micronaut.core.util.PathMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.inject.Singleton;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Decides whether the server admits a request, based on the number of requests in flight and an adaptive limit.</p>
+ *
+ * <p>The limit follows the queueing delay of the requests, that is the time between the arrival of a request and the
+ * start of its execution. In the manner of CoDel, the shortest queueing delay within each interval is compared with
+ * the target queue delay: if it exceeds the target, a queue has formed that does not drain and the limit is reduced,
+ * otherwise the limit grows while it is in use. Requests are classified into {@link RequestPriority} classes by
+ * their path, {@link RequestPriority#SHEDDABLE} requests are rejected before the limit is reached and
+ * {@link RequestPriority#CRITICAL} requests are never rejected.</p>
+ *
+ * @since 1.3
+ */
+@Singleton
+public class LoadShedder {
+
+    /**
+     * The request attribute that holds the {@link Admission} of a request.
+     */
+    public static final String ADMISSION_ATTRIBUTE = "micronaut.http.server.load-shedding.admission";
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadShedder.class);
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final RequestPriority[] PRIORITIES = RequestPriority.values();
+
+    private final LoadSheddingConfiguration configuration;
+    private final long targetQueueDelay;
+    private final long interval;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger[] inFlightByPriority = new AtomicInteger[PRIORITIES.length];
+    private final LongAdder[] accepted = new LongAdder[PRIORITIES.length];
+    private final LongAdder[] rejected = new LongAdder[PRIORITIES.length];
+    private final AtomicLong intervalEnd;
+    private final AtomicLong intervalMinQueueDelay = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicInteger intervalMaxInFlight = new AtomicInteger();
+    private volatile int limit;
+    private volatile long queueDelay;
+
+    /**
+     * @param configuration The load shedding configuration
+     */
+    public LoadShedder(LoadSheddingConfiguration configuration) {
+        this.configuration = configuration;
+        this.targetQueueDelay = configuration.getTargetQueueDelay().toNanos();
+        this.interval = Math.max(configuration.getInterval().toNanos(), 1);
+        this.limit = Math.min(Math.max(configuration.getInitialLimit(), configuration.getMinLimit()), configuration.getMaxLimit());
+        this.intervalEnd = new AtomicLong(System.nanoTime() + interval);
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            inFlightByPriority[i] = new AtomicInteger();
+            accepted[i] = new LongAdder();
+            rejected[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Admits a request if the limit allows.
+     *
+     * @param path The path of the request
+     * @return The admission or null if the request is rejected
+     */
+    public @Nullable Admission admit(String path) {
+        RequestPriority priority = classify(path);
+        int max;
+        switch (priority) {
+            case CRITICAL:
+                max = Integer.MAX_VALUE;
+                break;
+            case SHEDDABLE:
+                max = (int) (limit * configuration.getSheddableRatio());
+                break;
+            default:
+                max = limit;
+        }
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= max) {
+                rejected[priority.ordinal()].increment();
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Rejecting {} request for path [{}] with {} requests in flight and a limit of {}", priority, path, current, limit);
+                }
+                return null;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        if (current >= intervalMaxInFlight.get()) {
+            intervalMaxInFlight.accumulateAndGet(current + 1, Math::max);
+        }
+        inFlightByPriority[priority.ordinal()].incrementAndGet();
+        accepted[priority.ordinal()].increment();
+        return new Admission(priority);
+    }
+
+    /**
+     * @param path The path of a request
+     * @return The priority class of the request
+     */
+    public RequestPriority classify(String path) {
+        if (matches(configuration.getCriticalPaths(), path)) {
+            return RequestPriority.CRITICAL;
+        } else if (matches(configuration.getSheddablePaths(), path)) {
+            return RequestPriority.SHEDDABLE;
+        }
+        return RequestPriority.DEFAULT;
+    }
+
+    /**
+     * @return The current limit of concurrent requests
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return The number of requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return The shortest queueing delay of the last interval
+     */
+    public Duration getQueueDelay() {
+        return Duration.ofNanos(queueDelay);
+    }
+
+    /**
+     * @return The duration clients are asked to wait before retrying a rejected request
+     */
+    public Duration getRetryAfter() {
+        return configuration.getRetryAfter();
+    }
+
+    /**
+     * @param priority The priority class
+     * @return The number of requests of the class in flight
+     */
+    public int getInFlight(RequestPriority priority) {
+        return inFlightByPriority[priority.ordinal()].get();
+    }
+
+    /**
+     * @param priority The priority class
+     * @return The number of admitted requests of the class
+     */
+    public long getAccepted(RequestPriority priority) {
+        return accepted[priority.ordinal()].sum();
+    }
+
+    /**
+     * @param priority The priority class
+     * @return The number of rejected requests of the class
+     */
+    public long getRejected(RequestPriority priority) {
+        return rejected[priority.ordinal()].sum();
+    }
+
+    private static boolean matches(List<String> patterns, String path) {
+        if (!patterns.isEmpty()) {
+            for (String pattern : patterns) {
+                if (PathMatcher.ANT.matches(pattern, path)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void started(long queueDelay) {
+        if (queueDelay < intervalMinQueueDelay.get()) {
+            intervalMinQueueDelay.accumulateAndGet(queueDelay, Math::min);
+        }
+        adjust();
+    }
+
+    private void completed(RequestPriority priority) {
+        inFlightByPriority[priority.ordinal()].decrementAndGet();
+        inFlight.decrementAndGet();
+        adjust();
+    }
+
+    /**
+     * Adjusts the limit once per interval.
+     */
+    private void adjust() {
+        long now = System.nanoTime();
+        long end = intervalEnd.get();
+        if (now - end < 0 || !intervalEnd.compareAndSet(end, now + interval)) {
+            return;
+        }
+        long minQueueDelay = intervalMinQueueDelay.getAndSet(Long.MAX_VALUE);
+        int maxInFlight = intervalMaxInFlight.getAndSet(inFlight.get());
+        if (minQueueDelay == Long.MAX_VALUE) {
+            // no request started executing within the interval
+            queueDelay = 0;
+            return;
+        }
+        queueDelay = minQueueDelay;
+        int previous = limit;
+        if (minQueueDelay > targetQueueDelay) {
+            limit = Math.max((int) (previous * BACKOFF_RATIO), configuration.getMinLimit());
+        } else if (maxInFlight * 2 >= previous) {
+            limit = Math.min(previous + (int) Math.ceil(Math.sqrt(previous)), configuration.getMaxLimit());
+        }
+        if (LOG.isTraceEnabled() && previous != limit) {
+            LOG.trace("Adjusted limit from {} to {} for a queueing delay of {}ms", previous, limit, Duration.ofNanos(minQueueDelay).toMillis());
+        }
+    }
+
+    /**
+     * The admission of a request, which must be completed once the response was sent.
+     */
+    public final class Admission {
+
+        private final RequestPriority priority;
+        private final long admitted = System.nanoTime();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Admission(RequestPriority priority) {
+            this.priority = priority;
+        }
+
+        /**
+         * @return The priority class of the request
+         */
+        public RequestPriority getPriority() {
+            return priority;
+        }
+
+        /**
+         * Records that the execution of the request started. Only the first call has an effect.
+         */
+        public void started() {
+            if (!started.get() && started.compareAndSet(false, true)) {
+                LoadShedder.this.started(System.nanoTime() - admitted);
+            }
+        }
+
+        /**
+         * Records that the response of the request was sent. Only the first call has an effect.
+         */
+        public void completed() {
+            if (completed.compareAndSet(false, true)) {
+                LoadShedder.this.completed(priority);
+            }
+        }
+    }
+}
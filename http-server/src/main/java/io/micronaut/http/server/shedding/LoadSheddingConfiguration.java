@@ -0,0 +1,273 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.shedding;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.util.Toggleable;
+import io.micronaut.http.server.HttpServerConfiguration;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Configuration for the load shedding of the server.
+ *
+ * @since 1.3
+ */
+@ConfigurationProperties(LoadSheddingConfiguration.PREFIX)
+public class LoadSheddingConfiguration implements Toggleable {
+
+    /**
+     * The prefix for load shedding configuration.
+     */
+    public static final String PREFIX = HttpServerConfiguration.PREFIX + ".load-shedding";
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default initial limit.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_INITIAL_LIMIT = 100;
+
+    /**
+     * The default minimum limit.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MIN_LIMIT = 10;
+
+    /**
+     * The default maximum limit.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MAX_LIMIT = 1000;
+
+    /**
+     * The default target queue delay in milliseconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_TARGET_QUEUE_DELAY_MILLIS = 50;
+
+    /**
+     * The default interval in milliseconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_INTERVAL_MILLIS = 100;
+
+    /**
+     * The default share of the limit available to sheddable requests.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final double DEFAULT_SHEDDABLE_RATIO = 0.8;
+
+    /**
+     * The default retry after duration in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_RETRY_AFTER_SECONDS = 1;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private int initialLimit = DEFAULT_INITIAL_LIMIT;
+    private int minLimit = DEFAULT_MIN_LIMIT;
+    private int maxLimit = DEFAULT_MAX_LIMIT;
+    private Duration targetQueueDelay = Duration.ofMillis(DEFAULT_TARGET_QUEUE_DELAY_MILLIS);
+    private Duration interval = Duration.ofMillis(DEFAULT_INTERVAL_MILLIS);
+    private double sheddableRatio = DEFAULT_SHEDDABLE_RATIO;
+    private Duration retryAfter = Duration.ofSeconds(DEFAULT_RETRY_AFTER_SECONDS);
+    private List<String> criticalPaths = Collections.emptyList();
+    private List<String> sheddablePaths = Collections.emptyList();
+
+    /**
+     * @return Whether load shedding is enabled. Defaults to false.
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether load shedding is enabled. Default value ({@value #DEFAULT_ENABLED}).
+     *
+     * @param enabled True if load shedding is enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The initial limit of concurrent requests
+     */
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    /**
+     * Sets the initial limit of concurrent requests. Default value ({@value #DEFAULT_INITIAL_LIMIT}).
+     *
+     * @param initialLimit The initial limit
+     */
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    /**
+     * @return The lower bound of the limit
+     */
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    /**
+     * Sets the lower bound of the limit. Default value ({@value #DEFAULT_MIN_LIMIT}).
+     *
+     * @param minLimit The lower bound of the limit
+     */
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    /**
+     * @return The upper bound of the limit
+     */
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * Sets the upper bound of the limit. Default value ({@value #DEFAULT_MAX_LIMIT}).
+     *
+     * @param maxLimit The upper bound of the limit
+     */
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * @return The queueing delay above which the limit is reduced
+     */
+    public Duration getTargetQueueDelay() {
+        return targetQueueDelay;
+    }
+
+    /**
+     * Sets the queueing delay above which the limit is reduced. The queueing delay is the time between the arrival of
+     * a request and the start of its execution. The limit is reduced when even the shortest queueing delay within an
+     * interval exceeds the target, which indicates a standing queue rather than a burst. Default value
+     * ({@value #DEFAULT_TARGET_QUEUE_DELAY_MILLIS}ms).
+     *
+     * @param targetQueueDelay The target queue delay
+     */
+    public void setTargetQueueDelay(Duration targetQueueDelay) {
+        if (targetQueueDelay != null) {
+            this.targetQueueDelay = targetQueueDelay;
+        }
+    }
+
+    /**
+     * @return The interval at which the limit is adjusted
+     */
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * Sets the interval at which the limit is adjusted. Default value ({@value #DEFAULT_INTERVAL_MILLIS}ms).
+     *
+     * @param interval The interval
+     */
+    public void setInterval(Duration interval) {
+        if (interval != null) {
+            this.interval = interval;
+        }
+    }
+
+    /**
+     * @return The share of the limit available to {@link RequestPriority#SHEDDABLE} requests
+     */
+    public double getSheddableRatio() {
+        return sheddableRatio;
+    }
+
+    /**
+     * Sets the share of the limit available to {@link RequestPriority#SHEDDABLE} requests. Default value
+     * ({@value #DEFAULT_SHEDDABLE_RATIO}).
+     *
+     * @param sheddableRatio The share of the limit
+     */
+    public void setSheddableRatio(double sheddableRatio) {
+        this.sheddableRatio = sheddableRatio;
+    }
+
+    /**
+     * @return The duration clients are asked to wait before retrying a rejected request
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Sets the duration sent in the {@code Retry-After} header of rejected requests. Default value
+     * ({@value #DEFAULT_RETRY_AFTER_SECONDS}s).
+     *
+     * @param retryAfter The retry after duration
+     */
+    public void setRetryAfter(Duration retryAfter) {
+        if (retryAfter != null) {
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    /**
+     * @return The path patterns of {@link RequestPriority#CRITICAL} requests
+     */
+    public List<String> getCriticalPaths() {
+        return criticalPaths;
+    }
+
+    /**
+     * Sets the Ant style path patterns of requests that are never rejected.
+     *
+     * @param criticalPaths The path patterns
+     */
+    public void setCriticalPaths(List<String> criticalPaths) {
+        if (criticalPaths != null) {
+            this.criticalPaths = criticalPaths;
+        }
+    }
+
+    /**
+     * @return The path patterns of {@link RequestPriority#SHEDDABLE} requests
+     */
+    public List<String> getSheddablePaths() {
+        return sheddablePaths;
+    }
+
+    /**
+     * Sets the Ant style path patterns of requests that are rejected first.
+     *
+     * @param sheddablePaths The path patterns
+     */
+    public void setSheddablePaths(List<String> sheddablePaths) {
+        if (sheddablePaths != null) {
+            this.sheddablePaths = sheddablePaths;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.shedding;
+
+/**
+ * The priority classes of requests. Requests of a lower priority are rejected first when the server is overloaded.
+ *
+ * @since 1.3
+ */
+public enum RequestPriority {
+
+    /**
+     * Requests that are never rejected, such as health checks.
+     */
+    CRITICAL,
+
+    /**
+     * Requests that are rejected once the limit of concurrent requests is reached.
+     */
+    DEFAULT,
+
+    /**
+     * Requests that are rejected once a share of the limit of concurrent requests is reached, so that capacity is
+     * left for requests of a higher priority.
+     */
+    SHEDDABLE
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.sse;
+
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.core.io.buffer.ByteBufferFactory;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A connection of a {@link SseHub}. Buffers the encoded events offered by the hub and writes them to the subscriber
+ * as it requests them.
+ *
+ * @since 1.3
+ */
+final class SseConnection implements Subscription {
+
+    private final SseHub hub;
+    private final Subscriber<? super ByteBuffer<?>> subscriber;
+    private final ByteBufferFactory<?, ?> byteBufferFactory;
+    private final int capacity;
+    private final Queue<byte[]> queue = new ArrayDeque<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private boolean terminated;
+
+    /**
+     * @param hub               The hub
+     * @param subscriber        The subscriber
+     * @param byteBufferFactory The factory used to wrap the encoded events
+     * @param capacity          The maximum number of buffered events
+     */
+    SseConnection(SseHub hub, Subscriber<? super ByteBuffer<?>> subscriber, ByteBufferFactory<?, ?> byteBufferFactory, int capacity) {
+        this.hub = hub;
+        this.subscriber = subscriber;
+        this.byteBufferFactory = byteBufferFactory;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Buffers the events to replay, regardless of the capacity.
+     *
+     * @param frames The encoded events
+     */
+    void replay(Collection<byte[]> frames) {
+        synchronized (queue) {
+            queue.addAll(frames);
+        }
+    }
+
+    /**
+     * Buffers an encoded event.
+     *
+     * @param frame The encoded event
+     * @return False if the buffer is full
+     */
+    boolean offer(byte[] frame) {
+        synchronized (queue) {
+            if (queue.size() >= capacity) {
+                return false;
+            }
+            queue.offer(frame);
+            return true;
+        }
+    }
+
+    /**
+     * @return Whether no event is buffered
+     */
+    boolean isIdle() {
+        synchronized (queue) {
+            return queue.isEmpty();
+        }
+    }
+
+    /**
+     * Completes the connection once the buffered events are written.
+     */
+    void complete() {
+        done = true;
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            cancel();
+            subscriber.onError(new IllegalArgumentException("Number of requested events must be positive: " + n));
+            return;
+        }
+        long current;
+        long next;
+        do {
+            current = requested.get();
+            next = current + n;
+            if (next < 0) {
+                next = Long.MAX_VALUE;
+            }
+        } while (!requested.compareAndSet(current, next));
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        hub.remove(this);
+        drain();
+    }
+
+    /**
+     * Writes the buffered events to the subscriber, as long as it requests them. Only one thread drains at a time,
+     * the other threads leave the work to it.
+     */
+    void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            if (terminated) {
+                return;
+            }
+            long r = requested.get();
+            long emitted = 0;
+            while (!cancelled) {
+                boolean completed = done;
+                byte[] frame = null;
+                if (emitted != r) {
+                    synchronized (queue) {
+                        frame = queue.poll();
+                    }
+                } else if (!completed || !isIdle()) {
+                    break;
+                }
+                if (frame == null) {
+                    if (completed) {
+                        terminated = true;
+                        hub.remove(this);
+                        subscriber.onComplete();
+                        return;
+                    }
+                    break;
+                }
+                subscriber.onNext(byteBufferFactory.wrap(frame));
+                emitted++;
+            }
+            if (cancelled) {
+                terminated = true;
+                synchronized (queue) {
+                    queue.clear();
+                }
+                return;
+            }
+            if (emitted != 0 && r != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.sse;
+
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.core.io.buffer.ByteBufferFactory;
+import io.micronaut.core.io.buffer.ReferenceCounted;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.server.codec.TextStreamCodec;
+import io.micronaut.http.sse.Event;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Broadcasts Server Sent Events to many connections.</p>
+ *
+ * <p>Each published {@link Event} is encoded once with the {@link TextStreamCodec} and the encoded bytes are shared by
+ * all connections, instead of every connection running its own publisher and encoding every event. Each connection
+ * buffers a bounded number of events. A connection that does not keep up is completed once its buffered events are
+ * written, the client then reconnects with the {@code Last-Event-ID} header and the events it missed are replayed from
+ * a ring of the most recent events. Events without an id are given a sequential id, so that every event can be
+ * resumed from. When no event is published for the heartbeat interval a comment is sent to every connection.</p>
+ *
+ * <p>A controller returns the connection from an action that produces {@code text/event-stream}:</p>
+ *
+ * <pre class="code">
+ * &#64;Get(produces = MediaType.TEXT_EVENT_STREAM)
+ * Flowable&lt;ByteBuffer&lt;?&gt;&gt; events(HttpRequest&lt;?&gt; request) {
+ *     return sseHub.subscribe(request);
+ * }
+ * </pre>
+ *
+ * @since 1.3
+ */
+@Singleton
+public class SseHub {
+
+    /**
+     * The header a reconnecting client sends with the id of the last event it received.
+     */
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private static final Logger LOG = LoggerFactory.getLogger(SseHub.class);
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final TextStreamCodec codec;
+    private final ByteBufferFactory<?, ?> byteBufferFactory;
+    private final int connectionBufferSize;
+    private final String[] replayIds;
+    private final byte[][] replayFrames;
+    private final Set<SseConnection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder overflows = new LongAdder();
+    private final Object lock = new Object();
+    private final ScheduledFuture<?> heartbeat;
+    private int replayHead;
+    private int replayCount;
+    private volatile boolean published;
+    private volatile boolean closed;
+
+    /**
+     * @param configuration     The SSE hub configuration
+     * @param codec             The codec used to encode the events
+     * @param byteBufferFactory The factory used to wrap the encoded events
+     * @param taskScheduler     The scheduler of the heartbeats
+     */
+    public SseHub(
+            SseHubConfiguration configuration,
+            TextStreamCodec codec,
+            ByteBufferFactory<?, ?> byteBufferFactory,
+            @Named(TaskExecutors.SCHEDULED) TaskScheduler taskScheduler) {
+        this.codec = codec;
+        this.byteBufferFactory = byteBufferFactory;
+        this.connectionBufferSize = configuration.getConnectionBufferSize();
+        this.replayIds = new String[configuration.getReplaySize()];
+        this.replayFrames = new byte[configuration.getReplaySize()][];
+        Duration heartbeatInterval = configuration.getHeartbeatInterval();
+        if (heartbeatInterval != null && !heartbeatInterval.isZero() && !heartbeatInterval.isNegative()) {
+            this.heartbeat = taskScheduler.scheduleAtFixedRate(heartbeatInterval, heartbeatInterval, this::heartbeat);
+        } else {
+            this.heartbeat = null;
+        }
+    }
+
+    /**
+     * Publishes an event to all connections. Objects that are not an {@link Event} are published as the data of
+     * an event. An event without an id is published with a generated id, leaving the given event unchanged.
+     *
+     * @param event The event or the data of the event
+     * @return The id of the event
+     */
+    public String publish(Object event) {
+        Event<?> toPublish;
+        if (!(event instanceof Event)) {
+            toPublish = Event.of(event).id(String.valueOf(sequence.incrementAndGet()));
+        } else if (((Event<?>) event).getId() == null) {
+            Event<?> original = (Event<?>) event;
+            toPublish = Event.of(original, original.getData()).id(String.valueOf(sequence.incrementAndGet()));
+        } else {
+            toPublish = (Event<?>) event;
+        }
+        String id = toPublish.getId();
+        // encoded once for all connections
+        byte[] frame = encode(toPublish);
+        List<SseConnection> toDrain;
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("The SSE hub is closed");
+            }
+            if (replayIds.length > 0) {
+                int index = (replayHead + replayCount) % replayIds.length;
+                replayIds[index] = id;
+                replayFrames[index] = frame;
+                if (replayCount < replayIds.length) {
+                    replayCount++;
+                } else {
+                    replayHead = (replayHead + 1) % replayIds.length;
+                }
+            }
+            toDrain = offer(frame, true);
+            published = true;
+        }
+        drain(toDrain);
+        return id;
+    }
+
+    /**
+     * Opens a connection that resumes after the event of the {@value #LAST_EVENT_ID} header of the request, if any.
+     *
+     * @param request The request
+     * @return The encoded events of the connection
+     */
+    public Flowable<ByteBuffer<?>> subscribe(HttpRequest<?> request) {
+        return subscribe(request.getHeaders().get(LAST_EVENT_ID));
+    }
+
+    /**
+     * Opens a connection. If the id of the last event received by the client is given, the more recent events of
+     * the replay buffer are sent first. If the id is no longer in the replay buffer the whole buffer is replayed.
+     *
+     * @param lastEventId The id of the last event received by the client
+     * @return The encoded events of the connection
+     */
+    public Flowable<ByteBuffer<?>> subscribe(@Nullable String lastEventId) {
+        return Flowable.fromPublisher(subscriber -> {
+            SseConnection connection = new SseConnection(this, subscriber, byteBufferFactory, connectionBufferSize);
+            subscriber.onSubscribe(connection);
+            synchronized (lock) {
+                if (lastEventId != null) {
+                    connection.replay(replayAfter(lastEventId));
+                }
+                if (closed) {
+                    connection.complete();
+                } else {
+                    connections.add(connection);
+                }
+            }
+            connection.drain();
+        });
+    }
+
+    /**
+     * @return The number of open connections
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * @return The number of connections that were completed because their buffer was full
+     */
+    public long getOverflowCount() {
+        return overflows.sum();
+    }
+
+    /**
+     * Completes all connections and stops the heartbeats.
+     */
+    @PreDestroy
+    public void close() {
+        List<SseConnection> toComplete;
+        synchronized (lock) {
+            closed = true;
+            toComplete = new ArrayList<>(connections);
+            connections.clear();
+        }
+        if (heartbeat != null) {
+            heartbeat.cancel(false);
+        }
+        for (SseConnection connection : toComplete) {
+            connection.complete();
+            connection.drain();
+        }
+    }
+
+    /**
+     * @param connection The connection to remove
+     */
+    void remove(SseConnection connection) {
+        connections.remove(connection);
+    }
+
+    private void heartbeat() {
+        if (published) {
+            published = false;
+            return;
+        }
+        List<SseConnection> toDrain;
+        synchronized (lock) {
+            toDrain = offer(HEARTBEAT, false);
+        }
+        drain(toDrain);
+    }
+
+    private List<SseConnection> offer(byte[] frame, boolean event) {
+        List<SseConnection> toDrain = new ArrayList<>(connections.size());
+        for (SseConnection connection : connections) {
+            if (!event && !connection.isIdle()) {
+                // the connection has pending events, no heartbeat is needed
+                continue;
+            }
+            if (connection.offer(frame)) {
+                toDrain.add(connection);
+            } else {
+                overflows.increment();
+                connections.remove(connection);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Completing SSE connection whose buffer of {} events is full", connectionBufferSize);
+                }
+                connection.complete();
+                toDrain.add(connection);
+            }
+        }
+        return toDrain;
+    }
+
+    private byte[] encode(Event<?> event) {
+        ByteBuffer<?> buffer = codec.encode(event, byteBufferFactory);
+        try {
+            return buffer.toByteArray();
+        } finally {
+            if (buffer instanceof ReferenceCounted) {
+                ((ReferenceCounted) buffer).release();
+            }
+        }
+    }
+
+    private List<byte[]> replayAfter(String lastEventId) {
+        int found = -1;
+        for (int i = replayCount - 1; i >= 0; i--) {
+            if (lastEventId.equals(replayIds[(replayHead + i) % replayIds.length])) {
+                found = i;
+                break;
+            }
+        }
+        if (found == replayCount - 1) {
+            return Collections.emptyList();
+        }
+        List<byte[]> frames = new ArrayList<>(replayCount - found - 1);
+        for (int i = found + 1; i < replayCount; i++) {
+            frames.add(replayFrames[(replayHead + i) % replayIds.length]);
+        }
+        return frames;
+    }
+
+    private static void drain(List<SseConnection> connections) {
+        for (SseConnection connection : connections) {
+            connection.drain();
+        }
+    }
+}
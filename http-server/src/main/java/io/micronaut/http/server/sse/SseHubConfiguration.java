@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.sse;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.http.server.HttpServerConfiguration;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+
+/**
+ * Configuration for the {@link SseHub}.
+ *
+ * @since 1.3
+ */
+@ConfigurationProperties(SseHubConfiguration.PREFIX)
+public class SseHubConfiguration {
+
+    /**
+     * The prefix for SSE hub configuration.
+     */
+    public static final String PREFIX = HttpServerConfiguration.PREFIX + ".sse-hub";
+
+    /**
+     * The default number of events kept for replay.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_REPLAY_SIZE = 100;
+
+    /**
+     * The default number of events buffered per connection.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_CONNECTION_BUFFER_SIZE = 256;
+
+    /**
+     * The default heartbeat interval in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_HEARTBEAT_INTERVAL_SECONDS = 15;
+
+    private int replaySize = DEFAULT_REPLAY_SIZE;
+    private int connectionBufferSize = DEFAULT_CONNECTION_BUFFER_SIZE;
+    private Duration heartbeatInterval = Duration.ofSeconds(DEFAULT_HEARTBEAT_INTERVAL_SECONDS);
+
+    /**
+     * @return The number of most recent events kept to be replayed to reconnecting clients
+     */
+    public int getReplaySize() {
+        return replaySize;
+    }
+
+    /**
+     * Sets the number of most recent events kept to be replayed to clients that reconnect with a
+     * {@code Last-Event-ID} header. Default value ({@value #DEFAULT_REPLAY_SIZE}).
+     *
+     * @param replaySize The replay size
+     */
+    public void setReplaySize(int replaySize) {
+        this.replaySize = Math.max(replaySize, 0);
+    }
+
+    /**
+     * @return The number of events buffered per connection
+     */
+    public int getConnectionBufferSize() {
+        return connectionBufferSize;
+    }
+
+    /**
+     * Sets the number of events buffered for a connection that does not keep up. A connection whose buffer is full
+     * is completed once the buffered events are written, so that the client reconnects and resumes from the replay
+     * buffer. Default value ({@value #DEFAULT_CONNECTION_BUFFER_SIZE}).
+     *
+     * @param connectionBufferSize The connection buffer size
+     */
+    public void setConnectionBufferSize(int connectionBufferSize) {
+        this.connectionBufferSize = Math.max(connectionBufferSize, 1);
+    }
+
+    /**
+     * @return The heartbeat interval
+     */
+    public @Nullable Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    /**
+     * Sets the interval at which a heartbeat comment is sent when no event was published, so that idle connections
+     * are not closed by proxies. Set to zero to disable heartbeats. Default value
+     * ({@value #DEFAULT_HEARTBEAT_INTERVAL_SECONDS} seconds).
+     *
+     * @param heartbeatInterval The heartbeat interval
+     */
+    public void setHeartbeatInterval(@Nullable Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+}
@@ -22,6 +22,7 @@ import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import io.micronaut.core.annotation.Internal;
 import io.micronaut.http.HttpRequest;
 
 /**
@@ -128,6 +129,21 @@ public final class ServerRequestContext {
         }
     }
 
+    /**
+     * Binds the given request to the current thread. Callers must bind the returned request back once done.
+     *
+     * @param request The request or null to unbind the current request
+     * @return The request previously bound to the current thread
+     */
+    @Internal
+    public static @Nullable HttpRequest<?> bind(@Nullable HttpRequest<?> request) {
+        HttpRequest existing = REQUEST.get();
+        if (request != existing) {
+            set(request);
+        }
+        return existing;
+    }
+
     /**
      * Retrieve the current server request context.
      *
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>A histogram of non-negative values that can be recorded to concurrently without allocating, in the manner of
+ * HdrHistogram.</p>
+ *
+ * <p>Values below 32 are counted exactly and larger values in 32 buckets per power of two, so a value read from
+ * the histogram is at most 1/32 (about 3%) above the recorded value. Values of 2<sup>36</sup> and above are
+ * counted as 2<sup>36</sup> - 1. The counters are split into stripes selected by the recording thread, so that
+ * threads such as event loops rarely write to the same counters.</p>
+ *
+ * @since 1.3
+ */
+public final class ConcurrentHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 36;
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+    private static final int COUNT = 0;
+    private static final int SUM = 1;
+    private static final int MAX = 2;
+    private static final int FIRST_BUCKET = 3;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+
+    /**
+     * @param maxStripes The maximum number of stripes, which is rounded down to a power of two
+     */
+    public ConcurrentHistogram(int maxStripes) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(maxStripes, Runtime.getRuntime().availableProcessors())));
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(FIRST_BUCKET + BUCKET_COUNT);
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value The value, negative values are recorded as 0
+     */
+    public void record(long value) {
+        long v = Math.min(Math.max(value, 0), MAX_VALUE);
+        AtomicLongArray stripe = stripes[(int) Thread.currentThread().getId() & stripeMask];
+        stripe.incrementAndGet(FIRST_BUCKET + bucketIndex(v));
+        stripe.incrementAndGet(COUNT);
+        stripe.addAndGet(SUM, v);
+        long max = stripe.get(MAX);
+        while (v > max && !stripe.compareAndSet(MAX, max, v)) {
+            max = stripe.get(MAX);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the histogram. Values recorded whilst the snapshot is taken may be partially included.
+     *
+     * @return The snapshot
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        long sum = 0;
+        long max = 0;
+        for (AtomicLongArray stripe : stripes) {
+            count += stripe.get(COUNT);
+            sum += stripe.get(SUM);
+            max = Math.max(max, stripe.get(MAX));
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += stripe.get(FIRST_BUCKET + i);
+            }
+        }
+        return new Snapshot(counts, count, sum, max);
+    }
+
+    /**
+     * @param value A value between 0 and {@link #MAX_VALUE}
+     * @return The index of the bucket the value is counted in
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    /**
+     * @param index The index of a bucket
+     * @return The highest value counted in the bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * A snapshot of a {@link ConcurrentHistogram}.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * @return The number of recorded values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The sum of the recorded values
+         */
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * @return The largest recorded value
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @return The mean of the recorded values or 0 if no value was recorded
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * @param percentile The percentile, between 0 and 100
+         * @return The value below or at which the given percentage of the recorded values lie, or 0 if no value was
+         * recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            long total = 0;
+            for (long c : counts) {
+                total += c;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * total));
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative >= rank) {
+                    return Math.min(bucketUpperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * @param value A value
+         * @return The number of recorded values that are at most the given value, counted with the precision of the
+         * histogram. Exporters use it to build cumulative buckets.
+         */
+        public long getCountAtOrBelow(long value) {
+            if (value < 0) {
+                return 0;
+            }
+            int last = bucketIndex(Math.min(value, MAX_VALUE));
+            if (value < MAX_VALUE && bucketUpperBound(last) > value) {
+                // the bucket holds values above the given value
+                last--;
+            }
+            long cumulative = 0;
+            for (int i = 0; i <= last; i++) {
+                cumulative += counts[i];
+            }
+            return cumulative;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package io.micronaut.annotation.processing;
 import io.micronaut.annotation.processing.visitor.JavaVisitorContext;
 import io.micronaut.core.convert.value.MutableConvertibleValues;
 import io.micronaut.core.convert.value.MutableConvertibleValuesMap;
+import io.micronaut.inject.annotation.AnnotationMetadataWriter;
 import io.micronaut.inject.writer.ClassWriterOutputVisitor;
 
 import javax.annotation.processing.AbstractProcessor;
@@ -66,6 +67,7 @@ abstract class AbstractInjectAnnotationProcessor extends AbstractProcessor {
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
         super.init(processingEnv);
+        AnnotationMetadataWriter.setCompactMetadata(Boolean.parseBoolean(processingEnv.getOptions().get(AnnotationMetadataWriter.COMPACT_METADATA_OPTION)));
         this.messager = processingEnv.getMessager();
         this.filer = processingEnv.getFiler();
         this.classWriterOutputVisitor = new AnnotationProcessingOutputVisitor(filer);
@@ -17,6 +17,8 @@ package io.micronaut.annotation.processing;
 
 import io.micronaut.context.annotation.Configuration;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.inject.annotation.AnnotationMetadataWriter;
 import io.micronaut.inject.writer.BeanConfigurationWriter;
 
 import javax.annotation.processing.ProcessingEnvironment;
@@ -28,7 +30,6 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.SimpleElementVisitor8;
 import java.io.IOException;
-import java.util.Collections;
 import java.util.Set;
 
 /**
@@ -51,7 +52,7 @@ public class PackageConfigurationInjectProcessor extends AbstractInjectAnnotatio
 
     @Override
     public Set<String> getSupportedOptions() {
-        return Collections.singleton("org.gradle.annotation.processing.aggregating");
+        return CollectionUtils.setOf("org.gradle.annotation.processing.aggregating", AnnotationMetadataWriter.COMPACT_METADATA_OPTION);
     }
 
     @Override
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.aop.applicable
+
+import io.micronaut.context.ApplicationContext
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class ApplicableInterceptorSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext applicationContext = ApplicationContext.run()
+
+    void "test interceptors that do not apply to a method are not invoked"() {
+        given:
+        CountedService service = applicationContext.getBean(CountedService)
+        CountingInterceptor interceptor = applicationContext.getBean(CountingInterceptor)
+
+        when:
+        service.notCountedVoid()
+
+        then:
+        service.add(1, 2) == 3
+        service.concat("a", "b", "c", "d") == "abcd"
+        service.voidCalls == 1
+        interceptor.count == 0
+
+        when:
+        String result = service.counted("test")
+
+        then:
+        result == "test"
+        interceptor.count == 1
+    }
+}
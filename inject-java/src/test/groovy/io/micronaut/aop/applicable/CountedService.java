@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.aop.applicable;
+
+import javax.inject.Singleton;
+
+@Singleton
+@Counted
+public class CountedService {
+
+    int voidCalls;
+
+    public String counted(String name) {
+        return name;
+    }
+
+    @Counted(false)
+    public int add(int a, int b) {
+        return a + b;
+    }
+
+    @Counted(false)
+    public void notCountedVoid() {
+        voidCalls++;
+    }
+
+    @Counted(false)
+    public String concat(String a, String b, String c, String d) {
+        return a + b + c + d;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.inject.annotation
+
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.AnnotationValue
+import io.micronaut.inject.AbstractTypeElementSpec
+
+/**
+ * @since 1.3
+ */
+class AnnotationMetadataPoolSpec extends AbstractTypeElementSpec {
+
+    void "test equal metadata written for different classes shares the same maps"() {
+        given:
+        String source = '''\
+package test;
+
+import io.micronaut.context.annotation.*;
+import javax.inject.*;
+
+@Singleton
+@Requires(property = "foo.bar", notEquals = "baz")
+@Requires(classes = String.class)
+class Test {
+}
+'''
+        DefaultAnnotationMetadata first = (DefaultAnnotationMetadata) writeAndLoadMetadata("test.First", buildTypeAnnotationMetadata(source))
+        DefaultAnnotationMetadata second = (DefaultAnnotationMetadata) writeAndLoadMetadata("test.Second", buildTypeAnnotationMetadata(source))
+
+        expect:
+        first.allAnnotations.is(second.allAnnotations)
+        first.declaredAnnotations.is(second.declaredAnnotations)
+        first.allStereotypes.is(second.allStereotypes)
+        first.annotationsByStereotype.is(second.annotationsByStereotype)
+        first.getAnnotationValuesByType(Requires).size() == 2
+        second.getAnnotationValuesByType(Requires)[0].stringValue("notEquals").get() == "baz"
+    }
+
+    void "test members with equal arrays are pooled"() {
+        given:
+        Map<CharSequence, Object> members1 = [value: ["a", "b"] as String[], other: [1, 2] as int[]]
+        Map<CharSequence, Object> members2 = [value: ["a", "b"] as String[], other: [1, 2] as int[]]
+        Map<CharSequence, Object> members3 = [value: ["a", "c"] as String[], other: [1, 2] as int[]]
+
+        expect:
+        AnnotationMetadataPool.internMembers(members1).is(AnnotationMetadataPool.internMembers(members2))
+        !AnnotationMetadataPool.internMembers(members1).is(AnnotationMetadataPool.internMembers(members3))
+        AnnotationMetadataPool.internMembers(members1).get("value") == ["a", "b"] as String[]
+    }
+
+    void "test nested annotation values are pooled"() {
+        given:
+        Map<CharSequence, Object> members1 = [value: [new AnnotationValue("test.Nested", [name: "one"])] as AnnotationValue[]]
+        Map<CharSequence, Object> members2 = [single: new AnnotationValue("test.Nested", [name: "one"])]
+
+        when:
+        Map<CharSequence, Object> pooled1 = AnnotationMetadataPool.internMembers(members1)
+        Map<CharSequence, Object> pooled2 = AnnotationMetadataPool.internMembers(members2)
+
+        then:
+        ((AnnotationValue[]) pooled1.get("value"))[0].is(pooled2.get("single"))
+    }
+
+    void "test pooled members are read only"() {
+        given:
+        Map<CharSequence, Object> pooled = AnnotationMetadataPool.internMembers([value: "test"])
+
+        when:
+        pooled.put("other", "value")
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    void "test null and empty sections are not pooled"() {
+        expect:
+        AnnotationMetadataPool.internAnnotations(null) == null
+        AnnotationMetadataPool.internAnnotationsByStereotype(null) == null
+        AnnotationMetadataPool.internAnnotations(Collections.emptyMap()).isEmpty()
+    }
+}
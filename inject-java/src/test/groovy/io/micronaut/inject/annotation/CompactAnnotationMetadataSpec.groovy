@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.inject.annotation
+
+import io.micronaut.aop.Around
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.AnnotationClassValue
+import io.micronaut.core.annotation.AnnotationMetadata
+import io.micronaut.core.annotation.AnnotationValue
+import io.micronaut.inject.AbstractTypeElementSpec
+import io.micronaut.retry.annotation.Recoverable
+
+import javax.inject.Named
+import javax.inject.Singleton
+
+/**
+ * @since 1.3
+ */
+class CompactAnnotationMetadataSpec extends AbstractTypeElementSpec {
+
+    static final String SOURCE = '''\
+package test;
+
+import java.lang.annotation.*;
+import io.micronaut.inject.annotation.*;
+import io.micronaut.context.annotation.*;
+import javax.inject.*;
+
+@MyStereotype
+@Singleton
+@Requires(property = "foo.bar", notEquals = "baz")
+@MyAnn(value = "hello", num = 70000, big = -5L, dbl = 3.25, flt = -0.5f, sht = 300, flag = true,
+      types = {String.class, Test.class}, nums = {1, -1, 65536}, doubles = {1.1d}, nested = {@Named("one"), @Named("two")})
+class Test {
+}
+
+@Retention(RetentionPolicy.RUNTIME)
+@interface MyAnn {
+    String value();
+    int num() default 1;
+    long big() default 1;
+    double dbl() default 1;
+    float flt() default 1;
+    short sht() default 1;
+    boolean flag() default false;
+    Class<?>[] types() default {};
+    int[] nums() default {};
+    double[] doubles() default {};
+    Named[] nested() default {};
+}
+'''
+
+    void "test compact encoding round trips the annotation metadata"() {
+        given:
+        DefaultAnnotationMetadata toWrite = (DefaultAnnotationMetadata) buildTypeAnnotationMetadata(SOURCE)
+
+        when:
+        String encoded = AnnotationMetadataEncoder.encode(toWrite)
+        AnnotationMetadataDecoder decoder = AnnotationMetadataDecoder.of(encoded, getClass())
+
+        then:
+        encoded != null
+        decoder.declaredAnnotations.keySet() == toWrite.declaredAnnotations.keySet()
+        decoder.allAnnotations.keySet() == toWrite.allAnnotations.keySet()
+        decoder.allStereotypes.keySet() == toWrite.allStereotypes.keySet()
+        decoder.annotationsByStereotype == toWrite.annotationsByStereotype
+
+        when:
+        AnnotationMetadata metadata = new DefaultAnnotationMetadata(decoder)
+
+        then:
+        assertMetadata(metadata)
+    }
+
+    void "test write compact annotation metadata"() {
+        given:
+        AnnotationMetadataWriter.setCompactMetadata(true)
+        AnnotationMetadata toWrite = buildTypeAnnotationMetadata(SOURCE)
+
+        when:
+        AnnotationMetadata metadata = writeAndLoadMetadata("test", toWrite)
+
+        then:
+        assertMetadata(metadata)
+
+        cleanup:
+        AnnotationMetadataWriter.setCompactMetadata(false)
+    }
+
+    void "test metadata that cannot be encoded is not encoded"() {
+        given:
+        DefaultAnnotationMetadata toWrite = (DefaultAnnotationMetadata) buildTypeAnnotationMetadata('''\
+package test;
+
+import java.lang.annotation.*;
+import io.micronaut.core.annotation.*;
+import io.micronaut.inject.annotation.*;
+
+@MyAnn(ToInstantiate.class)
+class Test {
+}
+
+@Retention(RetentionPolicy.RUNTIME)
+@interface MyAnn {
+    @InstantiatedMember
+    Class value();
+}
+''')
+
+        expect:
+        AnnotationMetadataEncoder.encode(toWrite) == null
+    }
+
+    void "test decoded members are shared between sections"() {
+        given:
+        DefaultAnnotationMetadata toWrite = (DefaultAnnotationMetadata) buildTypeAnnotationMetadata(SOURCE)
+        AnnotationMetadataDecoder decoder = AnnotationMetadataDecoder.of(AnnotationMetadataEncoder.encode(toWrite), getClass())
+
+        expect:
+        decoder.declaredAnnotations.get("test.MyAnn").is(decoder.allAnnotations.get("test.MyAnn"))
+        decoder.allAnnotations.get("not.There") == null
+    }
+
+    private static void assertMetadata(AnnotationMetadata metadata) {
+        assert metadata.hasDeclaredAnnotation("test.MyAnn")
+        assert metadata.hasAnnotation(Singleton)
+        assert metadata.stringValue("test.MyAnn").get() == "hello"
+        assert metadata.intValue("test.MyAnn", "num").asInt == 70000
+        assert metadata.longValue("test.MyAnn", "big").asLong == -5L
+        assert metadata.doubleValue("test.MyAnn", "dbl").asDouble == 3.25d
+        assert metadata.getValue("test.MyAnn", "flt", Float).get() == -0.5f
+        assert metadata.getValue("test.MyAnn", "sht", Short).get() == (short) 300
+        assert metadata.isTrue("test.MyAnn", "flag")
+        assert metadata.getValue("test.MyAnn", "types").get() == [new AnnotationClassValue(String), new AnnotationClassValue('test.Test')] as AnnotationClassValue[]
+        assert metadata.getValue("test.MyAnn", "nums", int[].class).get() == [1, -1, 65536] as int[]
+        assert metadata.getValue("test.MyAnn", "doubles", double[].class).get() == [1.1d] as double[]
+        assert metadata.getAnnotationValuesByType(Requires).size() == 1
+        assert metadata.getAnnotationValuesByType(Requires)[0].get("notEquals", String).get() == "baz"
+        List<AnnotationValue<Named>> nested = metadata.getAnnotation("test.MyAnn").getAnnotations("nested", Named)
+        assert nested*.stringValue()*.get() == ["one", "two"]
+        assert metadata.hasStereotype(Around)
+        assert metadata.getAnnotationNamesByStereotype(Around).contains(Recoverable.name)
+    }
+}
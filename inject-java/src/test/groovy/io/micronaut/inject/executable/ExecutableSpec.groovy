@@ -106,4 +106,62 @@ class MyBean {
         "showVoidReturn"      | [Iterable.class] | [['test']]       | null
         "showPrimitiveReturn" | [int[].class]    | [[1] as int[]]   | 1
     }
-}
\ No newline at end of file
+
+    void "test fixed arity invocation"() {
+        given:
+        BeanDefinition beanDefinition = buildBeanDefinition('test.ArityBean', '''
+package test;
+
+import io.micronaut.context.annotation.*;
+
+@Executable
+public class ArityBean {
+    public String zero() {
+        return "zero";
+    }
+
+    public long one(int one) {
+        return one + 1;
+    }
+
+    public String two(String one, boolean two) {
+        return one + two;
+    }
+
+    public void three(String one, double two, char three) {
+    }
+
+    public String four(String one, String two, String three, String four) {
+        return one + two + three + four;
+    }
+}
+''')
+        def bean = beanDefinition.beanType.newInstance()
+
+        expect:
+        beanDefinition.findMethod("zero").get().invoke0(bean) == "zero"
+        beanDefinition.findMethod("one", int).get().invoke1(bean, 1) == 2L
+        beanDefinition.findMethod("two", String, boolean).get().invoke2(bean, "a", true) == "atrue"
+        beanDefinition.findMethod("three", String, double, char).get().invoke3(bean, "a", 1.5d, 'c' as char) == null
+        beanDefinition.findMethod("four", String, String, String, String).get().invoke(bean, "a", "b", "c", "d") == "abcd"
+
+        when:"a fixed arity variant that does not match the method is used"
+        beanDefinition.findMethod("one", int).get().invoke2(bean, 1, 2)
+
+        then:"the arguments are validated"
+        def e = thrown(IllegalArgumentException)
+        e.message == 'Wrong number of arguments to method: one'
+        when:"an argument of the wrong type is passed to the fixed arity variant"
+        beanDefinition.findMethod("two", String, boolean).get().invoke2(bean, "a", "true")
+
+        then:"the argument is validated"
+        e = thrown(IllegalArgumentException)
+        e.message == 'Invalid type [java.lang.String] for argument [boolean two] of method: two'
+
+        when:"a null reference argument is passed to the fixed arity variant"
+        def result = beanDefinition.findMethod("two", String, boolean).get().invoke2(bean, null, false)
+
+        then:"the method is invoked"
+        result == 'nullfalse'
+    }
+}
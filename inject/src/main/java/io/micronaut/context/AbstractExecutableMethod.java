@@ -37,6 +37,10 @@ import java.util.Objects;
  * implement the {@link ExecutableMethod#invoke(Object, Object...)} method at compile time providing direct dispatch
  * of the target method</p>
  *
+ * <p>Generated classes also implement the fixed arity variant matching the number of arguments of the method (for
+ * example {@link ExecutableMethod#invoke1(Object, Object)}) which dispatches without an argument array. Arguments of
+ * the wrong type are passed on to {@link #invoke(Object, Object...)} so that they are rejected the same way.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -2785,6 +2785,26 @@ public class DefaultBeanContext implements BeanContext {
             return method.invoke(target, arguments);
         }
 
+        @Override
+        public R invoke0() {
+            return method.invoke0(target);
+        }
+
+        @Override
+        public R invoke1(Object arg0) {
+            return method.invoke1(target, arg0);
+        }
+
+        @Override
+        public R invoke2(Object arg0, Object arg1) {
+            return method.invoke2(target, arg0, arg1);
+        }
+
+        @Override
+        public R invoke3(Object arg0, Object arg1, Object arg2) {
+            return method.invoke3(target, arg0, arg1, arg2);
+        }
+
         @Override
         public Method getTargetMethod() {
             return method.getTargetMethod();
@@ -2850,12 +2870,34 @@ public class DefaultBeanContext implements BeanContext {
 
         @Override
         public R invoke(Object... arguments) {
-            if (isSingleton) {
-                T target = getTarget();
+            return method.invoke(resolveTarget(), arguments);
+        }
 
-                return method.invoke(target, arguments);
+        @Override
+        public R invoke0() {
+            return method.invoke0(resolveTarget());
+        }
+
+        @Override
+        public R invoke1(Object arg0) {
+            return method.invoke1(resolveTarget(), arg0);
+        }
+
+        @Override
+        public R invoke2(Object arg0, Object arg1) {
+            return method.invoke2(resolveTarget(), arg0, arg1);
+        }
+
+        @Override
+        public R invoke3(Object arg0, Object arg1, Object arg2) {
+            return method.invoke3(resolveTarget(), arg0, arg1, arg2);
+        }
+
+        private T resolveTarget() {
+            if (isSingleton) {
+                return getTarget();
             } else {
-                return method.invoke(beanContext.getBean(beanType, qualifier), arguments);
+                return beanContext.getBean(beanType, qualifier);
             }
         }
     }
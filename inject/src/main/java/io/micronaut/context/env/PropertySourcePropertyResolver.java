@@ -21,6 +21,8 @@ import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.convert.ArgumentConversionContext;
 import io.micronaut.core.convert.ConversionContext;
 import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.convert.ResolvedTypeConverter;
+import io.micronaut.core.convert.format.Format;
 import io.micronaut.core.convert.format.MapFormat;
 import io.micronaut.core.io.socket.SocketUtils;
 import io.micronaut.core.naming.NameUtils;
@@ -64,7 +66,10 @@ public class PropertySourcePropertyResolver implements PropertyResolver {
     protected final Map<String, Object>[] catalog = new Map[58];
     private final Random random = new Random();
     private final Map<String, Boolean> containsCache = new ConcurrentHashMap<>(20);
-    private final Map<String, Optional<?>> resolvedValueCache = new ConcurrentHashMap<>(20);
+    private final Map<Class<?>, Map<Class<?>, ResolvedTypeConverter<Object, ?>>> resolvedConverters = new ConcurrentHashMap<>(20);
+    // immutable, flattened view of the catalog. Guarded by the catalog lock for writes and
+    // rebuilt lazily after each modification of the catalog
+    private volatile CatalogIndex catalogIndex;
 
     /**
      * Creates a new, initially empty, {@link PropertySourcePropertyResolver} for the given {@link ConversionService}.
@@ -193,69 +198,38 @@ public class PropertySourcePropertyResolver implements PropertyResolver {
         } else {
             ArgumentUtils.requireNonNull("conversionContext", conversionContext);
             Class<T> requiredType = conversionContext.getArgument().getType();
-            boolean cacheableType = requiredType == Boolean.class || requiredType == String.class;
-            String cacheName = name + '|' + requiredType.getSimpleName();
-            if (cacheableType && resolvedValueCache.containsKey(cacheName)) {
-                return (Optional<T>) resolvedValueCache.get(cacheName);
+            CatalogIndex index = resolveCatalogIndex();
+            Map<String, Optional<?>> conversionCache = isCacheableType(conversionContext) ? index.conversionsFor(requiredType) : null;
+            if (conversionCache != null) {
+                Optional<?> cached = conversionCache.get(name);
+                if (cached != null) {
+                    return (Optional<T>) cached;
+                }
+            }
+            Object value = index.resolveValue(name);
+            if (value != null) {
+                value = resolvePlaceHoldersIfNecessary(value);
+                Optional<T> converted = convertValue(value, conversionContext);
+                if (LOG.isTraceEnabled()) {
+                    if (converted.isPresent()) {
+                        LOG.trace("Resolved value [{}] for property: {}", converted.get(), name);
+                    } else {
+                        LOG.trace("Resolved value [{}] cannot be converted to type [{}] for property: {}", value, conversionContext.getArgument(), name);
+                    }
+                }
+
+                if (conversionCache != null) {
+                    conversionCache.put(name, converted);
+                }
+                return converted;
+            } else if (conversionCache != null) {
+                Optional<?> e = Optional.empty();
+                conversionCache.put(name, e);
+                return (Optional<T>) e;
             } else {
                 Map<String, Object> entries = resolveEntriesForKey(name, false);
                 if (entries != null) {
-                    Object value = entries.get(name);
-                    if (value == null) {
-                        value = entries.get(normalizeName(name));
-                    }
-                    if (value == null) {
-                        int i = name.indexOf('[');
-                        if (i > -1 && name.endsWith("]")) {
-                            String newKey = name.substring(0, i);
-                            value = entries.get(newKey);
-                            if (value != null) {
-                                String index = name.substring(i + 1, name.length() - 1);
-                                if (StringUtils.isNotEmpty(index)) {
-                                    if (value instanceof List) {
-                                        try {
-                                            value = ((List) value).get(Integer.valueOf(index));
-                                        } catch (NumberFormatException e) {
-                                            // ignore
-                                        }
-                                    } else if (value instanceof Map) {
-                                        try {
-                                            value = ((Map) value).get(index);
-                                        } catch (NumberFormatException e) {
-                                            // ignore
-                                        }
-                                    }
-                                }
-                            } else {
-                                String index = name.substring(i + 1, name.length() - 1);
-                                if (StringUtils.isNotEmpty(index)) {
-                                    String subKey = newKey + '.' + index;
-                                    value = entries.get(subKey);
-                                }
-                            }
-                        }
-                    }
-
-                    if (value != null) {
-                        value = resolvePlaceHoldersIfNecessary(value);
-                        Optional<T> converted = conversionService.convert(value, conversionContext);
-                        if (LOG.isTraceEnabled()) {
-                            if (converted.isPresent()) {
-                                LOG.trace("Resolved value [{}] for property: {}", converted.get(), name);
-                            } else {
-                                LOG.trace("Resolved value [{}] cannot be converted to type [{}] for property: {}", value, conversionContext.getArgument(), name);
-                            }
-                        }
-
-                        if (cacheableType) {
-                            resolvedValueCache.put(cacheName, converted);
-                        }
-                        return converted;
-                    } else if (cacheableType) {
-                        Optional<?> e = Optional.empty();
-                        resolvedValueCache.put(cacheName, e);
-                        return (Optional<T>) e;
-                    } else if (Properties.class.isAssignableFrom(requiredType)) {
+                    if (Properties.class.isAssignableFrom(requiredType)) {
                         Properties properties = resolveSubProperties(name, entries, conversionContext);
                         return Optional.of((T) properties);
                     } else if (Map.class.isAssignableFrom(requiredType)) {
@@ -267,7 +241,6 @@ public class PropertySourcePropertyResolver implements PropertyResolver {
                     }
                 }
             }
-
         }
         if (LOG.isTraceEnabled()) {
             LOG.trace("No value found for property: {}", name);
@@ -471,6 +444,7 @@ public class PropertySourcePropertyResolver implements PropertyResolver {
                     }
                 }
             }
+            catalogIndex = null;
         }
     }
 
@@ -607,7 +581,74 @@ public class PropertySourcePropertyResolver implements PropertyResolver {
      */
     protected void resetCaches() {
         containsCache.clear();
-        resolvedValueCache.clear();
+        synchronized (catalog) {
+            catalogIndex = null;
+        }
+    }
+
+    /**
+     * Resolves the current {@link CatalogIndex}, building a new one from the catalog if it was invalidated.
+     *
+     * @return The catalog index
+     */
+    private CatalogIndex resolveCatalogIndex() {
+        CatalogIndex index = catalogIndex;
+        if (index == null) {
+            synchronized (catalog) {
+                index = catalogIndex;
+                if (index == null) {
+                    index = new CatalogIndex(catalog);
+                    catalogIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Converts a property value. The converter is resolved once per value type and required type, unless the
+     * conversion depends on {@link Format} metadata.
+     *
+     * @param value             The value
+     * @param conversionContext The conversion context
+     * @param <T>               The required type
+     * @return The converted value
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Optional<T> convertValue(Object value, ArgumentConversionContext<T> conversionContext) {
+        if (conversionContext.getAnnotationMetadata().hasStereotype(Format.class)) {
+            return conversionService.convert(value, conversionContext);
+        }
+        Class<T> requiredType = conversionContext.getArgument().getType();
+        Map<Class<?>, ResolvedTypeConverter<Object, ?>> converters = resolvedConverters.get(requiredType);
+        if (converters == null) {
+            converters = resolvedConverters.computeIfAbsent(requiredType, type -> new ConcurrentHashMap<>(5));
+        }
+        ResolvedTypeConverter<Object, ?> converter = converters.get(value.getClass());
+        if (converter == null) {
+            converter = converters.computeIfAbsent(value.getClass(), type ->
+                    conversionService.resolveConverter((Class<Object>) type, Argument.of(requiredType)));
+        }
+        return ((ResolvedTypeConverter<Object, T>) converter).convert(value, conversionContext);
+    }
+
+    /**
+     * Whether the result of converting a property for the given context can be cached. Only immutable
+     * types whose conversion does not depend on the formatting metadata of the context qualify.
+     *
+     * @param conversionContext The conversion context
+     * @return True if it can be cached
+     */
+    private static boolean isCacheableType(ArgumentConversionContext<?> conversionContext) {
+        Class<?> type = conversionContext.getArgument().getType();
+        if (type == String.class || type == Boolean.class) {
+            return true;
+        }
+        if (type.isArray() || type == Date.class || type == TimeZone.class) {
+            return false;
+        }
+        return (type.isEnum() || ClassUtils.isJavaBasicType(type)) &&
+                !conversionContext.getAnnotationMetadata().hasStereotype(Format.class);
     }
 
     private void processSubmapKey(Map<String, Object> map, String key, Object value, StringConvention keyConvention) {
@@ -736,4 +777,76 @@ public class PropertySourcePropertyResolver implements PropertyResolver {
             }
         }
     }
+
+    /**
+     * An immutable, flattened index of all the keys in the catalog that additionally caches
+     * the results of converting the values to the types they were requested as.
+     */
+    private static final class CatalogIndex {
+        private final Map<String, Object> values;
+        private final Map<Class<?>, Map<String, Optional<?>>> conversions = new ConcurrentHashMap<>(10);
+
+        /**
+         * @param catalog The catalog to index
+         */
+        CatalogIndex(Map<String, Object>[] catalog) {
+            Map<String, Object> values = new HashMap<>(50);
+            for (Map<String, Object> entries : catalog) {
+                if (entries != null) {
+                    values.putAll(entries);
+                }
+            }
+            this.values = Collections.unmodifiableMap(values);
+        }
+
+        /**
+         * @param type The required type
+         * @return The cache of converted values for the given type
+         */
+        Map<String, Optional<?>> conversionsFor(Class<?> type) {
+            Map<String, Optional<?>> cache = conversions.get(type);
+            if (cache == null) {
+                cache = conversions.computeIfAbsent(type, t -> new ConcurrentHashMap<>(20));
+            }
+            return cache;
+        }
+
+        /**
+         * Resolves the raw value for the given property name, taking into account normalized names and indexed keys.
+         *
+         * @param name The property name
+         * @return The value or null if it is not present
+         */
+        @Nullable
+        Object resolveValue(String name) {
+            Object value = values.get(name);
+            if (value == null) {
+                value = values.get(name.replace('-', '.'));
+            }
+            if (value == null) {
+                int i = name.indexOf('[');
+                if (i > -1 && name.endsWith("]")) {
+                    String newKey = name.substring(0, i);
+                    String index = name.substring(i + 1, name.length() - 1);
+                    value = values.get(newKey);
+                    if (value != null) {
+                        if (StringUtils.isNotEmpty(index)) {
+                            if (value instanceof List) {
+                                try {
+                                    value = ((List) value).get(Integer.valueOf(index));
+                                } catch (NumberFormatException e) {
+                                    // ignore
+                                }
+                            } else if (value instanceof Map) {
+                                value = ((Map) value).get(index);
+                            }
+                        }
+                    } else if (StringUtils.isNotEmpty(index)) {
+                        value = values.get(newKey + '.' + index);
+                    }
+                }
+            }
+            return value;
+        }
+    }
 }
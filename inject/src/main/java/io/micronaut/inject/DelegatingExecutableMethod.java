@@ -76,6 +76,26 @@ public interface DelegatingExecutableMethod<T, R> extends ExecutableMethod<T, R>
         return getTarget().invoke(instance, arguments);
     }
 
+    @Override
+    default R invoke0(T instance) {
+        return getTarget().invoke0(instance);
+    }
+
+    @Override
+    default R invoke1(T instance, Object arg0) {
+        return getTarget().invoke1(instance, arg0);
+    }
+
+    @Override
+    default R invoke2(T instance, Object arg0, Object arg1) {
+        return getTarget().invoke2(instance, arg0, arg1);
+    }
+
+    @Override
+    default R invoke3(T instance, Object arg0, Object arg1, Object arg2) {
+        return getTarget().invoke3(instance, arg0, arg1, arg2);
+    }
+
     @Override
     default AnnotationMetadata getAnnotationMetadata() {
         return getTarget().getAnnotationMetadata();
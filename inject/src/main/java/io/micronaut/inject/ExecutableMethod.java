@@ -36,4 +36,60 @@ public interface ExecutableMethod<T, R> extends Executable<T, R>, MethodReferenc
     default boolean isAbstract() {
         return false;
     }
+
+    /**
+     * Invokes a method that takes no arguments. Compile time produced implementations dispatch directly to the
+     * method without allocating an argument array. Arguments passed to the fixed arity variants are expected to have
+     * already been converted to the argument types of the method; arguments of the wrong type are rejected with an
+     * {@link IllegalArgumentException} as for {@link #invoke(Object, Object...)}.
+     *
+     * @param instance The instance
+     * @return The result
+     * @since 1.3
+     */
+    default R invoke0(T instance) {
+        return invoke(instance);
+    }
+
+    /**
+     * Invokes a method that takes a single argument.
+     *
+     * @param instance The instance
+     * @param arg0     The first argument
+     * @return The result
+     * @see #invoke0(Object)
+     * @since 1.3
+     */
+    default R invoke1(T instance, Object arg0) {
+        return invoke(instance, arg0);
+    }
+
+    /**
+     * Invokes a method that takes two arguments.
+     *
+     * @param instance The instance
+     * @param arg0     The first argument
+     * @param arg1     The second argument
+     * @return The result
+     * @see #invoke0(Object)
+     * @since 1.3
+     */
+    default R invoke2(T instance, Object arg0, Object arg1) {
+        return invoke(instance, arg0, arg1);
+    }
+
+    /**
+     * Invokes a method that takes three arguments.
+     *
+     * @param instance The instance
+     * @param arg0     The first argument
+     * @param arg1     The second argument
+     * @param arg2     The third argument
+     * @return The result
+     * @see #invoke0(Object)
+     * @since 1.3
+     */
+    default R invoke3(T instance, Object arg0, Object arg1, Object arg2) {
+        return invoke(instance, arg0, arg1, arg2);
+    }
 }
@@ -33,4 +33,54 @@ public interface MethodExecutionHandle<T, R> extends ExecutionHandle<T, R>, Meth
      */
     @Nonnull
     ExecutableMethod<?, R> getExecutableMethod();
+
+    /**
+     * Invokes a method that takes no arguments without allocating an argument array.
+     *
+     * @return The result
+     * @see ExecutableMethod#invoke0(Object)
+     * @since 1.3
+     */
+    default R invoke0() {
+        return invoke();
+    }
+
+    /**
+     * Invokes a method that takes a single argument without allocating an argument array.
+     *
+     * @param arg0 The first argument
+     * @return The result
+     * @see ExecutableMethod#invoke1(Object, Object)
+     * @since 1.3
+     */
+    default R invoke1(Object arg0) {
+        return invoke(arg0);
+    }
+
+    /**
+     * Invokes a method that takes two arguments without allocating an argument array.
+     *
+     * @param arg0 The first argument
+     * @param arg1 The second argument
+     * @return The result
+     * @see ExecutableMethod#invoke2(Object, Object, Object)
+     * @since 1.3
+     */
+    default R invoke2(Object arg0, Object arg1) {
+        return invoke(arg0, arg1);
+    }
+
+    /**
+     * Invokes a method that takes three arguments without allocating an argument array.
+     *
+     * @param arg0 The first argument
+     * @param arg1 The second argument
+     * @param arg2 The third argument
+     * @return The result
+     * @see ExecutableMethod#invoke3(Object, Object, Object, Object)
+     * @since 1.3
+     */
+    default R invoke3(Object arg0, Object arg1, Object arg2) {
+        return invoke(arg0, arg1, arg2);
+    }
 }
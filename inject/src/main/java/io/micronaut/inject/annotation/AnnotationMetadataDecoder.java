@@ -0,0 +1,432 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.inject.annotation;
+
+import io.micronaut.core.annotation.AnnotationClassValue;
+import io.micronaut.core.annotation.AnnotationUtil;
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.UsedByGeneratedCode;
+import io.micronaut.core.reflect.ClassUtils;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>Decodes annotation metadata written in the compact form produced by {@link AnnotationMetadataEncoder}.</p>
+ *
+ * <p>The encoded form is a single string constant holding a table of the distinct strings and a table of the distinct
+ * annotation member maps, followed by the annotations of each section as pairs of indices into those tables. The
+ * sections are exposed as read only maps that decode the members of an annotation the first time they are
+ * requested, so annotations that are never queried are never materialized.</p>
+ *
+ * @since 1.3
+ */
+@Internal
+public final class AnnotationMetadataDecoder {
+
+    static final char VERSION = 1;
+    static final char NULL_MARKER = '\uFFFF';
+
+    static final char TAG_NULL = 'N';
+    static final char TAG_STRING = 'S';
+    static final char TAG_TRUE = 'T';
+    static final char TAG_FALSE = 'F';
+    static final char TAG_INT = 'I';
+    static final char TAG_LONG = 'J';
+    static final char TAG_DOUBLE = 'D';
+    static final char TAG_FLOAT = 'f';
+    static final char TAG_SHORT = 's';
+    static final char TAG_BYTE = 'b';
+    static final char TAG_ENUM = 'E';
+    static final char TAG_CLASS = 'C';
+    static final char TAG_ANNOTATION = 'A';
+    static final char TAG_ARRAY = '[';
+
+    private final String data;
+    private final ClassLoader classLoader;
+    private final String[] strings;
+    private final int[] bodyOffsets;
+    private final AtomicReferenceArray<Map<CharSequence, Object>> bodies;
+    private final Map<String, Map<CharSequence, Object>> declaredAnnotations;
+    private final Map<String, Map<CharSequence, Object>> declaredStereotypes;
+    private final Map<String, Map<CharSequence, Object>> allStereotypes;
+    private final Map<String, Map<CharSequence, Object>> allAnnotations;
+    private final Map<String, List<String>> annotationsByStereotype;
+    private int position;
+
+    private AnnotationMetadataDecoder(String data, ClassLoader classLoader) {
+        this.data = data;
+        this.classLoader = classLoader;
+        if (data.isEmpty() || data.charAt(0) != VERSION) {
+            throw new IllegalArgumentException("Unsupported annotation metadata encoding version");
+        }
+        this.position = 1;
+        int stringCount = next();
+        this.strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            int length = next();
+            strings[i] = data.substring(position, position + length).intern();
+            position += length;
+        }
+        int bodyCount = next();
+        this.bodyOffsets = new int[bodyCount];
+        this.bodies = new AtomicReferenceArray<>(bodyCount);
+        for (int i = 0; i < bodyCount; i++) {
+            int length = next();
+            bodyOffsets[i] = position;
+            position += length;
+        }
+        this.declaredAnnotations = readSection();
+        this.declaredStereotypes = readSection();
+        this.allStereotypes = readSection();
+        this.allAnnotations = readSection();
+        this.annotationsByStereotype = readAnnotationsByStereotype();
+    }
+
+    /**
+     * Creates a decoder for the given encoded metadata.
+     *
+     * @param data  The encoded metadata
+     * @param owner The class that declares the metadata, used to load the classes referenced by annotation values
+     * @return The decoder
+     */
+    @UsedByGeneratedCode
+    public static AnnotationMetadataDecoder of(String data, Class<?> owner) {
+        ClassLoader classLoader = owner != null ? owner.getClassLoader() : null;
+        if (classLoader == null) {
+            classLoader = AnnotationMetadataDecoder.class.getClassLoader();
+        }
+        return new AnnotationMetadataDecoder(data, classLoader);
+    }
+
+    /**
+     * @return The declared annotations
+     */
+    public @Nullable Map<String, Map<CharSequence, Object>> getDeclaredAnnotations() {
+        return declaredAnnotations;
+    }
+
+    /**
+     * @return The declared stereotypes
+     */
+    public @Nullable Map<String, Map<CharSequence, Object>> getDeclaredStereotypes() {
+        return declaredStereotypes;
+    }
+
+    /**
+     * @return All of the stereotypes
+     */
+    public @Nullable Map<String, Map<CharSequence, Object>> getAllStereotypes() {
+        return allStereotypes;
+    }
+
+    /**
+     * @return All of the annotations
+     */
+    public @Nullable Map<String, Map<CharSequence, Object>> getAllAnnotations() {
+        return allAnnotations;
+    }
+
+    /**
+     * @return The annotations by stereotype
+     */
+    public @Nullable Map<String, List<String>> getAnnotationsByStereotype() {
+        return annotationsByStereotype;
+    }
+
+    private char next() {
+        return data.charAt(position++);
+    }
+
+    private Map<String, Map<CharSequence, Object>> readSection() {
+        char count = next();
+        if (count == NULL_MARKER) {
+            return null;
+        }
+        String[] keys = new String[count];
+        int[] bodyIndices = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = strings[next()];
+            bodyIndices[i] = next();
+        }
+        return new AnnotationSectionMap(keys, bodyIndices);
+    }
+
+    private Map<String, List<String>> readAnnotationsByStereotype() {
+        char count = next();
+        if (count == NULL_MARKER) {
+            return null;
+        }
+        Map<String, List<String>> result = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String stereotype = strings[next()];
+            int size = next();
+            if (size == 0) {
+                result.put(stereotype, null);
+            } else {
+                Object[] names = new Object[size];
+                for (int j = 0; j < size; j++) {
+                    names[j] = strings[next()];
+                }
+                result.put(stereotype, AnnotationUtil.internListOf(names));
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private Map<CharSequence, Object> body(int index) {
+        Map<CharSequence, Object> body = bodies.get(index);
+        if (body == null) {
+            body = AnnotationMetadataPool.internMembers(new Reader(bodyOffsets[index]).readBody());
+            if (!bodies.compareAndSet(index, null, body)) {
+                body = bodies.get(index);
+            }
+        }
+        return body;
+    }
+
+    /**
+     * Reads values starting at a given offset. Each body is decoded by its own reader so that lazily decoding
+     * members from several threads does not share a cursor.
+     */
+    private final class Reader {
+        private int offset;
+
+        Reader(int offset) {
+            this.offset = offset;
+        }
+
+        private char next() {
+            return data.charAt(offset++);
+        }
+
+        private int nextInt() {
+            return (next() << 16) | next();
+        }
+
+        private long nextLong() {
+            return ((long) nextInt() << 32) | (nextInt() & 0xFFFFFFFFL);
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<CharSequence, Object> readBody() {
+            int memberCount = next();
+            if (memberCount == 0) {
+                return Collections.emptyMap();
+            }
+            Object[] values = new Object[memberCount * 2];
+            for (int i = 0; i < memberCount; i++) {
+                values[i * 2] = strings[next()];
+                values[i * 2 + 1] = readValue();
+            }
+            return (Map) AnnotationUtil.internMapOf(values);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object readValue() {
+            char tag = next();
+            switch (tag) {
+                case TAG_NULL:
+                    return null;
+                case TAG_STRING:
+                    return strings[next()];
+                case TAG_TRUE:
+                    return Boolean.TRUE;
+                case TAG_FALSE:
+                    return Boolean.FALSE;
+                case TAG_INT:
+                    return nextInt();
+                case TAG_LONG:
+                    return nextLong();
+                case TAG_DOUBLE:
+                    return Double.longBitsToDouble(nextLong());
+                case TAG_FLOAT:
+                    return Float.intBitsToFloat(nextInt());
+                case TAG_SHORT:
+                    return (short) next();
+                case TAG_BYTE:
+                    return (byte) next();
+                case TAG_ENUM:
+                    return readEnum();
+                case TAG_CLASS:
+                    return readClassValue();
+                case TAG_ANNOTATION:
+                    String annotationName = strings[next()];
+                    Map<CharSequence, Object> values = readBody();
+                    if (values.isEmpty()) {
+                        return new AnnotationValue(annotationName);
+                    }
+                    return new AnnotationValue(annotationName, values);
+                case TAG_ARRAY:
+                    return readArray();
+                default:
+                    throw new IllegalStateException("Invalid annotation metadata value tag: " + tag);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object readEnum() {
+            String enumType = strings[next()];
+            String name = strings[next()];
+            Optional<Class> type = ClassUtils.forName(enumType, classLoader);
+            if (type.isPresent() && type.get().isEnum()) {
+                try {
+                    return Enum.valueOf(type.get(), name);
+                } catch (IllegalArgumentException e) {
+                    // fall through to the name
+                }
+            }
+            return name;
+        }
+
+        private AnnotationClassValue<?> readClassValue() {
+            String name = strings[next()];
+            Optional<Class> type = ClassUtils.forName(name, classLoader);
+            if (type.isPresent()) {
+                return new AnnotationClassValue<>(type.get());
+            }
+            return new AnnotationClassValue<>(name);
+        }
+
+        private Object readArray() {
+            String componentTypeName = strings[next()];
+            int length = next();
+            Class<?> componentType = ClassUtils.forName(componentTypeName, classLoader).orElse(Object.class);
+            Object array = Array.newInstance(componentType, length);
+            for (int i = 0; i < length; i++) {
+                Object value = readValue();
+                if (value != null && !componentType.isInstance(value)) {
+                    // the component type could not be loaded in the same form, widen the array
+                    Object[] widened = new Object[length];
+                    System.arraycopy(array, 0, widened, 0, i);
+                    array = widened;
+                    componentType = Object.class;
+                }
+                Array.set(array, i, value);
+            }
+            return array;
+        }
+    }
+
+    /**
+     * A read only view of a section of the metadata. Lookups are a linear scan over the annotation names, which is
+     * faster than hashing for the handful of annotations typically present, and the members are decoded on first
+     * access and shared by every section that contains the annotation.
+     */
+    private final class AnnotationSectionMap extends AbstractMap<String, Map<CharSequence, Object>> {
+        private final String[] keys;
+        private final int[] hashes;
+        private final int[] bodyIndices;
+
+        AnnotationSectionMap(String[] keys, int[] bodyIndices) {
+            this.keys = keys;
+            this.bodyIndices = bodyIndices;
+            this.hashes = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                hashes[i] = keys[i].hashCode();
+            }
+        }
+
+        private int indexOf(Object key) {
+            if (key == null) {
+                return -1;
+            }
+            int hash = key.hashCode();
+            for (int i = 0; i < keys.length; i++) {
+                String k = keys[i];
+                if (k == key || (hashes[i] == hash && k.equals(key))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return keys.length == 0;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) > -1;
+        }
+
+        @Override
+        public Map<CharSequence, Object> get(Object key) {
+            int i = indexOf(key);
+            return i > -1 ? body(bodyIndices[i]) : null;
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return new AbstractSet<String>() {
+                @Override
+                public Iterator<String> iterator() {
+                    return Arrays.asList(keys).iterator();
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    return indexOf(o) > -1;
+                }
+            };
+        }
+
+        @Override
+        public Set<Entry<String, Map<CharSequence, Object>>> entrySet() {
+            return new AbstractSet<Entry<String, Map<CharSequence, Object>>>() {
+                @Override
+                public Iterator<Entry<String, Map<CharSequence, Object>>> iterator() {
+                    return new Iterator<Entry<String, Map<CharSequence, Object>>>() {
+                        int i = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return i < keys.length;
+                        }
+
+                        @Override
+                        public Entry<String, Map<CharSequence, Object>> next() {
+                            if (i >= keys.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int current = i++;
+                            return new SimpleImmutableEntry<>(keys[current], body(bodyIndices[current]));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.inject.annotation;
+
+import io.micronaut.core.annotation.AnnotationClassValue;
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.reflect.ReflectionUtils;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Array;
+import java.util.*;
+
+import static io.micronaut.inject.annotation.AnnotationMetadataDecoder.*;
+
+/**
+ * <p>Encodes {@link DefaultAnnotationMetadata} into the compact string form read by {@link AnnotationMetadataDecoder}.</p>
+ *
+ * <p>Annotation and member names are written once to a string table and member maps that are shared by several
+ * annotations or sections are written once to a body table, so the generated class carries a single string constant
+ * instead of the bytecode that builds every map and array of the metadata.</p>
+ *
+ * @since 1.3
+ */
+@Internal
+public final class AnnotationMetadataEncoder {
+
+    private static final int MAX_CONSTANT_BYTES = 65535;
+
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    private final Map<String, Integer> bodies = new LinkedHashMap<>();
+
+    private AnnotationMetadataEncoder() {
+    }
+
+    /**
+     * Encodes the given metadata.
+     *
+     * @param annotationMetadata The metadata
+     * @return The encoded metadata or null if the metadata contains values that cannot be encoded or the result
+     * does not fit in a class file constant
+     */
+    public static @Nullable String encode(DefaultAnnotationMetadata annotationMetadata) {
+        return new AnnotationMetadataEncoder().encodeInternal(annotationMetadata);
+    }
+
+    private String encodeInternal(DefaultAnnotationMetadata annotationMetadata) {
+        StringBuilder sections = new StringBuilder();
+        if (!writeSection(sections, annotationMetadata.declaredAnnotations) ||
+                !writeSection(sections, annotationMetadata.declaredStereotypes) ||
+                !writeSection(sections, annotationMetadata.allStereotypes) ||
+                !writeSection(sections, annotationMetadata.allAnnotations) ||
+                !writeAnnotationsByStereotype(sections, annotationMetadata.annotationsByStereotype)) {
+            return null;
+        }
+        if (strings.size() >= NULL_MARKER || bodies.size() >= NULL_MARKER) {
+            return null;
+        }
+
+        StringBuilder result = new StringBuilder();
+        result.append(VERSION);
+        result.append((char) strings.size());
+        for (String string : strings.keySet()) {
+            if (string.length() >= NULL_MARKER) {
+                return null;
+            }
+            result.append((char) string.length()).append(string);
+        }
+        result.append((char) bodies.size());
+        for (String body : bodies.keySet()) {
+            result.append((char) body.length()).append(body);
+        }
+        result.append(sections);
+        String encoded = result.toString();
+        return modifiedUtf8Length(encoded) <= MAX_CONSTANT_BYTES ? encoded : null;
+    }
+
+    private boolean writeSection(StringBuilder out, Map<String, Map<CharSequence, Object>> section) {
+        if (section == null || section.isEmpty()) {
+            out.append(NULL_MARKER);
+            return true;
+        }
+        if (section.size() >= NULL_MARKER) {
+            return false;
+        }
+        out.append((char) section.size());
+        for (Map.Entry<String, Map<CharSequence, Object>> entry : section.entrySet()) {
+            StringBuilder body = new StringBuilder();
+            if (!writeBody(body, entry.getValue()) || body.length() >= NULL_MARKER) {
+                return false;
+            }
+            Integer bodyIndex = bodies.computeIfAbsent(body.toString(), b -> bodies.size());
+            out.append(string(entry.getKey())).append((char) bodyIndex.intValue());
+        }
+        return true;
+    }
+
+    private boolean writeAnnotationsByStereotype(StringBuilder out, Map<String, List<String>> annotationsByStereotype) {
+        if (annotationsByStereotype == null || annotationsByStereotype.isEmpty()) {
+            out.append(NULL_MARKER);
+            return true;
+        }
+        if (annotationsByStereotype.size() >= NULL_MARKER) {
+            return false;
+        }
+        out.append((char) annotationsByStereotype.size());
+        for (Map.Entry<String, List<String>> entry : annotationsByStereotype.entrySet()) {
+            List<String> names = entry.getValue();
+            int size = names == null ? 0 : names.size();
+            if (size >= NULL_MARKER) {
+                return false;
+            }
+            out.append(string(entry.getKey())).append((char) size);
+            for (int i = 0; i < size; i++) {
+                out.append(string(names.get(i)));
+            }
+        }
+        return true;
+    }
+
+    private boolean writeBody(StringBuilder out, Map<? extends CharSequence, Object> values) {
+        int size = values == null ? 0 : values.size();
+        if (size >= NULL_MARKER) {
+            return false;
+        }
+        out.append((char) size);
+        if (size > 0) {
+            for (Map.Entry<? extends CharSequence, Object> entry : values.entrySet()) {
+                out.append(string(entry.getKey().toString()));
+                if (!writeValue(out, entry.getValue())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean writeValue(StringBuilder out, Object value) {
+        if (value == null) {
+            out.append(TAG_NULL);
+        } else if (value instanceof Boolean) {
+            out.append((Boolean) value ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof String) {
+            out.append(TAG_STRING).append(string((String) value));
+        } else if (value instanceof AnnotationClassValue) {
+            AnnotationClassValue<?> acv = (AnnotationClassValue<?>) value;
+            if (acv.isInstantiated()) {
+                // requires generated instantiation code
+                return false;
+            }
+            out.append(TAG_CLASS).append(string(acv.getName()));
+        } else if (value instanceof Enum) {
+            Enum<?> enumObject = (Enum<?>) value;
+            out.append(TAG_ENUM)
+                    .append(string(enumObject.getDeclaringClass().getName()))
+                    .append(string(enumObject.name()));
+        } else if (value.getClass().isArray()) {
+            Class<?> componentType = ReflectionUtils.getWrapperType(value.getClass().getComponentType());
+            int length = Array.getLength(value);
+            if (!writeArrayHeader(out, componentType, length)) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (!writeValue(out, Array.get(value, i))) {
+                    return false;
+                }
+            }
+        } else if (value instanceof Collection) {
+            Object[] array = ((Collection) value).toArray();
+            Object first = array.length > 0 ? array[0] : null;
+            if (!writeArrayHeader(out, first == null ? Object.class : first.getClass(), array.length)) {
+                return false;
+            }
+            for (Object v : array) {
+                if (!writeValue(out, v)) {
+                    return false;
+                }
+            }
+        } else if (value instanceof Integer) {
+            writeInt(out.append(TAG_INT), (Integer) value);
+        } else if (value instanceof Long) {
+            writeLong(out.append(TAG_LONG), (Long) value);
+        } else if (value instanceof Double) {
+            writeLong(out.append(TAG_DOUBLE), Double.doubleToRawLongBits((Double) value));
+        } else if (value instanceof Float) {
+            writeInt(out.append(TAG_FLOAT), Float.floatToRawIntBits((Float) value));
+        } else if (value instanceof Short) {
+            out.append(TAG_SHORT).append((char) ((Short) value).shortValue());
+        } else if (value instanceof Byte) {
+            out.append(TAG_BYTE).append((char) ((Byte) value).byteValue());
+        } else if (value instanceof AnnotationValue) {
+            AnnotationValue<?> annotationValue = (AnnotationValue<?>) value;
+            out.append(TAG_ANNOTATION).append(string(annotationValue.getAnnotationName()));
+            return writeBody(out, annotationValue.getValues());
+        } else {
+            // only the above types can be written to generated metadata
+            return false;
+        }
+        return true;
+    }
+
+    private boolean writeArrayHeader(StringBuilder out, Class<?> componentType, int length) {
+        if (length >= NULL_MARKER) {
+            return false;
+        }
+        out.append(TAG_ARRAY).append(string(componentType.getName())).append((char) length);
+        return true;
+    }
+
+    private char string(String value) {
+        return (char) strings.computeIfAbsent(value, s -> strings.size()).intValue();
+    }
+
+    private static void writeInt(StringBuilder out, int value) {
+        out.append((char) (value >>> 16)).append((char) value);
+    }
+
+    private static void writeLong(StringBuilder out, long value) {
+        writeInt(out, (int) (value >>> 32));
+        writeInt(out, (int) value);
+    }
+
+    private static int modifiedUtf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                length++;
+            } else if (c <= 0x07FF) {
+                length += 2;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.inject.annotation;
+
+import io.micronaut.core.annotation.AnnotationUtil;
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.UsedByGeneratedCode;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>A pool that canonicalizes the maps and {@link AnnotationValue} instances of the annotation metadata loaded from
+ * generated classes.</p>
+ *
+ * <p>Many beans and executable methods declare the same annotations with the same members, yet every generated class
+ * builds its own copy of the metadata. Generated code passes each section of the metadata through this pool so that
+ * equal member maps, equal sections and equal annotation values are shared across all classes.</p>
+ *
+ * <p>The pool only holds weak references, so metadata of classes that are no longer reachable (for example classes
+ * of a discarded class loader) can be collected. Lookups do not lock, so classes loaded concurrently at startup do not
+ * wait on each other.</p>
+ *
+ * <p>Pooled maps and the values they hold, including {@link AnnotationValue} arrays, are shared by every class that
+ * declares equal metadata. They must be treated as read only: mutating an array obtained from pooled members would
+ * change the metadata of unrelated classes.</p>
+ *
+ * @since 1.3
+ */
+@Internal
+public final class AnnotationMetadataPool {
+
+    private static final WeakInterner MEMBERS = new WeakInterner();
+    private static final WeakInterner ANNOTATIONS = new WeakInterner();
+    private static final WeakInterner ANNOTATION_VALUES = new WeakInterner();
+    private static final WeakInterner ANNOTATIONS_BY_STEREOTYPE = new WeakInterner();
+
+    private AnnotationMetadataPool() {
+    }
+
+    /**
+     * Canonicalizes the given annotations and the member maps they contain.
+     *
+     * @param annotations The annotations keyed by annotation name
+     * @return The canonical annotations or null if the given map was null
+     */
+    @UsedByGeneratedCode
+    public static @Nullable Map<String, Map<CharSequence, Object>> internAnnotations(@Nullable Map<String, Map<CharSequence, Object>> annotations) {
+        if (annotations == null || annotations.isEmpty()) {
+            return annotations;
+        }
+        Map<String, Map<CharSequence, Object>> candidate;
+        if (annotations.size() == 1) {
+            Map.Entry<String, Map<CharSequence, Object>> entry = annotations.entrySet().iterator().next();
+            candidate = Collections.singletonMap(entry.getKey(), internMembers(entry.getValue()));
+        } else {
+            candidate = new HashMap<>((int) (annotations.size() / 0.75f) + 1);
+            for (Map.Entry<String, Map<CharSequence, Object>> entry : annotations.entrySet()) {
+                candidate.put(entry.getKey(), internMembers(entry.getValue()));
+            }
+        }
+        return ANNOTATIONS.intern(candidate);
+    }
+
+    /**
+     * Canonicalizes the given annotation names by stereotype.
+     *
+     * @param annotationsByStereotype The annotation names keyed by stereotype
+     * @return The canonical map or null if the given map was null
+     */
+    @UsedByGeneratedCode
+    public static @Nullable Map<String, List<String>> internAnnotationsByStereotype(@Nullable Map<String, List<String>> annotationsByStereotype) {
+        if (annotationsByStereotype == null || annotationsByStereotype.isEmpty()) {
+            return annotationsByStereotype;
+        }
+        return ANNOTATIONS_BY_STEREOTYPE.intern(annotationsByStereotype);
+    }
+
+    /**
+     * Canonicalizes the members of an annotation. Nested {@link AnnotationValue} instances are canonicalized as well.
+     *
+     * @param members The members
+     * @return The canonical members
+     */
+    static Map<CharSequence, Object> internMembers(@Nullable Map<CharSequence, Object> members) {
+        if (members == null || members.isEmpty() || members instanceof CanonicalMembers) {
+            return members;
+        }
+        Map<CharSequence, Object> canonicalMembers = members;
+        for (Map.Entry<CharSequence, Object> entry : members.entrySet()) {
+            Object value = entry.getValue();
+            Object canonical = value;
+            if (value instanceof AnnotationValue) {
+                canonical = internAnnotationValue((AnnotationValue<?>) value);
+            } else if (value instanceof AnnotationValue[]) {
+                AnnotationValue[] values = (AnnotationValue[]) value;
+                for (int i = 0; i < values.length; i++) {
+                    AnnotationValue<?> v = internAnnotationValue(values[i]);
+                    if (v != values[i]) {
+                        if (canonical == value) {
+                            canonical = values.clone();
+                        }
+                        ((AnnotationValue[]) canonical)[i] = v;
+                    }
+                }
+            }
+            if (canonical != value) {
+                if (canonicalMembers == members) {
+                    canonicalMembers = new LinkedHashMap<>(members);
+                }
+                canonicalMembers.put(entry.getKey(), canonical);
+            }
+        }
+        return MEMBERS.intern(new CanonicalMembers(canonicalMembers));
+    }
+
+    /**
+     * Canonicalizes the given annotation value. Only values created by generated code, which never carry default
+     * values, may be passed since default values do not take part in equality.
+     *
+     * @param annotationValue The annotation value
+     * @param <T> The annotation type
+     * @return The canonical annotation value
+     */
+    private static <T extends Annotation> AnnotationValue<T> internAnnotationValue(@Nullable AnnotationValue<T> annotationValue) {
+        if (annotationValue == null || annotationValue.getClass() != AnnotationValue.class) {
+            // subclasses such as environment aware values are bound to their context
+            return annotationValue;
+        }
+        return ANNOTATION_VALUES.intern(annotationValue);
+    }
+
+    /**
+     * A concurrent set of weakly referenced canonical instances.
+     */
+    private static final class WeakInterner {
+        private final Map<WeakKey, WeakKey> entries = new ConcurrentHashMap<>();
+        private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+        /**
+         * @param candidate The candidate instance
+         * @param <T> The type
+         * @return The canonical instance equal to the candidate, which is the candidate itself if there was none
+         */
+        @SuppressWarnings("unchecked")
+        <T> T intern(T candidate) {
+            expungeStaleEntries();
+            WeakKey key = new WeakKey(candidate, queue);
+            while (true) {
+                WeakKey existing = entries.putIfAbsent(key, key);
+                if (existing == null) {
+                    return candidate;
+                }
+                Object value = existing.get();
+                if (value != null) {
+                    return (T) value;
+                }
+                // collected after it was matched, replace it
+                entries.remove(existing, existing);
+            }
+        }
+
+        private void expungeStaleEntries() {
+            Reference<?> reference;
+            while ((reference = queue.poll()) != null) {
+                entries.remove(reference);
+            }
+        }
+    }
+
+    /**
+     * A weak reference that compares equal to references of equal instances. A cleared reference is only equal to
+     * itself, so that it can still be removed from the pool.
+     */
+    private static final class WeakKey extends WeakReference<Object> {
+        private final int hashCode;
+
+        WeakKey(Object referent, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.hashCode = referent.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof WeakKey) || hashCode != o.hashCode()) {
+                return false;
+            }
+            Object value = get();
+            return value != null && value.equals(((WeakKey) o).get());
+        }
+    }
+
+    /**
+     * A read only view of annotation members whose equality compares array values by content, so that members
+     * holding equal arrays are considered equal.
+     */
+    private static final class CanonicalMembers extends AbstractMap<CharSequence, Object> {
+        private final Map<CharSequence, Object> members;
+        private final int hashCode;
+
+        CanonicalMembers(Map<CharSequence, Object> members) {
+            this.members = members;
+            int hash = 0;
+            for (Map.Entry<CharSequence, Object> entry : members.entrySet()) {
+                Object value = entry.getValue();
+                hash += entry.getKey().hashCode() ^ (value == null ? 0 : valueHashCode(value));
+            }
+            this.hashCode = hash;
+        }
+
+        @Override
+        public int size() {
+            return members.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return members.isEmpty();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return members.containsKey(key);
+        }
+
+        @Override
+        public Object get(Object key) {
+            return members.get(key);
+        }
+
+        @Override
+        public Set<CharSequence> keySet() {
+            return Collections.unmodifiableSet(members.keySet());
+        }
+
+        @Override
+        public Collection<Object> values() {
+            return Collections.unmodifiableCollection(members.values());
+        }
+
+        @Override
+        public Set<Entry<CharSequence, Object>> entrySet() {
+            return Collections.unmodifiableMap(members).entrySet();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof CanonicalMembers)) {
+                return super.equals(o);
+            }
+            CanonicalMembers other = (CanonicalMembers) o;
+            if (hashCode != other.hashCode || members.size() != other.members.size()) {
+                return false;
+            }
+            for (Map.Entry<CharSequence, Object> entry : members.entrySet()) {
+                CharSequence key = entry.getKey();
+                Object value = entry.getValue();
+                Object otherValue = other.members.get(key);
+                if (value == null) {
+                    if (otherValue != null || !other.members.containsKey(key)) {
+                        return false;
+                    }
+                } else if (otherValue == null || value.getClass() != otherValue.getClass() || !AnnotationUtil.areEqual(value, otherValue)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int valueHashCode(Object value) {
+            return value.getClass().isArray() ? Arrays.deepHashCode(new Object[] {value}) : value.hashCode();
+        }
+    }
+}
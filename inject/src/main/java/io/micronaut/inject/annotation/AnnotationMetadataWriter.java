@@ -42,6 +42,18 @@ import java.util.*;
 @Internal
 public class AnnotationMetadataWriter extends AbstractClassFileWriter {
 
+    /**
+     * Annotation processor option that when set to {@code true} (for example {@code -Amicronaut.annotation.metadata.compact=true})
+     * writes annotation metadata as a single compact string constant decoded lazily at runtime by
+     * {@link AnnotationMetadataDecoder} instead of bytecode that builds every map of the metadata. Metadata that cannot
+     * be encoded falls back to the default form.
+     *
+     * @since 1.3
+     */
+    public static final String COMPACT_METADATA_OPTION = "micronaut.annotation.metadata.compact";
+
+    private static final ThreadLocal<Boolean> COMPACT_METADATA = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
     private static final Type TYPE_DEFAULT_ANNOTATION_METADATA = Type.getType(DefaultAnnotationMetadata.class);
     private static final Type TYPE_ANNOTATION_CLASS_VALUE = Type.getType(AnnotationClassValue.class);
     private static final org.objectweb.asm.commons.Method METHOD_MAP_OF = org.objectweb.asm.commons.Method.getMethod(
@@ -96,6 +108,40 @@ public class AnnotationMetadataWriter extends AbstractClassFileWriter {
             )
     );
 
+    private static final org.objectweb.asm.commons.Method CONSTRUCTOR_ANNOTATION_METADATA_DECODER = org.objectweb.asm.commons.Method.getMethod(
+            ReflectionUtils.getRequiredInternalConstructor(
+                    DefaultAnnotationMetadata.class,
+                    AnnotationMetadataDecoder.class
+            )
+    );
+
+    private static final org.objectweb.asm.commons.Method METHOD_DECODE_METADATA = org.objectweb.asm.commons.Method.getMethod(
+            ReflectionUtils.getRequiredInternalMethod(
+                    AnnotationMetadataDecoder.class,
+                    "of",
+                    String.class,
+                    Class.class
+            )
+    );
+
+    private static final Type TYPE_ANNOTATION_METADATA_POOL = Type.getType(AnnotationMetadataPool.class);
+
+    private static final org.objectweb.asm.commons.Method METHOD_INTERN_ANNOTATIONS = org.objectweb.asm.commons.Method.getMethod(
+            ReflectionUtils.getRequiredInternalMethod(
+                    AnnotationMetadataPool.class,
+                    "internAnnotations",
+                    Map.class
+            )
+    );
+
+    private static final org.objectweb.asm.commons.Method METHOD_INTERN_ANNOTATIONS_BY_STEREOTYPE = org.objectweb.asm.commons.Method.getMethod(
+            ReflectionUtils.getRequiredInternalMethod(
+                    AnnotationMetadataPool.class,
+                    "internAnnotationsByStereotype",
+                    Map.class
+            )
+    );
+
     private static final org.objectweb.asm.commons.Method CONSTRUCTOR_ANNOTATION_VALUE = org.objectweb.asm.commons.Method.getMethod(
             ReflectionUtils.getRequiredInternalConstructor(
                     io.micronaut.core.annotation.AnnotationValue.class,
@@ -203,6 +249,17 @@ public class AnnotationMetadataWriter extends AbstractClassFileWriter {
         }
     }
 
+    /**
+     * Sets whether the annotation metadata written by the current thread uses the compact form. The annotation
+     * processors call this with the value of the {@link #COMPACT_METADATA_OPTION} option before writing any class.
+     *
+     * @param compact True if the metadata should be written in the compact form
+     * @since 1.3
+     */
+    public static void setCompactMetadata(boolean compact) {
+        COMPACT_METADATA.set(compact);
+    }
+
     /**
      * Writes out the byte code necessary to instantiate the given {@link DefaultAnnotationMetadata}.
      *
@@ -309,16 +366,29 @@ public class AnnotationMetadataWriter extends AbstractClassFileWriter {
         } else {
             generatorAdapter.loadThis();
         }
+        String encoded = COMPACT_METADATA.get() ? AnnotationMetadataEncoder.encode(annotationMetadata) : null;
+        if (encoded != null) {
+            generatorAdapter.push(encoded);
+            generatorAdapter.push(owningType);
+            generatorAdapter.invokeStatic(Type.getType(AnnotationMetadataDecoder.class), METHOD_DECODE_METADATA);
+            generatorAdapter.invokeConstructor(TYPE_DEFAULT_ANNOTATION_METADATA, CONSTRUCTOR_ANNOTATION_METADATA_DECODER);
+            return;
+        }
         // 1st argument: the declared annotations
         pushCreateAnnotationData(owningType, declaringClassWriter, generatorAdapter, annotationMetadata.declaredAnnotations, loadTypeMethods);
+        generatorAdapter.invokeStatic(TYPE_ANNOTATION_METADATA_POOL, METHOD_INTERN_ANNOTATIONS);
         // 2nd argument: the declared stereotypes
         pushCreateAnnotationData(owningType, declaringClassWriter, generatorAdapter, annotationMetadata.declaredStereotypes, loadTypeMethods);
+        generatorAdapter.invokeStatic(TYPE_ANNOTATION_METADATA_POOL, METHOD_INTERN_ANNOTATIONS);
         // 3rd argument: all stereotypes
         pushCreateAnnotationData(owningType, declaringClassWriter, generatorAdapter, annotationMetadata.allStereotypes, loadTypeMethods);
+        generatorAdapter.invokeStatic(TYPE_ANNOTATION_METADATA_POOL, METHOD_INTERN_ANNOTATIONS);
         // 4th argument: all annotations
         pushCreateAnnotationData(owningType, declaringClassWriter, generatorAdapter, annotationMetadata.allAnnotations, loadTypeMethods);
+        generatorAdapter.invokeStatic(TYPE_ANNOTATION_METADATA_POOL, METHOD_INTERN_ANNOTATIONS);
         // 5th argument: annotations by stereotype
         pushCreateAnnotationsByStereotypeData(generatorAdapter, annotationMetadata.annotationsByStereotype);
+        generatorAdapter.invokeStatic(TYPE_ANNOTATION_METADATA_POOL, METHOD_INTERN_ANNOTATIONS_BY_STEREOTYPE);
 
         // invoke the constructor
         generatorAdapter.invokeConstructor(TYPE_DEFAULT_ANNOTATION_METADATA, CONSTRUCTOR_ANNOTATION_METADATA);
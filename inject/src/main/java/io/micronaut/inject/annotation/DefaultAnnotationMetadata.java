@@ -134,6 +134,24 @@ public class DefaultAnnotationMetadata extends AbstractAnnotationMetadata implem
         }
     }
 
+    /**
+     * This constructor is designed to be used by compile time produced subclasses that write the metadata in the
+     * compact form read by {@link AnnotationMetadataDecoder}.
+     *
+     * @param decoder The decoder of the metadata
+     */
+    @Internal
+    @UsedByGeneratedCode
+    public DefaultAnnotationMetadata(AnnotationMetadataDecoder decoder) {
+        this(
+                decoder.getDeclaredAnnotations(),
+                decoder.getDeclaredStereotypes(),
+                decoder.getAllStereotypes(),
+                decoder.getAllAnnotations(),
+                decoder.getAnnotationsByStereotype()
+        );
+    }
+
     @Nonnull
     @Override
     public Map<String, Object> getDefaultValues(@Nonnull String annotation) {
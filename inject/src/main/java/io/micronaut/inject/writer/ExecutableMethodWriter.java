@@ -25,6 +25,7 @@ import io.micronaut.inject.annotation.AnnotationMetadataReference;
 import io.micronaut.inject.annotation.AnnotationMetadataWriter;
 import io.micronaut.inject.annotation.DefaultAnnotationMetadata;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
@@ -50,11 +51,19 @@ public class ExecutableMethodWriter extends AbstractAnnotationMetadataWriter imp
      */
     public static final String FIELD_PARENT = "$parent";
 
+    /**
+     * The maximum number of arguments for which a fixed arity invoke method (such as
+     * {@link ExecutableMethod#invoke1(Object, Object)}) is generated.
+     */
+    public static final int MAX_FIXED_ARITY = 3;
+
     protected static final org.objectweb.asm.commons.Method METHOD_INVOKE_INTERNAL = org.objectweb.asm.commons.Method.getMethod(
         ReflectionUtils.getRequiredInternalMethod(AbstractExecutableMethod.class, "invokeInternal", Object.class, Object[].class));
     protected static final org.objectweb.asm.commons.Method METHOD_IS_ABSTRACT = org.objectweb.asm.commons.Method.getMethod(
             ReflectionUtils.getRequiredInternalMethod(ExecutableMethod.class, "isAbstract"));
     protected static final Method METHOD_GET_TARGET = Method.getMethod("java.lang.reflect.Method resolveTargetMethod()");
+    private static final Method METHOD_INVOKE = Method.getMethod(
+            ReflectionUtils.getRequiredInternalMethod(AbstractExecutableMethod.class, "invoke", Object.class, Object[].class));
     private  static final Type TYPE_REFLECTION_UTILS = Type.getType(ReflectionUtils.class);
     private static final org.objectweb.asm.commons.Method METHOD_GET_REQUIRED_METHOD = org.objectweb.asm.commons.Method.getMethod(
             ReflectionUtils.getRequiredInternalMethod(ReflectionUtils.class, "getRequiredMethod", Class.class, String.class, Class[].class));
@@ -70,6 +79,7 @@ public class ExecutableMethodWriter extends AbstractAnnotationMetadataWriter imp
     private final boolean isAbstract;
     private String outerClassName = null;
     private boolean isStatic = false;
+    private boolean fixedArityInvoke = false;
     private final Map<String, GeneratorAdapter> loadTypeMethods = new HashMap<>();
 
     /**
@@ -315,6 +325,32 @@ public class ExecutableMethodWriter extends AbstractAnnotationMetadataWriter imp
 
         buildInvokeMethod(declaringTypeObject, methodName, returnType, argumentTypeClasses, invokeMethod);
 
+        // invoke the method with the arguments passed individually, avoiding the argument array
+        int argCount = argumentTypeClasses.size();
+        if (argCount <= MAX_FIXED_ARITY) {
+            Type[] fixedArityArguments = new Type[argCount + 1];
+            Arrays.fill(fixedArityArguments, TYPE_OBJECT);
+            String fixedArityName = "invoke" + argCount;
+            String fixedArityDescriptor = Type.getMethodDescriptor(TYPE_OBJECT, fixedArityArguments);
+            GeneratorAdapter fixedArityMethod = new GeneratorAdapter(classWriter.visitMethod(
+                    ACC_PUBLIC | ACC_FINAL,
+                    fixedArityName,
+                    fixedArityDescriptor,
+                    null,
+                    null),
+                    ACC_PUBLIC,
+                    fixedArityName,
+                    fixedArityDescriptor
+            );
+            pushFixedArityArgumentCheck(fixedArityMethod, argumentTypeClasses);
+            fixedArityInvoke = true;
+            try {
+                buildInvokeMethod(declaringTypeObject, methodName, returnType, argumentTypeClasses, fixedArityMethod);
+            } finally {
+                fixedArityInvoke = false;
+            }
+        }
+
         buildResolveTargetMethod(methodName, declaringTypeObject, hasArgs, argumentTypeClasses);
 
         for (GeneratorAdapter method : loadTypeMethods.values()) {
@@ -350,6 +386,70 @@ public class ExecutableMethodWriter extends AbstractAnnotationMetadataWriter imp
     }
 
     /**
+     * Checks the arguments passed to a fixed arity invoke method against the argument types. Arguments of the wrong
+     * type are handed to {@link AbstractExecutableMethod#invoke(Object, Object...)}, which validates them and fails
+     * the same way as a call with an argument array.
+     *
+     * @param fixedArityMethod The fixed arity invoke method
+     * @param argumentTypes    The argument types
+     */
+    private void pushFixedArityArgumentCheck(GeneratorAdapter fixedArityMethod, Collection<Object> argumentTypes) {
+        Label invalidArguments = new Label();
+        boolean checked = false;
+        int i = 0;
+        for (Object argumentType : argumentTypes) {
+            String castName = getInternalNameForCast(argumentType);
+            if (!TYPE_OBJECT.getInternalName().equals(castName)) {
+                Label validArgument = new Label();
+                fixedArityMethod.loadArg(i + 1);
+                fixedArityMethod.ifNull(validArgument);
+                fixedArityMethod.loadArg(i + 1);
+                fixedArityMethod.instanceOf(Type.getObjectType(castName));
+                fixedArityMethod.ifZCmp(GeneratorAdapter.EQ, invalidArguments);
+                fixedArityMethod.mark(validArgument);
+                checked = true;
+            }
+            i++;
+        }
+        if (checked) {
+            Label validArguments = new Label();
+            fixedArityMethod.goTo(validArguments);
+            fixedArityMethod.mark(invalidArguments);
+            fixedArityMethod.loadThis();
+            fixedArityMethod.loadArg(0);
+            int argCount = argumentTypes.size();
+            pushNewArray(fixedArityMethod, Object.class, argCount);
+            for (int j = 0; j < argCount; j++) {
+                int index = j;
+                pushStoreInArray(fixedArityMethod, j, argCount, () -> fixedArityMethod.loadArg(index + 1));
+            }
+            fixedArityMethod.invokeVirtual(Type.getType(AbstractExecutableMethod.class), METHOD_INVOKE);
+            fixedArityMethod.returnValue();
+            fixedArityMethod.mark(validArguments);
+        }
+    }
+
+    /**
+     * Loads the argument at the given index of the method being built by {@link #buildInvokeMethod}. The argument is
+     * either read from the argument array or, for the fixed arity invoke methods, from the corresponding parameter.
+     *
+     * @param invokeMethodVisitor The invoke method visitor
+     * @param index               The index of the argument
+     */
+    protected final void loadInvokeArgument(GeneratorAdapter invokeMethodVisitor, int index) {
+        if (fixedArityInvoke) {
+            invokeMethodVisitor.loadArg(index + 1);
+        } else {
+            invokeMethodVisitor.loadArg(1);
+            invokeMethodVisitor.push(index);
+            invokeMethodVisitor.visitInsn(AALOAD);
+        }
+    }
+
+    /**
+     * Builds the body of the method that invokes the target method. Called both for {@code invokeInternal} and for
+     * the fixed arity invoke methods, hence implementations should use {@link #loadInvokeArgument} to load arguments.
+     *
      * @param declaringTypeObject The declaring object type
      * @param methodName          The method name
      * @param returnType          The return type
@@ -372,9 +472,7 @@ public class ExecutableMethodWriter extends AbstractAnnotationMetadataWriter imp
             int argCount = argumentTypes.size();
             Iterator<Object> argIterator = argumentTypes.iterator();
             for (int i = 0; i < argCount; i++) {
-                invokeMethodVisitor.visitVarInsn(ALOAD, 2);
-                invokeMethodVisitor.push(i);
-                invokeMethodVisitor.visitInsn(AALOAD);
+                loadInvokeArgument(invokeMethodVisitor, i);
                 // cast the return value to the correct type
                 pushCastToType(invokeMethodVisitor, argIterator.next());
             }
@@ -397,4 +397,24 @@ class PropertySourcePropertyResolverSpec extends Specification {
             micronaut['security']['intercept-url-map'][0]['access'][1] == '/some-path-x'
     }
 
+    void "test converted values are cached and invalidated when a property source is added"() {
+        given:
+        PropertySourcePropertyResolver resolver = new PropertySourcePropertyResolver(
+                PropertySource.of("test", ['foo.bar': '10', 'foo.baz': 'NANOSECONDS'])
+        )
+
+        expect:
+        resolver.getProperty('foo.bar', Integer).get() == 10
+        resolver.getProperty('foo.bar', Integer).get() == 10
+        resolver.getProperty('foo.bar', Long).get() == 10L
+        resolver.getProperty('foo.baz', java.util.concurrent.TimeUnit).get() == java.util.concurrent.TimeUnit.NANOSECONDS
+        !resolver.getProperty('foo.other', Integer).isPresent()
+
+        when:
+        resolver.addPropertySource(PropertySource.of("other", ['foo.bar': '20', 'foo.other': '30']))
+
+        then:
+        resolver.getProperty('foo.bar', Integer).get() == 20
+        resolver.getProperty('foo.other', Integer).get() == 30
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.endpoint.clientmetrics;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.client.metrics.ConnectionPoolMetrics;
+import io.micronaut.http.client.metrics.HttpClientMetrics;
+import io.micronaut.http.metrics.ConcurrentHistogram;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Exposes an {@link Endpoint} to display the {@link HttpClientMetrics} of each client and remote host: the state of
+ * the connection pool and the percentiles of the acquire, DNS, connect, TLS handshake and time to first byte phases
+ * in microseconds.</p>
+ *
+ * @since 1.3
+ */
+@Endpoint("clientmetrics")
+@Requires(classes = HttpClientMetrics.class)
+@Requires(beans = HttpClientMetrics.class)
+public class ClientMetricsEndpoint {
+
+    private final HttpClientMetrics clientMetrics;
+
+    /**
+     * @param clientMetrics The client metrics
+     */
+    ClientMetricsEndpoint(HttpClientMetrics clientMetrics) {
+        this.clientMetrics = clientMetrics;
+    }
+
+    /**
+     * @return The metrics of each client and remote host
+     */
+    @Read
+    Map<String, Object> getClientMetrics() {
+        List<Map<String, Object>> pools = new ArrayList<>();
+        for (ConnectionPoolMetrics pool : clientMetrics.getPools()) {
+            Map<String, Object> result = new LinkedHashMap<>(16);
+            result.put("clientId", pool.getClientId());
+            result.put("host", pool.getHost());
+            result.put("port", pool.getPort());
+            result.put("secure", pool.isSecure());
+            result.put("pooled", pool.isPooled());
+            result.put("open", pool.getOpen());
+            result.put("active", pool.getActive());
+            result.put("idle", pool.getIdle());
+            result.put("pendingAcquires", pool.getPendingAcquires());
+            result.put("created", pool.getCreated());
+            result.put("closed", pool.getClosed());
+            result.put("acquire", toMap(pool.getAcquireLatency()));
+            result.put("dns", toMap(pool.getDns()));
+            result.put("connect", toMap(pool.getConnect()));
+            result.put("tlsHandshake", toMap(pool.getTlsHandshake()));
+            result.put("timeToFirstByte", toMap(pool.getTimeToFirstByte()));
+            pools.add(result);
+        }
+        Map<String, Object> result = new LinkedHashMap<>(1);
+        result.put("pools", pools);
+        return result;
+    }
+
+    private static Map<String, Object> toMap(ConcurrentHistogram histogram) {
+        ConcurrentHistogram.Snapshot snapshot = histogram.snapshot();
+        Map<String, Object> result = new LinkedHashMap<>(6);
+        result.put("count", snapshot.getCount());
+        result.put("mean", snapshot.getMean());
+        result.put("max", snapshot.getMax());
+        result.put("p50", snapshot.getValueAtPercentile(50));
+        result.put("p90", snapshot.getValueAtPercentile(90));
+        result.put("p99", snapshot.getValueAtPercentile(99));
+        return result;
+    }
+}
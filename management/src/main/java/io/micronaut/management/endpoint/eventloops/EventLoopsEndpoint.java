@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.endpoint.eventloops;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.metrics.ConcurrentHistogram;
+import io.micronaut.http.server.netty.monitor.EventLoopProbe;
+import io.micronaut.http.server.netty.monitor.EventLoopStatistics;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Exposes an {@link Endpoint} to display the statistics of the event loops of the server recorded by the
+ * {@link EventLoopProbe}: the scheduling delay in microseconds, the pending tasks and the times each event loop was
+ * blocked, with the stack sample taken when it was last found blocked.</p>
+ *
+ * @since 1.3
+ */
+@Endpoint("eventloops")
+@Requires(classes = EventLoopProbe.class)
+@Requires(beans = EventLoopProbe.class)
+public class EventLoopsEndpoint {
+
+    private final EventLoopProbe eventLoopProbe;
+
+    /**
+     * @param eventLoopProbe The event loop probe
+     */
+    EventLoopsEndpoint(EventLoopProbe eventLoopProbe) {
+        this.eventLoopProbe = eventLoopProbe;
+    }
+
+    /**
+     * @return The statistics of each event loop
+     */
+    @Read
+    Map<String, Object> getEventLoops() {
+        List<Map<String, Object>> eventLoops = new ArrayList<>();
+        for (EventLoopStatistics statistics : eventLoopProbe.getEventLoops()) {
+            ConcurrentHistogram.Snapshot lag = statistics.getLag().snapshot();
+            Map<String, Object> lagMap = new LinkedHashMap<>(6);
+            lagMap.put("last", statistics.getLastLagMicros());
+            lagMap.put("mean", lag.getMean());
+            lagMap.put("max", lag.getMax());
+            lagMap.put("p50", lag.getValueAtPercentile(50));
+            lagMap.put("p99", lag.getValueAtPercentile(99));
+
+            Map<String, Object> eventLoop = new LinkedHashMap<>(10);
+            eventLoop.put("group", statistics.getGroup());
+            eventLoop.put("index", statistics.getIndex());
+            eventLoop.put("thread", statistics.getThreadName());
+            eventLoop.put("lag", lagMap);
+            eventLoop.put("pendingTasks", statistics.getPendingTasks());
+            eventLoop.put("maxPendingTasks", statistics.getMaxPendingTasks());
+            eventLoop.put("blocked", statistics.isBlocked());
+            eventLoop.put("blockedMillis", statistics.getBlockedMillis());
+            eventLoop.put("blockedCount", statistics.getBlockedCount());
+            List<String> stackTrace = new ArrayList<>();
+            for (StackTraceElement element : statistics.getLastBlockedStackTrace()) {
+                stackTrace.add(element.toString());
+            }
+            eventLoop.put("lastBlockedStackTrace", stackTrace);
+            eventLoops.add(eventLoop);
+        }
+        Map<String, Object> result = new LinkedHashMap<>(2);
+        result.put("blocked", eventLoopProbe.isBlocked());
+        result.put("eventLoops", eventLoops);
+        return result;
+    }
+}
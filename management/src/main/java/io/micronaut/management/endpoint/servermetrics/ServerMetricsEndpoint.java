@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.endpoint.servermetrics;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.metrics.ConcurrentHistogram;
+import io.micronaut.http.server.metrics.HttpServerMetrics;
+import io.micronaut.http.server.metrics.RouteMetrics;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Exposes an {@link Endpoint} to display the {@link HttpServerMetrics} of each route: the latency percentiles in
+ * microseconds, the responses by status code, the requests in flight and the body sizes.</p>
+ *
+ * @since 1.3
+ */
+@Endpoint("servermetrics")
+@Requires(classes = HttpServerMetrics.class)
+@Requires(beans = HttpServerMetrics.class)
+public class ServerMetricsEndpoint {
+
+    private final HttpServerMetrics serverMetrics;
+
+    /**
+     * @param serverMetrics The server metrics
+     */
+    ServerMetricsEndpoint(HttpServerMetrics serverMetrics) {
+        this.serverMetrics = serverMetrics;
+    }
+
+    /**
+     * @return The requests in flight and the metrics of each route
+     */
+    @Read
+    Map<String, Object> getServerMetrics() {
+        Map<String, Object> result = new LinkedHashMap<>(3);
+        result.put("inFlight", serverMetrics.getInFlight());
+        List<Map<String, Object>> routes = new ArrayList<>();
+        for (RouteMetrics routeMetrics : serverMetrics.getRoutes()) {
+            Map<String, Object> route = toMap(routeMetrics);
+            route.put("method", routeMetrics.getMethod());
+            route.put("uri", routeMetrics.getUriTemplate());
+            routes.add(route);
+        }
+        result.put("routes", routes);
+        result.put("unmatched", toMap(serverMetrics.getUnmatched()));
+        return result;
+    }
+
+    private static Map<String, Object> toMap(RouteMetrics routeMetrics) {
+        ConcurrentHistogram.Snapshot latency = routeMetrics.getLatency().snapshot();
+        Map<String, Object> latencyMap = new LinkedHashMap<>(7);
+        latencyMap.put("mean", latency.getMean());
+        latencyMap.put("max", latency.getMax());
+        latencyMap.put("p50", latency.getValueAtPercentile(50));
+        latencyMap.put("p90", latency.getValueAtPercentile(90));
+        latencyMap.put("p99", latency.getValueAtPercentile(99));
+        latencyMap.put("p999", latency.getValueAtPercentile(99.9));
+
+        Map<String, Object> statuses = new LinkedHashMap<>();
+        routeMetrics.getStatusCounts().forEach((status, count) -> statuses.put(String.valueOf(status), count));
+
+        Map<String, Object> result = new LinkedHashMap<>(9);
+        result.put("count", latency.getCount());
+        result.put("inFlight", routeMetrics.getInFlight());
+        result.put("latency", latencyMap);
+        result.put("statuses", statuses);
+        result.put("requestBodyBytes", routeMetrics.getRequestBodyBytes());
+        result.put("responseBodyBytes", routeMetrics.getResponseBodyBytes());
+        return result;
+    }
+}
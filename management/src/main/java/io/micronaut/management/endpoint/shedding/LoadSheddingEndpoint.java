@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.endpoint.shedding;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.server.shedding.LoadShedder;
+import io.micronaut.http.server.shedding.RequestPriority;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <p>Exposes an {@link Endpoint} to display the current concurrency limit of the {@link LoadShedder} and the
+ * requests it accepted and rejected per {@link RequestPriority}.</p>
+ *
+ * @since 1.3
+ */
+@Endpoint("loadshedding")
+@Requires(classes = LoadShedder.class)
+@Requires(beans = LoadShedder.class)
+public class LoadSheddingEndpoint {
+
+    private final LoadShedder loadShedder;
+
+    /**
+     * @param loadShedder The load shedder
+     */
+    LoadSheddingEndpoint(LoadShedder loadShedder) {
+        this.loadShedder = loadShedder;
+    }
+
+    /**
+     * @return The limit, the requests in flight and the statistics of each priority
+     */
+    @Read
+    Map<String, Object> getLoadShedding() {
+        Map<String, Object> result = new LinkedHashMap<>(4);
+        result.put("limit", loadShedder.getLimit());
+        result.put("inFlight", loadShedder.getInFlight());
+        result.put("queueDelay", loadShedder.getQueueDelay().toMillis());
+        Map<String, Object> priorities = new LinkedHashMap<>(4);
+        for (RequestPriority priority : RequestPriority.values()) {
+            Map<String, Object> statistics = new LinkedHashMap<>(4);
+            statistics.put("inFlight", loadShedder.getInFlight(priority));
+            statistics.put("accepted", loadShedder.getAccepted(priority));
+            statistics.put("rejected", loadShedder.getRejected(priority));
+            priorities.put(priority.name().toLowerCase(Locale.ENGLISH), statistics);
+        }
+        result.put("priorities", priorities);
+        return result;
+    }
+}
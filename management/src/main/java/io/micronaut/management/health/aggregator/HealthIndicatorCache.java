@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.health.aggregator;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.management.endpoint.health.HealthEndpoint;
+import io.micronaut.management.health.indicator.HealthIndicator;
+import io.micronaut.management.health.indicator.HealthResult;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
+import org.reactivestreams.Publisher;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>Caches the results of the {@link HealthIndicator} beans, so that the health endpoint and the health monitor do
+ * not run every indicator on each request.</p>
+ *
+ * <p>The result of an indicator is served from the cache for its time to live. After that the last result is still
+ * served while the indicator runs again, and the indicators that were requested once are also run in the background
+ * at the refresh interval, so that a request only waits for an indicator the first time it is requested.</p>
+ *
+ * <p>Indicators are run on a bounded executor and each indicator is given a timeout, after which it is reported
+ * {@link HealthStatus#DOWN}. An indicator is never run more than once at a time.</p>
+ *
+ * @since 1.3
+ */
+@Singleton
+@Requires(beans = HealthEndpoint.class)
+@Requires(property = HealthIndicatorCacheConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+public class HealthIndicatorCache implements Closeable {
+
+    private final HealthIndicatorCacheConfiguration configuration;
+    private final long ttlNanos;
+    private final ExecutorService executor;
+    private final Scheduler scheduler;
+    private final ScheduledFuture<?> refreshTask;
+    private final Map<HealthIndicator, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param configuration The cache configuration
+     * @param taskScheduler The task scheduler
+     * @param threadFactory The thread factory
+     */
+    public HealthIndicatorCache(
+            HealthIndicatorCacheConfiguration configuration,
+            @Named(TaskExecutors.SCHEDULED) TaskScheduler taskScheduler,
+            ThreadFactory threadFactory) {
+        this.configuration = configuration;
+        this.ttlNanos = configuration.getTtl().toNanos();
+        int maxConcurrency = configuration.getMaxConcurrency();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                maxConcurrency,
+                maxConcurrency,
+                1,
+                TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(),
+                threadFactory
+        );
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
+        this.scheduler = Schedulers.from(executor, true);
+        Duration refreshInterval = configuration.getRefreshInterval();
+        if (refreshInterval.isZero()) {
+            this.refreshTask = null;
+        } else {
+            this.refreshTask = taskScheduler.scheduleWithFixedDelay(refreshInterval, refreshInterval, this::refresh);
+        }
+    }
+
+    /**
+     * Returns the results of the given indicator. Only waits for the indicator if it has no result yet.
+     *
+     * @param indicator The indicator
+     * @return The results of the indicator
+     */
+    public Publisher<HealthResult> getResult(HealthIndicator indicator) {
+        return entries.computeIfAbsent(indicator, Entry::new).getResults().flattenAsFlowable(results -> results);
+    }
+
+    /**
+     * Runs again the indicators that were requested once, unless they are still running.
+     */
+    public void refresh() {
+        for (Entry entry : entries.values()) {
+            entry.refresh();
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        if (refreshTask != null) {
+            refreshTask.cancel(false);
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * The cached results of an indicator.
+     */
+    private final class Entry {
+        private final HealthIndicator indicator;
+        private final String name;
+        private final Duration timeout;
+        private final AtomicReference<Single<List<HealthResult>>> running = new AtomicReference<>();
+        private volatile List<HealthResult> results;
+        private volatile long computedAt;
+
+        Entry(HealthIndicator indicator) {
+            this.indicator = indicator;
+            this.name = nameOf(indicator);
+            this.timeout = configuration.getTimeout(name);
+        }
+
+        Single<List<HealthResult>> getResults() {
+            List<HealthResult> results = this.results;
+            if (results == null) {
+                return refresh();
+            }
+            if (System.nanoTime() - computedAt > ttlNanos) {
+                refresh();
+            }
+            return Single.just(results);
+        }
+
+        Single<List<HealthResult>> refresh() {
+            while (true) {
+                Single<List<HealthResult>> current = running.get();
+                if (current != null) {
+                    return current;
+                }
+                Single<List<HealthResult>> run = Flowable.defer(indicator::getResult)
+                        .subscribeOn(scheduler)
+                        .toList()
+                        .timeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                        .onErrorReturn(e -> Collections.singletonList(failure(e)))
+                        .doOnSuccess(results -> {
+                            this.results = results;
+                            this.computedAt = System.nanoTime();
+                            running.set(null);
+                        })
+                        .cache();
+                if (running.compareAndSet(null, run)) {
+                    run.subscribe();
+                    return run;
+                }
+            }
+        }
+
+        private HealthResult failure(Throwable e) {
+            String name = results != null && results.size() == 1 ? results.get(0).getName() : this.name;
+            HealthResult.Builder builder = HealthResult.builder(name, HealthStatus.DOWN);
+            if (e instanceof TimeoutException) {
+                return builder.details(Collections.singletonMap(
+                        "error", "Health indicator did not respond within " + timeout.toMillis() + "ms")).build();
+            }
+            return builder.exception(e).build();
+        }
+    }
+
+    private static String nameOf(HealthIndicator indicator) {
+        String simpleName = indicator.getClass().getSimpleName();
+        int i = simpleName.indexOf('$', 1);
+        if (i > 0) {
+            // intercepted and generated subclasses
+            simpleName = simpleName.substring(0, i);
+        }
+        if (simpleName.startsWith("$")) {
+            simpleName = simpleName.substring(1);
+        }
+        return NameUtils.decapitalizeWithoutSuffix(simpleName, "HealthIndicator", "Indicator");
+    }
+}
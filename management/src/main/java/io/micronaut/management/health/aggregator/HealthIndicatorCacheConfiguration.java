@@ -0,0 +1,197 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.health.aggregator;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.core.util.Toggleable;
+import io.micronaut.management.endpoint.health.HealthEndpoint;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration of the {@link HealthIndicatorCache}.
+ *
+ * @since 1.3
+ */
+@ConfigurationProperties(HealthIndicatorCacheConfiguration.PREFIX)
+public class HealthIndicatorCacheConfiguration implements Toggleable {
+
+    /**
+     * The prefix for health indicator cache configuration.
+     */
+    public static final String PREFIX = HealthEndpoint.PREFIX + ".cache";
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default time to live of a result in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_TTL_SECONDS = 10;
+
+    /**
+     * The default interval between two background refreshes in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_REFRESH_INTERVAL_SECONDS = 5;
+
+    /**
+     * The default timeout of an indicator in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_TIMEOUT_SECONDS = 5;
+
+    /**
+     * The default number of indicators run concurrently.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private Duration ttl = Duration.ofSeconds(DEFAULT_TTL_SECONDS);
+    private Duration refreshInterval = Duration.ofSeconds(DEFAULT_REFRESH_INTERVAL_SECONDS);
+    private Duration timeout = Duration.ofSeconds(DEFAULT_TIMEOUT_SECONDS);
+    private Map<String, Duration> timeouts = new HashMap<>();
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+    /**
+     * @return Whether health indicator results are cached
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_ENABLED}).
+     * @param enabled Whether health indicator results are cached
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The result of an indicator is served from the cache for this long. A request for an older result is served
+     * the old result while the indicator is run again in the background.
+     *
+     * @return The time to live of a result
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_TTL_SECONDS}s).
+     * @param ttl The time to live of a result
+     */
+    public void setTtl(Duration ttl) {
+        if (ttl != null && !ttl.isNegative()) {
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * @return The interval at which the indicators are run in the background, zero if they are not
+     */
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_REFRESH_INTERVAL_SECONDS}s). Zero disables the background refresh.
+     * @param refreshInterval The interval at which the indicators are run in the background
+     */
+    public void setRefreshInterval(Duration refreshInterval) {
+        if (refreshInterval != null && !refreshInterval.isNegative()) {
+            this.refreshInterval = refreshInterval;
+        }
+    }
+
+    /**
+     * An indicator that did not produce its result within the timeout is reported
+     * {@link io.micronaut.health.HealthStatus#DOWN}.
+     *
+     * @return The timeout of an indicator
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_TIMEOUT_SECONDS}s).
+     * @param timeout The timeout of an indicator
+     */
+    public void setTimeout(Duration timeout) {
+        if (timeout != null && !timeout.isNegative() && !timeout.isZero()) {
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * @return The timeouts of specific indicators keyed by indicator name
+     */
+    public Map<String, Duration> getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * Sets the timeouts of specific indicators keyed by indicator name, for example {@code jdbc} or
+     * {@code discovery-client}.
+     *
+     * @param timeouts The timeouts of specific indicators
+     */
+    public void setTimeouts(Map<String, Duration> timeouts) {
+        this.timeouts = new HashMap<>();
+        if (timeouts != null) {
+            timeouts.forEach((name, timeout) -> {
+                if (timeout != null && !timeout.isNegative() && !timeout.isZero()) {
+                    this.timeouts.put(NameUtils.hyphenate(name), timeout);
+                }
+            });
+        }
+    }
+
+    /**
+     * @param name The name of an indicator
+     * @return The timeout of the indicator
+     */
+    public @Nonnull Duration getTimeout(@Nonnull String name) {
+        return timeouts.getOrDefault(NameUtils.hyphenate(name), timeout);
+    }
+
+    /**
+     * @return The maximum number of indicators run concurrently
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_MAX_CONCURRENCY}).
+     * @param maxConcurrency The maximum number of indicators run concurrently
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+}
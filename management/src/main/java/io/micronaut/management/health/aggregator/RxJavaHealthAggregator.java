@@ -27,6 +27,8 @@ import io.reactivex.Flowable;
 import io.reactivex.Single;
 import org.reactivestreams.Publisher;
 
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -53,13 +55,24 @@ import java.util.stream.Collectors;
 public class RxJavaHealthAggregator implements HealthAggregator<HealthResult> {
 
     private final ApplicationConfiguration applicationConfiguration;
+    private final HealthIndicatorCache healthIndicatorCache;
 
     /**
      * Default constructor.
      * @param applicationConfiguration The application configuration.
      */
     public RxJavaHealthAggregator(ApplicationConfiguration applicationConfiguration) {
+        this(applicationConfiguration, null);
+    }
+
+    /**
+     * @param applicationConfiguration The application configuration.
+     * @param healthIndicatorCache The cache of the indicator results, if enabled
+     */
+    @Inject
+    public RxJavaHealthAggregator(ApplicationConfiguration applicationConfiguration, @Nullable HealthIndicatorCache healthIndicatorCache) {
         this.applicationConfiguration = applicationConfiguration;
+        this.healthIndicatorCache = healthIndicatorCache;
     }
 
     @Override
@@ -100,6 +113,13 @@ public class RxJavaHealthAggregator implements HealthAggregator<HealthResult> {
      * @return The aggregated results from all health indicators
      */
     protected Flowable<HealthResult> aggregateResults(HealthIndicator[] indicators) {
+        if (healthIndicatorCache != null) {
+            return Flowable.merge(
+                Arrays.stream(indicators)
+                    .map(healthIndicatorCache::getResult)
+                    .collect(Collectors.toList())
+            );
+        }
         return Flowable.merge(
             Arrays.stream(indicators)
                 .map(HealthIndicator::getResult)
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.health.indicator.eventloop;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.http.server.netty.monitor.EventLoopProbe;
+import io.micronaut.http.server.netty.monitor.EventLoopStatistics;
+import io.micronaut.management.endpoint.health.HealthEndpoint;
+import io.micronaut.management.health.indicator.AbstractHealthIndicator;
+
+import javax.inject.Singleton;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>A {@link io.micronaut.management.health.indicator.HealthIndicator} that reports the state of the event loops of
+ * the server recorded by the {@link EventLoopProbe}. Returns {@link HealthStatus#DOWN} while an event loop is
+ * blocked.</p>
+ *
+ * @since 1.3
+ */
+@Singleton
+@Requires(classes = EventLoopProbe.class)
+@Requires(beans = {EventLoopProbe.class, HealthEndpoint.class})
+@Requires(property = HealthEndpoint.PREFIX + ".event-loop.enabled", notEquals = StringUtils.FALSE)
+public class EventLoopHealthIndicator extends AbstractHealthIndicator<Map<String, Object>> {
+
+    protected static final String NAME = "eventLoop";
+
+    private final EventLoopProbe eventLoopProbe;
+
+    /**
+     * @param eventLoopProbe The event loop probe
+     */
+    EventLoopHealthIndicator(EventLoopProbe eventLoopProbe) {
+        this.eventLoopProbe = eventLoopProbe;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    protected Map<String, Object> getHealthInformation() {
+        Map<String, Object> detail = new LinkedHashMap<>();
+        healthStatus = HealthStatus.UP;
+        for (EventLoopStatistics statistics : eventLoopProbe.getEventLoops()) {
+            Map<String, Object> eventLoop = new LinkedHashMap<>(4);
+            eventLoop.put("lag", statistics.getLastLagMicros());
+            eventLoop.put("pendingTasks", statistics.getPendingTasks());
+            eventLoop.put("blockedCount", statistics.getBlockedCount());
+            if (statistics.isBlocked()) {
+                healthStatus = HealthStatus.DOWN;
+                eventLoop.put("error", "Blocked for " + statistics.getBlockedMillis() + "ms");
+            }
+            detail.put(statistics.getGroup() + "-" + statistics.getIndex(), eventLoop);
+        }
+        return detail;
+    }
+}
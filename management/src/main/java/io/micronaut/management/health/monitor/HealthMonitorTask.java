@@ -19,6 +19,7 @@ import io.micronaut.context.annotation.Requires;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.health.CurrentHealthStatus;
 import io.micronaut.health.HealthStatus;
+import io.micronaut.management.health.aggregator.HealthIndicatorCache;
 import io.micronaut.management.health.indicator.HealthIndicator;
 import io.micronaut.management.health.indicator.HealthResult;
 import io.micronaut.runtime.ApplicationConfiguration;
@@ -31,6 +32,7 @@ import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.Arrays;
@@ -53,15 +55,29 @@ public class HealthMonitorTask {
 
     private final CurrentHealthStatus currentHealthStatus;
     private final List<HealthIndicator> healthIndicators;
+    private final HealthIndicatorCache healthIndicatorCache;
 
     /**
-     * @param currentHealthStatus The current health status
-     * @param healthIndicators    Health indicators
+     * @param currentHealthStatus  The current health status
+     * @param healthIndicators     Health indicators
+     * @param healthIndicatorCache The cache of the indicator results, if enabled
      */
     @Inject
-    public HealthMonitorTask(CurrentHealthStatus currentHealthStatus, List<HealthIndicator> healthIndicators) {
+    public HealthMonitorTask(
+            CurrentHealthStatus currentHealthStatus,
+            List<HealthIndicator> healthIndicators,
+            @Nullable HealthIndicatorCache healthIndicatorCache) {
         this.currentHealthStatus = currentHealthStatus;
         this.healthIndicators = healthIndicators;
+        this.healthIndicatorCache = healthIndicatorCache;
+    }
+
+    /**
+     * @param currentHealthStatus The current health status
+     * @param healthIndicators    Health indicators
+     */
+    public HealthMonitorTask(CurrentHealthStatus currentHealthStatus, List<HealthIndicator> healthIndicators) {
+        this(currentHealthStatus, healthIndicators, null);
     }
 
     /**
@@ -84,7 +100,7 @@ public class HealthMonitorTask {
         }
         List<Publisher<HealthResult>> healthResults = healthIndicators
             .stream()
-            .map(HealthIndicator::getResult)
+            .map(healthIndicatorCache != null ? healthIndicatorCache::getResult : HealthIndicator::getResult)
             .collect(Collectors.toList());
 
         Flowable<HealthResult> resultFlowable = Flowable
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.health.aggregator
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.health.HealthStatus
+import io.micronaut.management.endpoint.health.HealthEndpoint
+import io.micronaut.management.health.indicator.HealthIndicator
+import io.micronaut.management.health.indicator.HealthResult
+import io.reactivex.Flowable
+import org.reactivestreams.Publisher
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.inject.Singleton
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * @since 1.3
+ */
+class HealthIndicatorCacheSpec extends Specification {
+
+    void "test the cache is disabled by default"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(['spec.name': HealthIndicatorCacheSpec.simpleName])
+        CountingHealthIndicator indicator = context.getBean(CountingHealthIndicator)
+
+        when:
+        HealthEndpoint endpoint = context.getBean(HealthEndpoint)
+        endpoint.getHealth(null).blockingGet()
+        endpoint.getHealth(null).blockingGet()
+
+        then:
+        !context.containsBean(HealthIndicatorCache)
+        indicator.count.get() == 2
+
+        cleanup:
+        context.close()
+    }
+
+    void "test indicator results are served from the cache"() {
+        given:
+        ApplicationContext context = ApplicationContext.run([
+                'spec.name': HealthIndicatorCacheSpec.simpleName,
+                'endpoints.health.cache.enabled': true,
+                'endpoints.health.cache.ttl': '1h',
+                'endpoints.health.cache.refresh-interval': '0s'
+        ])
+        CountingHealthIndicator indicator = context.getBean(CountingHealthIndicator)
+        HealthEndpoint endpoint = context.getBean(HealthEndpoint)
+
+        when:
+        List<HealthResult> results = (1..5).collect { endpoint.getHealth(null).blockingGet() }
+
+        then:
+        results.every { it.status == HealthStatus.UP }
+        indicator.count.get() == 1
+
+        cleanup:
+        context.close()
+    }
+
+    void "test stale results are refreshed in the background"() {
+        given:
+        ApplicationContext context = ApplicationContext.run([
+                'spec.name': HealthIndicatorCacheSpec.simpleName,
+                'endpoints.health.cache.enabled': true,
+                'endpoints.health.cache.ttl': '1h',
+                'endpoints.health.cache.refresh-interval': '50ms'
+        ])
+        CountingHealthIndicator indicator = context.getBean(CountingHealthIndicator)
+        HealthEndpoint endpoint = context.getBean(HealthEndpoint)
+
+        when:
+        endpoint.getHealth(null).blockingGet()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert indicator.count.get() > 2
+        }
+
+        cleanup:
+        context.close()
+    }
+
+    void "test an indicator that does not respond within its timeout is reported down"() {
+        given:
+        ApplicationContext context = ApplicationContext.run([
+                'spec.name': HealthIndicatorCacheSpec.simpleName,
+                'spec.never': true,
+                'endpoints.health.details-visible': 'ANONYMOUS',
+                'endpoints.health.cache.enabled': true,
+                'endpoints.health.cache.timeouts.never': '100ms'
+        ])
+        HealthEndpoint endpoint = context.getBean(HealthEndpoint)
+
+        when:
+        HealthResult result = endpoint.getHealth(null).blockingGet()
+
+        then:
+        result.status == HealthStatus.DOWN
+        result.details.never.status == HealthStatus.DOWN
+        result.details.never.details.error == "Health indicator did not respond within 100ms"
+        result.details.counting.status == HealthStatus.UP
+
+        cleanup:
+        context.close()
+    }
+
+    @Singleton
+    @Requires(property = 'spec.name', value = 'HealthIndicatorCacheSpec')
+    static class CountingHealthIndicator implements HealthIndicator {
+        final AtomicInteger count = new AtomicInteger()
+
+        @Override
+        Publisher<HealthResult> getResult() {
+            count.incrementAndGet()
+            Flowable.just(HealthResult.builder("counting", HealthStatus.UP).build())
+        }
+    }
+
+    @Singleton
+    @Requires(property = 'spec.never', value = 'true')
+    static class NeverHealthIndicator implements HealthIndicator {
+
+        @Override
+        Publisher<HealthResult> getResult() {
+            Flowable.never()
+        }
+    }
+}
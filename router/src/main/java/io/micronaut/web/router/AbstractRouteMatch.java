@@ -36,7 +36,6 @@ import io.micronaut.web.router.exceptions.UnsatisfiedRouteException;
 
 import javax.annotation.Nonnull;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -73,12 +72,7 @@ abstract class AbstractRouteMatch<T, R> implements MethodBasedRouteMatch<T, R> {
         this.abstractRoute = abstractRoute;
         this.executableMethod = abstractRoute.targetMethod;
         this.conversionService = conversionService;
-        Argument[] requiredArguments = executableMethod.getArguments();
-        this.requiredInputs = new LinkedHashMap<>(requiredArguments.length);
-        for (Argument requiredArgument : requiredArguments) {
-            String inputName = resolveInputName(requiredArgument);
-            requiredInputs.put(inputName, requiredArgument);
-        }
+        this.requiredInputs = abstractRoute.requiredInputs;
 
         this.acceptedMediaTypes = abstractRoute.getConsumes();
     }
@@ -201,9 +195,10 @@ abstract class AbstractRouteMatch<T, R> implements MethodBasedRouteMatch<T, R> {
 
         Argument[] targetArguments = getArguments();
         if (targetArguments.length == 0) {
-            return executableMethod.invoke();
+            return executableMethod.invoke0();
         } else {
-            List argumentList = new ArrayList();
+            Object[] argumentValues = new Object[targetArguments.length];
+            int index = 0;
             Map<String, Object> variables = getVariableValues();
             Iterator<Object> valueIterator = variables.values().iterator();
             int i = 0;
@@ -212,18 +207,27 @@ abstract class AbstractRouteMatch<T, R> implements MethodBasedRouteMatch<T, R> {
                 Object value = variables.get(name);
                 if (value != null) {
                     Optional<?> result = conversionService.convert(value, targetArgument.getType());
-                    argumentList.add(result.orElseThrow(() -> new IllegalArgumentException("Wrong argument types to method: " + executableMethod)));
+                    argumentValues[index++] = result.orElseThrow(() -> new IllegalArgumentException("Wrong argument types to method: " + executableMethod));
                 } else if (valueIterator.hasNext()) {
                     Optional<?> result = conversionService.convert(valueIterator.next(), targetArgument.getType());
-                    argumentList.add(result.orElseThrow(() -> new IllegalArgumentException("Wrong argument types to method: " + executableMethod)));
+                    argumentValues[index++] = result.orElseThrow(() -> new IllegalArgumentException("Wrong argument types to method: " + executableMethod));
                 } else if (i < arguments.length) {
                     Optional<?> result = conversionService.convert(arguments[i++], targetArgument.getType());
-                    argumentList.add(result.orElseThrow(() -> new IllegalArgumentException("Wrong argument types to method: " + executableMethod)));
+                    argumentValues[index++] = result.orElseThrow(() -> new IllegalArgumentException("Wrong argument types to method: " + executableMethod));
                 } else {
                     throw new IllegalArgumentException("Wrong number of arguments to method: " + executableMethod);
                 }
             }
-            return executableMethod.invoke(argumentList.toArray());
+            switch (argumentValues.length) {
+                case 1:
+                    return executableMethod.invoke1(argumentValues[0]);
+                case 2:
+                    return executableMethod.invoke2(argumentValues[0], argumentValues[1]);
+                case 3:
+                    return executableMethod.invoke3(argumentValues[0], argumentValues[1], argumentValues[2]);
+                default:
+                    return executableMethod.invoke(argumentValues);
+            }
         }
     }
 
@@ -232,66 +236,90 @@ abstract class AbstractRouteMatch<T, R> implements MethodBasedRouteMatch<T, R> {
         Argument[] targetArguments = getArguments();
 
         if (targetArguments.length == 0) {
-            return executableMethod.invoke();
+            return executableMethod.invoke0();
         } else {
-            ConversionService conversionService = this.conversionService;
             Map<String, Object> uriVariables = getVariableValues();
-            List argumentList = new ArrayList();
-
-            for (Map.Entry<String, Argument> entry : requiredInputs.entrySet()) {
-                Argument argument = entry.getValue();
-                String name = entry.getKey();
-                Object value = DefaultRouteBuilder.NO_VALUE;
-                if (uriVariables.containsKey(name)) {
-                    value = uriVariables.get(name);
-                } else if (argumentValues.containsKey(name)) {
-                    value = argumentValues.get(name);
+            Iterator<Map.Entry<String, Argument>> inputs = requiredInputs.entrySet().iterator();
+
+            // dispatch the common arities without allocating an argument array
+            switch (requiredInputs.size()) {
+                case 1:
+                    return executableMethod.invoke1(
+                            resolveArgumentValue(inputs.next(), uriVariables, argumentValues)
+                    );
+                case 2: {
+                    Object arg0 = resolveArgumentValue(inputs.next(), uriVariables, argumentValues);
+                    Object arg1 = resolveArgumentValue(inputs.next(), uriVariables, argumentValues);
+                    return executableMethod.invoke2(arg0, arg1);
                 }
+                case 3: {
+                    Object arg0 = resolveArgumentValue(inputs.next(), uriVariables, argumentValues);
+                    Object arg1 = resolveArgumentValue(inputs.next(), uriVariables, argumentValues);
+                    Object arg2 = resolveArgumentValue(inputs.next(), uriVariables, argumentValues);
+                    return executableMethod.invoke3(arg0, arg1, arg2);
+                }
+                default:
+                    Object[] values = new Object[requiredInputs.size()];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = resolveArgumentValue(inputs.next(), uriVariables, argumentValues);
+                    }
+                    return executableMethod.invoke(values);
+            }
+        }
+    }
 
-                if (value instanceof UnresolvedArgument) {
-                    UnresolvedArgument<?> unresolved = (UnresolvedArgument<?>) value;
-                    ArgumentBinder.BindingResult<?> bindingResult = unresolved.get();
-
-
-                    if (bindingResult.isPresentAndSatisfied()) {
-                        Object resolved = bindingResult.get();
-                        if (resolved instanceof ConversionError) {
-                            ConversionError conversionError = (ConversionError) resolved;
-                            throw new ConversionErrorException(argument, conversionError);
-                        } else {
-                            ConversionContext conversionContext = ConversionContext.of(argument);
-                            Optional<?> result = conversionService.convert(resolved, argument.getType(), conversionContext);
-                            argumentList.add(resolveValueOrError(argument, conversionContext, result));
-                        }
-                    } else {
-                        if (argument.isNullable()) {
-                            argumentList.add(null);
-                            continue;
-                        } else {
-
-                            List<ConversionError> conversionErrors = bindingResult.getConversionErrors();
-                            if (!conversionErrors.isEmpty()) {
-                                // should support multiple errors
-                                ConversionError conversionError = conversionErrors.iterator().next();
-                                throw new ConversionErrorException(argument, conversionError);
-                            } else {
-                                throw new UnsatisfiedRouteException(argument);
-                            }
-                        }
+    /**
+     * Resolves the value of the given required input from the URI variables or the passed argument values.
+     *
+     * @param input          The required input
+     * @param uriVariables   The URI variables
+     * @param argumentValues The argument values
+     * @return The value, converted to the type of the argument
+     */
+    private Object resolveArgumentValue(Map.Entry<String, Argument> input, Map<String, Object> uriVariables, Map<String, Object> argumentValues) {
+        Argument argument = input.getValue();
+        String name = input.getKey();
+        Object value = DefaultRouteBuilder.NO_VALUE;
+        if (uriVariables.containsKey(name)) {
+            value = uriVariables.get(name);
+        } else if (argumentValues.containsKey(name)) {
+            value = argumentValues.get(name);
+        }
 
-                    }
-                } else if (value instanceof ConversionError) {
-                    throw new ConversionErrorException(argument, (ConversionError) value);
-                } else if (value == DefaultRouteBuilder.NO_VALUE) {
-                    throw new UnsatisfiedRouteException(argument);
+        if (value instanceof UnresolvedArgument) {
+            UnresolvedArgument<?> unresolved = (UnresolvedArgument<?>) value;
+            ArgumentBinder.BindingResult<?> bindingResult = unresolved.get();
+
+            if (bindingResult.isPresentAndSatisfied()) {
+                Object resolved = bindingResult.get();
+                if (resolved instanceof ConversionError) {
+                    ConversionError conversionError = (ConversionError) resolved;
+                    throw new ConversionErrorException(argument, conversionError);
                 } else {
                     ConversionContext conversionContext = ConversionContext.of(argument);
-                    Optional<?> result = conversionService.convert(value, argument.getType(), conversionContext);
-                    argumentList.add(resolveValueOrError(argument, conversionContext, result));
+                    Optional<?> result = conversionService.convert(resolved, argument.getType(), conversionContext);
+                    return resolveValueOrError(argument, conversionContext, result);
+                }
+            } else if (argument.isNullable()) {
+                return null;
+            } else {
+                List<ConversionError> conversionErrors = bindingResult.getConversionErrors();
+                if (!conversionErrors.isEmpty()) {
+                    // should support multiple errors
+                    ConversionError conversionError = conversionErrors.iterator().next();
+                    throw new ConversionErrorException(argument, conversionError);
+                } else {
+                    throw new UnsatisfiedRouteException(argument);
                 }
             }
-
-            return executableMethod.invoke(argumentList.toArray());
+        } else if (value instanceof ConversionError) {
+            throw new ConversionErrorException(argument, (ConversionError) value);
+        } else if (value == DefaultRouteBuilder.NO_VALUE) {
+            throw new UnsatisfiedRouteException(argument);
+        } else {
+            ConversionContext conversionContext = ConversionContext.of(argument);
+            Optional<?> result = conversionService.convert(value, argument.getType(), conversionContext);
+            return resolveValueOrError(argument, conversionContext, result);
         }
     }
 
@@ -309,14 +337,11 @@ abstract class AbstractRouteMatch<T, R> implements MethodBasedRouteMatch<T, R> {
     public RouteMatch<R> fulfill(Map<String, Object> argumentValues) {
         Map<String, Object> oldVariables = getVariableValues();
         Map<String, Object> newVariables = new LinkedHashMap<>(oldVariables);
+        final Argument<?> bodyArgument = getBodyArgument().orElse(null);
         for (Argument requiredArgument : getArguments()) {
             Object value = argumentValues.get(requiredArgument.getName());
-            Optional<Argument<?>> ba = getBodyArgument();
-            if (ba.isPresent()) {
-                Argument<?> a = ba.get();
-                if (a.getName().equals(requiredArgument.getName())) {
-                    requiredArgument = a;
-                }
+            if (bodyArgument != null && bodyArgument.getName().equals(requiredArgument.getName())) {
+                requiredArgument = bodyArgument;
             }
 
             if (value != null) {
@@ -369,7 +394,13 @@ abstract class AbstractRouteMatch<T, R> implements MethodBasedRouteMatch<T, R> {
      */
     protected abstract RouteMatch<R> newFulfilled(Map<String, Object> newVariables, List<Argument> requiredArguments);
 
-    private String resolveInputName(Argument requiredArgument) {
+    /**
+     * Resolves the name of the input the given argument is bound from.
+     *
+     * @param requiredArgument The argument
+     * @return The input name
+     */
+    static String resolveInputName(Argument requiredArgument) {
         String inputName = requiredArgument.getAnnotationMetadata().stringValue(Bindable.class).orElse(null);
         if (StringUtils.isEmpty(inputName)) {
             inputName = requiredArgument.getName();
@@ -446,6 +446,7 @@ public abstract class DefaultRouteBuilder implements RouteBuilder {
         protected List<MediaType> producesMediaTypes;
         protected String bodyArgumentName;
         protected Argument<?> bodyArgument;
+        protected final Map<String, Argument> requiredInputs;
 
         /**
          * @param targetMethod The target method execution handle
@@ -457,6 +458,14 @@ public abstract class DefaultRouteBuilder implements RouteBuilder {
             this.conversionService = conversionService;
             this.acceptedMediaTypes = mediaTypes;
 
+            // the inputs are resolved once for the route and shared by all the route matches
+            Argument[] requiredArguments = targetMethod.getArguments();
+            Map<String, Argument> requiredInputs = new LinkedHashMap<>(requiredArguments.length);
+            for (Argument requiredArgument : requiredArguments) {
+                requiredInputs.put(AbstractRouteMatch.resolveInputName(requiredArgument), requiredArgument);
+            }
+            this.requiredInputs = Collections.unmodifiableMap(requiredInputs);
+
             MediaType[] types = MediaType.of(targetMethod.stringValues(Produces.class));
             if (ArrayUtils.isNotEmpty(types)) {
                 this.producesMediaTypes = Arrays.asList(types);
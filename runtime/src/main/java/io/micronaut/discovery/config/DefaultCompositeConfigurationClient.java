@@ -21,6 +21,7 @@ import io.micronaut.context.env.Environment;
 import io.micronaut.context.env.PropertySource;
 import io.micronaut.core.util.ArrayUtils;
 import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
 import org.reactivestreams.Publisher;
 
 import javax.inject.Singleton;
@@ -60,8 +61,13 @@ public class DefaultCompositeConfigurationClient implements ConfigurationClient
         if (ArrayUtils.isEmpty(configurationClients)) {
             return Flowable.empty();
         }
+        if (configurationClients.length == 1) {
+            return configurationClients[0].getPropertySources(environment);
+        }
+        // each client is read on its own thread so that a client that blocks whilst preparing or subscribing
+        // to its requests does not delay the requests of the others
         List<Publisher<PropertySource>> publishers = Arrays.stream(configurationClients)
-            .map(configurationClient -> configurationClient.getPropertySources(environment))
+            .map(configurationClient -> Flowable.defer(() -> configurationClient.getPropertySources(environment)).subscribeOn(Schedulers.io()))
             .collect(Collectors.toList());
 
         return Flowable.merge(publishers);
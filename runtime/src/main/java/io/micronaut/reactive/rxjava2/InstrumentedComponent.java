@@ -17,6 +17,7 @@ package io.micronaut.reactive.rxjava2;
 
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.scheduling.instrument.PropagatedContext;
 import io.micronaut.scheduling.instrument.ReactiveInstrumenter;
 import io.micronaut.scheduling.instrument.RunnableInstrumenter;
 import org.reactivestreams.Subscription;
@@ -66,4 +67,25 @@ interface InstrumentedComponent {
                 .map(Optional::get)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Whether a signal can be passed downstream as is, because there is nothing to instrument or the only
+     * instrumentation is the {@link PropagatedContext} already installed on the current thread. State changed within the
+     * chain, such as a span activated by an operator, is therefore kept by the operators that follow rather than reset
+     * to the state captured at assembly.
+     *
+     * @param instrumentations The instrumentations
+     * @return True if the instrumentations can be skipped
+     */
+    default boolean isPropagated(List<RunnableInstrumenter> instrumentations) {
+        switch (instrumentations.size()) {
+            case 0:
+                return true;
+            case 1:
+                RunnableInstrumenter instrumentation = instrumentations.get(0);
+                return instrumentation instanceof PropagatedContext && ((PropagatedContext) instrumentation).isCurrent();
+            default:
+                return false;
+        }
+    }
 }
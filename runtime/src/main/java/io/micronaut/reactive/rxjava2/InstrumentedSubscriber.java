@@ -77,6 +77,10 @@ abstract class InstrumentedSubscriber<T> implements Subscriber<T>, InstrumentedC
 
     @Override
     public void onNext(T t) {
+        if (isPropagated(instrumentations)) {
+            downstream.onNext(t);
+            return;
+        }
         Runnable onNextRunnable = () -> downstream.onNext(t);
         for (RunnableInstrumenter instrumentation : instrumentations) {
             onNextRunnable = instrumentation.instrument(onNextRunnable);
@@ -93,6 +97,10 @@ abstract class InstrumentedSubscriber<T> implements Subscriber<T>, InstrumentedC
         }
         done = true;
 
+        if (isPropagated(instrumentations)) {
+            downstream.onError(t);
+            return;
+        }
         Runnable onNextRunnable = () -> downstream.onError(t);
         for (RunnableInstrumenter instrumentation : instrumentations) {
             onNextRunnable = instrumentation.instrument(onNextRunnable);
@@ -105,6 +113,10 @@ abstract class InstrumentedSubscriber<T> implements Subscriber<T>, InstrumentedC
             return;
         }
         done = true;
+        if (isPropagated(instrumentations)) {
+            downstream.onComplete();
+            return;
+        }
         Runnable onCompleteRunnable = downstream::onComplete;
         for (RunnableInstrumenter instrumentation : instrumentations) {
             onCompleteRunnable = instrumentation.instrument(onCompleteRunnable);
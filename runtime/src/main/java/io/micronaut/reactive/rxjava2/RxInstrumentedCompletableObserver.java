@@ -68,6 +68,10 @@ final class RxInstrumentedCompletableObserver implements CompletableObserver, Di
     }
 
     @Override public void onError(Throwable t) {
+        if (isPropagated(instrumentations)) {
+            downstream.onError(t);
+            return;
+        }
         Runnable onError = () -> downstream.onError(t);
         for (RunnableInstrumenter instrumentation : instrumentations) {
             onError = instrumentation.instrument(onError);
@@ -76,6 +80,10 @@ final class RxInstrumentedCompletableObserver implements CompletableObserver, Di
     }
 
     @Override public void onComplete() {
+        if (isPropagated(instrumentations)) {
+            downstream.onComplete();
+            return;
+        }
         Runnable onComplete = downstream::onComplete;
         for (RunnableInstrumenter instrumentation : instrumentations) {
             onComplete = instrumentation.instrument(onComplete);
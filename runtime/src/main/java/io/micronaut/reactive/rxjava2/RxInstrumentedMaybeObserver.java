@@ -69,6 +69,10 @@ final class RxInstrumentedMaybeObserver<T> implements MaybeObserver<T>, Disposab
     }
 
     @Override public void onError(Throwable t) {
+        if (isPropagated(instrumentations)) {
+            downstream.onError(t);
+            return;
+        }
         Runnable onError = () -> downstream.onError(t);
         for (RunnableInstrumenter instrumentation : instrumentations) {
             onError = instrumentation.instrument(onError);
@@ -77,6 +81,10 @@ final class RxInstrumentedMaybeObserver<T> implements MaybeObserver<T>, Disposab
     }
 
     @Override public void onSuccess(T value) {
+        if (isPropagated(instrumentations)) {
+            downstream.onSuccess(value);
+            return;
+        }
         Runnable onSuccess = () -> downstream.onSuccess(value);
         for (RunnableInstrumenter instrumentation : instrumentations) {
             onSuccess = instrumentation.instrument(onSuccess);
@@ -85,6 +93,10 @@ final class RxInstrumentedMaybeObserver<T> implements MaybeObserver<T>, Disposab
     }
 
     @Override public void onComplete() {
+        if (isPropagated(instrumentations)) {
+            downstream.onComplete();
+            return;
+        }
         Runnable onComplete = downstream::onComplete;
         for (RunnableInstrumenter instrumentation : instrumentations) {
             onComplete = instrumentation.instrument(onComplete);
@@ -73,6 +73,10 @@ final class RxInstrumentedObserver<T> implements Observer<T>, Disposable, RxInst
     }
 
     @Override public void onNext(T t) {
+        if (isPropagated(instrumentations)) {
+            downstream.onNext(t);
+            return;
+        }
         Runnable onNext = () -> downstream.onNext(t);
         for (RunnableInstrumenter instrumentation : instrumentations) {
             onNext = instrumentation.instrument(onNext);
@@ -88,6 +92,10 @@ final class RxInstrumentedObserver<T> implements Observer<T>, Disposable, RxInst
         }
         done = true;
 
+        if (isPropagated(instrumentations)) {
+            downstream.onError(t);
+            return;
+        }
         Runnable onError = () -> downstream.onError(t);
         for (RunnableInstrumenter instrumentation : instrumentations) {
             onError = instrumentation.instrument(onError);
@@ -101,6 +109,10 @@ final class RxInstrumentedObserver<T> implements Observer<T>, Disposable, RxInst
             return;
         }
         done = true;
+        if (isPropagated(instrumentations)) {
+            downstream.onComplete();
+            return;
+        }
         Runnable onComplete = downstream::onComplete;
         for (RunnableInstrumenter instrumentation : instrumentations) {
             onComplete = instrumentation.instrument(onComplete);
@@ -20,6 +20,8 @@ import io.micronaut.context.annotation.Requires;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.TypeHint;
 import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.scheduling.instrument.PropagatedContext;
+import io.micronaut.scheduling.instrument.PropagatedContextContributor;
 import io.micronaut.scheduling.instrument.ReactiveInstrumenter;
 import io.micronaut.scheduling.instrument.RunnableInstrumenter;
 import io.reactivex.*;
@@ -36,6 +38,7 @@ import javax.inject.Singleton;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Provides a single point of entry for all instrumentations for RxJava 2.x.
@@ -95,8 +98,27 @@ class RxJava2Instrumentation implements Function<Runnable, Runnable>, AutoClosea
      */
     @Inject public RxJava2Instrumentation(List<RunnableInstrumenter> instrumenters,
                                           List<ReactiveInstrumenter> reactiveInstrumenters) {
-        this.instrumenters = instrumenters;
-        this.reactiveInstrumenters = reactiveInstrumenters;
+        this.instrumenters = withoutContributors(instrumenters);
+        this.reactiveInstrumenters = withoutContributors(reactiveInstrumenters);
+    }
+
+    /**
+     * Removes the instrumenters that also contribute to the {@link PropagatedContext}, since their state is already
+     * propagated by the context.
+     *
+     * @param instrumenters The instrumenters
+     * @param <T> The instrumenter type
+     * @return The instrumenters that do not contribute to the context
+     */
+    private static <T> List<T> withoutContributors(List<T> instrumenters) {
+        for (T instrumenter : instrumenters) {
+            if (instrumenter instanceof PropagatedContextContributor) {
+                return instrumenters.stream()
+                        .filter(i -> !(i instanceof PropagatedContextContributor))
+                        .collect(Collectors.toList());
+            }
+        }
+        return instrumenters;
     }
 
     /**
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry;
+
+/**
+ * Counters of the calls of a {@link io.micronaut.retry.annotation.Bulkhead} method.
+ *
+ * @since 1.3
+ */
+public interface BulkheadStatistics {
+
+    /**
+     * @return The current limit of concurrent calls
+     */
+    int getLimit();
+
+    /**
+     * @return The number of calls in progress
+     */
+    int getInFlight();
+
+    /**
+     * @return The number of calls waiting for a permit
+     */
+    int getWaiting();
+
+    /**
+     * @return The number of calls that were permitted
+     */
+    long getAccepted();
+
+    /**
+     * @return The number of calls that were rejected
+     */
+    long getRejected();
+}
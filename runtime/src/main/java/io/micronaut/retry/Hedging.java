@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry;
+
+import io.micronaut.core.annotation.Internal;
+import io.reactivex.Flowable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Hedges attempts of an operation that emits a single result: if the first attempt did not emit within the hedge
+ * delay, a hedged attempt is started and the first result of either attempt is used. The other attempt is cancelled.
+ * Errors are only propagated once every started attempt failed.
+ *
+ * @since 1.3
+ */
+@Internal
+public final class Hedging {
+
+    private Hedging() {
+    }
+
+    /**
+     * Hedges the given attempt.
+     *
+     * @param attempt       The first attempt
+     * @param hedgedAttempt The hedged attempt, subscribed to if the first attempt did not emit within the delay
+     * @param delay         The hedge delay
+     * @param unit          The unit of the delay
+     * @param tryHedge      Acquires the permission to start the hedged attempt, for example from a budget
+     * @param <T>           The result type
+     * @return The hedged flowable
+     */
+    public static <T> Flowable<T> hedge(Flowable<T> attempt, Flowable<T> hedgedAttempt, long delay, TimeUnit unit, BooleanSupplier tryHedge) {
+        return attempt.publish(first -> Flowable.mergeDelayError(
+                first,
+                Flowable.timer(delay, unit)
+                        // no hedged attempt once the first attempt terminated
+                        .takeUntil(first.materialize().filter(notification -> !notification.isOnNext()))
+                        .filter(tick -> tryHedge.getAsBoolean())
+                        .flatMap(tick -> hedgedAttempt)
+        )).take(1);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry;
+
+/**
+ * Counters of the invocations of a {@link io.micronaut.retry.annotation.Retryable} method.
+ *
+ * @since 1.3
+ */
+public interface RetryStatistics {
+
+    /**
+     * @return The number of calls to the method
+     */
+    long getCalls();
+
+    /**
+     * @return The number of attempts, including the first attempt of each call, retries and hedged attempts
+     */
+    long getAttempts();
+
+    /**
+     * @return The number of retries
+     */
+    long getRetries();
+
+    /**
+     * @return The number of hedged attempts
+     */
+    long getHedges();
+
+    /**
+     * @return The number of retries or hedged attempts that were not made because the retry budget was exhausted
+     */
+    long getBudgetExhausted();
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.annotation;
+
+import io.micronaut.aop.Around;
+import io.micronaut.context.annotation.Type;
+import io.micronaut.retry.intercept.BulkheadInterceptor;
+
+import javax.validation.constraints.Digits;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * AOP Advice that limits the number of concurrent calls of a method, so that a slow dependency cannot exhaust the
+ * threads of the caller. Calls above the limit wait for a permit if {@link #maxWaitingCalls()} allows and are otherwise
+ * rejected with a {@link io.micronaut.retry.exception.BulkheadRejectedException}.
+ *
+ * <p>Methods that return a {@link java.util.concurrent.CompletionStage} or a reactive type hold their permit until the
+ * result completes and wait for a permit without blocking a thread.</p>
+ *
+ * @since 1.3
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+@Around
+@Type(BulkheadInterceptor.class)
+public @interface Bulkhead {
+
+    int MAX_INTEGRAL_DIGITS = 6;
+
+    /**
+     * @return The maximum number of concurrent calls, or the initial limit of an adaptive limit
+     */
+    @Digits(integer = MAX_INTEGRAL_DIGITS, fraction = 0)
+    String maxConcurrentCalls() default "25";
+
+    /**
+     * @return The maximum number of calls that wait for a permit
+     */
+    @Digits(integer = MAX_INTEGRAL_DIGITS, fraction = 0)
+    String maxWaitingCalls() default "0";
+
+    /**
+     * @return The maximum duration a call waits for a permit or zero to wait without a limit
+     */
+    String maxWait() default "1s";
+
+    /**
+     * @return The algorithm that limits the number of concurrent calls
+     */
+    BulkheadLimit limit() default BulkheadLimit.FIXED;
+
+    /**
+     * @return The lower bound of an adaptive limit
+     */
+    @Digits(integer = MAX_INTEGRAL_DIGITS, fraction = 0)
+    String minLimit() default "1";
+
+    /**
+     * @return The upper bound of an adaptive limit
+     */
+    @Digits(integer = MAX_INTEGRAL_DIGITS, fraction = 0)
+    String maxLimit() default "200";
+
+    /**
+     * @return The latency above which a call reduces an {@link BulkheadLimit#AIMD} limit as if it failed
+     */
+    String maxLatency() default "";
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.annotation;
+
+/**
+ * The algorithm a {@link Bulkhead} uses to limit the number of concurrent calls.
+ *
+ * @since 1.3
+ */
+public enum BulkheadLimit {
+
+    /**
+     * The limit is fixed to {@link Bulkhead#maxConcurrentCalls()}.
+     */
+    FIXED,
+
+    /**
+     * Additive increase, multiplicative decrease. The limit grows by one while the calls succeed and at least half of
+     * the limit is in use, and is reduced by ten percent when a call fails or takes longer than
+     * {@link Bulkhead#maxLatency()}.
+     */
+    AIMD,
+
+    /**
+     * The limit follows the gradient of the short term latency to the long term latency of the calls, so that it is
+     * reduced as soon as queueing in the dependency increases its latency.
+     */
+    GRADIENT
+}
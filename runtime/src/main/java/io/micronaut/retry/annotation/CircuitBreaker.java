@@ -92,4 +92,61 @@ public @interface CircuitBreaker {
      * @return The {@link java.time.Duration} of time before reset
      */
     String reset() default "20s";
+
+    /**
+     * The failure rate in percent at or above which the circuit is set to {@link io.micronaut.retry.CircuitState#OPEN}.
+     * When neither the failure rate nor the slow call rate threshold is set, the circuit opens once the retries of a
+     * call are exhausted.
+     *
+     * @return The failure rate threshold in percent
+     * @since 1.3
+     */
+    @Digits(integer = 3, fraction = 2)
+    String failureRateThreshold() default "";
+
+    /**
+     * The rate of slow calls in percent at or above which the circuit is set to
+     * {@link io.micronaut.retry.CircuitState#OPEN}.
+     *
+     * @return The slow call rate threshold in percent
+     * @since 1.3
+     */
+    @Digits(integer = 3, fraction = 2)
+    String slowCallRateThreshold() default "";
+
+    /**
+     * @return The duration after which a call is considered slow
+     * @since 1.3
+     */
+    String slowCallDuration() default "60s";
+
+    /**
+     * @return The type of the sliding window the failure and slow call rates are computed from
+     * @since 1.3
+     */
+    SlidingWindowType windowType() default SlidingWindowType.COUNT_BASED;
+
+    /**
+     * @return The number of calls or seconds of the sliding window
+     * @since 1.3
+     */
+    @Digits(integer = 6, fraction = 0)
+    String windowSize() default "100";
+
+    /**
+     * @return The minimum number of calls in the sliding window before the rates are evaluated
+     * @since 1.3
+     */
+    @Digits(integer = 6, fraction = 0)
+    String minimumCalls() default "10";
+
+    /**
+     * The number of calls permitted concurrently while the circuit is {@link io.micronaut.retry.CircuitState#HALF_OPEN}.
+     * The circuit closes once all of them succeeded and opens again as soon as one of them fails.
+     *
+     * @return The number of permitted calls in the half open state
+     * @since 1.3
+     */
+    @Digits(integer = 4, fraction = 0)
+    String halfOpenCalls() default "1";
 }
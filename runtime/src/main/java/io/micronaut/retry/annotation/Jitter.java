@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.annotation;
+
+/**
+ * The jitter applied to the delay between the attempts of a {@link Retryable} operation. Jitter spreads the retries
+ * of many callers that failed at the same time, so that they do not hit the recovering service in lockstep.
+ *
+ * @since 1.3
+ */
+public enum Jitter {
+
+    /**
+     * The delay is applied as computed.
+     */
+    NONE,
+
+    /**
+     * A random delay between zero and the computed delay.
+     */
+    FULL,
+
+    /**
+     * A random delay between the configured delay and three times the previous delay. The delay grows with each
+     * attempt without being correlated with the number of the attempt. Delays are shortened so that the overall
+     * delay does not exceed the maximum delay.
+     */
+    DECORRELATED
+}
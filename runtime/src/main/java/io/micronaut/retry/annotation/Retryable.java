@@ -80,4 +80,37 @@ public @interface Retryable {
      */
     @Digits(integer = 2, fraction = 2)
     String multiplier() default "1.0";
+
+    /**
+     * @return The jitter to apply to the delay between retry attempts
+     * @since 1.3
+     */
+    Jitter jitter() default Jitter.NONE;
+
+    /**
+     * The retry budget caps the retries and hedged attempts of the method to the given ratio of its calls within the
+     * {@link #budgetWindow()}, for example "0.2" for at most one retry for every five calls. At least 10 retries are
+     * allowed within every window. Defaults to no budget.
+     *
+     * @return The maximum ratio of retries to calls
+     * @since 1.3
+     */
+    String budget() default "";
+
+    /**
+     * @return The time window of the retry budget
+     * @since 1.3
+     */
+    String budgetWindow() default "10s";
+
+    /**
+     * If set, methods returning a {@link java.util.concurrent.CompletionStage} or a reactive type that emits a
+     * single result are invoked a second time when the first attempt produced no result within the given delay. The
+     * first successful result is used and the other attempt is cancelled. Only use hedging for idempotent operations.
+     * Defaults to no hedging.
+     *
+     * @return The delay after which a hedged attempt is made
+     * @since 1.3
+     */
+    String hedgeDelay() default "";
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.annotation;
+
+/**
+ * The type of the sliding window a {@link CircuitBreaker} computes its failure and slow call rates from.
+ *
+ * @since 1.3
+ */
+public enum SlidingWindowType {
+
+    /**
+     * The window holds the outcomes of the last {@link CircuitBreaker#windowSize()} calls.
+     */
+    COUNT_BASED,
+
+    /**
+     * The window holds the outcomes of the calls of the last {@link CircuitBreaker#windowSize()} seconds.
+     */
+    TIME_BASED
+}
@@ -19,6 +19,7 @@ import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.AnnotationValue;
 import io.micronaut.retry.RetryState;
 import io.micronaut.retry.RetryStateBuilder;
+import io.micronaut.retry.annotation.Jitter;
 import io.micronaut.retry.annotation.Retryable;
 
 import java.time.Duration;
@@ -40,6 +41,7 @@ class AnnotationRetryStateBuilder implements RetryStateBuilder {
     private static final String MAX_DELAY = "maxDelay";
     private static final String INCLUDES = "includes";
     private static final String EXCLUDES = "excludes";
+    private static final String JITTER = "jitter";
     private static final int DEFAULT_RETRY_ATTEMPTS = 3;
 
     private final AnnotationMetadata annotationMetadata;
@@ -68,7 +70,8 @@ class AnnotationRetryStateBuilder implements RetryStateBuilder {
             delay,
             retry.get(MAX_DELAY, Duration.class).orElse(null),
             includes,
-            excludes
+            excludes,
+            retry.enumValue(JITTER, Jitter.class).orElse(Jitter.NONE)
         );
     }
 
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept;
+
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.type.ReturnType;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.retry.BulkheadStatistics;
+import io.micronaut.retry.annotation.Bulkhead;
+import io.micronaut.retry.exception.BulkheadRejectedException;
+import io.micronaut.scheduling.TaskExecutors;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link MethodInterceptor} that limits the number of concurrent calls of a method according to the specified
+ * {@link Bulkhead} annotation.
+ *
+ * <p>The interceptor runs within the {@link InterceptPhase#RETRY} phase, so that every attempt of a retried call
+ * takes a permit and a call does not hold a permit while it waits to be retried. The {@link BulkheadStatistics} of each
+ * method are available from {@link #getBulkheadStatistics(ExecutableMethod)}.</p>
+ *
+ * @since 1.3
+ */
+@Singleton
+public class BulkheadInterceptor implements MethodInterceptor<Object, Object> {
+
+    /**
+     * The position of the interceptor, after the retry interceptor.
+     */
+    public static final int POSITION = InterceptPhase.RETRY.getPosition() + 10;
+
+    private final ScheduledExecutorService executorService;
+    private final Map<ExecutableMethod, MethodBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * @param executorService The executor service to time out waiting calls and to resume calls that waited
+     */
+    public BulkheadInterceptor(@Named(TaskExecutors.SCHEDULED) ExecutorService executorService) {
+        this.executorService = (ScheduledExecutorService) executorService;
+    }
+
+    @Override
+    public int getOrder() {
+        return POSITION;
+    }
+
+    /**
+     * @param method The method
+     * @return The statistics of the given method if it was called
+     */
+    public Optional<BulkheadStatistics> getBulkheadStatistics(ExecutableMethod<?, ?> method) {
+        return Optional.ofNullable(bulkheads.get(method));
+    }
+
+    /**
+     * @return The statistics of the methods that were called
+     */
+    public Map<ExecutableMethod, BulkheadStatistics> getBulkheadStatistics() {
+        return Collections.unmodifiableMap(bulkheads);
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        Optional<AnnotationValue<Bulkhead>> opt = context.findAnnotation(Bulkhead.class);
+        if (!opt.isPresent()) {
+            return context.proceed();
+        }
+        MethodBulkhead bulkhead = bulkheads.computeIfAbsent(
+            context.getExecutableMethod(),
+            method -> new MethodBulkhead(method.toString(), opt.get(), executorService)
+        );
+
+        ReturnType<Object> returnType = context.getReturnType();
+        Class<Object> javaReturnType = returnType.getType();
+        if (CompletionStage.class.isAssignableFrom(javaReturnType)) {
+            return interceptCompletionStage(context, bulkhead);
+        } else if (Publishers.isConvertibleToPublisher(javaReturnType)) {
+            return interceptPublisher(context, bulkhead, returnType);
+        } else {
+            MethodBulkhead.Permit permit = bulkhead.tryAcquire();
+            if (permit == null) {
+                permit = awaitPermit(context, bulkhead);
+            }
+            boolean failed = true;
+            try {
+                Object result = context.proceed();
+                failed = false;
+                return result;
+            } finally {
+                permit.release(failed);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object interceptCompletionStage(MethodInvocationContext<Object, Object> context, MethodBulkhead bulkhead) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        whenPermitted(bulkhead.acquire(), (permit, exception) -> {
+            if (exception != null) {
+                result.completeExceptionally(exception);
+                return;
+            }
+            CompletionStage<Object> stage;
+            try {
+                stage = (CompletionStage<Object>) context.proceed();
+            } catch (RuntimeException e) {
+                permit.release(true);
+                result.completeExceptionally(e);
+                return;
+            }
+            if (stage == null) {
+                permit.release(false);
+                result.complete(null);
+                return;
+            }
+            stage.whenComplete((value, error) -> {
+                permit.release(error != null);
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object interceptPublisher(MethodInvocationContext<Object, Object> context, MethodBulkhead bulkhead, ReturnType<Object> returnType) {
+        ConversionService<?> conversionService = ConversionService.SHARED;
+        Flowable<Object> flowable = Single.<MethodBulkhead.Permit>create(emitter -> {
+            CompletableFuture<MethodBulkhead.Permit> waiter = bulkhead.acquire();
+            emitter.setCancellable(() -> {
+                if (!waiter.isDone()) {
+                    bulkhead.cancel(waiter);
+                }
+            });
+            whenPermitted(waiter, (permit, exception) -> {
+                if (exception != null) {
+                    emitter.tryOnError(exception);
+                } else {
+                    emitter.onSuccess(permit);
+                    if (!permit.isClaimed()) {
+                        // the subscriber went away before the permit was handed to it
+                        permit.cancel();
+                    }
+                }
+            });
+        }).flatMapPublisher(permit -> {
+            permit.claim();
+            Object result;
+            try {
+                result = context.proceed();
+            } catch (RuntimeException e) {
+                permit.release(true);
+                throw e;
+            }
+            if (result == null) {
+                permit.release(false);
+                return Flowable.empty();
+            }
+            return conversionService.convert(result, Flowable.class)
+                .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + result))
+                .doOnError(error -> permit.release(true))
+                .doOnComplete(() -> permit.release(false))
+                .doOnCancel(permit::cancel);
+        });
+        return conversionService
+            .convert(flowable, returnType.asArgument())
+            .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + flowable));
+    }
+
+    /**
+     * Runs the given action once the permit of a call is available. A permit that was handed over by a completing
+     * call is processed on the executor service, so that the call does not proceed on the releasing thread and calls
+     * that complete synchronously do not recurse through the queue of waiting calls.
+     *
+     * @param waiter The waiter returned by {@link MethodBulkhead#acquire()}
+     * @param action The action
+     */
+    private void whenPermitted(CompletableFuture<MethodBulkhead.Permit> waiter, BiConsumer<MethodBulkhead.Permit, Throwable> action) {
+        if (waiter.isDone()) {
+            waiter.whenComplete(action);
+        } else {
+            waiter.whenCompleteAsync(action, executorService);
+        }
+    }
+
+    private MethodBulkhead.Permit awaitPermit(MethodInvocationContext<Object, Object> context, MethodBulkhead bulkhead) {
+        CompletableFuture<MethodBulkhead.Permit> waiter = bulkhead.acquire();
+        try {
+            return waiter.get();
+        } catch (InterruptedException e) {
+            bulkhead.cancel(waiter);
+            Thread.currentThread().interrupt();
+            throw new BulkheadRejectedException("Interrupted waiting for a permit of bulkhead: " + context);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new BulkheadRejectedException(cause.getMessage());
+        }
+    }
+}
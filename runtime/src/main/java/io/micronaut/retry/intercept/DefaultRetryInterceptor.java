@@ -25,7 +25,9 @@ import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.convert.value.MutableConvertibleValues;
 import io.micronaut.core.type.ReturnType;
 import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.retry.Hedging;
 import io.micronaut.retry.RetryState;
+import io.micronaut.retry.RetryStatistics;
 import io.micronaut.retry.annotation.CircuitBreaker;
 import io.micronaut.retry.annotation.Retryable;
 import io.micronaut.retry.event.RetryEvent;
@@ -42,14 +44,25 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 
 /**
- * A {@link MethodInterceptor} that retries an operation according to the specified
- * {@link Retryable} annotation.
+ * <p>A {@link MethodInterceptor} that retries an operation according to the specified
+ * {@link Retryable} annotation.</p>
+ *
+ * <p>Retries of methods that return a {@link CompletionStage} or a reactive type are scheduled without blocking
+ * a thread, only retries of synchronous methods wait on the calling thread. Methods that return a
+ * {@link CompletionStage} or a single result reactive type can additionally be hedged. The
+ * {@link RetryStatistics} of each method are available from {@link #getRetryStatistics(ExecutableMethod)}.</p>
+ *
+ * <p>A {@link CircuitBreaker} opens once the retries of a call are exhausted, unless a failure rate or slow call
+ * rate threshold is configured, in which case it opens based on the outcomes in a sliding window.</p>
  *
  * @author graemerocher
  * @since 1.0
@@ -63,6 +76,8 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
     private final ApplicationEventPublisher eventPublisher;
     private final ScheduledExecutorService executorService;
     private final Map<ExecutableMethod, CircuitBreakerRetry> circuitContexts = new ConcurrentHashMap<>();
+    private final Map<ExecutableMethod, SlidingWindowCircuitBreaker> slidingWindowCircuits = new ConcurrentHashMap<>();
+    private final Map<ExecutableMethod, MethodRetryStatistics> retryStatistics = new ConcurrentHashMap<>();
 
     /**
      * Construct a default retry method interceptor with the event publisher.
@@ -94,6 +109,23 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
         return InterceptPhase.RETRY.getPosition();
     }
 
+    /**
+     * @param method The method
+     * @return The statistics of the given method if it was called
+     * @since 1.3
+     */
+    public Optional<RetryStatistics> getRetryStatistics(ExecutableMethod<?, ?> method) {
+        return Optional.ofNullable(retryStatistics.get(method));
+    }
+
+    /**
+     * @return The statistics of the methods that were called
+     * @since 1.3
+     */
+    public Map<ExecutableMethod, RetryStatistics> getRetryStatistics() {
+        return Collections.unmodifiableMap(retryStatistics);
+    }
+
     @Override
     public Object intercept(MethodInvocationContext<Object, Object> context) {
         Optional<AnnotationValue<Retryable>> opt = context.findAnnotation(Retryable.class);
@@ -112,16 +144,30 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
             long timeout = context
                 .getValue(CircuitBreaker.class, "reset", Duration.class)
                 .map(Duration::toMillis).orElse(Duration.ofSeconds(DEFAULT_CIRCUIT_BREAKER_TIMEOUT_IN_MILLIS).toMillis());
-            retryState = circuitContexts.computeIfAbsent(
-                context.getExecutableMethod(),
-                method -> new CircuitBreakerRetry(timeout, retryStateBuilder, context, eventPublisher)
-            );
+            Optional<AnnotationValue<CircuitBreaker>> circuitBreaker = context.findAnnotation(CircuitBreaker.class)
+                .filter(SlidingWindowCircuitBreaker::isConfigured);
+            if (circuitBreaker.isPresent()) {
+                retryState = slidingWindowCircuits.computeIfAbsent(
+                    context.getExecutableMethod(),
+                    method -> new SlidingWindowCircuitBreaker(timeout, circuitBreaker.get(), retryStateBuilder, context, eventPublisher)
+                ).newCall();
+            } else {
+                retryState = circuitContexts.computeIfAbsent(
+                    context.getExecutableMethod(),
+                    method -> new CircuitBreakerRetry(timeout, retryStateBuilder, context, eventPublisher)
+                );
+            }
         } else {
             retryState = (MutableRetryState) retryStateBuilder.build();
         }
 
         MutableConvertibleValues<Object> attrs = context.getAttributes();
         attrs.put(RetryState.class.getName(), retry);
+        MethodRetryStatistics statistics = retryStatistics.computeIfAbsent(
+            context.getExecutableMethod(),
+            method -> new MethodRetryStatistics(retry)
+        );
+        statistics.callStarted();
 
         ReturnType<Object> returnType = context.getReturnType();
         Class<Object> javaReturnType = returnType.getType();
@@ -138,7 +184,8 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
                 return result;
             } else {
                 CompletableFuture newFuture = new CompletableFuture();
-                ((CompletableFuture<?>) result).whenComplete(retryCompletable(newFuture, context, retryState));
+                hedgeCompletable(context, statistics, (CompletableFuture<Object>) result)
+                    .whenComplete(retryCompletable(newFuture, context, retryState, statistics));
                 return newFuture;
             }
         } else if (Publishers.isConvertibleToPublisher(javaReturnType)) {
@@ -154,13 +201,14 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
             if (result == null) {
                 return result;
             } else {
-                Flowable observable = conversionService
+                Flowable observable = hedgeFlowable(statistics, javaReturnType, conversionService
                     .convert(result, Flowable.class)
-                    .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + result));
-                Flowable retryObservable = observable.onErrorResumeNext(retryFlowable(context, retryState, observable))
+                    .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + result)));
+                Flowable retryObservable = observable.onErrorResumeNext(retryFlowable(context, retryState, observable, statistics))
                     .doOnNext(o -> {
                         retryState.close(null);
-                    });
+                    })
+                    .doOnComplete(() -> retryState.close(null));
 
                 return conversionService
                     .convert(retryObservable, returnType.asArgument())
@@ -175,7 +223,7 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
                     retryState.close(null);
                     return result;
                 } catch (RuntimeException e) {
-                    if (!retryState.canRetry(e)) {
+                    if (!retryState.canRetry(e) || !statistics.tryRetry()) {
                         if (LOG.isDebugEnabled()) {
                             LOG.debug("Cannot retry anymore. Rethrowing original exception for method: {}", context);
                         }
@@ -194,8 +242,10 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
                             if (LOG.isDebugEnabled()) {
                                 LOG.debug("Retrying execution for method [{}] after delay of {}ms for exception: {}", context, delayMillis, e.getMessage());
                             }
+                            // the caller expects the result on this thread so there is no way around waiting
                             Thread.sleep(delayMillis);
                         } catch (InterruptedException e1) {
+                            Thread.currentThread().interrupt();
                             throw e;
                         }
                     }
@@ -205,11 +255,11 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
     }
 
     @SuppressWarnings("unchecked")
-    private Function retryFlowable(MethodInvocationContext<Object, Object> context, MutableRetryState retryState, Flowable observable) {
+    private Function retryFlowable(MethodInvocationContext<Object, Object> context, MutableRetryState retryState, Flowable observable, MethodRetryStatistics statistics) {
         return throwable -> {
             Throwable exception = (Throwable) throwable;
-            if (retryState.canRetry(exception)) {
-                Flowable retryObservable = observable.onErrorResumeNext(retryFlowable(context, retryState, observable));
+            if (retryState.canRetry(exception) && statistics.tryRetry()) {
+                Flowable retryObservable = observable.onErrorResumeNext(retryFlowable(context, retryState, observable, statistics));
                 long delay = retryState.nextDelay();
                 if (eventPublisher != null) {
                     try {
@@ -235,14 +285,14 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
         };
     }
 
-    private  BiConsumer<Object, ? super Throwable> retryCompletable(CompletableFuture<Object> newFuture, MethodInvocationContext<Object, Object> context, MutableRetryState retryState) {
+    private BiConsumer<Object, ? super Throwable> retryCompletable(CompletableFuture<Object> newFuture, MethodInvocationContext<Object, Object> context, MutableRetryState retryState, MethodRetryStatistics statistics) {
         return (Object value, Throwable exception) -> {
             if (exception == null) {
                 retryState.close(null);
                 newFuture.complete(value);
                 return;
             }
-            if (retryState.canRetry(exception)) {
+            if (retryState.canRetry(exception) && statistics.tryRetry()) {
                 long delay = retryState.nextDelay();
                 if (eventPublisher != null) {
                     try {
@@ -259,7 +309,8 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
                                 (exception).getMessage());
                     }
                     Object retryResult = context.proceed(this);
-                    ((CompletableFuture<?>) retryResult).whenComplete(retryCompletable(newFuture, context, retryState));
+                    hedgeCompletable(context, statistics, (CompletableFuture<Object>) retryResult)
+                        .whenComplete(retryCompletable(newFuture, context, retryState, statistics));
 
                 }, delay, TimeUnit.MILLISECONDS);
             } else {
@@ -272,4 +323,90 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
         };
 
     }
+
+    /**
+     * Hedges the given attempt of a method that returns a {@link CompletionStage}: if the attempt did not complete
+     * within the hedge delay, the method is invoked again and the first successful result is used.
+     *
+     * @param context    The invocation context
+     * @param statistics The statistics of the method
+     * @param attempt    The attempt
+     * @return A future that completes with the first successful result or the last error
+     */
+    private CompletableFuture<Object> hedgeCompletable(MethodInvocationContext<Object, Object> context, MethodRetryStatistics statistics, CompletableFuture<Object> attempt) {
+        long hedgeDelay = statistics.getHedgeDelay();
+        if (hedgeDelay < 0 || attempt.isDone()) {
+            return attempt;
+        }
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        AtomicReference<CompletableFuture<Object>> hedge = new AtomicReference<>();
+        attempt.whenComplete(completeHedged(result, pending));
+        ScheduledFuture<?> scheduledHedge = executorService.schedule(() -> {
+            if (result.isDone() || !statistics.tryHedge()) {
+                return;
+            }
+            if (pending.getAndUpdate(count -> count == 0 ? 0 : count + 1) == 0) {
+                // the attempt failed in the meantime
+                return;
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Hedging execution for method [{}] after delay of {}ms", context, hedgeDelay);
+            }
+            CompletableFuture<Object> hedgeResult;
+            try {
+                hedgeResult = (CompletableFuture<Object>) context.proceed(this);
+            } catch (RuntimeException e) {
+                hedgeResult = new CompletableFuture<>();
+                hedgeResult.completeExceptionally(e);
+            }
+            if (hedgeResult == null) {
+                hedgeResult = new CompletableFuture<>();
+                hedgeResult.completeExceptionally(new IllegalStateException("Hedged execution returned null"));
+            }
+            hedge.set(hedgeResult);
+            hedgeResult.whenComplete(completeHedged(result, pending));
+            if (result.isDone()) {
+                hedgeResult.cancel(false);
+            }
+        }, hedgeDelay, TimeUnit.MILLISECONDS);
+        result.whenComplete((value, exception) -> {
+            // cancel the attempt that lost
+            scheduledHedge.cancel(false);
+            attempt.cancel(false);
+            CompletableFuture<Object> hedgeResult = hedge.get();
+            if (hedgeResult != null) {
+                hedgeResult.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    private BiConsumer<Object, Throwable> completeHedged(CompletableFuture<Object> result, AtomicInteger pending) {
+        return (value, exception) -> {
+            if (exception == null) {
+                result.complete(value);
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(exception);
+            }
+        };
+    }
+
+    /**
+     * Hedges the given attempt of a method that returns a reactive type: if a single result type did not emit within
+     * the hedge delay, it is subscribed to again and the first successful result is used.
+     *
+     * @param statistics     The statistics of the method
+     * @param javaReturnType The return type of the method
+     * @param attempt        The attempt
+     * @return The hedged attempt
+     */
+    @SuppressWarnings("unchecked")
+    private Flowable hedgeFlowable(MethodRetryStatistics statistics, Class<?> javaReturnType, Flowable attempt) {
+        long hedgeDelay = statistics.getHedgeDelay();
+        if (hedgeDelay < 0 || !Publishers.isSingle(javaReturnType)) {
+            return attempt;
+        }
+        return Hedging.hedge(attempt, attempt, hedgeDelay, TimeUnit.MILLISECONDS, statistics::tryHedge);
+    }
 }
@@ -0,0 +1,363 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept;
+
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.retry.BulkheadStatistics;
+import io.micronaut.retry.annotation.Bulkhead;
+import io.micronaut.retry.annotation.BulkheadLimit;
+import io.micronaut.retry.exception.BulkheadRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The permits and the limit of a {@link Bulkhead} method.
+ *
+ * <p>Permits are taken with compare and set on the number of calls in flight. Calls that wait for a permit are
+ * queued and handed the permit of a completing call, so that waiting never blocks a thread unless the caller
+ * blocks on the returned future.</p>
+ *
+ * @since 1.3
+ */
+class MethodBulkhead implements BulkheadStatistics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkheadInterceptor.class);
+
+    private static final String MAX_CONCURRENT_CALLS = "maxConcurrentCalls";
+    private static final String MAX_WAITING_CALLS = "maxWaitingCalls";
+    private static final String MAX_WAIT = "maxWait";
+    private static final String LIMIT = "limit";
+    private static final String MIN_LIMIT = "minLimit";
+    private static final String MAX_LIMIT = "maxLimit";
+    private static final String MAX_LATENCY = "maxLatency";
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double SMOOTHING = 0.2;
+    private static final double SHORT_RTT_DECAY = 0.1;
+    private static final double LONG_RTT_DECAY = 2d / 601;
+    private static final double RTT_TOLERANCE = 1.5;
+
+    private final String name;
+    private final int maxWaitingCalls;
+    private final long maxWait;
+    private final BulkheadLimit limitAlgorithm;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxLatency;
+    private final ScheduledExecutorService executorService;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Queue<CompletableFuture<Permit>> waiters = new ConcurrentLinkedQueue<>();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+
+    // the state of the adaptive limits, guarded by this
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    /**
+     * @param name            The name of the method, used in messages
+     * @param bulkhead        The bulkhead annotation
+     * @param executorService The executor service to time out waiting calls
+     */
+    MethodBulkhead(String name, AnnotationValue<Bulkhead> bulkhead, ScheduledExecutorService executorService) {
+        this(
+            name,
+            bulkhead.get(MAX_CONCURRENT_CALLS, Integer.class).orElse(25),
+            bulkhead.get(MAX_WAITING_CALLS, Integer.class).orElse(0),
+            bulkhead.get(MAX_WAIT, Duration.class).orElse(Duration.ofSeconds(1)),
+            bulkhead.enumValue(LIMIT, BulkheadLimit.class).orElse(BulkheadLimit.FIXED),
+            bulkhead.get(MIN_LIMIT, Integer.class).orElse(1),
+            bulkhead.get(MAX_LIMIT, Integer.class).orElse(200),
+            bulkhead.get(MAX_LATENCY, Duration.class).orElse(null),
+            executorService
+        );
+    }
+
+    /**
+     * @param name               The name of the method, used in messages
+     * @param maxConcurrentCalls The maximum number of concurrent calls or the initial adaptive limit
+     * @param maxWaitingCalls    The maximum number of waiting calls
+     * @param maxWait            The maximum duration a call waits or zero to wait without a limit
+     * @param limitAlgorithm     The limit algorithm
+     * @param minLimit           The lower bound of an adaptive limit
+     * @param maxLimit           The upper bound of an adaptive limit
+     * @param maxLatency         The latency above which a call reduces an AIMD limit or null
+     * @param executorService    The executor service to time out waiting calls
+     */
+    MethodBulkhead(
+        String name,
+        int maxConcurrentCalls,
+        int maxWaitingCalls,
+        Duration maxWait,
+        BulkheadLimit limitAlgorithm,
+        int minLimit,
+        int maxLimit,
+        @Nullable Duration maxLatency,
+        ScheduledExecutorService executorService) {
+        this.name = name;
+        this.maxWaitingCalls = Math.max(maxWaitingCalls, 0);
+        this.maxWait = maxWait.toNanos();
+        this.limitAlgorithm = limitAlgorithm;
+        this.minLimit = Math.max(minLimit, 1);
+        this.maxLimit = Math.max(maxLimit, this.minLimit);
+        this.maxLatency = maxLatency != null ? maxLatency.toNanos() : Long.MAX_VALUE;
+        this.executorService = executorService;
+        int initialLimit = Math.max(maxConcurrentCalls, 1);
+        if (limitAlgorithm != BulkheadLimit.FIXED) {
+            initialLimit = Math.min(Math.max(initialLimit, this.minLimit), this.maxLimit);
+        }
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    @Override
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    @Override
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Takes a permit if one is available without waiting.
+     *
+     * @return The permit or null if the limit is reached
+     */
+    @Nullable Permit tryAcquire() {
+        if (!tryIncrement()) {
+            return null;
+        }
+        accepted.increment();
+        return new Permit();
+    }
+
+    /**
+     * Takes a permit, waiting for one if the limit is reached and the number of waiting calls allows.
+     *
+     * @return A future that completes with the permit or with a {@link BulkheadRejectedException}
+     */
+    CompletableFuture<Permit> acquire() {
+        Permit permit = tryAcquire();
+        if (permit != null) {
+            return CompletableFuture.completedFuture(permit);
+        }
+        CompletableFuture<Permit> waiter = new CompletableFuture<>();
+        if (waiting.incrementAndGet() > maxWaitingCalls) {
+            waiting.decrementAndGet();
+            waiter.completeExceptionally(rejection("Bulkhead full"));
+            return waiter;
+        }
+        waiters.add(waiter);
+        if (maxWait > 0) {
+            executorService.schedule(() -> {
+                if (waiter.completeExceptionally(rejection("Timed out waiting for a permit of bulkhead"))) {
+                    remove(waiter);
+                }
+            }, maxWait, TimeUnit.NANOSECONDS);
+        }
+        // a permit may have been released before the waiter was queued
+        drain();
+        return waiter;
+    }
+
+    /**
+     * Cancels a call that waits for a permit, or releases the permit if it was already handed to the call.
+     *
+     * @param waiter The waiter returned by {@link #acquire()}
+     */
+    void cancel(CompletableFuture<Permit> waiter) {
+        if (waiter.cancel(false)) {
+            remove(waiter);
+        } else if (!waiter.isCompletedExceptionally()) {
+            waiter.join().cancel();
+        }
+    }
+
+    private void remove(CompletableFuture<Permit> waiter) {
+        if (waiters.remove(waiter)) {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private BulkheadRejectedException rejection(String message) {
+        rejected.increment();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Rejecting call of [{}]: {} with {} calls in flight and a limit of {}", name, message, inFlight.get(), limit);
+        }
+        return new BulkheadRejectedException(message + ": " + name);
+    }
+
+    private boolean tryIncrement() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Hands available permits to waiting calls. Called after every change that may allow a waiting call to proceed.
+     */
+    private void drain() {
+        while (!waiters.isEmpty() && tryIncrement()) {
+            if (!handOver()) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private boolean handOver() {
+        CompletableFuture<Permit> waiter;
+        while ((waiter = waiters.poll()) != null) {
+            waiting.decrementAndGet();
+            if (waiter.complete(new Permit())) {
+                accepted.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    /**
+     * Adjusts an adaptive limit from the outcome of a call.
+     *
+     * @param rtt       The latency of the call in nanoseconds
+     * @param failed    Whether the call failed
+     * @param inFlight  The number of calls that were in flight when the call completed
+     */
+    private synchronized void onSample(long rtt, boolean failed, int inFlight) {
+        double newLimit;
+        if (limitAlgorithm == BulkheadLimit.AIMD) {
+            if (failed || rtt > maxLatency) {
+                newLimit = estimatedLimit * BACKOFF_RATIO;
+            } else if (inFlight * 2 >= estimatedLimit) {
+                newLimit = estimatedLimit + 1;
+            } else {
+                return;
+            }
+        } else {
+            if (failed) {
+                // failures complete early and would distort the latency
+                return;
+            }
+            shortRtt = shortRtt == 0 ? rtt : shortRtt + (rtt - shortRtt) * SHORT_RTT_DECAY;
+            longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) * LONG_RTT_DECAY;
+            if (longRtt / shortRtt > 2) {
+                // recover faster once the latency dropped for a longer period
+                longRtt *= 0.95;
+            }
+            if (inFlight * 2 < estimatedLimit) {
+                // the limit is not the bottleneck
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+            double queueSize = Math.sqrt(estimatedLimit);
+            newLimit = estimatedLimit * (1 - SMOOTHING) + (estimatedLimit * gradient + queueSize) * SMOOTHING;
+        }
+        estimatedLimit = Math.min(Math.max(newLimit, minLimit), maxLimit);
+        int previous = limit;
+        limit = (int) estimatedLimit;
+        if (LOG.isTraceEnabled() && previous != limit) {
+            LOG.trace("Adjusted limit of bulkhead [{}] from {} to {}", name, previous, limit);
+        }
+    }
+
+    /**
+     * The permit of a call. Releasing a permit more than once has no effect.
+     */
+    final class Permit {
+        private final long start = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean claimed;
+
+        /**
+         * Marks the permit as handed to the call that uses it.
+         */
+        void claim() {
+            claimed = true;
+        }
+
+        /**
+         * @return Whether the permit was handed to the call that uses it
+         */
+        boolean isClaimed() {
+            return claimed;
+        }
+
+        /**
+         * Releases the permit once the call completed.
+         *
+         * @param failed Whether the call failed
+         */
+        void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                if (limitAlgorithm != BulkheadLimit.FIXED) {
+                    onSample(System.nanoTime() - start, failed, inFlight.get());
+                }
+                MethodBulkhead.this.release();
+            }
+        }
+
+        /**
+         * Releases the permit of a call that was cancelled, without adjusting the limit.
+         */
+        void cancel() {
+            if (released.compareAndSet(false, true)) {
+                MethodBulkhead.this.release();
+            }
+        }
+    }
+}
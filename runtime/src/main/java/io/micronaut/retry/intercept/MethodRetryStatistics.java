@@ -0,0 +1,200 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept;
+
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.retry.RetryStatistics;
+import io.micronaut.retry.annotation.Retryable;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link RetryStatistics} of a {@link Retryable} method, which also enforce its retry budget.
+ *
+ * <p>The budget is tracked over a window split into {@value #BUCKETS} buckets, so that old calls and retries leave
+ * the window gradually.</p>
+ *
+ * @since 1.3
+ */
+@Internal
+final class MethodRetryStatistics implements RetryStatistics {
+
+    /**
+     * The number of retries allowed within every window regardless of the number of calls.
+     */
+    static final int MIN_RETRIES_PER_WINDOW = 10;
+
+    private static final int BUCKETS = 10;
+    private static final String BUDGET = "budget";
+    private static final String BUDGET_WINDOW = "budgetWindow";
+    private static final String HEDGE_DELAY = "hedgeDelay";
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+    private final double budget;
+    private final long bucketNanos;
+    private final long hedgeDelay;
+    private final long[] bucketCalls = new long[BUCKETS];
+    private final long[] bucketRetries = new long[BUCKETS];
+    private long currentBucket;
+
+    /**
+     * @param retry The retry annotation
+     */
+    MethodRetryStatistics(AnnotationValue<Retryable> retry) {
+        this(
+            retry.get(BUDGET, Double.class).orElse(0d),
+            retry.get(BUDGET_WINDOW, Duration.class).orElse(Duration.ofSeconds(10)),
+            retry.get(HEDGE_DELAY, Duration.class).map(Duration::toMillis).orElse(-1L)
+        );
+    }
+
+    /**
+     * @param budget     The maximum ratio of retries to calls or 0 for no budget
+     * @param window     The window of the budget
+     * @param hedgeDelay The hedge delay in milliseconds or a negative value to disable hedging
+     */
+    MethodRetryStatistics(double budget, Duration window, long hedgeDelay) {
+        this.budget = budget;
+        this.bucketNanos = Math.max(window.toNanos() / BUCKETS, 1);
+        this.hedgeDelay = hedgeDelay;
+        this.currentBucket = Math.floorDiv(System.nanoTime(), bucketNanos);
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    @Override
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    @Override
+    public long getHedges() {
+        return hedges.sum();
+    }
+
+    @Override
+    public long getBudgetExhausted() {
+        return budgetExhausted.sum();
+    }
+
+    /**
+     * @return The hedge delay in milliseconds or a negative value if hedging is disabled
+     */
+    long getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    /**
+     * Records a call to the method.
+     */
+    void callStarted() {
+        calls.increment();
+        attempts.increment();
+        if (budget > 0) {
+            synchronized (this) {
+                bucketCalls[roll()]++;
+            }
+        }
+    }
+
+    /**
+     * Acquires a retry from the budget.
+     *
+     * @return Whether the retry may be made
+     */
+    boolean tryRetry() {
+        if (!tryAcquire()) {
+            return false;
+        }
+        retries.increment();
+        attempts.increment();
+        return true;
+    }
+
+    /**
+     * Acquires a hedged attempt from the budget.
+     *
+     * @return Whether the hedged attempt may be made
+     */
+    boolean tryHedge() {
+        if (!tryAcquire()) {
+            return false;
+        }
+        hedges.increment();
+        attempts.increment();
+        return true;
+    }
+
+    private boolean tryAcquire() {
+        if (budget <= 0) {
+            return true;
+        }
+        synchronized (this) {
+            int bucket = roll();
+            long windowCalls = 0;
+            long windowRetries = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                windowCalls += bucketCalls[i];
+                windowRetries += bucketRetries[i];
+            }
+            if (windowRetries >= Math.max(MIN_RETRIES_PER_WINDOW, budget * windowCalls)) {
+                budgetExhausted.increment();
+                return false;
+            }
+            bucketRetries[bucket]++;
+            return true;
+        }
+    }
+
+    /**
+     * Clears the buckets that left the window since the last call.
+     *
+     * @return The index of the current bucket
+     */
+    private int roll() {
+        long bucket = Math.floorDiv(System.nanoTime(), bucketNanos);
+        long elapsed = bucket - currentBucket;
+        if (elapsed > 0) {
+            for (long i = 1; i <= Math.min(elapsed, BUCKETS); i++) {
+                int index = (int) Math.floorMod(currentBucket + i, (long) BUCKETS);
+                bucketCalls[index] = 0;
+                bucketRetries[index] = 0;
+            }
+            currentBucket = bucket;
+        }
+        return (int) Math.floorMod(currentBucket, (long) BUCKETS);
+    }
+
+    @Override
+    public String toString() {
+        return "RetryStatistics{calls=" + getCalls() + ", attempts=" + getAttempts() + ", retries=" + getRetries() +
+                ", hedges=" + getHedges() + ", budgetExhausted=" + getBudgetExhausted() + '}';
+    }
+}
@@ -23,6 +23,7 @@ import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.reflect.ReflectionUtils;
 import io.micronaut.discovery.exceptions.NoAvailableServiceException;
+import io.micronaut.inject.ExecutableMethod;
 import io.micronaut.inject.MethodExecutionHandle;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.retry.annotation.Fallback;
@@ -126,14 +127,29 @@ public class RecoveryInterceptor implements MethodInterceptor<Object, Object> {
      * @return The fallback method if it is present
      */
     public Optional<? extends MethodExecutionHandle<?, Object>> findFallbackMethod(MethodInvocationContext<Object, Object> context) {
-        Class<?> declaringType = context.getDeclaringType();
+        return findFallbackMethod(context.getDeclaringType(), context.getMethodName(), context.getArgumentTypes());
+    }
+
+    @Override
+    public boolean appliesTo(ExecutableMethod<?, ?> method) {
+        try {
+            return findFallbackMethod(method.getDeclaringType(), method.getMethodName(), method.getArgumentTypes()).isPresent();
+        } catch (RuntimeException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Unable to determine whether a fallback exists for method [" + method + "]: " + e.getMessage(), e);
+            }
+            return true;
+        }
+    }
+
+    private Optional<? extends MethodExecutionHandle<?, Object>> findFallbackMethod(Class<?> declaringType, String methodName, Class[] argumentTypes) {
         Optional<? extends MethodExecutionHandle<?, Object>> result = beanContext
-                .findExecutionHandle(declaringType, Qualifiers.byStereotype(Fallback.class), context.getMethodName(), context.getArgumentTypes());
+                .findExecutionHandle(declaringType, Qualifiers.byStereotype(Fallback.class), methodName, argumentTypes);
         if (!result.isPresent()) {
             Set<Class> allInterfaces = ReflectionUtils.getAllInterfaces(declaringType);
             for (Class i : allInterfaces) {
                 result = beanContext
-                    .findExecutionHandle(i, Qualifiers.byStereotype(Fallback.class), context.getMethodName(), context.getArgumentTypes());
+                    .findExecutionHandle(i, Qualifiers.byStereotype(Fallback.class), methodName, argumentTypes);
                 if (result.isPresent()) {
                     return result;
                 }
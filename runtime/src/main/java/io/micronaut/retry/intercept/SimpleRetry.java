@@ -17,12 +17,14 @@ package io.micronaut.retry.intercept;
 
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.retry.RetryState;
+import io.micronaut.retry.annotation.Jitter;
 
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -40,8 +42,10 @@ class SimpleRetry implements RetryState, MutableRetryState {
     private final Duration maxDelay;
     private final boolean hasIncludes;
     private final boolean hasExcludes;
+    private final Jitter jitter;
     private AtomicInteger attemptNumber = new AtomicInteger(0);
     private AtomicLong overallDelay = new AtomicLong(0);
+    private AtomicLong previousDelay = new AtomicLong(0);
     private final Set<Class<? extends Throwable>> includes;
     private final Set<Class<? extends Throwable>> excludes;
 
@@ -60,6 +64,26 @@ class SimpleRetry implements RetryState, MutableRetryState {
         Duration maxDelay,
         Set<Class<? extends Throwable>> includes,
         Set<Class<? extends Throwable>> excludes) {
+        this(maxAttempts, multiplier, delay, maxDelay, includes, excludes, Jitter.NONE);
+    }
+
+    /**
+     * @param maxAttempts The maximum number of attemps
+     * @param multiplier The multiplier to use between delays
+     * @param delay The overall delay so far
+     * @param maxDelay The maximum overall delay
+     * @param includes Classes to include for retry
+     * @param excludes Classes to exclude for retry
+     * @param jitter The jitter to apply to the delay
+     */
+    SimpleRetry(
+        int maxAttempts,
+        double multiplier,
+        Duration delay,
+        Duration maxDelay,
+        Set<Class<? extends Throwable>> includes,
+        Set<Class<? extends Throwable>> excludes,
+        Jitter jitter) {
 
         this.maxAttempts = maxAttempts;
         this.multiplier = multiplier;
@@ -69,6 +93,7 @@ class SimpleRetry implements RetryState, MutableRetryState {
         this.excludes = excludes == null ? Collections.emptySet() : excludes;
         this.hasIncludes = !this.includes.isEmpty();
         this.hasExcludes = !this.excludes.isEmpty();
+        this.jitter = jitter == null ? Jitter.NONE : jitter;
     }
 
     /**
@@ -168,6 +193,24 @@ class SimpleRetry implements RetryState, MutableRetryState {
         double multiplier = getMultiplier().orElse(1.0);
         int current = attemptNumber.get() + 1;
         long delay = (long) (getDelay().toMillis() * multiplier) * current;
+        switch (jitter) {
+            case FULL:
+                delay = ThreadLocalRandom.current().nextLong(delay + 1);
+                break;
+            case DECORRELATED:
+                long base = getDelay().toMillis();
+                long previous = previousDelay.get();
+                long upper = Math.max(base, (previous > 0 ? previous : base) * 3);
+                delay = base + ThreadLocalRandom.current().nextLong(upper - base + 1);
+                previousDelay.set(delay);
+                if (maxDelay != null) {
+                    // the maximum delay caps the overall delay, so a delay may only use what is left of it
+                    delay = Math.max(0, Math.min(delay, maxDelay.toMillis() - overallDelay.get()));
+                }
+                break;
+            default:
+                // no jitter
+        }
         overallDelay.addAndGet(delay);
         return delay;
     }
@@ -0,0 +1,631 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept;
+
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.retry.CircuitState;
+import io.micronaut.retry.RetryState;
+import io.micronaut.retry.RetryStateBuilder;
+import io.micronaut.retry.annotation.CircuitBreaker;
+import io.micronaut.retry.annotation.SlidingWindowType;
+import io.micronaut.retry.event.CircuitClosedEvent;
+import io.micronaut.retry.event.CircuitOpenEvent;
+import io.micronaut.retry.exception.CircuitOpenException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A circuit breaker that opens when the failure rate or the slow call rate of the calls recorded in a sliding
+ * window reaches a threshold. Every attempt of a call, including its retries, is recorded.</p>
+ *
+ * <p>The state of the circuit is an immutable value that is swapped with compare and set, so each transition is
+ * performed and published by exactly one caller. While the circuit is {@link CircuitState#HALF_OPEN} only a bounded
+ * number of probe calls is permitted. A count based window is split into stripes that are picked at random, so that
+ * recording outcomes does not contend on a single counter. A time based window uses {@link LongAdder} buckets.</p>
+ *
+ * @since 1.3
+ */
+class SlidingWindowCircuitBreaker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultRetryInterceptor.class);
+
+    private static final String FAILURE_RATE_THRESHOLD = "failureRateThreshold";
+    private static final String SLOW_CALL_RATE_THRESHOLD = "slowCallRateThreshold";
+    private static final String SLOW_CALL_DURATION = "slowCallDuration";
+    private static final String WINDOW_TYPE = "windowType";
+    private static final String WINDOW_SIZE = "windowSize";
+    private static final String MINIMUM_CALLS = "minimumCalls";
+    private static final String HALF_OPEN_CALLS = "halfOpenCalls";
+    private static final int MIN_STRIPE_SIZE = 8;
+    private static final int MAX_STRIPES = 64;
+
+    private final long openTimeout;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallDuration;
+    private final SlidingWindowType windowType;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int halfOpenCalls;
+    private final RetryStateBuilder retryStateBuilder;
+    private final ExecutableMethod<?, ?> method;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicReference<State> state;
+
+    /**
+     * @param openTimeout       The circuit open timeout in millis
+     * @param circuitBreaker    The circuit breaker annotation
+     * @param childStateBuilder The retry state builder
+     * @param method            A compile time produced invocation of a method call
+     * @param eventPublisher    To publish circuit events
+     */
+    SlidingWindowCircuitBreaker(
+        long openTimeout,
+        AnnotationValue<CircuitBreaker> circuitBreaker,
+        RetryStateBuilder childStateBuilder,
+        ExecutableMethod<?, ?> method,
+        ApplicationEventPublisher eventPublisher) {
+        this(
+            openTimeout,
+            circuitBreaker.get(FAILURE_RATE_THRESHOLD, Double.class).orElse(-1d),
+            circuitBreaker.get(SLOW_CALL_RATE_THRESHOLD, Double.class).orElse(-1d),
+            circuitBreaker.get(SLOW_CALL_DURATION, Duration.class).orElse(Duration.ofSeconds(60)),
+            circuitBreaker.enumValue(WINDOW_TYPE, SlidingWindowType.class).orElse(SlidingWindowType.COUNT_BASED),
+            circuitBreaker.get(WINDOW_SIZE, Integer.class).orElse(100),
+            circuitBreaker.get(MINIMUM_CALLS, Integer.class).orElse(10),
+            circuitBreaker.get(HALF_OPEN_CALLS, Integer.class).orElse(1),
+            childStateBuilder,
+            method,
+            eventPublisher
+        );
+    }
+
+    /**
+     * @param openTimeout           The circuit open timeout in millis
+     * @param failureRateThreshold  The failure rate threshold in percent or a negative value to disable it
+     * @param slowCallRateThreshold The slow call rate threshold in percent or a negative value to disable it
+     * @param slowCallDuration      The duration after which a call is slow
+     * @param windowType            The type of the sliding window
+     * @param windowSize            The number of calls or seconds of the sliding window
+     * @param minimumCalls          The minimum number of calls before the rates are evaluated
+     * @param halfOpenCalls         The number of calls permitted while half open
+     * @param childStateBuilder     The retry state builder
+     * @param method                A compile time produced invocation of a method call
+     * @param eventPublisher        To publish circuit events
+     */
+    SlidingWindowCircuitBreaker(
+        long openTimeout,
+        double failureRateThreshold,
+        double slowCallRateThreshold,
+        Duration slowCallDuration,
+        SlidingWindowType windowType,
+        int windowSize,
+        int minimumCalls,
+        int halfOpenCalls,
+        RetryStateBuilder childStateBuilder,
+        ExecutableMethod<?, ?> method,
+        ApplicationEventPublisher eventPublisher) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be at least 1");
+        }
+        this.openTimeout = TimeUnit.MILLISECONDS.toNanos(openTimeout);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallDuration = slowCallDuration.toNanos();
+        this.windowType = windowType;
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.max(minimumCalls, 1);
+        this.halfOpenCalls = Math.max(halfOpenCalls, 1);
+        this.retryStateBuilder = childStateBuilder;
+        this.method = method;
+        this.eventPublisher = eventPublisher;
+        this.state = new AtomicReference<>(closedState());
+    }
+
+    /**
+     * @param circuitBreaker The circuit breaker annotation
+     * @return Whether the annotation configures a failure rate or slow call rate threshold
+     */
+    static boolean isConfigured(AnnotationValue<CircuitBreaker> circuitBreaker) {
+        return circuitBreaker.get(FAILURE_RATE_THRESHOLD, Double.class).isPresent() ||
+            circuitBreaker.get(SLOW_CALL_RATE_THRESHOLD, Double.class).isPresent();
+    }
+
+    /**
+     * @return The retry state of a new call protected by this circuit breaker
+     */
+    MutableRetryState newCall() {
+        return new Call((MutableRetryState) retryStateBuilder.build());
+    }
+
+    /**
+     * @return The current state
+     */
+    CircuitState currentState() {
+        State current = state.get();
+        if (current.circuitState == CircuitState.OPEN && System.nanoTime() - current.since >= openTimeout) {
+            return CircuitState.HALF_OPEN;
+        }
+        return current.circuitState;
+    }
+
+    /**
+     * Acquires the permission to perform a call.
+     *
+     * @return The state the call was permitted in
+     */
+    private State acquire() {
+        while (true) {
+            State current = state.get();
+            long now = System.nanoTime();
+            switch (current.circuitState) {
+                case CLOSED:
+                    return current;
+                case OPEN:
+                    if (now - current.since < openTimeout) {
+                        throw rejection(current.cause);
+                    }
+                    if (state.compareAndSet(current, new State(CircuitState.HALF_OPEN, now, null, halfOpenCalls, current.cause)) && LOG.isDebugEnabled()) {
+                        LOG.debug("Half Opening Circuit Breaker [{}]", method);
+                    }
+                    break;
+                default:
+                    if (current.tryAcquirePermit()) {
+                        return current;
+                    }
+                    if (now - current.since < openTimeout) {
+                        throw rejection(current.cause);
+                    }
+                    // the probes did not complete within the timeout, permit new ones
+                    state.compareAndSet(current, new State(CircuitState.HALF_OPEN, now, null, halfOpenCalls, current.cause));
+            }
+        }
+    }
+
+    private RuntimeException rejection(@Nullable Throwable cause) {
+        if (cause == null) {
+            return new CircuitOpenException("Circuit Open");
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Rethrowing existing exception for Open Circuit [{}]: {}", method, cause.getMessage());
+        }
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        return new CircuitOpenException("Circuit Open: " + cause.getMessage(), cause);
+    }
+
+    /**
+     * Records the outcome of an attempt.
+     *
+     * @param permitted  The state the call was permitted in
+     * @param retryState The retry state of the call
+     * @param duration   The duration of the attempt in nanoseconds
+     * @param error      The error or null if the attempt succeeded
+     */
+    private void record(State permitted, RetryState retryState, long duration, @Nullable Throwable error) {
+        if (state.get() != permitted) {
+            // the circuit changed its state since, the outcome is stale
+            return;
+        }
+        boolean slow = duration >= slowCallDuration;
+        if (permitted.circuitState == CircuitState.HALF_OPEN) {
+            if (error != null || slow) {
+                openCircuit(permitted, retryState, error);
+            } else if (permitted.successes.incrementAndGet() >= halfOpenCalls) {
+                closeCircuit(permitted);
+            }
+        } else if (permitted.circuitState == CircuitState.CLOSED) {
+            Window window = permitted.window;
+            window.record(error != null, slow);
+            if ((error != null || slow) && isTripped(window)) {
+                openCircuit(permitted, retryState, error);
+            }
+        }
+    }
+
+    private boolean isTripped(Window window) {
+        long calls = window.getCalls();
+        if (calls < minimumCalls) {
+            return false;
+        }
+        return (failureRateThreshold >= 0 && window.getFailures() * 100d >= failureRateThreshold * calls) ||
+            (slowCallRateThreshold >= 0 && window.getSlowCalls() * 100d >= slowCallRateThreshold * calls);
+    }
+
+    private void openCircuit(State from, RetryState retryState, @Nullable Throwable error) {
+        Throwable cause = error != null ? error : new CircuitOpenException("Circuit Open: Slow call rate reached " + slowCallRateThreshold + "%");
+        if (!state.compareAndSet(from, new State(CircuitState.OPEN, System.nanoTime(), null, 0, cause))) {
+            return;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Opening Circuit Breaker [{}] due to error: {}", method, cause.getMessage());
+        }
+        if (eventPublisher != null) {
+            try {
+                eventPublisher.publishEvent(new CircuitOpenEvent(method, retryState, cause));
+            } catch (Exception e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Error publishing CircuitOpen event: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private void closeCircuit(State from) {
+        if (!state.compareAndSet(from, closedState())) {
+            return;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Closing Circuit Breaker [{}]", method);
+        }
+        if (eventPublisher != null) {
+            try {
+                eventPublisher.publishEvent(new CircuitClosedEvent(method));
+            } catch (Exception e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Error publishing CircuitClosedEvent: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private State closedState() {
+        Window window = windowType == SlidingWindowType.TIME_BASED ? new TimeWindow(windowSize) : new CountWindow(windowSize);
+        return new State(CircuitState.CLOSED, System.nanoTime(), window, 0, null);
+    }
+
+    /**
+     * The retry state of a single call that records the outcome of each of its attempts.
+     */
+    private final class Call implements MutableRetryState {
+
+        private final MutableRetryState childState;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile State permitted;
+        private volatile long attemptStart;
+        private volatile boolean attemptRecorded;
+
+        Call(MutableRetryState childState) {
+            this.childState = childState;
+        }
+
+        @Override
+        public void open() {
+            permitted = acquire();
+            attemptStart = System.nanoTime();
+        }
+
+        @Override
+        public void close(@Nullable Throwable exception) {
+            State permitted = this.permitted;
+            if (permitted == null || !closed.compareAndSet(false, true)) {
+                return;
+            }
+            if (exception == null || !attemptRecorded) {
+                record(permitted, childState, System.nanoTime() - attemptStart, exception);
+            }
+        }
+
+        @Override
+        public boolean canRetry(Throwable exception) {
+            if (exception == null) {
+                throw new IllegalArgumentException("Exception cause cannot be null");
+            }
+            State permitted = this.permitted;
+            if (permitted == null) {
+                return false;
+            }
+            record(permitted, childState, System.nanoTime() - attemptStart, exception);
+            attemptRecorded = true;
+            // probes are not retried and no call is retried once the circuit opened
+            return permitted.circuitState == CircuitState.CLOSED && state.get() == permitted && childState.canRetry(exception);
+        }
+
+        @Override
+        public long nextDelay() {
+            long delay = childState.nextDelay();
+            attemptStart = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+            attemptRecorded = false;
+            return delay;
+        }
+
+        @Override
+        public int getMaxAttempts() {
+            return childState.getMaxAttempts();
+        }
+
+        @Override
+        public int currentAttempt() {
+            return childState.currentAttempt();
+        }
+
+        @Override
+        public OptionalDouble getMultiplier() {
+            return childState.getMultiplier();
+        }
+
+        @Override
+        public Duration getDelay() {
+            return childState.getDelay();
+        }
+
+        @Override
+        public Duration getOverallDelay() {
+            return childState.getOverallDelay();
+        }
+
+        @Override
+        public Optional<Duration> getMaxDelay() {
+            return childState.getMaxDelay();
+        }
+    }
+
+    /**
+     * An immutable state of the circuit.
+     */
+    private static final class State {
+        final CircuitState circuitState;
+        final long since;
+        final Window window;
+        final Throwable cause;
+        final AtomicInteger permits;
+        final AtomicInteger successes;
+
+        State(CircuitState circuitState, long since, @Nullable Window window, int permits, @Nullable Throwable cause) {
+            this.circuitState = circuitState;
+            this.since = since;
+            this.window = window;
+            this.cause = cause;
+            this.permits = new AtomicInteger(permits);
+            this.successes = new AtomicInteger();
+        }
+
+        boolean tryAcquirePermit() {
+            while (true) {
+                int available = permits.get();
+                if (available <= 0) {
+                    return false;
+                }
+                if (permits.compareAndSet(available, available - 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * A sliding window of call outcomes.
+     */
+    private abstract static class Window {
+
+        /**
+         * @param failure Whether the call failed
+         * @param slow    Whether the call was slow
+         */
+        abstract void record(boolean failure, boolean slow);
+
+        /**
+         * @return The number of calls in the window
+         */
+        abstract long getCalls();
+
+        /**
+         * @return The number of failed calls in the window
+         */
+        abstract long getFailures();
+
+        /**
+         * @return The number of slow calls in the window
+         */
+        abstract long getSlowCalls();
+    }
+
+    /**
+     * A window of the last calls. The calls are spread over stripes, each of which is a ring buffer holding the last
+     * outcomes recorded in it, so that the window holds approximately the last calls under concurrency.
+     */
+    private static final class CountWindow extends Window {
+
+        private static final int RECORDED = 1;
+        private static final int FAILURE = 2;
+        private static final int SLOW = 4;
+
+        private final Stripe[] stripes;
+
+        CountWindow(int size) {
+            int count = 1;
+            int max = Math.min(Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES), size / MIN_STRIPE_SIZE);
+            while (count * 2 <= max) {
+                count *= 2;
+            }
+            stripes = new Stripe[count];
+            for (int i = 0; i < count; i++) {
+                stripes[i] = new Stripe(size / count + (i < size % count ? 1 : 0));
+            }
+        }
+
+        @Override
+        void record(boolean failure, boolean slow) {
+            Stripe stripe = stripes.length == 1 ? stripes[0] : stripes[ThreadLocalRandom.current().nextInt(stripes.length)];
+            stripe.record(RECORDED | (failure ? FAILURE : 0) | (slow ? SLOW : 0));
+        }
+
+        @Override
+        long getCalls() {
+            long calls = 0;
+            for (Stripe stripe : stripes) {
+                calls += stripe.calls.get();
+            }
+            return calls;
+        }
+
+        @Override
+        long getFailures() {
+            long failures = 0;
+            for (Stripe stripe : stripes) {
+                failures += stripe.failures.get();
+            }
+            return failures;
+        }
+
+        @Override
+        long getSlowCalls() {
+            long slowCalls = 0;
+            for (Stripe stripe : stripes) {
+                slowCalls += stripe.slowCalls.get();
+            }
+            return slowCalls;
+        }
+
+        /**
+         * A ring buffer of outcomes with running totals.
+         */
+        private static final class Stripe {
+            final AtomicIntegerArray outcomes;
+            final AtomicInteger index = new AtomicInteger();
+            final AtomicInteger calls = new AtomicInteger();
+            final AtomicInteger failures = new AtomicInteger();
+            final AtomicInteger slowCalls = new AtomicInteger();
+
+            Stripe(int size) {
+                outcomes = new AtomicIntegerArray(size);
+            }
+
+            void record(int outcome) {
+                int slot = (index.getAndIncrement() & Integer.MAX_VALUE) % outcomes.length();
+                int previous = outcomes.getAndSet(slot, outcome);
+                if (previous == 0) {
+                    calls.incrementAndGet();
+                }
+                int failed = (outcome & FAILURE) - (previous & FAILURE);
+                if (failed != 0) {
+                    failures.addAndGet(failed / FAILURE);
+                }
+                int slow = (outcome & SLOW) - (previous & SLOW);
+                if (slow != 0) {
+                    slowCalls.addAndGet(slow / SLOW);
+                }
+            }
+        }
+    }
+
+    /**
+     * A window of the calls of the last seconds, with one bucket per second.
+     */
+    private static final class TimeWindow extends Window {
+
+        private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+        private final Bucket[] buckets;
+
+        TimeWindow(int seconds) {
+            buckets = new Bucket[seconds];
+            for (int i = 0; i < seconds; i++) {
+                buckets[i] = new Bucket();
+            }
+        }
+
+        @Override
+        void record(boolean failure, boolean slow) {
+            long second = Math.floorDiv(System.nanoTime(), SECOND);
+            Bucket bucket = buckets[(int) Math.floorMod(second, (long) buckets.length)];
+            if (bucket.second != second) {
+                bucket.reset(second);
+            }
+            bucket.calls.increment();
+            if (failure) {
+                bucket.failures.increment();
+            }
+            if (slow) {
+                bucket.slowCalls.increment();
+            }
+        }
+
+        @Override
+        long getCalls() {
+            long oldest = oldestSecond();
+            long calls = 0;
+            for (Bucket bucket : buckets) {
+                if (bucket.second >= oldest) {
+                    calls += bucket.calls.sum();
+                }
+            }
+            return calls;
+        }
+
+        @Override
+        long getFailures() {
+            long oldest = oldestSecond();
+            long failures = 0;
+            for (Bucket bucket : buckets) {
+                if (bucket.second >= oldest) {
+                    failures += bucket.failures.sum();
+                }
+            }
+            return failures;
+        }
+
+        @Override
+        long getSlowCalls() {
+            long oldest = oldestSecond();
+            long slowCalls = 0;
+            for (Bucket bucket : buckets) {
+                if (bucket.second >= oldest) {
+                    slowCalls += bucket.slowCalls.sum();
+                }
+            }
+            return slowCalls;
+        }
+
+        private long oldestSecond() {
+            return Math.floorDiv(System.nanoTime(), SECOND) - buckets.length + 1;
+        }
+
+        /**
+         * The outcomes of the calls of one second.
+         */
+        private static final class Bucket {
+            final LongAdder calls = new LongAdder();
+            final LongAdder failures = new LongAdder();
+            final LongAdder slowCalls = new LongAdder();
+            volatile long second = Long.MIN_VALUE;
+
+            synchronized void reset(long second) {
+                if (this.second != second) {
+                    calls.reset();
+                    failures.reset();
+                    slowCalls.reset();
+                    this.second = second;
+                }
+            }
+        }
+    }
+}
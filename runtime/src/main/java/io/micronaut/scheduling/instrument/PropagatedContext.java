@@ -0,0 +1,273 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.instrument;
+
+import io.micronaut.core.util.ArgumentUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * <p>An immutable snapshot of the state that follows a unit of work across threads, such as the current request, the
+ * active span or the MDC. Each part of the state is held by a {@link PropagatedContextElement}.</p>
+ *
+ * <p>A snapshot is captured once when a task is submitted or a reactive operator is assembled and installed on the
+ * thread that runs it. Installing a context that is already installed on the current thread costs a single
+ * {@link ThreadLocal} read, and consecutive captures of unchanged state return the same snapshot, so that the
+ * operators of a reactive chain share a single snapshot.</p>
+ *
+ * @since 1.3
+ */
+public final class PropagatedContext implements RunnableInstrumenter {
+
+    /**
+     * The empty context.
+     */
+    public static final PropagatedContext EMPTY = new PropagatedContext(new PropagatedContextElement[0]);
+
+    private static final ThreadLocal<PropagatedContext> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<WeakReference<PropagatedContext>> LAST_CAPTURED = new ThreadLocal<>();
+    private static final Scope NO_OP_SCOPE = () -> { };
+
+    private final PropagatedContextElement[] elements;
+
+    private PropagatedContext(PropagatedContextElement[] elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * @return The context installed on the current thread or {@link #EMPTY}
+     */
+    public static @Nonnull PropagatedContext current() {
+        PropagatedContext current = CURRENT.get();
+        return current != null ? current : EMPTY;
+    }
+
+    /**
+     * Captures the state of the current thread with the given contributors. Elements that no contributor observes a
+     * change for are reused, and if the result equals the last context captured on the current thread outside of
+     * an installed context, that context is returned.
+     *
+     * @param contributors The contributors
+     * @return The captured context
+     */
+    @SuppressWarnings("unchecked")
+    public static @Nonnull PropagatedContext capture(@Nonnull Collection<? extends PropagatedContextContributor> contributors) {
+        PropagatedContext current = CURRENT.get();
+        if (current != null) {
+            // derive from the installed context, which may hold elements that are not captured by contributors
+            PropagatedContext context = current;
+            for (PropagatedContextContributor contributor : contributors) {
+                Class<? extends PropagatedContextElement> type = contributor.getElementType();
+                PropagatedContextElement existing = context.find(type).orElse(null);
+                PropagatedContextElement captured = contributor.capture(existing);
+                if (captured != existing) {
+                    context = captured != null ? context.plus(captured) : context.minus(type);
+                }
+            }
+            return context;
+        }
+
+        WeakReference<PropagatedContext> lastReference = LAST_CAPTURED.get();
+        PropagatedContext last = lastReference != null ? lastReference.get() : null;
+        PropagatedContextElement[] elements = new PropagatedContextElement[contributors.size()];
+        boolean unchanged = last != null;
+        int count = 0;
+        for (PropagatedContextContributor contributor : contributors) {
+            Class<? extends PropagatedContextElement> type = contributor.getElementType();
+            PropagatedContextElement existing = last != null ? last.find(type).orElse(null) : null;
+            PropagatedContextElement captured = contributor.capture(existing);
+            if (captured != existing) {
+                unchanged = false;
+            }
+            if (captured != null) {
+                elements[count++] = captured;
+            }
+        }
+        if (unchanged && count == last.elements.length) {
+            return last;
+        }
+        if (count == 0) {
+            LAST_CAPTURED.remove();
+            return EMPTY;
+        }
+        PropagatedContext context = new PropagatedContext(Arrays.copyOf(elements, count));
+        LAST_CAPTURED.set(new WeakReference<>(context));
+        return context;
+    }
+
+    /**
+     * @return Whether this context holds no elements
+     */
+    public boolean isEmpty() {
+        return elements.length == 0;
+    }
+
+    /**
+     * @return Whether this context is installed on the current thread
+     */
+    public boolean isCurrent() {
+        return CURRENT.get() == this;
+    }
+
+    /**
+     * Finds the element of the given type.
+     *
+     * @param type The element type
+     * @param <E> The element type
+     * @return The element if present
+     */
+    public <E extends PropagatedContextElement> Optional<E> find(@Nonnull Class<E> type) {
+        for (PropagatedContextElement element : elements) {
+            if (type.isInstance(element)) {
+                return Optional.of(type.cast(element));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns a context with the given element, replacing any element of the same type.
+     *
+     * @param element The element
+     * @return The new context
+     */
+    public @Nonnull PropagatedContext plus(@Nonnull PropagatedContextElement element) {
+        ArgumentUtils.requireNonNull("element", element);
+        int index = indexOf(element.getClass());
+        PropagatedContextElement[] newElements;
+        if (index >= 0) {
+            newElements = elements.clone();
+            newElements[index] = element;
+        } else {
+            newElements = Arrays.copyOf(elements, elements.length + 1);
+            newElements[elements.length] = element;
+        }
+        return new PropagatedContext(newElements);
+    }
+
+    /**
+     * Returns a context without the element of the given type.
+     *
+     * @param type The element type
+     * @return The new context or this context if there is no such element
+     */
+    public @Nonnull PropagatedContext minus(@Nonnull Class<? extends PropagatedContextElement> type) {
+        int index = indexOf(type);
+        if (index < 0) {
+            return this;
+        }
+        PropagatedContextElement[] newElements = new PropagatedContextElement[elements.length - 1];
+        System.arraycopy(elements, 0, newElements, 0, index);
+        System.arraycopy(elements, index + 1, newElements, index, elements.length - index - 1);
+        return new PropagatedContext(newElements);
+    }
+
+    /**
+     * Installs this context on the current thread until the returned scope is closed.
+     *
+     * @return The scope
+     */
+    public @Nonnull Scope propagate() {
+        PropagatedContext previous = CURRENT.get();
+        if (previous == this) {
+            return NO_OP_SCOPE;
+        }
+        CURRENT.set(this);
+        Object[] states = new Object[elements.length];
+        int updated = 0;
+        try {
+            for (; updated < elements.length; updated++) {
+                states[updated] = elements[updated].updateThreadContext();
+            }
+        } catch (RuntimeException | Error e) {
+            restore(previous, states, updated);
+            throw e;
+        }
+        return () -> restore(previous, states, elements.length);
+    }
+
+    /**
+     * Wraps the given command so that it runs with this context installed.
+     *
+     * @param command The command
+     * @return The instrumented command
+     */
+    @Override
+    public Runnable instrument(Runnable command) {
+        return () -> {
+            if (isCurrent()) {
+                command.run();
+            } else {
+                try (Scope ignored = propagate()) {
+                    command.run();
+                }
+            }
+        };
+    }
+
+    /**
+     * Wraps the given task so that it runs with this context installed.
+     *
+     * @param task The task
+     * @param <T> The result type
+     * @return The instrumented task
+     */
+    public <T> Callable<T> instrument(Callable<T> task) {
+        return () -> {
+            if (isCurrent()) {
+                return task.call();
+            }
+            try (Scope ignored = propagate()) {
+                return task.call();
+            }
+        };
+    }
+
+    private void restore(@Nullable PropagatedContext previous, Object[] states, int updated) {
+        for (int i = updated - 1; i >= 0; i--) {
+            elements[i].restoreThreadContext(states[i]);
+        }
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    private int indexOf(Class<?> type) {
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i].getClass() == type) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The scope of an installed context. Closing it uninstalls the context.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
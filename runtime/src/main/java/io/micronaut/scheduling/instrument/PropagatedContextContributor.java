@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.instrument;
+
+import javax.annotation.Nullable;
+
+/**
+ * Captures an element of the {@link PropagatedContext} from the state of the current thread. Implementations are
+ * registered as beans and are invoked every time a task is submitted or a reactive operator is assembled, so they
+ * should return the existing element if the state has not changed.
+ *
+ * @param <E> The element type
+ * @since 1.3
+ */
+public interface PropagatedContextContributor<E extends PropagatedContextElement> {
+
+    /**
+     * @return The type of element captured by this contributor
+     */
+    Class<E> getElementType();
+
+    /**
+     * Captures the element from the state of the current thread.
+     *
+     * @param existing The element of the previous snapshot, if any
+     * @return The existing element if the state is unchanged, a new element if it changed or null if there is no
+     * state to propagate
+     */
+    @Nullable E capture(@Nullable E existing);
+}
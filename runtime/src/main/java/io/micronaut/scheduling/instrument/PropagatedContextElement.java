@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.instrument;
+
+import javax.annotation.Nullable;
+
+/**
+ * An element of a {@link PropagatedContext}, such as the current request or the active span. Elements are immutable.
+ * Elements whose state also has to be visible through a {@link ThreadLocal} of another library apply it when the
+ * context is installed on a thread and restore the previous state once it is uninstalled.
+ *
+ * @since 1.3
+ */
+public interface PropagatedContextElement {
+
+    /**
+     * Applies this element to the state of the current thread.
+     *
+     * @return The previous state, passed back to {@link #restoreThreadContext(Object)}
+     */
+    default @Nullable Object updateThreadContext() {
+        return null;
+    }
+
+    /**
+     * Restores the state of the current thread as it was before {@link #updateThreadContext()}.
+     *
+     * @param previous The state returned by {@link #updateThreadContext()}
+     */
+    default void restoreThreadContext(@Nullable Object previous) {
+    }
+}
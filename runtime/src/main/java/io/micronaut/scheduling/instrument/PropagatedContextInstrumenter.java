@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.instrument;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Internal;
+
+import javax.inject.Singleton;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Propagates the {@link PropagatedContext} captured by all {@link PropagatedContextContributor} beans to reactive
+ * operators and scheduled tasks, in place of one instrumentation per kind of state.
+ *
+ * @since 1.3
+ */
+@Singleton
+@Internal
+@Requires(beans = PropagatedContextContributor.class)
+final class PropagatedContextInstrumenter implements ReactiveInstrumenter, RunnableInstrumenter {
+
+    private final List<PropagatedContextContributor> contributors;
+
+    /**
+     * @param contributors The contributors
+     */
+    PropagatedContextInstrumenter(List<PropagatedContextContributor> contributors) {
+        this.contributors = contributors;
+    }
+
+    @Override
+    public Optional<RunnableInstrumenter> newInstrumentation() {
+        PropagatedContext context = PropagatedContext.capture(contributors);
+        return context.isEmpty() ? Optional.empty() : Optional.of(context);
+    }
+
+    @Override
+    public Runnable instrument(Runnable command) {
+        PropagatedContext context = PropagatedContext.capture(contributors);
+        return context.isEmpty() ? command : context.instrument(command);
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.retry.BulkheadStatistics
+import io.micronaut.retry.annotation.Bulkhead
+import io.micronaut.retry.annotation.BulkheadLimit
+import io.micronaut.retry.exception.BulkheadRejectedException
+import io.reactivex.Single
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.IntBinaryOperator
+
+/**
+ * @since 1.3
+ */
+class BulkheadSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run()
+    @Shared @AutoCleanup("shutdown") ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor()
+
+    void "test calls above the limit are rejected"() {
+        given:
+        LimitedService service = context.getBean(LimitedService)
+        ExecutorService executor = Executors.newFixedThreadPool(10)
+
+        when:
+        List<Future<Boolean>> calls = (1..10).collect {
+            executor.submit({
+                try {
+                    service.blocking()
+                    return true
+                } catch (BulkheadRejectedException ignored) {
+                    return false
+                }
+            })
+        }
+        List<Boolean> results = calls*.get()
+
+        then:
+        service.maxConcurrent.get() <= 2
+        results.count { it } >= 2
+        results.count { !it } > 0
+        statistics("blocking").rejected == results.count { !it }
+        statistics("blocking").inFlight == 0
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    void "test asynchronous calls wait for a permit without exceeding the limit"() {
+        given:
+        LimitedService service = context.getBean(LimitedService)
+        service.maxConcurrent.set(0)
+
+        when:
+        List<CompletableFuture<String>> futures = (1..20).collect { service.async(scheduler) }
+
+        then:
+        futures*.get(5, TimeUnit.SECONDS).every { it == "ok" }
+        service.maxConcurrent.get() == 3
+        statistics("async").accepted == 20
+        statistics("async").waiting == 0
+    }
+
+    void "test reactive calls hold their permit until they complete"() {
+        given:
+        LimitedService service = context.getBean(LimitedService)
+        service.maxConcurrent.set(0)
+
+        when:
+        List<String> results = Single.merge((1..20).collect { service.single() }).toList().blockingGet()
+
+        then:
+        results.size() == 20
+        service.maxConcurrent.get() == 3
+        statistics("single").inFlight == 0
+    }
+
+    void "test calls that complete synchronously resume a deep queue of waiting calls"() {
+        given:
+        LimitedService service = context.getBean(LimitedService)
+        CompletableFuture<String> first = new CompletableFuture<>()
+        CompletableFuture<String> blocked = service.immediate(first)
+
+        when:
+        List<CompletableFuture<String>> queued = (1..5000).collect {
+            service.immediate(CompletableFuture.completedFuture("ok"))
+        }
+        first.complete("ok")
+
+        then:"the waiting calls proceed on the executor instead of recursing on the releasing thread"
+        blocked.get(5, TimeUnit.SECONDS) == "ok"
+        queued*.get(10, TimeUnit.SECONDS).every { it == "ok" }
+        !service.immediateThreads.contains(Thread.currentThread())
+        statistics("immediate").inFlight == 0
+        statistics("immediate").waiting == 0
+    }
+
+    void "test waiting calls are rejected once the queue is full"() {
+        given:
+        MethodBulkhead bulkhead = new MethodBulkhead("test", 1, 1, Duration.ofSeconds(5), BulkheadLimit.FIXED, 1, 1, null, scheduler)
+
+        when:
+        MethodBulkhead.Permit permit = bulkhead.tryAcquire()
+        CompletableFuture<MethodBulkhead.Permit> waiter = bulkhead.acquire()
+        CompletableFuture<MethodBulkhead.Permit> rejected = bulkhead.acquire()
+
+        then:
+        permit != null
+        !waiter.done
+        rejected.completedExceptionally
+        bulkhead.waiting == 1
+
+        when:
+        permit.release(false)
+
+        then:"the permit is handed to the waiting call"
+        waiter.done
+        bulkhead.inFlight == 1
+        bulkhead.waiting == 0
+
+        when:
+        waiter.get().release(false)
+        waiter.get().release(false)
+
+        then:"releasing twice has no effect"
+        bulkhead.inFlight == 0
+    }
+
+    void "test waiting calls time out"() {
+        given:
+        MethodBulkhead bulkhead = new MethodBulkhead("test", 1, 1, Duration.ofMillis(50), BulkheadLimit.FIXED, 1, 1, null, scheduler)
+        bulkhead.tryAcquire()
+
+        when:
+        bulkhead.acquire().get(5, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(java.util.concurrent.ExecutionException)
+        e.cause instanceof BulkheadRejectedException
+        bulkhead.waiting == 0
+        bulkhead.rejected == 1
+    }
+
+    void "test an AIMD limit grows while calls succeed and backs off when they fail"() {
+        given:
+        MethodBulkhead bulkhead = new MethodBulkhead("test", 4, 0, Duration.ZERO, BulkheadLimit.AIMD, 2, 8, null, scheduler)
+
+        when:
+        10.times {
+            List<MethodBulkhead.Permit> permits = (1..bulkhead.limit).collect { bulkhead.tryAcquire() }
+            permits*.release(false)
+        }
+
+        then:
+        bulkhead.limit == 8
+
+        when:
+        20.times { bulkhead.tryAcquire().release(true) }
+
+        then:
+        bulkhead.limit == 2
+    }
+
+    void "test a gradient limit is reduced when the latency increases"() {
+        given:
+        MethodBulkhead bulkhead = new MethodBulkhead("test", 20, 0, Duration.ZERO, BulkheadLimit.GRADIENT, 1, 100, null, scheduler)
+
+        when:"calls slow down while the limit is in use"
+        List<MethodBulkhead.Permit> permits = (1..20).collect { bulkhead.tryAcquire() }
+        permits.each { it.release(false) }
+        permits = (1..bulkhead.limit).collect { bulkhead.tryAcquire() }
+        Thread.sleep(50)
+        permits.each { it.release(false) }
+
+        then:
+        bulkhead.limit < 20
+    }
+
+    private BulkheadStatistics statistics(String methodName) {
+        context.getBean(BulkheadInterceptor).bulkheadStatistics.find { it.key.methodName == methodName }.value
+    }
+
+    @Singleton
+    static class LimitedService {
+        AtomicInteger concurrent = new AtomicInteger()
+        AtomicInteger maxConcurrent = new AtomicInteger()
+        Set<Thread> immediateThreads = ConcurrentHashMap.newKeySet()
+
+        @Bulkhead(maxConcurrentCalls = "2")
+        String blocking() {
+            enter()
+            try {
+                Thread.sleep(100)
+                return "ok"
+            } finally {
+                concurrent.decrementAndGet()
+            }
+        }
+
+        @Bulkhead(maxConcurrentCalls = "3", maxWaitingCalls = "100", maxWait = "5s")
+        CompletableFuture<String> async(ScheduledExecutorService scheduler) {
+            enter()
+            CompletableFuture<String> future = new CompletableFuture<>()
+            scheduler.schedule({
+                concurrent.decrementAndGet()
+                future.complete("ok")
+            }, 10, TimeUnit.MILLISECONDS)
+            return future
+        }
+
+        @Bulkhead(maxConcurrentCalls = "1", maxWaitingCalls = "10000", maxWait = "10s")
+        CompletableFuture<String> immediate(CompletableFuture<String> result) {
+            if (result.done) {
+                immediateThreads.add(Thread.currentThread())
+            }
+            return result
+        }
+
+        @Bulkhead(maxConcurrentCalls = "3", maxWaitingCalls = "100", maxWait = "5s")
+        Single<String> single() {
+            return Single.fromCallable({ enter(); "ok" })
+                    .delay(10, TimeUnit.MILLISECONDS)
+                    .doOnSuccess({ concurrent.decrementAndGet() })
+        }
+
+        private void enter() {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), { a, b -> Math.max(a, b) } as IntBinaryOperator)
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.retry.RetryStatistics
+import io.micronaut.retry.annotation.Retryable
+import io.reactivex.Single
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * @since 1.3
+ */
+class RetryBudgetSpec extends Specification {
+
+    void "test the retry budget caps retries to a ratio of the calls"() {
+        given:
+        MethodRetryStatistics statistics = new MethodRetryStatistics(0.1d, Duration.ofMinutes(1), -1)
+
+        when:
+        100.times { statistics.callStarted() }
+        int allowed = (1..50).count { statistics.tryRetry() }
+
+        then:
+        allowed == 10
+        statistics.calls == 100
+        statistics.retries == 10
+        statistics.attempts == 110
+        statistics.budgetExhausted == 30
+    }
+
+    void "test a minimum number of retries is allowed at low traffic"() {
+        given:
+        MethodRetryStatistics statistics = new MethodRetryStatistics(0.1d, Duration.ofMinutes(1), -1)
+
+        when:
+        statistics.callStarted()
+
+        then:
+        (1..MethodRetryStatistics.MIN_RETRIES_PER_WINDOW).every { statistics.tryRetry() }
+        !statistics.tryRetry()
+    }
+
+    void "test retries are not limited without a budget"() {
+        given:
+        MethodRetryStatistics statistics = new MethodRetryStatistics(0d, Duration.ofMinutes(1), -1)
+
+        expect:
+        (1..100).every { statistics.tryRetry() }
+        statistics.budgetExhausted == 0
+    }
+
+    void "test retries of a method stop when the budget is exhausted"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+        BudgetService service = context.getBean(BudgetService)
+        DefaultRetryInterceptor interceptor = context.getBean(DefaultRetryInterceptor)
+
+        when:
+        5.times {
+            try {
+                service.alwaysFails()
+            } catch (IllegalStateException ignored) {
+            }
+        }
+        RetryStatistics statistics = interceptor.retryStatistics.values().first()
+
+        then:
+        statistics.calls == 5
+        statistics.retries == MethodRetryStatistics.MIN_RETRIES_PER_WINDOW
+        statistics.budgetExhausted == 3
+        service.invocations.get() == 5 + MethodRetryStatistics.MIN_RETRIES_PER_WINDOW
+
+        cleanup:
+        context.close()
+    }
+
+    void "test slow completion stage results are hedged"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+        HedgedService service = context.getBean(HedgedService)
+
+        when:
+        long start = System.currentTimeMillis()
+        String result = service.slowFirst().get()
+
+        then:
+        result == "2"
+        System.currentTimeMillis() - start < 2000
+
+        cleanup:
+        context.close()
+    }
+
+    void "test slow single results are hedged"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+        HedgedService service = context.getBean(HedgedService)
+
+        when:
+        String result = service.slowSingle().blockingGet()
+
+        then:
+        result == "2"
+        context.getBean(DefaultRetryInterceptor).retryStatistics.values().first().hedges == 1
+
+        cleanup:
+        context.close()
+    }
+
+    @Singleton
+    static class BudgetService {
+        AtomicInteger invocations = new AtomicInteger()
+
+        @Retryable(attempts = "5", delay = "1ms", budget = "0.1")
+        String alwaysFails() {
+            invocations.incrementAndGet()
+            throw new IllegalStateException("bad")
+        }
+    }
+
+    @Singleton
+    static class HedgedService {
+        AtomicInteger invocations = new AtomicInteger()
+        AtomicInteger singleInvocations = new AtomicInteger()
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor()
+
+        @Retryable(attempts = "1", delay = "10ms", hedgeDelay = "50ms")
+        CompletableFuture<String> slowFirst() {
+            int invocation = invocations.incrementAndGet()
+            CompletableFuture<String> future = new CompletableFuture<>()
+            executor.schedule({ future.complete(String.valueOf(invocation)) }, invocation == 1 ? 5000 : 10, TimeUnit.MILLISECONDS)
+            return future
+        }
+
+        @Retryable(attempts = "1", delay = "10ms", hedgeDelay = "50ms")
+        Single<String> slowSingle() {
+            return Single.defer({
+                int invocation = singleInvocations.incrementAndGet()
+                Single.just(String.valueOf(invocation)).delay(invocation == 1 ? 5000 : 10, TimeUnit.MILLISECONDS)
+            })
+        }
+    }
+}
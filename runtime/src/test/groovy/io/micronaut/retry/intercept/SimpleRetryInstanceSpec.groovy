@@ -17,6 +17,7 @@ package io.micronaut.retry.intercept
 
 import io.micronaut.core.util.CollectionUtils
 import io.micronaut.discovery.exceptions.DiscoveryException
+import io.micronaut.retry.annotation.Jitter
 import spock.lang.Specification
 
 import java.time.Duration
@@ -121,4 +122,41 @@ class SimpleRetryInstanceSpec extends Specification {
         retryContext.nextDelay() == 4000
 
     }
+
+    void "test retry context next delay with full jitter"() {
+        given:
+        SimpleRetry retryContext = new SimpleRetry(3, 1, Duration.ofSeconds(1), null, null, null, Jitter.FULL)
+
+        expect:
+        (1..20).every {
+            long delay = retryContext.nextDelay()
+            delay >= 0 && delay <= 1000
+        }
+    }
+
+    void "test retry context next delay with decorrelated jitter"() {
+        given:
+        SimpleRetry retryContext = new SimpleRetry(10, 1, Duration.ofMillis(100), Duration.ofSeconds(1), null, null, Jitter.DECORRELATED)
+
+        when:
+        List<Long> delays = (1..20).collect { retryContext.nextDelay() }
+
+        then:
+        delays[0] >= 100 && delays[0] <= 300
+        delays.every { it >= 0 && it <= 1000 }
+        delays.sum() <= 1000
+        retryContext.overallDelay.toMillis() <= 1000
+    }
+
+    void "test decorrelated jitter grows delays without a maximum delay"() {
+        given:
+        SimpleRetry retryContext = new SimpleRetry(10, 1, Duration.ofMillis(100), null, null, null, Jitter.DECORRELATED)
+
+        when:
+        List<Long> delays = (1..5).collect { retryContext.nextDelay() }
+
+        then:
+        delays.every { it >= 100 }
+        delays.withIndex().every { long delay, int i -> i == 0 || delay <= delays[i - 1] * 3 }
+    }
 }
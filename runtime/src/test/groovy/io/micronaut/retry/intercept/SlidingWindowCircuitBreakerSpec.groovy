@@ -0,0 +1,252 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.retry.CircuitState
+import io.micronaut.retry.annotation.CircuitBreaker
+import io.micronaut.retry.annotation.SlidingWindowType
+import io.micronaut.retry.event.CircuitClosedEvent
+import io.micronaut.retry.event.CircuitOpenEvent
+import io.micronaut.retry.exception.CircuitOpenException
+import io.micronaut.runtime.event.annotation.EventListener
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.inject.Singleton
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * @since 1.3
+ */
+class SlidingWindowCircuitBreakerSpec extends Specification {
+
+    void "test the circuit opens once the failure rate reaches the threshold"() {
+        given:
+        SlidingWindowCircuitBreaker breaker = newBreaker(50, -1, SlidingWindowType.COUNT_BASED)
+
+        when:"fewer calls than the minimum failed"
+        9.times { fail(breaker) }
+
+        then:
+        breaker.currentState() == CircuitState.CLOSED
+
+        when:
+        fail(breaker)
+
+        then:
+        breaker.currentState() == CircuitState.OPEN
+
+        when:
+        breaker.newCall().open()
+
+        then:"the last error is rethrown"
+        def e = thrown(RuntimeException)
+        e.message == "bad"
+    }
+
+    void "test successful calls keep the failure rate below the threshold"() {
+        given:
+        SlidingWindowCircuitBreaker breaker = newBreaker(50, -1, windowType)
+
+        when:
+        20.times {
+            succeed(breaker)
+            if (it % 2 == 0) {
+                fail(breaker)
+            }
+        }
+
+        then:
+        breaker.currentState() == CircuitState.CLOSED
+
+        where:
+        windowType << SlidingWindowType.values()
+    }
+
+    void "test the circuit opens once the slow call rate reaches the threshold"() {
+        given:
+        SlidingWindowCircuitBreaker breaker = newBreaker(-1, 50, SlidingWindowType.TIME_BASED, Duration.ZERO)
+
+        when:
+        10.times { succeed(breaker) }
+        breaker.newCall().open()
+
+        then:
+        breaker.currentState() == CircuitState.OPEN
+        thrown(CircuitOpenException)
+    }
+
+    void "test only the permitted number of probes is let through while half open"() {
+        given:
+        SlidingWindowCircuitBreaker breaker = newBreaker(50, -1, SlidingWindowType.COUNT_BASED)
+        10.times { fail(breaker) }
+        ExecutorService executor = Executors.newFixedThreadPool(16)
+        CountDownLatch start = new CountDownLatch(1)
+        List<MutableRetryState> probes = new CopyOnWriteArrayList<>()
+
+        when:
+        new PollingConditions(timeout: 3).eventually {
+            breaker.currentState() == CircuitState.HALF_OPEN
+        }
+        64.times {
+            executor.submit({
+                start.await()
+                MutableRetryState call = breaker.newCall()
+                try {
+                    call.open()
+                    probes.add(call)
+                } catch (RuntimeException ignored) {
+                }
+            } as Runnable)
+        }
+        start.countDown()
+        executor.shutdown()
+        executor.awaitTermination(5, TimeUnit.SECONDS)
+
+        then:
+        probes.size() == 3
+        breaker.currentState() == CircuitState.HALF_OPEN
+
+        when:
+        probes*.close(null)
+
+        then:
+        breaker.currentState() == CircuitState.CLOSED
+    }
+
+    void "test a failed probe opens the circuit again"() {
+        given:
+        SlidingWindowCircuitBreaker breaker = newBreaker(50, -1, SlidingWindowType.COUNT_BASED)
+        10.times { fail(breaker) }
+
+        when:
+        new PollingConditions(timeout: 3).eventually {
+            breaker.currentState() == CircuitState.HALF_OPEN
+        }
+        MutableRetryState probe = breaker.newCall()
+        probe.open()
+
+        then:"probes are not retried"
+        !probe.canRetry(new RuntimeException("still bad"))
+        breaker.currentState() == CircuitState.OPEN
+    }
+
+    void "test circuit breaker with a failure rate threshold"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+        FlakyService flakyService = context.getBean(FlakyService)
+        CircuitEventListener listener = context.getBean(CircuitEventListener)
+
+        when:
+        10.times {
+            try {
+                flakyService.call()
+            } catch (IllegalStateException ignored) {
+            }
+        }
+
+        then:"the circuit opened once half of the minimum number of calls failed"
+        flakyService.calls == 5
+        listener.opened == 1
+
+        when:
+        flakyService.call()
+
+        then:"the circuit is open so the original exception is thrown"
+        thrown(IllegalStateException)
+        flakyService.calls == 5
+
+        when:
+        flakyService.failing = false
+
+        then:
+        new PollingConditions(timeout: 3).eventually {
+            flakyService.call() == "ok"
+            listener.closed == 1
+        }
+
+        cleanup:
+        context.stop()
+    }
+
+    private static SlidingWindowCircuitBreaker newBreaker(double failureRateThreshold, double slowCallRateThreshold, SlidingWindowType windowType, Duration slowCallDuration = Duration.ofMinutes(1)) {
+        new SlidingWindowCircuitBreaker(
+                500,
+                failureRateThreshold,
+                slowCallRateThreshold,
+                slowCallDuration,
+                windowType,
+                20,
+                10,
+                3,
+                { -> new SimpleRetry(0, 1.0d, Duration.ofMillis(1)) },
+                null,
+                null
+        )
+    }
+
+    private static void succeed(SlidingWindowCircuitBreaker breaker) {
+        MutableRetryState call = breaker.newCall()
+        call.open()
+        call.close(null)
+    }
+
+    private static void fail(SlidingWindowCircuitBreaker breaker) {
+        MutableRetryState call = breaker.newCall()
+        call.open()
+        RuntimeException error = new RuntimeException("bad")
+        if (!call.canRetry(error)) {
+            call.close(error)
+        }
+    }
+
+    @Singleton
+    static class FlakyService {
+        int calls = 0
+        boolean failing = true
+
+        @CircuitBreaker(attempts = '0', delay = '1ms', reset = '500ms', failureRateThreshold = '50', windowSize = '10', minimumCalls = '5')
+        String call() {
+            calls++
+            if (failing) {
+                throw new IllegalStateException("bad")
+            }
+            return "ok"
+        }
+    }
+
+    @Singleton
+    static class CircuitEventListener {
+        int opened = 0
+        int closed = 0
+
+        @EventListener
+        void onOpen(CircuitOpenEvent event) {
+            opened++
+        }
+
+        @EventListener
+        void onClose(CircuitClosedEvent event) {
+            closed++
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.instrument
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.reactivex.Single
+import io.reactivex.schedulers.Schedulers
+import spock.lang.Specification
+
+import javax.inject.Singleton
+
+/**
+ * @since 1.3
+ */
+class PropagatedContextSpec extends Specification {
+
+    static final ThreadLocal<String> TENANT = new ThreadLocal<>()
+
+    void cleanup() {
+        TENANT.remove()
+    }
+
+    void "test captures of unchanged state return the same context"() {
+        given:
+        List<PropagatedContextContributor> contributors = [new TenantContributor()]
+
+        when:
+        TENANT.set("one")
+        PropagatedContext first = PropagatedContext.capture(contributors)
+
+        then:
+        first.find(TenantElement).get().tenant == "one"
+        PropagatedContext.capture(contributors).is(first)
+
+        when:
+        TENANT.set("two")
+        PropagatedContext second = PropagatedContext.capture(contributors)
+
+        then:
+        !second.is(first)
+        second.find(TenantElement).get().tenant == "two"
+
+        when:
+        TENANT.remove()
+
+        then:
+        PropagatedContext.capture(contributors).isEmpty()
+    }
+
+    void "test propagating a context installs its elements and restores the previous state"() {
+        given:
+        PropagatedContext context = PropagatedContext.EMPTY.plus(new TenantElement("one"))
+        TENANT.set("previous")
+
+        when:
+        PropagatedContext.Scope scope = context.propagate()
+
+        then:
+        context.isCurrent()
+        PropagatedContext.current().is(context)
+        TENANT.get() == "one"
+
+        when:"the context is propagated again"
+        PropagatedContext.Scope nested = context.propagate()
+        nested.close()
+
+        then:"it stays installed"
+        TENANT.get() == "one"
+
+        when:
+        scope.close()
+
+        then:
+        !context.isCurrent()
+        PropagatedContext.current().isEmpty()
+        TENANT.get() == "previous"
+    }
+
+    void "test elements are replaced and removed by type"() {
+        given:
+        PropagatedContext context = PropagatedContext.EMPTY.plus(new TenantElement("one"))
+
+        expect:
+        context.plus(new TenantElement("two")).find(TenantElement).get().tenant == "two"
+        context.minus(TenantElement).isEmpty()
+        context.minus(PropagatedContextElement).is(context)
+    }
+
+    void "test the context is propagated across the operators of a reactive chain"() {
+        given:
+        ApplicationContext applicationContext = ApplicationContext.run('spec.name': PropagatedContextSpec.simpleName)
+        TENANT.set("one")
+
+        when:
+        List<String> tenants = Single.just(1)
+                .subscribeOn(Schedulers.io())
+                .map({ TENANT.get() })
+                .observeOn(Schedulers.computation())
+                .map({ [it, TENANT.get()] })
+                .blockingGet()
+
+        then:
+        tenants == ["one", "one"]
+
+        cleanup:
+        applicationContext.close()
+    }
+
+    @Singleton
+    @Requires(property = "spec.name", value = "PropagatedContextSpec")
+    static class TenantContributor implements PropagatedContextContributor<TenantElement> {
+
+        @Override
+        Class<TenantElement> getElementType() {
+            TenantElement
+        }
+
+        @Override
+        TenantElement capture(TenantElement existing) {
+            String tenant = TENANT.get()
+            if (tenant == null) {
+                return null
+            }
+            existing?.tenant == tenant ? existing : new TenantElement(tenant)
+        }
+    }
+
+    static class TenantElement implements PropagatedContextElement {
+        final String tenant
+
+        TenantElement(String tenant) {
+            this.tenant = tenant
+        }
+
+        @Override
+        Object updateThreadContext() {
+            String previous = TENANT.get()
+            TENANT.set(tenant)
+            previous
+        }
+
+        @Override
+        void restoreThreadContext(Object previous) {
+            TENANT.set((String) previous)
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.tracing.brave;
+
+import brave.opentracing.BraveSpanContext;
+import brave.propagation.TraceContext;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.tracing.instrument.util.TraceContextInspector;
+import io.opentracing.SpanContext;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Reads the sampling decision of the {@link TraceContext} wrapped by a {@link BraveSpanContext}. Since Brave's
+ * propagation may carry extra fields, every header is extracted.
+ *
+ * @since 1.3
+ */
+@Internal
+final class BraveTraceContextInspector implements TraceContextInspector {
+
+    @Override
+    public boolean isSampled(@Nonnull SpanContext spanContext) {
+        if (spanContext instanceof BraveSpanContext) {
+            TraceContext traceContext = ((BraveSpanContext) spanContext).unwrap();
+            return traceContext == null || !Boolean.FALSE.equals(traceContext.sampled());
+        }
+        return true;
+    }
+}
@@ -20,11 +20,15 @@ import brave.SpanCustomizer;
 import brave.Tracing;
 import brave.opentracing.BraveTracer;
 import io.micronaut.context.annotation.*;
+import io.micronaut.tracing.brave.reporter.BufferedSpanReporter;
+import io.micronaut.tracing.instrument.util.TraceContextInspector;
 import io.opentracing.Tracer;
 import io.opentracing.util.GlobalTracer;
 import zipkin2.Span;
 import zipkin2.reporter.AsyncReporter;
 import zipkin2.reporter.Reporter;
+import zipkin2.reporter.ReporterMetrics;
+import zipkin2.reporter.Sender;
 
 import javax.annotation.Nullable;
 import javax.inject.Singleton;
@@ -99,6 +103,36 @@ public class BraveTracerFactory {
         return braveTracer;
     }
 
+    /**
+     * The inspector of Brave span contexts.
+     *
+     * @return The {@link TraceContextInspector}
+     */
+    @Singleton
+    @Requires(classes = BraveTracer.class)
+    TraceContextInspector braveTraceContextInspector() {
+        return new BraveTraceContextInspector();
+    }
+
+    /**
+     * A {@link Reporter} that buffers spans in a bounded buffer, configured if {@link BufferedReporterConfiguration}
+     * is enabled.
+     *
+     * @param configuration The configuration
+     * @param sender The sender
+     * @param metrics The optional metrics
+     * @return The {@link BufferedSpanReporter} bean
+     */
+    @Bean(preDestroy = "close")
+    @Singleton
+    @Requires(beans = BufferedReporterConfiguration.class)
+    BufferedSpanReporter bufferedSpanReporter(
+            BufferedReporterConfiguration configuration,
+            Sender sender,
+            @Nullable ReporterMetrics metrics) {
+        return new BufferedSpanReporter(sender, configuration, metrics);
+    }
+
     /**
      * A {@link Reporter} that is configured if no other Reporter is present and {@link AsyncReporterConfiguration} is enabled.
      *
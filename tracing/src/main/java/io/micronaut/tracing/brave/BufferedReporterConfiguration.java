@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.tracing.brave;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.core.util.Toggleable;
+import zipkin2.reporter.Sender;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the {@link io.micronaut.tracing.brave.reporter.BufferedSpanReporter}, which replaces the
+ * {@link zipkin2.reporter.AsyncReporter} when enabled.
+ *
+ * @since 1.3
+ */
+@ConfigurationProperties(BufferedReporterConfiguration.PREFIX)
+@Requires(beans = BraveTracerConfiguration.class)
+@Requires(beans = Sender.class)
+@Requires(property = BufferedReporterConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+public class BufferedReporterConfiguration implements Toggleable {
+
+    public static final String PREFIX = BraveTracerConfiguration.PREFIX + ".buffered-reporter";
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default max bytes of buffered spans.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MAX_BYTES = 1024 * 1024;
+
+    /**
+     * The default message timeout.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final Duration DEFAULT_MESSAGE_TIMEOUT = Duration.ofSeconds(1);
+
+    /**
+     * The default close timeout.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final Duration DEFAULT_CLOSE_TIMEOUT = Duration.ofSeconds(1);
+
+    /**
+     * The default max backoff.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private int maxBytes = DEFAULT_MAX_BYTES;
+    private Duration messageTimeout = DEFAULT_MESSAGE_TIMEOUT;
+    private Duration closeTimeout = DEFAULT_CLOSE_TIMEOUT;
+    private Duration maxBackoff = DEFAULT_MAX_BACKOFF;
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether the buffered reporter is enabled. Default value ({@value #DEFAULT_ENABLED}).
+     *
+     * @param enabled True if it is enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The maximum number of bytes of encoded spans to buffer
+     */
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * The maximum number of bytes of encoded spans to buffer while they wait to be sent. Once reached, the oldest
+     * spans are dropped. Default value ({@value #DEFAULT_MAX_BYTES}).
+     *
+     * @param maxBytes The max bytes
+     */
+    public void setMaxBytes(int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return The maximum time a span waits before being sent
+     */
+    public Duration getMessageTimeout() {
+        return messageTimeout;
+    }
+
+    /**
+     * The maximum time a span waits before being sent. A message is sent earlier once enough spans are buffered to
+     * fill it. Default value (1s).
+     *
+     * @param messageTimeout The message timeout
+     */
+    public void setMessageTimeout(Duration messageTimeout) {
+        if (messageTimeout != null) {
+            this.messageTimeout = messageTimeout;
+        }
+    }
+
+    /**
+     * @return The maximum time to wait for buffered spans to be sent on close
+     */
+    public Duration getCloseTimeout() {
+        return closeTimeout;
+    }
+
+    /**
+     * The maximum time to wait for buffered spans to be sent on close. Default value (1s).
+     *
+     * @param closeTimeout The close timeout
+     */
+    public void setCloseTimeout(Duration closeTimeout) {
+        if (closeTimeout != null) {
+            this.closeTimeout = closeTimeout;
+        }
+    }
+
+    /**
+     * @return The maximum delay between attempts to send a message that failed
+     */
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    /**
+     * The maximum delay between attempts to send a message that failed. The delay starts at the message timeout and
+     * doubles with every failure. Default value (30s).
+     *
+     * @param maxBackoff The max backoff
+     */
+    public void setMaxBackoff(Duration maxBackoff) {
+        if (maxBackoff != null) {
+            this.maxBackoff = maxBackoff;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.tracing.brave.reporter;
+
+import io.micronaut.tracing.brave.BufferedReporterConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zipkin2.Span;
+import zipkin2.codec.BytesEncoder;
+import zipkin2.codec.Encoding;
+import zipkin2.codec.SpanBytesEncoder;
+import zipkin2.reporter.Reporter;
+import zipkin2.reporter.ReporterMetrics;
+import zipkin2.reporter.Sender;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>A {@link Reporter} that buffers encoded spans in a ring buffer bounded by bytes and sends them in batches from a
+ * background thread.</p>
+ *
+ * <p>Batches are sent as soon as enough spans are buffered to fill a message of {@link Sender#messageMaxBytes()} or
+ * once the message timeout elapses. When the buffer is full the oldest spans are dropped, so that a slow or
+ * unavailable Zipkin server never blocks the application nor holds on to an unbounded amount of memory. A batch that
+ * fails to send is put back in front of the buffer and retried with an exponential backoff.</p>
+ *
+ * <p>The counts of spans dropped and messages sent or failed are available from this reporter and are also
+ * reported to the {@link ReporterMetrics}.</p>
+ *
+ * @since 1.3
+ */
+public final class BufferedSpanReporter implements Reporter<Span>, Flushable, Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BufferedSpanReporter.class);
+
+    private final Sender sender;
+    private final BytesEncoder<Span> encoder;
+    private final ReporterMetrics metrics;
+    private final SpanBuffer buffer;
+    private final int messageMaxBytes;
+    private final long messageTimeoutNanos;
+    private final long closeTimeoutMillis;
+    private final long maxBackoffNanos;
+    private final ReentrantLock sendLock = new ReentrantLock();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final LongAdder spansDropped = new LongAdder();
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder messagesFailed = new LongAdder();
+    private final Thread flushThread;
+
+    /**
+     * @param sender The sender
+     * @param configuration The configuration
+     * @param metrics The metrics to report to
+     */
+    public BufferedSpanReporter(Sender sender, BufferedReporterConfiguration configuration, @Nullable ReporterMetrics metrics) {
+        this.sender = sender;
+        this.encoder = encoder(sender.encoding());
+        this.metrics = metrics != null ? metrics : ReporterMetrics.NOOP_METRICS;
+        this.buffer = new SpanBuffer(configuration.getMaxBytes());
+        this.messageMaxBytes = sender.messageMaxBytes();
+        this.messageTimeoutNanos = configuration.getMessageTimeout().toNanos();
+        this.closeTimeoutMillis = configuration.getCloseTimeout().toMillis();
+        this.maxBackoffNanos = Math.max(messageTimeoutNanos, configuration.getMaxBackoff().toNanos());
+        this.flushThread = new Thread(this::flushLoop, "zipkin-reporter");
+        this.flushThread.setDaemon(true);
+        this.flushThread.start();
+    }
+
+    @Override
+    public void report(Span span) {
+        if (span == null) {
+            throw new NullPointerException("span == null");
+        }
+        metrics.incrementSpans(1);
+        byte[] encoded = encoder.encode(span);
+        metrics.incrementSpanBytes(encoded.length);
+        int dropped;
+        if (closed.get() || sender.encoding().listSizeInBytes(encoded.length) > messageMaxBytes) {
+            dropped = 1;
+        } else {
+            dropped = buffer.offer(encoded);
+        }
+        if (dropped > 0) {
+            dropped(dropped);
+        }
+        updateQueued();
+        if (buffer.bytes() >= messageMaxBytes) {
+            LockSupport.unpark(flushThread);
+        }
+    }
+
+    /**
+     * Sends all buffered spans, blocking until they are sent or a message fails to send.
+     */
+    @Override
+    public void flush() {
+        sendBuffered();
+    }
+
+    /**
+     * Stops the background thread, waiting up to the close timeout for the buffered spans to be sent. Spans that
+     * could not be sent are counted as dropped.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            LockSupport.unpark(flushThread);
+            try {
+                flushThread.join(closeTimeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            int remaining = buffer.clear();
+            if (remaining > 0) {
+                dropped(remaining);
+            }
+            updateQueued();
+        }
+    }
+
+    /**
+     * @return The number of spans dropped, either because the buffer overflowed or because they could not be sent
+     */
+    public long getSpansDropped() {
+        return spansDropped.sum();
+    }
+
+    /**
+     * @return The number of messages sent
+     */
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    /**
+     * @return The number of messages that failed to send
+     */
+    public long getMessagesFailed() {
+        return messagesFailed.sum();
+    }
+
+    /**
+     * @return The number of spans waiting to be sent
+     */
+    public int getQueuedSpans() {
+        return buffer.size();
+    }
+
+    /**
+     * @return The number of bytes waiting to be sent
+     */
+    public long getQueuedBytes() {
+        return buffer.bytes();
+    }
+
+    private void flushLoop() {
+        long backoffNanos = 0;
+        while (!closed.get()) {
+            if (backoffNanos > 0) {
+                LockSupport.parkNanos(this, backoffNanos);
+            } else if (buffer.bytes() < messageMaxBytes) {
+                LockSupport.parkNanos(this, messageTimeoutNanos);
+            }
+            if (closed.get()) {
+                break;
+            }
+            if (sendBuffered()) {
+                backoffNanos = 0;
+            } else {
+                backoffNanos = Math.min(Math.max(backoffNanos * 2, messageTimeoutNanos), maxBackoffNanos);
+            }
+        }
+        // send what is left once, the caller of close() bounds the wait
+        sendBuffered();
+    }
+
+    /**
+     * Sends the buffered spans one message at a time.
+     *
+     * @return False if a message failed to send
+     */
+    private boolean sendBuffered() {
+        sendLock.lock();
+        try {
+            List<byte[]> batch = buffer.drain(sender.encoding(), messageMaxBytes);
+            while (!batch.isEmpty()) {
+                if (!send(batch)) {
+                    return false;
+                }
+                batch = buffer.drain(sender.encoding(), messageMaxBytes);
+            }
+            return true;
+        } finally {
+            sendLock.unlock();
+            updateQueued();
+        }
+    }
+
+    private boolean send(List<byte[]> batch) {
+        int messageBytes = sender.messageSizeInBytes(batch);
+        try {
+            sender.sendSpans(batch).execute();
+            messagesSent.increment();
+            metrics.incrementMessages();
+            metrics.incrementMessageBytes(messageBytes);
+            return true;
+        } catch (Exception e) {
+            messagesFailed.increment();
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Failed to send {} spans to Zipkin, retrying later: {}", batch.size(), e.getMessage());
+            }
+            int dropped = buffer.requeue(batch);
+            if (dropped > 0) {
+                dropped(dropped);
+            }
+            return false;
+        }
+    }
+
+    private void dropped(int count) {
+        spansDropped.add(count);
+        metrics.incrementSpansDropped(count);
+    }
+
+    private void updateQueued() {
+        metrics.updateQueuedSpans(buffer.size());
+        metrics.updateQueuedBytes((int) buffer.bytes());
+    }
+
+    private static BytesEncoder<Span> encoder(Encoding encoding) {
+        switch (encoding) {
+            case PROTO3:
+                return SpanBytesEncoder.PROTO3;
+            case THRIFT:
+                return SpanBytesEncoder.THRIFT;
+            default:
+                return SpanBytesEncoder.JSON_V2;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.tracing.brave.reporter;
+
+import zipkin2.codec.Encoding;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A FIFO ring buffer of encoded spans that is bounded by the total number of bytes it holds. When a span does not
+ * fit, the oldest spans are dropped to make room for it.
+ *
+ * @since 1.3
+ */
+final class SpanBuffer {
+
+    private final ArrayDeque<byte[]> spans = new ArrayDeque<>();
+    private final long maxBytes;
+    private long bytes;
+
+    /**
+     * @param maxBytes The maximum number of bytes to hold
+     */
+    SpanBuffer(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Appends the given span, dropping the oldest spans if there is no room for it.
+     *
+     * @param span The encoded span
+     * @return The number of spans dropped, including the given span if it can never fit
+     */
+    synchronized int offer(byte[] span) {
+        if (span.length > maxBytes) {
+            return 1;
+        }
+        int dropped = 0;
+        while (bytes + span.length > maxBytes) {
+            bytes -= spans.removeFirst().length;
+            dropped++;
+        }
+        spans.addLast(span);
+        bytes += span.length;
+        return dropped;
+    }
+
+    /**
+     * Puts back a batch that could not be sent in front of the buffered spans, since it holds the oldest spans. The
+     * oldest spans of the batch are dropped if the buffer cannot hold all of them.
+     *
+     * @param batch The batch previously taken with {@link #drain(Encoding, int)}
+     * @return The number of spans dropped
+     */
+    synchronized int requeue(List<byte[]> batch) {
+        long batchBytes = 0;
+        for (byte[] span : batch) {
+            batchBytes += span.length;
+        }
+        int first = 0;
+        while (first < batch.size() && bytes + batchBytes > maxBytes) {
+            batchBytes -= batch.get(first++).length;
+        }
+        for (int i = batch.size() - 1; i >= first; i--) {
+            spans.addFirst(batch.get(i));
+        }
+        bytes += batchBytes;
+        return first;
+    }
+
+    /**
+     * Removes the oldest spans that fit in a single message.
+     *
+     * @param encoding The encoding of the message
+     * @param messageMaxBytes The maximum size of the message
+     * @return The spans, empty if the buffer is empty
+     */
+    synchronized List<byte[]> drain(Encoding encoding, int messageMaxBytes) {
+        List<byte[]> batch = new ArrayList<>();
+        int messageBytes = 0;
+        while (!spans.isEmpty()) {
+            byte[] span = spans.peekFirst();
+            int nextMessageBytes = batch.isEmpty() ? encoding.listSizeInBytes(span.length) : messageBytes + span.length;
+            if (!batch.isEmpty() && encoding == Encoding.JSON) {
+                // the comma between elements
+                nextMessageBytes++;
+            }
+            if (!batch.isEmpty() && nextMessageBytes > messageMaxBytes) {
+                break;
+            }
+            batch.add(spans.removeFirst());
+            bytes -= span.length;
+            messageBytes = nextMessageBytes;
+        }
+        return batch;
+    }
+
+    /**
+     * Removes all spans.
+     *
+     * @return The number of spans removed
+     */
+    synchronized int clear() {
+        int count = spans.size();
+        spans.clear();
+        bytes = 0;
+        return count;
+    }
+
+    /**
+     * @return The number of buffered spans
+     */
+    synchronized int size() {
+        return spans.size();
+    }
+
+    /**
+     * @return The number of buffered bytes
+     */
+    synchronized long bytes() {
+        return bytes;
+    }
+}
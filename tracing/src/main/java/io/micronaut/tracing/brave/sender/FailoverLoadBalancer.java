@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.tracing.brave.sender;
+
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.http.client.LoadBalancer;
+import io.reactivex.Flowable;
+import org.reactivestreams.Publisher;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link LoadBalancer} that keeps using the instance selected by the delegate until {@link #failover()} is
+ * called, after which the next instance is selected from the delegate. Keeps all spans flowing to a single Zipkin
+ * server while it is healthy.
+ *
+ * @since 1.3
+ */
+final class FailoverLoadBalancer implements LoadBalancer {
+
+    private final LoadBalancer delegate;
+    private final AtomicReference<ServiceInstance> current = new AtomicReference<>();
+
+    /**
+     * @param delegate The load balancer to select instances from
+     */
+    FailoverLoadBalancer(LoadBalancer delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Publisher<ServiceInstance> select(@Nullable Object discriminator) {
+        ServiceInstance instance = current.get();
+        if (instance != null) {
+            return Flowable.just(instance);
+        }
+        return Flowable.fromPublisher(delegate.select(discriminator))
+                .doOnNext(selected -> current.compareAndSet(null, selected));
+    }
+
+    /**
+     * Abandons the current instance so that the next selection moves on to another instance.
+     */
+    void failover() {
+        current.set(null);
+    }
+}
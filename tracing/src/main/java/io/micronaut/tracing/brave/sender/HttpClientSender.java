@@ -18,14 +18,18 @@ package io.micronaut.tracing.brave.sender;
 import io.micronaut.core.io.buffer.ByteBuffer;
 import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.discovery.exceptions.NoAvailableServiceException;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.MutableHttpRequest;
 import io.micronaut.http.client.*;
+import io.micronaut.http.client.exceptions.HttpClientException;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.tracing.brave.ZipkinServiceInstanceList;
-import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
+import io.reactivex.Single;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
@@ -33,20 +37,28 @@ import zipkin2.Call;
 import zipkin2.Callback;
 import zipkin2.CheckResult;
 import zipkin2.codec.Encoding;
+import zipkin2.reporter.BytesMessageEncoder;
 import zipkin2.reporter.Sender;
 
 import javax.inject.Provider;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * An {@link Sender} implementation that uses Micronaut's {@link io.micronaut.http.client.HttpClient}.
  *
+ * <p>Each call sends the spans as a single message in the configured {@link Encoding}, gzip compressed if
+ * compression is enabled. Messages keep going to the same Zipkin server until it fails to respond or responds with
+ * a server error, at which point the call is retried against the next of the configured servers.</p>
+ *
  * @author graemerocher
  * @since 1.0
  */
@@ -56,9 +68,11 @@ public final class HttpClientSender extends Sender {
     private final int messageMaxBytes;
     private final boolean compressionEnabled;
     private final URI endpoint;
+    private final List<URI> servers;
     private final Provider<LoadBalancerResolver> loadBalancerResolver;
     private final HttpClientConfiguration clientConfiguration;
     private HttpClient httpClient;
+    private FailoverLoadBalancer loadBalancer;
 
     private HttpClientSender(
             Encoding encoding,
@@ -66,7 +80,9 @@ public final class HttpClientSender extends Sender {
             boolean compressionEnabled,
             HttpClientConfiguration clientConfiguration,
             Provider<LoadBalancerResolver> loadBalancerResolver,
-            String path) {
+            String path,
+            List<URI> servers) {
+        this.servers = servers;
         this.loadBalancerResolver = loadBalancerResolver;
         this.clientConfiguration = clientConfiguration;
         this.encoding = encoding;
@@ -94,7 +110,7 @@ public final class HttpClientSender extends Sender {
     public Call<Void> sendSpans(List<byte[]> encodedSpans) {
         initHttpClient();
         if (httpClient != null && httpClient.isRunning()) {
-            return new HttpCall(httpClient, endpoint, compressionEnabled, encodedSpans);
+            return new HttpCall(httpClient, loadBalancer, Math.max(1, servers.size()), endpoint, encoding, compressionEnabled, encodedSpans);
         } else {
             throw new IllegalStateException("HTTP Client Closed");
         }
@@ -124,10 +140,8 @@ public final class HttpClientSender extends Sender {
         if (this.httpClient == null) {
             final Optional<? extends LoadBalancer> loadBalancer = loadBalancerResolver.get().resolve(ZipkinServiceInstanceList.SERVICE_ID);
 
-            this.httpClient = loadBalancer.map(lb -> new DefaultHttpClient(
-                    lb,
-                    clientConfiguration
-            )).orElse(null);
+            this.loadBalancer = loadBalancer.map(FailoverLoadBalancer::new).orElse(null);
+            this.httpClient = this.loadBalancer != null ? new DefaultHttpClient(this.loadBalancer, clientConfiguration) : null;
         }
     }
 
@@ -142,25 +156,41 @@ public final class HttpClientSender extends Sender {
      * The HTTP call.
      */
     private static class HttpCall extends Call<Void> {
+        private static final MediaType PROTOBUF = new MediaType("application/x-protobuf");
+        private static final MediaType THRIFT = new MediaType("application/x-thrift");
+
         private final HttpClient httpClient;
+        private final FailoverLoadBalancer loadBalancer;
+        private final int maxAttempts;
         private final URI endpoint;
+        private final Encoding encoding;
         private final boolean compressionEnabled;
         private final List<byte[]> encodedSpans;
+        private byte[] message;
 
         private AtomicReference<Subscription> subscription = new AtomicReference<>();
         private AtomicBoolean cancelled = new AtomicBoolean(false);
 
-        HttpCall(HttpClient httpClient, URI endpoint, boolean compressionEnabled, List<byte[]> encodedSpans) {
+        HttpCall(
+                HttpClient httpClient,
+                FailoverLoadBalancer loadBalancer,
+                int maxAttempts,
+                URI endpoint,
+                Encoding encoding,
+                boolean compressionEnabled,
+                List<byte[]> encodedSpans) {
             this.httpClient = httpClient;
+            this.loadBalancer = loadBalancer;
+            this.maxAttempts = maxAttempts;
             this.endpoint = endpoint;
+            this.encoding = encoding;
             this.compressionEnabled = compressionEnabled;
             this.encodedSpans = encodedSpans;
         }
 
         @Override
         public Void execute() throws IOException {
-            BlockingHttpClient blockingHttpClient = httpClient.toBlocking();
-            HttpResponse<Object> response = blockingHttpClient.exchange(prepareRequest());
+            HttpResponse<ByteBuffer> response = exchange().blockingFirst();
             if (response.getStatus().getCode() >= HttpStatus.BAD_REQUEST.getCode()) {
                 throw new IllegalStateException("Response return invalid status code: " + response.getStatus());
             }
@@ -169,7 +199,7 @@ public final class HttpClientSender extends Sender {
 
         @Override
         public void enqueue(Callback<Void> callback) {
-            Publisher<HttpResponse<ByteBuffer>> publisher = httpClient.exchange(prepareRequest());
+            Publisher<HttpResponse<ByteBuffer>> publisher = exchange();
             publisher.subscribe(new Subscriber<HttpResponse<ByteBuffer>>() {
                 @Override
                 public void onSubscribe(Subscription s) {
@@ -219,20 +249,72 @@ public final class HttpClientSender extends Sender {
         @Override
         public Call<Void> clone() {
             // stateless. no need to clone
-            return new HttpCall(httpClient, endpoint, compressionEnabled, encodedSpans);
+            return new HttpCall(httpClient, loadBalancer, maxAttempts, endpoint, encoding, compressionEnabled, encodedSpans);
         }
 
-        protected MutableHttpRequest<Flowable<Object>> prepareRequest() {
-            return HttpRequest.POST(endpoint, spanFlowable());
+        /**
+         * Exchanges the message with the current Zipkin server, failing over to the next server for every attempt
+         * that fails because the server is unavailable.
+         *
+         * @return The response publisher
+         */
+        private Flowable<HttpResponse<ByteBuffer>> exchange() {
+            return Flowable.defer(() -> httpClient.exchange(prepareRequest()))
+                    .retry(maxAttempts - 1L, this::failover);
         }
 
-        private Flowable<Object> spanFlowable() {
-            return Flowable.create(emitter -> {
-                for (byte[] encodedSpan : encodedSpans) {
-                    emitter.onNext(encodedSpan);
-                }
-                emitter.onComplete();
-            }, BackpressureStrategy.BUFFER);
+        private boolean failover(Throwable error) {
+            boolean serverUnavailable;
+            if (error instanceof HttpClientResponseException) {
+                serverUnavailable = ((HttpClientResponseException) error).getStatus().getCode() >= HttpStatus.INTERNAL_SERVER_ERROR.getCode();
+            } else {
+                serverUnavailable = error instanceof HttpClientException;
+            }
+            if (serverUnavailable) {
+                loadBalancer.failover();
+            }
+            return serverUnavailable;
+        }
+
+        /**
+         * @return The request sending the encoded message
+         */
+        protected MutableHttpRequest<Single<byte[]>> prepareRequest() {
+            MutableHttpRequest<Single<byte[]>> request = HttpRequest.POST(endpoint, Single.just(message()))
+                    .contentType(contentType());
+            if (compressionEnabled) {
+                request.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return request;
+        }
+
+        private MediaType contentType() {
+            switch (encoding) {
+                case PROTO3:
+                    return PROTOBUF;
+                case THRIFT:
+                    return THRIFT;
+                default:
+                    return MediaType.APPLICATION_JSON_TYPE;
+            }
+        }
+
+        private byte[] message() {
+            if (message == null) {
+                byte[] encoded = BytesMessageEncoder.forEncoding(encoding).encode(encodedSpans);
+                message = compressionEnabled ? gzip(encoded) : encoded;
+            }
+            return message;
+        }
+
+        private static byte[] gzip(byte[] encoded) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length / 2 + 32);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(encoded);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
         }
     }
 
@@ -350,7 +432,8 @@ public final class HttpClientSender extends Sender {
                     compressionEnabled,
                     clientConfiguration,
                     loadBalancerResolver,
-                    path
+                    path,
+                    servers
             );
         }
     }
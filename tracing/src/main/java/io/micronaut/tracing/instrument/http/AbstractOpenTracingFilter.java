@@ -17,10 +17,12 @@ package io.micronaut.tracing.instrument.http;
 
 import io.micronaut.http.*;
 import io.micronaut.http.filter.HttpFilter;
+import io.micronaut.tracing.instrument.util.TraceContextInspector;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.Tracer;
 
+import javax.annotation.Nullable;
 import java.util.Optional;
 
 /**
@@ -42,6 +44,7 @@ public abstract class AbstractOpenTracingFilter implements HttpFilter  {
     private static final int HTTP_SUCCESS_CODE_UPPER_LIMIT = 299;
 
     protected final Tracer tracer;
+    protected final TraceContextInspector traceContextInspector;
 
     /**
      * Configure tracer in the filter for span creation and propagation across arbitrary transports.
@@ -49,7 +52,18 @@ public abstract class AbstractOpenTracingFilter implements HttpFilter  {
      * @param tracer The tracer
      */
     public AbstractOpenTracingFilter(Tracer tracer) {
+        this(tracer, null);
+    }
+
+    /**
+     * Configure tracer in the filter for span creation and propagation across arbitrary transports.
+     *
+     * @param tracer                The tracer
+     * @param traceContextInspector The inspector of the tracer's span contexts
+     */
+    public AbstractOpenTracingFilter(Tracer tracer, @Nullable TraceContextInspector traceContextInspector) {
         this.tracer = tracer;
+        this.traceContextInspector = traceContextInspector != null ? traceContextInspector : TraceContextInspector.DEFAULT;
     }
 
     /**
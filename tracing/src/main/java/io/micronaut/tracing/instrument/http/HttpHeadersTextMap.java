@@ -15,24 +15,26 @@
  */
 package io.micronaut.tracing.instrument.http;
 
-import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.MutableHttpHeaders;
+import io.micronaut.tracing.instrument.util.TraceContextInspector;
 import io.opentracing.propagation.TextMap;
 
-import java.util.Collections;
+import java.util.AbstractMap;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 /**
- * A {@link TextMap} implementations for the headers.
+ * A {@link TextMap} implementations for the headers. Only the headers the tracer reads are iterated, and only their
+ * first value is read.
  *
  * @author graemerocher
  * @since 1.0
  */
 class HttpHeadersTextMap implements TextMap {
     private final HttpHeaders headers;
+    private final TraceContextInspector inspector;
 
     /**
      * Initialize headers.
@@ -40,44 +42,47 @@ class HttpHeadersTextMap implements TextMap {
      * @param headers The HTTP headers
      */
     HttpHeadersTextMap(HttpHeaders headers) {
+        this(headers, TraceContextInspector.DEFAULT);
+    }
+
+    /**
+     * @param headers   The HTTP headers
+     * @param inspector The inspector that selects the propagation headers
+     */
+    HttpHeadersTextMap(HttpHeaders headers, TraceContextInspector inspector) {
         this.headers = headers;
+        this.inspector = inspector;
     }
 
     @Override
     public Iterator<Map.Entry<String, String>> iterator() {
-        Iterator<Map.Entry<String, List<String>>> i = headers.iterator();
+        Iterator<String> names = headers.names().iterator();
         return new Iterator<Map.Entry<String, String>>() {
+            private String next = advance();
+
             @Override
             public boolean hasNext() {
-                return i.hasNext();
+                return next != null;
             }
 
             @Override
             public Map.Entry<String, String> next() {
-                Map.Entry<String, List<String>> entry = i.next();
-                return new Map.Entry<String, String>() {
-
-                    @Override
-                    public String getKey() {
-                        return entry.getKey();
-                    }
-
-                    @Override
-                    public String getValue() {
-                        List<String> value = entry.getValue();
-                        if (CollectionUtils.isNotEmpty(value)) {
-                            return value.get(0);
-                        }
-                        return null;
-                    }
+                String name = next;
+                if (name == null) {
+                    throw new NoSuchElementException();
+                }
+                next = advance();
+                return new AbstractMap.SimpleImmutableEntry<>(name, headers.get(name));
+            }
 
-                    @Override
-                    public String setValue(String value) {
-                        String v = getValue();
-                        entry.setValue(Collections.singletonList(value));
-                        return v;
+            private String advance() {
+                while (names.hasNext()) {
+                    String name = names.next();
+                    if (inspector.isPropagationHeader(name)) {
+                        return name;
                     }
-                };
+                }
+                return null;
             }
         };
     }
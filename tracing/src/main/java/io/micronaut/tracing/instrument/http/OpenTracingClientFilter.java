@@ -23,6 +23,7 @@ import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.http.filter.ClientFilterChain;
 import io.micronaut.http.filter.HttpClientFilter;
 import io.micronaut.tracing.brave.instrument.http.BraveTracingClientFilter;
+import io.micronaut.tracing.instrument.util.TraceContextInspector;
 import io.micronaut.tracing.instrument.util.TracingPublisher;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
@@ -32,6 +33,8 @@ import io.opentracing.propagation.Format;
 import org.reactivestreams.Publisher;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 
 /**
  * An HTTP client instrumentation filter that uses Open Tracing.
@@ -54,12 +57,36 @@ public class OpenTracingClientFilter extends AbstractOpenTracingFilter implement
         super(tracer);
     }
 
+    /**
+     * Initialize the open tracing client filter with tracer.
+     *
+     * @param tracer                The tracer for span creation and configuring across arbitrary transports
+     * @param traceContextInspector The inspector of the tracer's span contexts
+     */
+    @Inject
+    public OpenTracingClientFilter(Tracer tracer, @Nullable TraceContextInspector traceContextInspector) {
+        super(tracer, traceContextInspector);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public Publisher<? extends HttpResponse<?>> doFilter(MutableHttpRequest<?> request, ClientFilterChain chain) {
         Publisher<? extends HttpResponse<?>> requestPublisher = chain.proceed(request);
         Span activeSpan = tracer.scopeManager().activeSpan();
         SpanContext activeContext = activeSpan != null ? activeSpan.context() : null;
+        if (activeContext != null && !traceContextInspector.isSampled(activeContext)) {
+            // the trace is not recorded, so only its context is propagated
+            tracer.inject(
+                    activeContext,
+                    Format.Builtin.HTTP_HEADERS,
+                    new HttpHeadersTextMap(request.getHeaders())
+            );
+            request.setAttribute(
+                    TraceRequestAttributes.CURRENT_SPAN_CONTEXT,
+                    activeContext
+            );
+            return requestPublisher;
+        }
         Tracer.SpanBuilder spanBuilder = newSpan(request, activeContext);
 
         return new TracingPublisher(
@@ -16,6 +16,7 @@
 package io.micronaut.tracing.instrument.http;
 
 import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.MutableHttpResponse;
@@ -23,7 +24,9 @@ import io.micronaut.http.annotation.Filter;
 import io.micronaut.http.filter.HttpServerFilter;
 import io.micronaut.http.filter.ServerFilterChain;
 import io.micronaut.tracing.brave.instrument.http.BraveTracingServerFilter;
+import io.micronaut.tracing.instrument.util.TraceContextInspector;
 import io.micronaut.tracing.instrument.util.TracingPublisher;
+import io.micronaut.tracing.instrument.util.UnsampledSpanPublisher;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.Tracer;
@@ -32,6 +35,8 @@ import io.opentracing.propagation.Format;
 import org.reactivestreams.Publisher;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 
 /**
  * An HTTP server instrumentation filter that uses Open Tracing.
@@ -56,6 +61,17 @@ public class OpenTracingServerFilter extends AbstractOpenTracingFilter implement
         super(tracer);
     }
 
+    /**
+     * Creates an HTTP server instrumentation filter.
+     *
+     * @param tracer                For span creation and propagation across transport
+     * @param traceContextInspector The inspector of the tracer's span contexts
+     */
+    @Inject
+    public OpenTracingServerFilter(Tracer tracer, @Nullable TraceContextInspector traceContextInspector) {
+        super(tracer, traceContextInspector);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
@@ -66,20 +82,29 @@ public class OpenTracingServerFilter extends AbstractOpenTracingFilter implement
             request.setAttribute(APPLIED, true);
             SpanContext spanContext = tracer.extract(
                     Format.Builtin.HTTP_HEADERS,
-                    new HttpHeadersTextMap(request.getHeaders())
+                    new HttpHeadersTextMap(request.getHeaders(), traceContextInspector)
             );
             request.setAttribute(
                     TraceRequestAttributes.CURRENT_SPAN_CONTEXT,
                     spanContext
             );
 
-            Tracer.SpanBuilder spanBuilder = newSpan(request, spanContext);
-            return new TracingPublisher(responsePublisher, tracer, spanBuilder) {
+            Span span;
+            if (spanContext != null && !traceContextInspector.isSampled(spanContext)) {
+                // the caller decided not to record the trace, so the span is only needed for propagation
+                span = tracer.buildSpan(request.getMethodName()).asChildOf(spanContext).start();
+            } else {
+                span = newSpan(request, spanContext).start();
+            }
+            request.setAttribute(TraceRequestAttributes.CURRENT_SPAN, span);
+            if (!traceContextInspector.isSampled(span.context())) {
+                return new UnsampledSpanPublisher<>(responsePublisher, tracer, span);
+            }
+
+            return new TracingPublisher(responsePublisher, tracer, span, Publishers.isSingle(responsePublisher.getClass())) {
                 @Override
                 protected void doOnSubscribe(@Nonnull Span span) {
                     span.setTag(TAG_HTTP_SERVER, true);
-                    request.setAttribute(TraceRequestAttributes.CURRENT_SPAN, span);
-
                 }
 
                 @Override
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.tracing.instrument.util;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.scheduling.instrument.PropagatedContextElement;
+import io.opentracing.Scope;
+import io.opentracing.ScopeManager;
+import io.opentracing.Span;
+
+/**
+ * Propagates the active {@link Span}.
+ *
+ * @since 1.3
+ */
+@Internal
+final class ActiveSpanContextElement implements PropagatedContextElement {
+
+    private final ScopeManager scopeManager;
+    private final Span span;
+
+    /**
+     * @param scopeManager The scope manager
+     * @param span The active span
+     */
+    ActiveSpanContextElement(ScopeManager scopeManager, Span span) {
+        this.scopeManager = scopeManager;
+        this.span = span;
+    }
+
+    /**
+     * @return The span
+     */
+    Span getSpan() {
+        return span;
+    }
+
+    @Override
+    public Object updateThreadContext() {
+        if (scopeManager.activeSpan() == span) {
+            return null;
+        }
+        return scopeManager.activate(span);
+    }
+
+    @Override
+    public void restoreThreadContext(Object previous) {
+        if (previous != null) {
+            ((Scope) previous).close();
+        }
+    }
+}
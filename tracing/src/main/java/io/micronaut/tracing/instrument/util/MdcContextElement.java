@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.tracing.instrument.util;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.scheduling.instrument.PropagatedContextElement;
+import org.slf4j.MDC;
+
+import java.util.Map;
+
+/**
+ * Propagates the Mapped Diagnostic Context for Slf4j.
+ *
+ * @since 1.3
+ */
+@Internal
+final class MdcContextElement implements PropagatedContextElement {
+
+    private final Map<String, String> contextMap;
+
+    /**
+     * @param contextMap A copy of the context map
+     */
+    MdcContextElement(Map<String, String> contextMap) {
+        this.contextMap = contextMap;
+    }
+
+    /**
+     * @return The context map
+     */
+    Map<String, String> getContextMap() {
+        return contextMap;
+    }
+
+    @Override
+    public Object updateThreadContext() {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        MDC.setContextMap(contextMap);
+        return previous;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void restoreThreadContext(Object previous) {
+        if (previous == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap((Map<String, String>) previous);
+        }
+    }
+}
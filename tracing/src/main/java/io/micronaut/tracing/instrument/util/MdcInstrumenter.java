@@ -16,14 +16,12 @@
 package io.micronaut.tracing.instrument.util;
 
 import java.util.Map;
-import java.util.Optional;
 import java.util.function.Function;
 import javax.inject.Singleton;
 
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.core.annotation.Internal;
-import io.micronaut.scheduling.instrument.ReactiveInstrumenter;
-import io.micronaut.scheduling.instrument.RunnableInstrumenter;
+import io.micronaut.scheduling.instrument.PropagatedContextContributor;
 import org.slf4j.MDC;
 
 /**
@@ -36,7 +34,7 @@ import org.slf4j.MDC;
 @Singleton
 @Requires(classes = MDC.class)
 @Internal
-public final class MdcInstrumenter implements Function<Runnable, Runnable>, RunnableInstrumenter, ReactiveInstrumenter {
+public final class MdcInstrumenter implements Function<Runnable, Runnable>, PropagatedContextContributor<MdcContextElement> {
 
     @Override
     public Runnable apply(Runnable runnable) {
@@ -49,22 +47,20 @@ public final class MdcInstrumenter implements Function<Runnable, Runnable>, Runn
     }
 
     @Override
-    public Runnable instrument(Runnable command) {
-        return apply(command);
+    public Class<MdcContextElement> getElementType() {
+        return MdcContextElement.class;
     }
 
     @Override
-    public Optional<RunnableInstrumenter> newInstrumentation() {
+    public MdcContextElement capture(MdcContextElement existing) {
         Map<String, String> contextMap = MDC.getCopyOfContextMap();
-        if (contextMap != null && !contextMap.isEmpty()) {
-            return Optional.of(new RunnableInstrumenter() {
-                @Override
-                public Runnable instrument(Runnable runnable) {
-                    return passMdcTo(runnable, contextMap);
-                }
-            });
+        if (contextMap == null || contextMap.isEmpty()) {
+            return null;
+        }
+        if (existing != null && existing.getContextMap().equals(contextMap)) {
+            return existing;
         }
-        return Optional.empty();
+        return new MdcContextElement(contextMap);
     }
 
     private Runnable passMdcTo(Runnable runnable, Map<String, String> contextMap) {
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.tracing.instrument.util;
+
+import io.opentracing.SpanContext;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>Exposes the parts of a tracer's propagation that the Open Tracing API does not, so that the tracing filters can
+ * skip the work for traces that are not recorded.</p>
+ *
+ * <p>A bean of this type is registered for the tracers supported out of the box. Without one, every trace is
+ * considered sampled and every header is passed to the tracer on extraction.</p>
+ *
+ * @since 1.3
+ */
+public interface TraceContextInspector {
+
+    /**
+     * An inspector that considers every trace sampled and every header a propagation header.
+     */
+    TraceContextInspector DEFAULT = spanContext -> true;
+
+    /**
+     * Whether the trace of the given context is recorded. A context whose sampling decision is not known yet is
+     * considered sampled.
+     *
+     * @param spanContext The span context
+     * @return False if the trace is known not to be recorded
+     */
+    boolean isSampled(@Nonnull SpanContext spanContext);
+
+    /**
+     * Whether the tracer reads the given header when it extracts a span context.
+     *
+     * @param name The header name
+     * @return True if the header is passed to the tracer
+     */
+    default boolean isPropagationHeader(@Nonnull String name) {
+        return true;
+    }
+}
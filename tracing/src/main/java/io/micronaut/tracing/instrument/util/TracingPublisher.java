@@ -46,6 +46,7 @@ public class TracingPublisher<T> implements Publisher<T> {
     private final Publisher<T> publisher;
     private final Tracer tracer;
     private final Tracer.SpanBuilder spanBuilder;
+    private final Span startedSpan;
     private final Span parentSpan;
     private final boolean isSingle;
 
@@ -95,6 +96,7 @@ public class TracingPublisher<T> implements Publisher<T> {
         this.publisher = publisher;
         this.tracer = tracer;
         this.spanBuilder = spanBuilder;
+        this.startedSpan = null;
         this.parentSpan = tracer.activeSpan();
         this.isSingle = isSingle;
         if (parentSpan != null && spanBuilder != null) {
@@ -102,6 +104,24 @@ public class TracingPublisher<T> implements Publisher<T> {
         }
     }
 
+    /**
+     * Creates a new tracing publisher for a span that was already started, for example to inspect its sampling
+     * decision. The span is finished when the publisher completes.
+     *
+     * @param publisher The target publisher
+     * @param tracer The tracer
+     * @param span The started span
+     * @param isSingle Does the publisher emit a single item
+     */
+    public TracingPublisher(Publisher<T> publisher, Tracer tracer, Span span, boolean isSingle) {
+        this.publisher = publisher;
+        this.tracer = tracer;
+        this.spanBuilder = null;
+        this.startedSpan = span;
+        this.parentSpan = tracer.activeSpan();
+        this.isSingle = isSingle;
+    }
+
     @Override
     public void subscribe(Subscriber<? super T> actual) {
         Span span;
@@ -109,6 +129,9 @@ public class TracingPublisher<T> implements Publisher<T> {
         if (spanBuilder != null) {
             span = spanBuilder.start();
             finishOnClose = true;
+        } else if (startedSpan != null) {
+            span = startedSpan;
+            finishOnClose = true;
         } else {
             span = parentSpan;
             finishOnClose = false;
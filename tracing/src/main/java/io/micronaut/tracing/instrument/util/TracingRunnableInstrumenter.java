@@ -16,9 +16,10 @@
 package io.micronaut.tracing.instrument.util;
 
 import io.micronaut.context.annotation.Requires;
+import io.micronaut.scheduling.instrument.PropagatedContext;
+import io.micronaut.scheduling.instrument.PropagatedContextContributor;
 import io.micronaut.scheduling.instrument.ReactiveInstrumenter;
 import io.micronaut.scheduling.instrument.RunnableInstrumenter;
-import io.opentracing.Scope;
 import io.opentracing.ScopeManager;
 import io.opentracing.Span;
 import io.opentracing.Tracer;
@@ -35,7 +36,7 @@ import java.util.function.Function;
  */
 @Singleton
 @Requires(beans = Tracer.class)
-public class TracingRunnableInstrumenter implements Function<Runnable, Runnable>, RunnableInstrumenter, ReactiveInstrumenter {
+public class TracingRunnableInstrumenter implements Function<Runnable, Runnable>, PropagatedContextContributor<ActiveSpanContextElement>, RunnableInstrumenter, ReactiveInstrumenter {
 
     private final Tracer tracer;
 
@@ -53,32 +54,43 @@ public class TracingRunnableInstrumenter implements Function<Runnable, Runnable>
         return new TracingRunnable(runnable, tracer);
     }
 
+    /**
+     * @param command The command
+     * @return The command instrumented with the active span
+     * @deprecated The active span is propagated as part of the {@link PropagatedContext}
+     */
+    @Deprecated
     @Override
     public Runnable instrument(Runnable command) {
-        return apply(command);
+        return newInstrumentation().map(instrumentation -> instrumentation.instrument(command)).orElse(command);
     }
 
+    /**
+     * @return A context that holds the active span, if there is one
+     * @deprecated The active span is propagated as part of the {@link PropagatedContext}
+     */
+    @Deprecated
     @Override
     public Optional<RunnableInstrumenter> newInstrumentation() {
+        ActiveSpanContextElement element = capture(null);
+        return element != null ? Optional.of(PropagatedContext.EMPTY.plus(element)) : Optional.empty();
+    }
+
+    @Override
+    public Class<ActiveSpanContextElement> getElementType() {
+        return ActiveSpanContextElement.class;
+    }
+
+    @Override
+    public ActiveSpanContextElement capture(ActiveSpanContextElement existing) {
         final ScopeManager scopeManager = tracer.scopeManager();
         Span activeSpan = scopeManager.activeSpan();
-        if (activeSpan != null) {
-            return Optional.of(new RunnableInstrumenter() {
-                @Override
-                public Runnable instrument(Runnable command) {
-                    return () -> {
-                        final Span currentSpan = scopeManager.activeSpan();
-                        if (currentSpan != activeSpan) {
-                            try (Scope ignored = scopeManager.activate(activeSpan)) {
-                                command.run();
-                            }
-                        } else {
-                            command.run();
-                        }
-                    };
-                }
-            });
+        if (activeSpan == null) {
+            return null;
+        }
+        if (existing != null && existing.getSpan() == activeSpan) {
+            return existing;
         }
-        return Optional.empty();
+        return new ActiveSpanContextElement(scopeManager, activeSpan);
     }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.tracing.instrument.util;
+
+import io.opentracing.Scope;
+import io.opentracing.Span;
+import io.opentracing.Tracer;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * <p>A lighter alternative to {@link TracingPublisher} for a span whose trace is not recorded. The span is only
+ * active while the publisher is subscribed to, so that work started by the subscription, such as calls of the HTTP
+ * client, propagates the sampling decision.</p>
+ *
+ * <p>Since a span that is not recorded is never reported, it is finished once the subscription returns and the
+ * signals of the publisher are not intercepted.</p>
+ *
+ * @param <T> The type of the published items
+ * @since 1.3
+ */
+@SuppressWarnings("PublisherImplementation")
+public class UnsampledSpanPublisher<T> implements Publisher<T> {
+
+    private final Publisher<T> publisher;
+    private final Tracer tracer;
+    private final Span span;
+
+    /**
+     * @param publisher The target publisher
+     * @param tracer The tracer
+     * @param span The span that is not recorded
+     */
+    public UnsampledSpanPublisher(Publisher<T> publisher, Tracer tracer, Span span) {
+        this.publisher = publisher;
+        this.tracer = tracer;
+        this.span = span;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> actual) {
+        try (Scope ignored = tracer.scopeManager().activate(span)) {
+            publisher.subscribe(actual);
+        } finally {
+            span.finish();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.tracing.jaeger;
+
+import io.jaegertracing.internal.JaegerSpanContext;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.tracing.instrument.util.TraceContextInspector;
+import io.opentracing.SpanContext;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Reads the sampling flag of {@link JaegerSpanContext} and restricts extraction to the headers of the Jaeger and B3
+ * codecs.
+ *
+ * @since 1.3
+ */
+@Internal
+final class JaegerTraceContextInspector implements TraceContextInspector {
+
+    private static final String[] PROPAGATION_HEADER_PREFIXES = {
+            "uber-trace-id",
+            "uberctx-",
+            "jaeger-",
+            "x-b3-",
+            "baggage-"
+    };
+
+    private final boolean restrictHeaders;
+
+    /**
+     * @param restrictHeaders Whether only the headers of the built-in codecs are extracted
+     */
+    JaegerTraceContextInspector(boolean restrictHeaders) {
+        this.restrictHeaders = restrictHeaders;
+    }
+
+    @Override
+    public boolean isSampled(@Nonnull SpanContext spanContext) {
+        return !(spanContext instanceof JaegerSpanContext) || ((JaegerSpanContext) spanContext).isSampled();
+    }
+
+    @Override
+    public boolean isPropagationHeader(@Nonnull String name) {
+        if (!restrictHeaders) {
+            return true;
+        }
+        for (String prefix : PROPAGATION_HEADER_PREFIXES) {
+            if (name.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
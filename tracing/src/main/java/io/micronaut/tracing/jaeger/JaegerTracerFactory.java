@@ -22,6 +22,7 @@ import io.jaegertracing.spi.Sampler;
 import io.micronaut.context.annotation.Factory;
 import io.micronaut.context.annotation.Primary;
 import io.micronaut.context.annotation.Requires;
+import io.micronaut.tracing.instrument.util.TraceContextInspector;
 import io.opentracing.Tracer;
 import io.opentracing.util.GlobalTracer;
 
@@ -132,6 +133,19 @@ public class JaegerTracerFactory implements Closeable {
         return tracer;
     }
 
+    /**
+     * The inspector of Jaeger span contexts. Extraction is restricted to the headers of the built-in codecs unless a
+     * custom codec configuration is present.
+     *
+     * @param codecConfiguration The custom codec configuration
+     * @return The {@link TraceContextInspector}
+     */
+    @Singleton
+    @Requires(classes = JaegerTracer.Builder.class)
+    TraceContextInspector jaegerTraceContextInspector(@Nullable Configuration.CodecConfiguration codecConfiguration) {
+        return new JaegerTraceContextInspector(codecConfiguration == null);
+    }
+
     @Override
     @PreDestroy
     public void close() throws IOException {
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.tracing.brave
+
+import brave.Tracing
+import brave.opentracing.BraveTracer
+import brave.sampler.Sampler
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.MutableHttpRequest
+import io.micronaut.http.MutableHttpResponse
+import io.micronaut.tracing.instrument.http.OpenTracingClientFilter
+import io.micronaut.tracing.instrument.http.OpenTracingServerFilter
+import io.micronaut.tracing.instrument.util.TracingPublisher
+import io.micronaut.tracing.instrument.util.UnsampledSpanPublisher
+import io.reactivex.Flowable
+import org.reactivestreams.Publisher
+import spock.lang.Specification
+
+/**
+ * @since 1.3
+ */
+class OpenTracingSamplingSpec extends Specification {
+
+    TestReporter reporter = new TestReporter()
+
+    void "test an unsampled trace is only propagated"() {
+        given:
+        Tracing tracing = Tracing.newBuilder().sampler(Sampler.NEVER_SAMPLE).spanReporter(reporter).build()
+        BraveTracer tracer = BraveTracer.create(tracing)
+        MutableHttpRequest<?> downstream = HttpRequest.GET("/downstream")
+
+        when:
+        Publisher<MutableHttpResponse<?>> publisher = execute(tracer, HttpRequest.GET("/test"), downstream)
+        Flowable.fromPublisher(publisher).blockingLast()
+
+        then:
+        publisher instanceof UnsampledSpanPublisher
+        downstream.headers.get("X-B3-TraceId")
+        downstream.headers.get("X-B3-Sampled") == "0"
+        !downstream.headers.contains("X-B3-ParentSpanId")
+        reporter.spans.isEmpty()
+
+        cleanup:
+        tracing.close()
+    }
+
+    void "test the sampling decision of the caller is respected"() {
+        given:
+        Tracing tracing = Tracing.newBuilder().sampler(Sampler.ALWAYS_SAMPLE).spanReporter(reporter).build()
+        BraveTracer tracer = BraveTracer.create(tracing)
+        MutableHttpRequest<?> downstream = HttpRequest.GET("/downstream")
+        MutableHttpRequest<?> request = HttpRequest.GET("/test")
+                .header("X-B3-TraceId", "4bf92f3577b34da6")
+                .header("X-B3-SpanId", "00f067aa0ba902b7")
+                .header("X-B3-Sampled", "0")
+
+        when:
+        Publisher<MutableHttpResponse<?>> publisher = execute(tracer, request, downstream)
+        Flowable.fromPublisher(publisher).blockingLast()
+
+        then:
+        publisher instanceof UnsampledSpanPublisher
+        downstream.headers.get("X-B3-TraceId") == "4bf92f3577b34da6"
+        downstream.headers.get("X-B3-Sampled") == "0"
+        reporter.spans.isEmpty()
+
+        cleanup:
+        tracing.close()
+    }
+
+    void "test a sampled trace is recorded"() {
+        given:
+        Tracing tracing = Tracing.newBuilder().sampler(Sampler.ALWAYS_SAMPLE).spanReporter(reporter).build()
+        BraveTracer tracer = BraveTracer.create(tracing)
+        MutableHttpRequest<?> downstream = HttpRequest.GET("/downstream")
+
+        when:
+        Publisher<MutableHttpResponse<?>> publisher = execute(tracer, HttpRequest.GET("/test"), downstream)
+        MutableHttpResponse<?> response = Flowable.fromPublisher(publisher).blockingLast()
+
+        then:
+        publisher instanceof TracingPublisher
+        downstream.headers.get("X-B3-Sampled") == "1"
+        response.headers.get("X-B3-TraceId") == downstream.headers.get("X-B3-TraceId")
+        reporter.spans.size() == 2
+        reporter.spans*.name().contains("get /test")
+
+        cleanup:
+        tracing.close()
+    }
+
+    private static Publisher<MutableHttpResponse<?>> execute(BraveTracer tracer, MutableHttpRequest<?> request, MutableHttpRequest<?> downstream) {
+        BraveTraceContextInspector inspector = new BraveTraceContextInspector()
+        OpenTracingServerFilter serverFilter = new OpenTracingServerFilter(tracer, inspector)
+        OpenTracingClientFilter clientFilter = new OpenTracingClientFilter(tracer, inspector)
+        // as with a route, the downstream request is made when the response publisher is subscribed to
+        serverFilter.doFilter(request, { r ->
+            Flowable.defer({
+                Flowable.fromPublisher(clientFilter.doFilter(downstream, { d -> Flowable.just(HttpResponse.ok()) }))
+                        .map({ HttpResponse.ok() })
+            })
+        })
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.tracing.brave.reporter
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.core.io.socket.SocketUtils
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.tracing.brave.HttpClientSenderSpec.SpanController
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+import zipkin2.Span
+import zipkin2.codec.Encoding
+import zipkin2.reporter.AsyncReporter
+import zipkin2.reporter.Reporter
+
+/**
+ * @since 1.3
+ */
+class BufferedSpanReporterSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer zipkinServer = ApplicationContext.run(EmbeddedServer)
+
+    void setup() {
+        zipkinServer.applicationContext.getBean(SpanController).receivedSpans.clear()
+    }
+
+    void "test spans are sent in batches and fail over to the next zipkin server"() {
+        given:
+        String deadServer = "http://localhost:${SocketUtils.findAvailableTcpPort()}"
+        ApplicationContext context = ApplicationContext.run(
+                'tracing.zipkin.enabled': true,
+                'tracing.zipkin.sampler.probability': 1,
+                'tracing.zipkin.http.urls': [deadServer, zipkinServer.URL.toString()],
+                'tracing.zipkin.buffered-reporter.enabled': true,
+                'tracing.zipkin.buffered-reporter.message-timeout': '100ms'
+        )
+        SpanController spanController = zipkinServer.applicationContext.getBean(SpanController)
+        PollingConditions conditions = new PollingConditions(timeout: 10)
+
+        when:
+        Reporter<Span> reporter = context.getBean(Reporter)
+        3.times { reporter.report(span(it)) }
+
+        then:
+        reporter instanceof BufferedSpanReporter
+        !context.containsBean(AsyncReporter)
+        conditions.eventually {
+            spanController.receivedSpans*.get('name') == ['span-0', 'span-1', 'span-2']
+            ((BufferedSpanReporter) reporter).messagesSent >= 1
+            ((BufferedSpanReporter) reporter).messagesFailed == 0
+            ((BufferedSpanReporter) reporter).spansDropped == 0
+        }
+
+        when:"the failed over server keeps receiving the spans"
+        reporter.report(span(3))
+
+        then:
+        conditions.eventually {
+            spanController.receivedSpans.size() == 4
+        }
+
+        cleanup:
+        context.close()
+    }
+
+    void "test oldest spans are dropped once the buffer is full"() {
+        given:
+        String deadServer = "http://localhost:${SocketUtils.findAvailableTcpPort()}"
+        ApplicationContext context = ApplicationContext.run(
+                'tracing.zipkin.enabled': true,
+                'tracing.zipkin.http.url': deadServer,
+                'tracing.zipkin.buffered-reporter.enabled': true,
+                'tracing.zipkin.buffered-reporter.max-bytes': 1024,
+                'tracing.zipkin.buffered-reporter.message-timeout': '1h'
+        )
+        BufferedSpanReporter reporter = context.getBean(BufferedSpanReporter)
+
+        when:
+        20.times { reporter.report(span(it)) }
+
+        then:
+        reporter.spansDropped > 0
+        reporter.queuedBytes <= 1024
+        reporter.spansDropped + reporter.queuedSpans == 20
+
+        when:"the spans cannot be sent"
+        reporter.flush()
+
+        then:"they stay buffered"
+        reporter.messagesFailed == 1
+        reporter.spansDropped + reporter.queuedSpans == 20
+
+        when:
+        long queued = reporter.queuedSpans
+        long dropped = reporter.spansDropped
+        context.close()
+
+        then:"the spans left are dropped on close"
+        reporter.queuedSpans == 0
+        reporter.spansDropped == dropped + queued
+    }
+
+    void "test the span buffer drops the oldest spans"() {
+        given:
+        SpanBuffer buffer = new SpanBuffer(10)
+
+        expect:
+        buffer.offer(new byte[4]) == 0
+        buffer.offer(new byte[4]) == 0
+        buffer.offer([1, 1, 1, 1] as byte[]) == 1
+        buffer.offer(new byte[11]) == 1
+        buffer.size() == 2
+        buffer.bytes() == 8
+
+        when:
+        List<byte[]> batch = buffer.drain(Encoding.PROTO3, 5)
+
+        then:"a batch holds at least one span"
+        batch.size() == 1
+        buffer.size() == 1
+
+        when:"a batch is put back while new spans arrived"
+        buffer.offer(new byte[4])
+
+        then:"the oldest spans of the batch are dropped"
+        buffer.requeue(batch) == 1
+        buffer.drain(Encoding.PROTO3, 10)*.getAt(0) == [1, 0]
+    }
+
+    private static Span span(int index) {
+        Span.newBuilder()
+                .traceId(Long.toHexString(index + 1))
+                .id(index + 1)
+                .name("span-$index")
+                .timestamp(System.currentTimeMillis() * 1000)
+                .duration(1000)
+                .build()
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.tracing.instrument.util
+
+import brave.Tracing
+import brave.opentracing.BraveTracer
+import io.micronaut.scheduling.instrument.PropagatedContext
+import io.opentracing.Scope
+import io.opentracing.Span
+import io.opentracing.Tracer
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+/**
+ * @since 1.3
+ */
+class TracingRunnableInstrumenterSpec extends Specification {
+
+    @AutoCleanup Tracing tracing = Tracing.newBuilder().build()
+    Tracer tracer = BraveTracer.create(tracing)
+    TracingRunnableInstrumenter instrumenter = new TracingRunnableInstrumenter(tracer)
+
+    void "test the deprecated instrumentation propagates the active span as a context"() {
+        given:
+        Span span = tracer.buildSpan("test").start()
+        Span seen = null
+
+        when:
+        Runnable runnable
+        Optional<?> instrumentation
+        Scope scope = tracer.scopeManager().activate(span)
+        try {
+            instrumentation = instrumenter.newInstrumentation()
+            runnable = instrumenter.instrument({ seen = tracer.scopeManager().activeSpan() } as Runnable)
+        } finally {
+            scope.close()
+        }
+        Thread thread = new Thread(runnable)
+        thread.start()
+        thread.join()
+
+        then:
+        instrumentation.get() instanceof PropagatedContext
+        seen == span
+        tracer.scopeManager().activeSpan() == null
+
+        cleanup:
+        span.finish()
+    }
+
+    void "test there is no instrumentation without an active span"() {
+        given:
+        Runnable runnable = {} as Runnable
+
+        expect:
+        !instrumenter.newInstrumentation().isPresent()
+        instrumenter.instrument(runnable).is(runnable)
+    }
+}
@@ -18,8 +18,11 @@ package io.micronaut.validation;
 import io.micronaut.aop.InterceptPhase;
 import io.micronaut.aop.MethodInterceptor;
 import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.type.Argument;
 import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.validation.validator.DefaultValidator;
 import io.micronaut.validation.validator.ExecutableMethodValidator;
 import io.micronaut.validation.validator.ReactiveValidator;
 import io.micronaut.validation.validator.Validator;
@@ -29,6 +32,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.validation.Constraint;
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Valid;
@@ -103,6 +107,27 @@ public class ValidatingInterceptor implements MethodInterceptor {
         return POSITION;
     }
 
+    @Override
+    public boolean appliesTo(ExecutableMethod method) {
+        if (executableValidator != null) {
+            return true;
+        } else if (micronautValidator instanceof DefaultValidator) {
+            // the default validator only validates the arguments and return values that declare constraints
+            if (method.hasStereotype(Valid.class)) {
+                return true;
+            }
+            for (Argument<?> argument : method.getArguments()) {
+                AnnotationMetadata annotationMetadata = argument.getAnnotationMetadata();
+                if (annotationMetadata.hasStereotype(Valid.class) || annotationMetadata.hasStereotype(Constraint.class)) {
+                    return true;
+                }
+            }
+            return false;
+        } else {
+            return micronautValidator != null;
+        }
+    }
+
     @Override
     public Object intercept(MethodInvocationContext context) {
         final boolean isValidatorBeanNull = executableValidator == null;
@@ -30,4 +30,8 @@ public class Foo {
     public String testMe(@Digits(integer = 3, fraction = 2) String number) {
         return '$' + number;
     }
+
+    public String unconstrained(String value) {
+        return value;
+    }
 }
\ No newline at end of file
@@ -32,6 +32,7 @@ import io.micronaut.http.annotation.Get
 import io.micronaut.http.client.HttpClient
 import io.micronaut.http.client.annotation.Client
 import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.inject.BeanDefinition
 import io.micronaut.runtime.server.EmbeddedServer
 import io.reactivex.Flowable
 import spock.lang.Specification
@@ -59,6 +60,22 @@ class ValidatedSpec extends Specification {
         list[1] instanceof CacheInterceptor
     }
 
+    def "test validating interceptor only applies to methods with constraints"() {
+        given:
+        ApplicationContext beanContext = ApplicationContext.run()
+        ValidatingInterceptor interceptor = beanContext.getBean(ValidatingInterceptor)
+        BeanDefinition<Foo> definition = beanContext.getBeanDefinition(Foo)
+        Foo foo = beanContext.getBean(Foo)
+
+        expect:
+        interceptor.appliesTo(definition.getRequiredMethod("testMe", String))
+        !interceptor.appliesTo(definition.getRequiredMethod("unconstrained", String))
+        foo.unconstrained("aaa") == "aaa"
+
+        cleanup:
+        beanContext.close()
+    }
+
     def "test validated annotation validates beans"() {
         given:
         ApplicationContext beanContext = ApplicationContext.run()